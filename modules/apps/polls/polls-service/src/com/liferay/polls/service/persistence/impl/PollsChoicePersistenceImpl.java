@@ -2704,9 +2704,11 @@ public class PollsChoicePersistenceImpl extends BasePersistenceImpl<PollsChoice>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PollsChoiceModelImpl.ENTITY_CACHE_ENABLED,
+				PollsChoiceImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PollsChoice pollsChoice = (PollsChoice)EntityCacheUtil.getResult(PollsChoiceModelImpl.ENTITY_CACHE_ENABLED,
-					PollsChoiceImpl.class, primaryKey);
+			PollsChoice pollsChoice = (PollsChoice)cachedResults.get(primaryKey);
 
 			if (pollsChoice == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2769,9 +2769,11 @@ public class PollsQuestionPersistenceImpl extends BasePersistenceImpl<PollsQuest
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PollsQuestionModelImpl.ENTITY_CACHE_ENABLED,
+				PollsQuestionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PollsQuestion pollsQuestion = (PollsQuestion)EntityCacheUtil.getResult(PollsQuestionModelImpl.ENTITY_CACHE_ENABLED,
-					PollsQuestionImpl.class, primaryKey);
+			PollsQuestion pollsQuestion = (PollsQuestion)cachedResults.get(primaryKey);
 
 			if (pollsQuestion == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3151,9 +3151,11 @@ public class PollsVotePersistenceImpl extends BasePersistenceImpl<PollsVote>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PollsVoteModelImpl.ENTITY_CACHE_ENABLED,
+				PollsVoteImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PollsVote pollsVote = (PollsVote)EntityCacheUtil.getResult(PollsVoteModelImpl.ENTITY_CACHE_ENABLED,
-					PollsVoteImpl.class, primaryKey);
+			PollsVote pollsVote = (PollsVote)cachedResults.get(primaryKey);
 
 			if (pollsVote == null) {
 				if (uncachedPrimaryKeys == null) {
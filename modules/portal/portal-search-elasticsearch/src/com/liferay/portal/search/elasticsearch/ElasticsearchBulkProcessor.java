@@ -0,0 +1,516 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.elasticsearch;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.MapUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+
+/**
+ * Sends index requests asynchronously in bulks that are flushed by action
+ * count, size, or time. Callers block once the configured number of pending
+ * requests is reached, and failed requests are retried with a growing delay.
+ *
+ * <p>
+ * A failed request is dropped instead of retried once a newer request for the
+ * same document was added, so that a retry never overwrites a newer version
+ * of the document. Documents are always sent whole, so the newer request
+ * carries everything the dropped one did.
+ * </p>
+ *
+ * @author Michael C. Han
+ */
+public class ElasticsearchBulkProcessor {
+
+	public ElasticsearchBulkProcessor(
+		Client client, Map<String, Object> properties) {
+
+		_client = client;
+
+		int bulkActions = MapUtil.getInteger(
+			properties, "bulkProcessorActions", 1000);
+
+		_flushInterval = MapUtil.getLong(
+			properties, "bulkProcessorFlushInterval", 1000);
+		_flushTimeout = MapUtil.getLong(
+			properties, "bulkProcessorFlushTimeout", 30000);
+		_maxPendingRequests = Math.max(
+			bulkActions,
+			MapUtil.getInteger(
+				properties, "bulkProcessorMaxPendingRequests", 10000));
+		_retryCount = MapUtil.getInteger(
+			properties, "bulkProcessorRetryCount", 3);
+
+		BulkProcessor.Builder builder = BulkProcessor.builder(
+			client, new BulkProcessorListener());
+
+		builder.setBulkActions(bulkActions);
+		builder.setBulkSize(
+			new ByteSizeValue(
+				MapUtil.getLong(properties, "bulkProcessorSize", 5),
+				ByteSizeUnit.MB));
+		builder.setConcurrentRequests(
+			MapUtil.getInteger(
+				properties, "bulkProcessorConcurrentRequests", 2));
+
+		if (_flushInterval > 0) {
+			builder.setFlushInterval(TimeValue.timeValueMillis(_flushInterval));
+		}
+
+		builder.setName(ElasticsearchBulkProcessor.class.getName());
+
+		_bulkProcessor = builder.build();
+
+		// The semaphore is fair, so that a flush is not starved by the
+		// requests that are added after it
+
+		_pendingRequestsSemaphore = new Semaphore(_maxPendingRequests, true);
+
+		_scheduledExecutorService =
+			Executors.newSingleThreadScheduledExecutor();
+	}
+
+	public void add(ActionRequest<?> actionRequest)
+		throws InterruptedException {
+
+		_pendingRequestsSemaphore.acquire();
+
+		String key = getKey(actionRequest);
+
+		if (key != null) {
+			_latestActionRequests.put(key, actionRequest);
+		}
+
+		try {
+			_bulkProcessor.add(actionRequest);
+		}
+		catch (RuntimeException re) {
+			if (key != null) {
+				_latestActionRequests.remove(key, actionRequest);
+			}
+
+			_pendingRequestsSemaphore.release();
+
+			throw re;
+		}
+
+		_submittedCount.incrementAndGet();
+	}
+
+	/**
+	 * Sends the pending retries and the requests that are not yet sent, and
+	 * waits up to the flush timeout for all pending requests to complete or
+	 * fail. Requests that fail from now on are not retried.
+	 */
+	public void close() {
+		List<Runnable> runnables = _scheduledExecutorService.shutdownNow();
+
+		for (Runnable runnable : runnables) {
+			runnable.run();
+		}
+
+		_bulkProcessor.close();
+
+		if (!awaitPendingRequests() && _log.isWarnEnabled()) {
+			_log.warn(
+				"Closed with " + getPendingCount() + " pending requests " +
+					"after waiting " + _flushTimeout + " ms");
+		}
+	}
+
+	/**
+	 * Sends the requests that are not yet sent and waits up to the flush
+	 * timeout for the requests that were added before to complete or fail.
+	 *
+	 * @return <code>true</code> if all of those requests completed or failed
+	 */
+	public boolean flush() {
+		_bulkProcessor.flush();
+
+		return awaitPendingRequests();
+	}
+
+	public Client getClient() {
+		return _client;
+	}
+
+	public long getCompletedCount() {
+		return _completedCount.get();
+	}
+
+	public long getFailedCount() {
+		return _failedCount.get();
+	}
+
+	public int getInFlightBulkCount() {
+		return _inFlightBulkCount.get();
+	}
+
+	/**
+	 * Returns the number of requests that were added but are not yet
+	 * completed, failed, or superseded, including the requests that wait for a
+	 * retry.
+	 */
+	public int getPendingCount() {
+		return _maxPendingRequests -
+			_pendingRequestsSemaphore.availablePermits();
+	}
+
+	public long getRetriedCount() {
+		return _retriedCount.get();
+	}
+
+	public long getSubmittedCount() {
+		return _submittedCount.get();
+	}
+
+	/**
+	 * Returns the number of failed requests that were dropped instead of
+	 * retried, because a newer request for the same document was added.
+	 */
+	public long getSupersededCount() {
+		return _supersededCount.get();
+	}
+
+	/**
+	 * Returns the number of completed requests per second since this processor
+	 * was created.
+	 */
+	public double getThroughput() {
+		long elapsedTime = System.currentTimeMillis() - _startTime;
+
+		if (elapsedTime <= 0) {
+			return 0;
+		}
+
+		return _completedCount.get() * 1000.0 / elapsedTime;
+	}
+
+	@Override
+	public String toString() {
+		StringBundler sb = new StringBundler(17);
+
+		sb.append("{completedCount=");
+		sb.append(getCompletedCount());
+		sb.append(", failedCount=");
+		sb.append(getFailedCount());
+		sb.append(", inFlightBulkCount=");
+		sb.append(getInFlightBulkCount());
+		sb.append(", pendingCount=");
+		sb.append(getPendingCount());
+		sb.append(", retriedCount=");
+		sb.append(getRetriedCount());
+		sb.append(", submittedCount=");
+		sb.append(getSubmittedCount());
+		sb.append(", supersededCount=");
+		sb.append(getSupersededCount());
+		sb.append(", throughput=");
+		sb.append(getThroughput());
+		sb.append("}");
+
+		return sb.toString();
+	}
+
+	protected boolean awaitPendingRequests() {
+		try {
+			if (!_pendingRequestsSemaphore.tryAcquire(
+					_maxPendingRequests, _flushTimeout,
+					TimeUnit.MILLISECONDS)) {
+
+				return false;
+			}
+		}
+		catch (InterruptedException ie) {
+			Thread currentThread = Thread.currentThread();
+
+			currentThread.interrupt();
+
+			return false;
+		}
+
+		_pendingRequestsSemaphore.release(_maxPendingRequests);
+
+		return true;
+	}
+
+	protected void complete(ActionRequest<?> actionRequest) {
+		_retryCounts.remove(actionRequest);
+
+		String key = getKey(actionRequest);
+
+		if (key != null) {
+			_latestActionRequests.remove(key, actionRequest);
+		}
+
+		_completedCount.incrementAndGet();
+
+		_pendingRequestsSemaphore.release();
+	}
+
+	protected void fail(ActionRequest<?> actionRequest, String message) {
+		if (isSuperseded(actionRequest)) {
+			supersede(actionRequest);
+
+			return;
+		}
+
+		Integer retryCount = _retryCounts.get(actionRequest);
+
+		if (retryCount == null) {
+			retryCount = 0;
+		}
+
+		if ((retryCount < _retryCount) &&
+			!_scheduledExecutorService.isShutdown()) {
+
+			retryCount++;
+
+			_retryCounts.put(actionRequest, retryCount);
+
+			_retriedCount.incrementAndGet();
+
+			// Requests are added again from a separate thread because the
+			// bulk processor holds a concurrent request permit while it calls
+			// its listener
+
+			_scheduledExecutorService.schedule(
+				new RetryRunnable(actionRequest),
+				Math.max(_flushInterval, 100) * retryCount,
+				TimeUnit.MILLISECONDS);
+
+			return;
+		}
+
+		_retryCounts.remove(actionRequest);
+
+		String key = getKey(actionRequest);
+
+		if (key != null) {
+			_latestActionRequests.remove(key, actionRequest);
+		}
+
+		_failedCount.incrementAndGet();
+
+		_pendingRequestsSemaphore.release();
+
+		_log.error("Unable to process " + actionRequest + ": " + message);
+	}
+
+	protected String getKey(ActionRequest<?> actionRequest) {
+		if (actionRequest instanceof DeleteRequest) {
+			DeleteRequest deleteRequest = (DeleteRequest)actionRequest;
+
+			return getKey(
+				deleteRequest.index(), deleteRequest.type(),
+				deleteRequest.id());
+		}
+		else if (actionRequest instanceof IndexRequest) {
+			IndexRequest indexRequest = (IndexRequest)actionRequest;
+
+			return getKey(
+				indexRequest.index(), indexRequest.type(), indexRequest.id());
+		}
+		else if (actionRequest instanceof UpdateRequest) {
+			UpdateRequest updateRequest = (UpdateRequest)actionRequest;
+
+			return getKey(
+				updateRequest.index(), updateRequest.type(),
+				updateRequest.id());
+		}
+
+		return null;
+	}
+
+	protected String getKey(String index, String type, String id) {
+		if (id == null) {
+			return null;
+		}
+
+		StringBundler sb = new StringBundler(5);
+
+		sb.append(index);
+		sb.append(StringPool.SLASH);
+		sb.append(type);
+		sb.append(StringPool.SLASH);
+		sb.append(id);
+
+		return sb.toString();
+	}
+
+	protected boolean isSuperseded(ActionRequest<?> actionRequest) {
+		String key = getKey(actionRequest);
+
+		if (key == null) {
+			return false;
+		}
+
+		ActionRequest<?> latestActionRequest = _latestActionRequests.get(key);
+
+		if ((latestActionRequest == null) ||
+			(latestActionRequest == actionRequest)) {
+
+			return false;
+		}
+
+		return true;
+	}
+
+	protected void supersede(ActionRequest<?> actionRequest) {
+		_retryCounts.remove(actionRequest);
+
+		_supersededCount.incrementAndGet();
+
+		_pendingRequestsSemaphore.release();
+
+		if (_log.isDebugEnabled()) {
+			_log.debug(
+				"Dropped " + actionRequest + " because a newer request for " +
+					"the same document was added");
+		}
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(
+		ElasticsearchBulkProcessor.class);
+
+	private final BulkProcessor _bulkProcessor;
+	private final Client _client;
+	private final AtomicLong _completedCount = new AtomicLong();
+	private final AtomicLong _failedCount = new AtomicLong();
+	private final long _flushInterval;
+	private final long _flushTimeout;
+	private final AtomicInteger _inFlightBulkCount = new AtomicInteger();
+	private final ConcurrentMap<String, ActionRequest<?>>
+		_latestActionRequests =
+			new ConcurrentHashMap<String, ActionRequest<?>>();
+	private final int _maxPendingRequests;
+	private final Semaphore _pendingRequestsSemaphore;
+	private final AtomicLong _retriedCount = new AtomicLong();
+	private final int _retryCount;
+	private final Map<ActionRequest<?>, Integer> _retryCounts =
+		new ConcurrentHashMap<ActionRequest<?>, Integer>();
+	private final ScheduledExecutorService _scheduledExecutorService;
+	private final long _startTime = System.currentTimeMillis();
+	private final AtomicLong _submittedCount = new AtomicLong();
+	private final AtomicLong _supersededCount = new AtomicLong();
+
+	private class BulkProcessorListener implements BulkProcessor.Listener {
+
+		@Override
+		public void afterBulk(
+			long executionId, BulkRequest bulkRequest,
+			BulkResponse bulkResponse) {
+
+			_inFlightBulkCount.decrementAndGet();
+
+			List<ActionRequest> actionRequests = bulkRequest.requests();
+
+			for (BulkItemResponse bulkItemResponse : bulkResponse) {
+				ActionRequest<?> actionRequest = actionRequests.get(
+					bulkItemResponse.getItemId());
+
+				if (bulkItemResponse.isFailed()) {
+					fail(actionRequest, bulkItemResponse.getFailureMessage());
+				}
+				else {
+					complete(actionRequest);
+				}
+			}
+
+			if (_log.isDebugEnabled()) {
+				_log.debug(
+					"Bulk " + executionId + " finished in " +
+						bulkResponse.getTookInMillis() + " ms " +
+							ElasticsearchBulkProcessor.this);
+			}
+		}
+
+		@Override
+		public void afterBulk(
+			long executionId, BulkRequest bulkRequest, Throwable throwable) {
+
+			_inFlightBulkCount.decrementAndGet();
+
+			if (_log.isWarnEnabled()) {
+				_log.warn("Bulk " + executionId + " failed", throwable);
+			}
+
+			for (ActionRequest<?> actionRequest : bulkRequest.requests()) {
+				fail(actionRequest, throwable.getMessage());
+			}
+		}
+
+		@Override
+		public void beforeBulk(long executionId, BulkRequest bulkRequest) {
+			_inFlightBulkCount.incrementAndGet();
+		}
+
+	}
+
+	private class RetryRunnable implements Runnable {
+
+		public RetryRunnable(ActionRequest<?> actionRequest) {
+			_actionRequest = actionRequest;
+		}
+
+		@Override
+		public void run() {
+			if (isSuperseded(_actionRequest)) {
+				supersede(_actionRequest);
+
+				return;
+			}
+
+			try {
+				_bulkProcessor.add(_actionRequest);
+			}
+			catch (RuntimeException re) {
+
+				// The bulk processor was closed concurrently
+
+				fail(_actionRequest, re.getMessage());
+			}
+		}
+
+		private final ActionRequest<?> _actionRequest;
+
+	}
+
+}
\ No newline at end of file
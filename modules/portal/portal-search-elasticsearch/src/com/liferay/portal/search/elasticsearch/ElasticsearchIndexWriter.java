@@ -23,18 +23,14 @@ import com.liferay.portal.kernel.search.IndexWriter;
 import com.liferay.portal.kernel.search.SearchContext;
 import com.liferay.portal.kernel.search.SearchException;
 import com.liferay.portal.kernel.search.SpellCheckIndexWriter;
-import com.liferay.portal.kernel.util.PortalRunMode;
 import com.liferay.portal.search.elasticsearch.connection.ElasticsearchConnectionManager;
 import com.liferay.portal.search.elasticsearch.util.DocumentTypes;
 import com.liferay.portal.search.elasticsearch.util.LogUtil;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.Future;
 
-import org.elasticsearch.action.bulk.BulkRequestBuilder;
-import org.elasticsearch.action.bulk.BulkResponse;
-import org.elasticsearch.action.delete.DeleteRequestBuilder;
-import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryRequestBuilder;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryResponse;
 import org.elasticsearch.client.Client;
@@ -72,28 +68,8 @@ public class ElasticsearchIndexWriter extends BaseIndexWriter {
 	public void deleteDocument(SearchContext searchContext, String uid)
 		throws SearchException {
 
-		try {
-			Client client = _elasticsearchConnectionManager.getClient();
-
-			DeleteRequestBuilder deleteRequestBuilder = client.prepareDelete(
-				String.valueOf(searchContext.getCompanyId()),
-				DocumentTypes.LIFERAY, uid);
-
-			if (PortalRunMode.isTestMode() ||
-				searchContext.isCommitImmediately()) {
-
-				deleteRequestBuilder.setRefresh(true);
-			}
-
-			Future<DeleteResponse> future = deleteRequestBuilder.execute();
-
-			DeleteResponse deleteResponse = future.get();
-
-			LogUtil.logActionResponse(_log, deleteResponse);
-		}
-		catch (Exception e) {
-			throw new SearchException("Unable to delete document " + uid, e);
-		}
+		_elasticsearchUpdateDocumentCommand.deleteDocuments(
+			DocumentTypes.LIFERAY, searchContext, Arrays.asList(uid));
 	}
 
 	@Override
@@ -101,35 +77,8 @@ public class ElasticsearchIndexWriter extends BaseIndexWriter {
 			SearchContext searchContext, Collection<String> uids)
 		throws SearchException {
 
-		try {
-			Client client = _elasticsearchConnectionManager.getClient();
-
-			BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
-
-			for (String uid : uids) {
-				DeleteRequestBuilder deleteRequestBuilder =
-					client.prepareDelete(
-						String.valueOf(searchContext.getCompanyId()),
-						DocumentTypes.LIFERAY, uid);
-
-				bulkRequestBuilder.add(deleteRequestBuilder);
-			}
-
-			if (PortalRunMode.isTestMode()||
-				searchContext.isCommitImmediately()) {
-
-				bulkRequestBuilder.setRefresh(true);
-			}
-
-			Future<BulkResponse> future = bulkRequestBuilder.execute();
-
-			BulkResponse bulkResponse = future.get();
-
-			LogUtil.logActionResponse(_log, bulkResponse);
-		}
-		catch (Exception e) {
-			throw new SearchException("Unable to delete documents " + uids, e);
-		}
+		_elasticsearchUpdateDocumentCommand.deleteDocuments(
+			DocumentTypes.LIFERAY, searchContext, uids);
 	}
 
 	@Override
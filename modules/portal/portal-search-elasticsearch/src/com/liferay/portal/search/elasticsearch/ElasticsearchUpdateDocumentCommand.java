@@ -25,6 +25,11 @@ import java.util.Collection;
  */
 public interface ElasticsearchUpdateDocumentCommand {
 
+	public void deleteDocuments(
+			String documentType, SearchContext searchContext,
+			Collection<String> uids)
+		throws SearchException;
+
 	public String updateDocument(
 			String documentType, SearchContext searchContext, Document document,
 			boolean deleteFirst)
@@ -19,38 +19,90 @@ import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.search.Document;
 import com.liferay.portal.kernel.search.SearchContext;
 import com.liferay.portal.kernel.search.SearchException;
+import com.liferay.portal.kernel.util.MapUtil;
 import com.liferay.portal.kernel.util.PortalRunMode;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.search.elasticsearch.connection.ElasticsearchConnectionManager;
 import com.liferay.portal.search.elasticsearch.document.ElasticsearchDocumentFactory;
+import com.liferay.portal.search.elasticsearch.jmx.ElasticsearchBulkProcessorManager;
 import com.liferay.portal.search.elasticsearch.util.DocumentTypes;
 import com.liferay.portal.search.elasticsearch.util.LogUtil;
 
 import java.io.IOException;
 
+import java.lang.management.ManagementFactory;
+
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Future;
 
+import javax.management.MBeanServer;
+
 import org.elasticsearch.action.ActionResponse;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequestBuilder;
+import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.update.UpdateRequestBuilder;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.Client;
 
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 
 /**
  * @author Michael C. Han
  */
-@Component(immediate = true)
+@Component(
+	immediate = true,
+	property = {
+		"bulkProcessorActions=1000", "bulkProcessorConcurrentRequests=2",
+		"bulkProcessorEnabled=false", "bulkProcessorFlushInterval=1000",
+		"bulkProcessorFlushTimeout=30000",
+		"bulkProcessorMaxPendingRequests=10000", "bulkProcessorRetryCount=3",
+		"bulkProcessorSize=5"
+	}
+)
 public class ElasticsearchUpdateDocumentCommandImpl
 	implements ElasticsearchUpdateDocumentCommand {
 
+	@Override
+	public void deleteDocuments(
+			String documentType, SearchContext searchContext,
+			Collection<String> uids)
+		throws SearchException {
+
+		try {
+			ElasticsearchBulkProcessor elasticsearchBulkProcessor =
+				getElasticsearchBulkProcessor(searchContext);
+
+			if (elasticsearchBulkProcessor != null) {
+				Client client = _elasticsearchConnectionManager.getClient();
+
+				for (String uid : uids) {
+					DeleteRequestBuilder deleteRequestBuilder =
+						client.prepareDelete(
+							String.valueOf(searchContext.getCompanyId()),
+							documentType, uid);
+
+					elasticsearchBulkProcessor.add(
+						deleteRequestBuilder.request());
+				}
+
+				return;
+			}
+
+			doDeleteDocuments(documentType, searchContext, uids);
+		}
+		catch (Exception e) {
+			throw new SearchException("Unable to delete documents " + uids, e);
+		}
+	}
+
 	@Reference
 	public void setElasticsearchConnectionManager(
 		ElasticsearchConnectionManager elasticsearchConnectionManager) {
@@ -71,6 +123,14 @@ public class ElasticsearchUpdateDocumentCommandImpl
 			boolean deleteFirst)
 		throws SearchException {
 
+		if (getElasticsearchBulkProcessor(searchContext) != null) {
+			updateDocuments(
+				documentType, searchContext, Arrays.asList(document),
+				deleteFirst);
+
+			return document.getUID();
+		}
+
 		BulkResponse bulkResponse = doUpdateDocuments(
 			documentType, searchContext, Arrays.asList(document), deleteFirst);
 
@@ -96,6 +156,32 @@ public class ElasticsearchUpdateDocumentCommandImpl
 		throws SearchException {
 
 		try {
+			ElasticsearchBulkProcessor elasticsearchBulkProcessor =
+				getElasticsearchBulkProcessor(searchContext);
+
+			if (elasticsearchBulkProcessor != null) {
+				for (Document document : documents) {
+					if (deleteFirst) {
+						IndexRequestBuilder indexRequestBuilder =
+							buildIndexRequestBuilder(
+								documentType, searchContext, document);
+
+						elasticsearchBulkProcessor.add(
+							indexRequestBuilder.request());
+					}
+					else {
+						UpdateRequestBuilder updateRequestBuilder =
+							buildUpdateRequestBuilder(
+								documentType, searchContext, document);
+
+						elasticsearchBulkProcessor.add(
+							updateRequestBuilder.request());
+					}
+				}
+
+				return;
+			}
+
 			doUpdateDocuments(
 				documentType, searchContext, documents, deleteFirst);
 		}
@@ -105,6 +191,36 @@ public class ElasticsearchUpdateDocumentCommandImpl
 		}
 	}
 
+	@Activate
+	protected void activate(Map<String, Object> properties) {
+		_bulkProcessorEnabled = MapUtil.getBoolean(
+			properties, "bulkProcessorEnabled");
+		_properties = properties;
+	}
+
+	/**
+	 * Builds a request that replaces the whole document. The bulk processor
+	 * uses it instead of a delete followed by an update, because the two could
+	 * be split into concurrent bulks and applied out of order.
+	 */
+	protected IndexRequestBuilder buildIndexRequestBuilder(
+			String documentType, SearchContext searchContext, Document document)
+		throws IOException {
+
+		Client client = _elasticsearchConnectionManager.getClient();
+
+		IndexRequestBuilder indexRequestBuilder = client.prepareIndex(
+			String.valueOf(searchContext.getCompanyId()), documentType,
+			document.getUID());
+
+		String elasticSearchDocument =
+			_elasticsearchDocumentFactory.getElasticsearchDocument(document);
+
+		indexRequestBuilder.setSource(elasticSearchDocument);
+
+		return indexRequestBuilder;
+	}
+
 	protected UpdateRequestBuilder buildUpdateRequestBuilder(
 			String documentType, SearchContext searchContext, Document document)
 		throws IOException {
@@ -124,6 +240,69 @@ public class ElasticsearchUpdateDocumentCommandImpl
 		return updateRequestBuilder;
 	}
 
+	protected synchronized void closeElasticsearchBulkProcessor() {
+		if (_elasticsearchBulkProcessor == null) {
+			return;
+		}
+
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+		try {
+			mBeanServer.unregisterMBean(
+				ElasticsearchBulkProcessorManager.createObjectName());
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to unregister the bulk processor MBean", e);
+			}
+		}
+
+		_elasticsearchBulkProcessor.close();
+
+		_elasticsearchBulkProcessor = null;
+	}
+
+	@Deactivate
+	protected synchronized void deactivate() {
+		closeElasticsearchBulkProcessor();
+	}
+
+	protected void doDeleteDocuments(
+			String documentType, SearchContext searchContext,
+			Collection<String> uids)
+		throws SearchException {
+
+		try {
+			Client client = _elasticsearchConnectionManager.getClient();
+
+			BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
+
+			for (String uid : uids) {
+				DeleteRequestBuilder deleteRequestBuilder =
+					client.prepareDelete(
+						String.valueOf(searchContext.getCompanyId()),
+						documentType, uid);
+
+				bulkRequestBuilder.add(deleteRequestBuilder);
+			}
+
+			if (PortalRunMode.isTestMode()||
+				searchContext.isCommitImmediately()) {
+
+				bulkRequestBuilder.setRefresh(true);
+			}
+
+			Future<BulkResponse> future = bulkRequestBuilder.execute();
+
+			BulkResponse bulkResponse = future.get();
+
+			LogUtil.logActionResponse(_log, bulkResponse);
+		}
+		catch (Exception e) {
+			throw new SearchException("Unable to delete documents " + uids, e);
+		}
+	}
+
 	protected BulkResponse doUpdateDocuments(
 			String documentType, SearchContext searchContext,
 			Collection<Document> documents, boolean deleteFirst)
@@ -171,10 +350,81 @@ public class ElasticsearchUpdateDocumentCommandImpl
 		}
 	}
 
+	protected synchronized ElasticsearchBulkProcessor
+		getElasticsearchBulkProcessor() {
+
+		if (!_bulkProcessorEnabled) {
+			return null;
+		}
+
+		Client client = _elasticsearchConnectionManager.getClient();
+
+		if (_elasticsearchBulkProcessor != null) {
+			if (_elasticsearchBulkProcessor.getClient() == client) {
+				return _elasticsearchBulkProcessor;
+			}
+
+			closeElasticsearchBulkProcessor();
+		}
+
+		_elasticsearchBulkProcessor = new ElasticsearchBulkProcessor(
+			client, _properties);
+
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+		try {
+			mBeanServer.registerMBean(
+				new ElasticsearchBulkProcessorManager(
+					_elasticsearchBulkProcessor),
+				ElasticsearchBulkProcessorManager.createObjectName());
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to register the bulk processor MBean", e);
+			}
+		}
+
+		return _elasticsearchBulkProcessor;
+	}
+
+	/**
+	 * Returns the bulk processor that the requests of the search context are
+	 * sent through, or <code>null</code> if they must be sent synchronously.
+	 * Before a synchronous request, the bulk processor is flushed, so that the
+	 * requests it still holds are not applied after it.
+	 */
+	protected ElasticsearchBulkProcessor getElasticsearchBulkProcessor(
+		SearchContext searchContext) {
+
+		ElasticsearchBulkProcessor elasticsearchBulkProcessor =
+			getElasticsearchBulkProcessor();
+
+		if (elasticsearchBulkProcessor == null) {
+			return null;
+		}
+
+		if (!PortalRunMode.isTestMode() &&
+			!searchContext.isCommitImmediately()) {
+
+			return elasticsearchBulkProcessor;
+		}
+
+		if (!elasticsearchBulkProcessor.flush() && _log.isWarnEnabled()) {
+			_log.warn(
+				"Unable to flush " + elasticsearchBulkProcessor +
+					" before a synchronous request");
+		}
+
+		return null;
+	}
+
 	private static Log _log = LogFactoryUtil.getLog(
 		ElasticsearchUpdateDocumentCommandImpl.class);
 
+	private boolean _bulkProcessorEnabled;
+	private ElasticsearchBulkProcessor _elasticsearchBulkProcessor;
 	private ElasticsearchConnectionManager _elasticsearchConnectionManager;
 	private ElasticsearchDocumentFactory _elasticsearchDocumentFactory;
+	private Map<String, Object> _properties;
 
 }
\ No newline at end of file
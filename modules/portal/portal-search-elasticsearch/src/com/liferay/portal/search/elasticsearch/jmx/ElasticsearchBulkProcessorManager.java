@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.elasticsearch.jmx;
+
+import com.liferay.portal.search.elasticsearch.ElasticsearchBulkProcessor;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * @author Michael C. Han
+ */
+public class ElasticsearchBulkProcessorManager
+	implements ElasticsearchBulkProcessorManagerMBean {
+
+	public static ObjectName createObjectName() {
+		try {
+			return new ObjectName(_OBJECT_NAME);
+		}
+		catch (MalformedObjectNameException mone) {
+			throw new IllegalStateException(mone);
+		}
+	}
+
+	public ElasticsearchBulkProcessorManager(
+		ElasticsearchBulkProcessor elasticsearchBulkProcessor) {
+
+		_elasticsearchBulkProcessor = elasticsearchBulkProcessor;
+	}
+
+	@Override
+	public long getCompletedCount() {
+		return _elasticsearchBulkProcessor.getCompletedCount();
+	}
+
+	@Override
+	public long getFailedCount() {
+		return _elasticsearchBulkProcessor.getFailedCount();
+	}
+
+	@Override
+	public int getInFlightBulkCount() {
+		return _elasticsearchBulkProcessor.getInFlightBulkCount();
+	}
+
+	@Override
+	public int getPendingCount() {
+		return _elasticsearchBulkProcessor.getPendingCount();
+	}
+
+	@Override
+	public long getRetriedCount() {
+		return _elasticsearchBulkProcessor.getRetriedCount();
+	}
+
+	@Override
+	public long getSubmittedCount() {
+		return _elasticsearchBulkProcessor.getSubmittedCount();
+	}
+
+	@Override
+	public long getSupersededCount() {
+		return _elasticsearchBulkProcessor.getSupersededCount();
+	}
+
+	@Override
+	public double getThroughput() {
+		return _elasticsearchBulkProcessor.getThroughput();
+	}
+
+	private static final String _OBJECT_NAME =
+		"com.liferay.portal.search:classification=elasticsearch," +
+			"name=ElasticsearchBulkProcessor";
+
+	private final ElasticsearchBulkProcessor _elasticsearchBulkProcessor;
+
+}
\ No newline at end of file
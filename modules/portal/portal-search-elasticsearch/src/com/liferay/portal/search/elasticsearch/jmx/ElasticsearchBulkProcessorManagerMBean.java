@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.elasticsearch.jmx;
+
+/**
+ * Exposes the counters of the Elasticsearch bulk processor.
+ *
+ * @author Michael C. Han
+ */
+public interface ElasticsearchBulkProcessorManagerMBean {
+
+	public long getCompletedCount();
+
+	public long getFailedCount();
+
+	public int getInFlightBulkCount();
+
+	public int getPendingCount();
+
+	public long getRetriedCount();
+
+	public long getSubmittedCount();
+
+	public long getSupersededCount();
+
+	public double getThroughput();
+
+}
\ No newline at end of file
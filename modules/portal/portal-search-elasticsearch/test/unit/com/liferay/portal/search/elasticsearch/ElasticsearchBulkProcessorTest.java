@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.elasticsearch;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * @author Michael C. Han
+ */
+public class ElasticsearchBulkProcessorTest {
+
+	@Before
+	public void setUp() {
+		Client client = Mockito.mock(Client.class);
+
+		Mockito.doAnswer(
+			new Answer<Void>() {
+
+				@Override
+				public Void answer(InvocationOnMock invocationOnMock) {
+					Object[] arguments = invocationOnMock.getArguments();
+
+					_bulks.add(
+						new Bulk(
+							(BulkRequest)arguments[0],
+							(ActionListener<BulkResponse>)arguments[1]));
+
+					return null;
+				}
+
+			}
+		).when(
+			client
+		).bulk(
+			Matchers.any(BulkRequest.class),
+			Matchers.<ActionListener<BulkResponse>>any()
+		);
+
+		Map<String, Object> properties = new HashMap<String, Object>();
+
+		properties.put("bulkProcessorActions", 1);
+		properties.put("bulkProcessorConcurrentRequests", 2);
+		properties.put("bulkProcessorFlushInterval", 0);
+		properties.put("bulkProcessorFlushTimeout", 10000);
+		properties.put("bulkProcessorRetryCount", 1);
+
+		_elasticsearchBulkProcessor = new ElasticsearchBulkProcessor(
+			client, properties);
+	}
+
+	@After
+	public void tearDown() {
+		_elasticsearchBulkProcessor.close();
+	}
+
+	@Test
+	public void testCloseWaitsForInFlightBulks() throws Exception {
+		_elasticsearchBulkProcessor.add(new IndexRequest("0", "type", "1"));
+
+		final Bulk bulk = _takeBulk();
+
+		Thread thread = new Thread() {
+
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(100);
+				}
+				catch (InterruptedException ie) {
+				}
+
+				bulk.fail();
+			}
+
+		};
+
+		thread.start();
+
+		_elasticsearchBulkProcessor.close();
+
+		Assert.assertTrue(bulk.isAnswered());
+		Assert.assertEquals(0, _elasticsearchBulkProcessor.getPendingCount());
+		Assert.assertEquals(1, _elasticsearchBulkProcessor.getFailedCount());
+		Assert.assertEquals(0, _elasticsearchBulkProcessor.getRetriedCount());
+
+		thread.join();
+	}
+
+	@Test
+	public void testRetry() throws Exception {
+		IndexRequest indexRequest = new IndexRequest("0", "type", "1");
+
+		_elasticsearchBulkProcessor.add(indexRequest);
+
+		Bulk bulk = _takeBulk();
+
+		bulk.fail();
+
+		Assert.assertEquals(1, _elasticsearchBulkProcessor.getPendingCount());
+		Assert.assertEquals(1, _elasticsearchBulkProcessor.getRetriedCount());
+
+		bulk = _takeBulk();
+
+		Assert.assertEquals(
+			Arrays.<ActionRequest>asList(indexRequest), bulk.getRequests());
+
+		bulk.fail();
+
+		Assert.assertEquals(0, _elasticsearchBulkProcessor.getPendingCount());
+		Assert.assertEquals(1, _elasticsearchBulkProcessor.getFailedCount());
+		Assert.assertEquals(1, _elasticsearchBulkProcessor.getRetriedCount());
+	}
+
+	@Test
+	public void testRetrySupersededRequest() throws Exception {
+		_elasticsearchBulkProcessor.add(new IndexRequest("0", "type", "1"));
+
+		Bulk bulk1 = _takeBulk();
+
+		IndexRequest indexRequest = new IndexRequest("0", "type", "1");
+
+		_elasticsearchBulkProcessor.add(indexRequest);
+
+		Bulk bulk2 = _takeBulk();
+
+		bulk1.fail();
+
+		Assert.assertEquals(1, _elasticsearchBulkProcessor.getPendingCount());
+		Assert.assertEquals(0, _elasticsearchBulkProcessor.getRetriedCount());
+		Assert.assertEquals(
+			1, _elasticsearchBulkProcessor.getSupersededCount());
+
+		bulk2.fail();
+
+		Assert.assertEquals(1, _elasticsearchBulkProcessor.getRetriedCount());
+
+		Bulk bulk3 = _takeBulk();
+
+		Assert.assertEquals(
+			Arrays.<ActionRequest>asList(indexRequest), bulk3.getRequests());
+
+		bulk3.fail();
+
+		Assert.assertEquals(0, _elasticsearchBulkProcessor.getPendingCount());
+		Assert.assertEquals(1, _elasticsearchBulkProcessor.getFailedCount());
+	}
+
+	private Bulk _takeBulk() throws InterruptedException {
+		Bulk bulk = _bulks.poll(10, TimeUnit.SECONDS);
+
+		Assert.assertNotNull(bulk);
+
+		return bulk;
+	}
+
+	private final BlockingQueue<Bulk> _bulks = new LinkedBlockingQueue<Bulk>();
+	private ElasticsearchBulkProcessor _elasticsearchBulkProcessor;
+
+	private static class Bulk {
+
+		public Bulk(
+			BulkRequest bulkRequest,
+			ActionListener<BulkResponse> actionListener) {
+
+			_bulkRequest = bulkRequest;
+			_actionListener = actionListener;
+		}
+
+		public void fail() {
+			_answered = true;
+
+			_actionListener.onFailure(new Exception());
+		}
+
+		public List<ActionRequest> getRequests() {
+			return _bulkRequest.requests();
+		}
+
+		public boolean isAnswered() {
+			return _answered;
+		}
+
+		private final ActionListener<BulkResponse> _actionListener;
+		private volatile boolean _answered;
+		private final BulkRequest _bulkRequest;
+
+	}
+
+}
\ No newline at end of file
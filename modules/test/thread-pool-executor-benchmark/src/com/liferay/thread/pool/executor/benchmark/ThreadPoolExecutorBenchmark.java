@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.thread.pool.executor.benchmark;
+
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.concurrent.WorkStealingThreadPoolExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the throughput of {@link ThreadPoolExecutor} and {@link
+ * WorkStealingThreadPoolExecutor}. Run it with <code>ant benchmark</code>, and
+ * pass JMH options such as <code>-Dbenchmark.args="-p poolSize=16"</code>. The
+ * results are only meaningful on a machine with at least as many CPUs as the
+ * pool has workers.
+ *
+ * @author Shuyang Zhou
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+public class ThreadPoolExecutorBenchmark {
+
+	@Benchmark
+	@Threads(4)
+	public void executeFromCallers() throws InterruptedException {
+		CountDownLatch countDownLatch = new CountDownLatch(taskCount);
+
+		for (int i = 0; i < taskCount; i++) {
+			_threadPoolExecutor.execute(
+				new CountDownRunnable(countDownLatch, taskTokens));
+		}
+
+		countDownLatch.await();
+	}
+
+	@Benchmark
+	public void executeFromWorkers() throws InterruptedException {
+		final CountDownLatch countDownLatch = new CountDownLatch(taskCount);
+
+		for (int i = 0; i < poolSize; i++) {
+			_threadPoolExecutor.execute(
+				new Runnable() {
+
+					@Override
+					public void run() {
+						for (int j = 0; j < (taskCount / poolSize); j++) {
+							_threadPoolExecutor.execute(
+								new CountDownRunnable(
+									countDownLatch, taskTokens));
+						}
+					}
+
+				});
+		}
+
+		for (int i = 0; i < (taskCount % poolSize); i++) {
+			countDownLatch.countDown();
+		}
+
+		countDownLatch.await();
+	}
+
+	@Setup
+	public void setUp() {
+		if (workStealing) {
+			_threadPoolExecutor = new WorkStealingThreadPoolExecutor(
+				poolSize, poolSize);
+		}
+		else {
+			_threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		_threadPoolExecutor.shutdown();
+
+		_threadPoolExecutor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+
+	@Param("4")
+	public int poolSize;
+
+	@Param("1000")
+	public int taskCount;
+
+	@Param({"10", "1000"})
+	public long taskTokens;
+
+	@Param({"false", "true"})
+	public boolean workStealing;
+
+	private ThreadPoolExecutor _threadPoolExecutor;
+
+	private static class CountDownRunnable implements Runnable {
+
+		public CountDownRunnable(CountDownLatch countDownLatch, long tokens) {
+			_countDownLatch = countDownLatch;
+			_tokens = tokens;
+		}
+
+		@Override
+		public void run() {
+			Blackhole.consumeCPU(_tokens);
+
+			_countDownLatch.countDown();
+		}
+
+		private final CountDownLatch _countDownLatch;
+		private final long _tokens;
+
+	}
+
+}
\ No newline at end of file
@@ -16,6 +16,9 @@ package com.liferay.counter.model;
 
 import com.liferay.portal.kernel.concurrent.CompeteLatch;
 
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * @author Harry Mark
  * @author Shuyang Zhou
@@ -38,6 +41,14 @@ public class CounterRegister {
 		this(name, new CounterHolder(rangeMin, rangeMax), rangeSize);
 	}
 
+	public boolean compareAndSetNextCounterHolderFuture(
+		Future<CounterHolder> expectedNextCounterHolderFuture,
+		Future<CounterHolder> nextCounterHolderFuture) {
+
+		return _nextCounterHolderFutureReference.compareAndSet(
+			expectedNextCounterHolderFuture, nextCounterHolderFuture);
+	}
+
 	public CompeteLatch getCompeteLatch() {
 		return _competeLatch;
 	}
@@ -50,6 +61,10 @@ public class CounterRegister {
 		return _name;
 	}
 
+	public Future<CounterHolder> getNextCounterHolderFuture() {
+		return _nextCounterHolderFutureReference.get();
+	}
+
 	public int getRangeSize() {
 		return _rangeSize;
 	}
@@ -64,7 +79,10 @@ public class CounterRegister {
 
 	private final CompeteLatch _competeLatch;
 	private volatile CounterHolder _counterHolder;
-	private String _name;
+	private volatile String _name;
+	private final AtomicReference<Future<CounterHolder>>
+		_nextCounterHolderFutureReference =
+			new AtomicReference<Future<CounterHolder>>();
 	private final int _rangeSize;
 
 }
\ No newline at end of file
@@ -22,11 +22,15 @@ import com.liferay.counter.service.persistence.CounterFinder;
 import com.liferay.portal.kernel.cache.CacheRegistryItem;
 import com.liferay.portal.kernel.cache.CacheRegistryUtil;
 import com.liferay.portal.kernel.concurrent.CompeteLatch;
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
 import com.liferay.portal.kernel.dao.jdbc.DataAccess;
 import com.liferay.portal.kernel.dao.orm.LockMode;
 import com.liferay.portal.kernel.dao.orm.ObjectNotFoundException;
 import com.liferay.portal.kernel.dao.orm.Session;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.PropsKeys;
@@ -43,7 +47,13 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
 
 /**
  * @author Brian Wing Shun Chan
@@ -56,6 +66,12 @@ public class CounterFinderImpl
 	extends BasePersistenceImpl<Dummy>
 	implements CacheRegistryItem, CounterFinder {
 
+	public CounterFinderImpl() {
+		for (int i = 0; i < _counterRegisterLocks.length; i++) {
+			_counterRegisterLocks[i] = new Object();
+		}
+	}
+
 	@Override
 	public void afterPropertiesSet() {
 		CacheRegistryUtil.register(this);
@@ -126,38 +142,52 @@ public class CounterFinderImpl
 		CounterRegister counterRegister = getCounterRegister(oldName);
 
 		synchronized (counterRegister) {
-			if (_counterRegisterMap.containsKey(newName)) {
-				throw new SystemException(
-					"Cannot rename " + oldName + " to " + newName);
-			}
+			Object counterRegisterLock = _getCounterRegisterLock(newName);
 
-			Connection connection = null;
-			PreparedStatement preparedStatement = null;
+			synchronized (counterRegisterLock) {
+				if (_counterRegisterMap.containsKey(newName)) {
+					throw new SystemException(
+						"Cannot rename " + oldName + " to " + newName);
+				}
 
-			try {
-				connection = getConnection();
+				// Let a running prefetch finish against the old name. Its
+				// range stays valid because the row keeps its current ID.
 
-				preparedStatement = connection.prepareStatement(
-					_SQL_UPDATE_NAME_BY_NAME);
+				Future<CounterHolder> nextCounterHolderFuture =
+					counterRegister.getNextCounterHolderFuture();
 
-				preparedStatement.setString(1, newName);
-				preparedStatement.setString(2, oldName);
+				if (nextCounterHolderFuture != null) {
+					_waitForCounterHolder(oldName, nextCounterHolderFuture);
+				}
 
-				preparedStatement.executeUpdate();
-			}
-			catch (ObjectNotFoundException onfe) {
-			}
-			catch (Exception e) {
-				throw processException(e);
-			}
-			finally {
-				DataAccess.cleanUp(connection, preparedStatement);
-			}
+				Connection connection = null;
+				PreparedStatement preparedStatement = null;
+
+				try {
+					connection = getConnection();
+
+					preparedStatement = connection.prepareStatement(
+						_SQL_UPDATE_NAME_BY_NAME);
+
+					preparedStatement.setString(1, newName);
+					preparedStatement.setString(2, oldName);
 
-			counterRegister.setName(newName);
+					preparedStatement.executeUpdate();
+				}
+				catch (ObjectNotFoundException onfe) {
+				}
+				catch (Exception e) {
+					throw processException(e);
+				}
+				finally {
+					DataAccess.cleanUp(connection, preparedStatement);
+				}
 
-			_counterRegisterMap.put(newName, counterRegister);
-			_counterRegisterMap.remove(oldName);
+				counterRegister.setName(newName);
+
+				_counterRegisterMap.put(newName, counterRegister);
+				_counterRegisterMap.remove(oldName);
+			}
 		}
 	}
 
@@ -166,6 +196,8 @@ public class CounterFinderImpl
 		CounterRegister counterRegister = getCounterRegister(name);
 
 		synchronized (counterRegister) {
+			_discardNextCounterHolder(counterRegister);
+
 			Session session = null;
 
 			try {
@@ -192,7 +224,15 @@ public class CounterFinderImpl
 
 	@Override
 	public void reset(String name, long size) {
-		CounterRegister counterRegister = createCounterRegister(name, size);
+		CounterRegister counterRegister = _counterRegisterMap.get(name);
+
+		if (counterRegister != null) {
+			synchronized (counterRegister) {
+				_discardNextCounterHolder(counterRegister);
+			}
+		}
+
+		counterRegister = createCounterRegister(name, size);
 
 		_counterRegisterMap.put(name, counterRegister);
 	}
@@ -262,7 +302,9 @@ public class CounterFinderImpl
 			return counterRegister;
 		}
 
-		synchronized (_counterRegisterMap) {
+		Object counterRegisterLock = _getCounterRegisterLock(name);
+
+		synchronized (counterRegisterLock) {
 
 			// Double check
 
@@ -316,6 +358,8 @@ public class CounterFinderImpl
 		long newValue = counterHolder.addAndGet(size);
 
 		if (newValue <= counterHolder.getRangeMax()) {
+			_prefetchIncrement(counterRegister, counterHolder, newValue);
+
 			return newValue;
 		}
 
@@ -349,9 +393,14 @@ public class CounterFinderImpl
 			newValue = counterHolder.addAndGet(size);
 
 			if (newValue > counterHolder.getRangeMax()) {
-				CounterHolder newCounterHolder = _obtainIncrement(
-					counterRegister.getName(), counterRegister.getRangeSize(),
-					0);
+				CounterHolder newCounterHolder = _getNextCounterHolder(
+					counterRegister);
+
+				if (newCounterHolder == null) {
+					newCounterHolder = _obtainIncrement(
+						counterRegister.getName(),
+						counterRegister.getRangeSize(), 0);
+				}
 
 				newValue = newCounterHolder.addAndGet(size);
 
@@ -371,6 +420,48 @@ public class CounterFinderImpl
 		return newValue;
 	}
 
+	private void _discardNextCounterHolder(CounterRegister counterRegister) {
+		Future<CounterHolder> nextCounterHolderFuture =
+			counterRegister.getNextCounterHolderFuture();
+
+		if ((nextCounterHolderFuture != null) &&
+			counterRegister.compareAndSetNextCounterHolderFuture(
+				nextCounterHolderFuture, null)) {
+
+			_waitForCounterHolder(
+				counterRegister.getName(), nextCounterHolderFuture);
+		}
+	}
+
+	private Object _getCounterRegisterLock(String name) {
+		int hash = name.hashCode();
+
+		hash ^= (hash >>> 20) ^ (hash >>> 12);
+		hash ^= (hash >>> 7) ^ (hash >>> 4);
+
+		return _counterRegisterLocks[hash & (_counterRegisterLocks.length - 1)];
+	}
+
+	private CounterHolder _getNextCounterHolder(
+		CounterRegister counterRegister) {
+
+		Future<CounterHolder> nextCounterHolderFuture =
+			counterRegister.getNextCounterHolderFuture();
+
+		if ((nextCounterHolderFuture == null) ||
+			!counterRegister.compareAndSetNextCounterHolderFuture(
+				nextCounterHolderFuture, null)) {
+
+			return null;
+		}
+
+		// The range of a running prefetch may already be reserved in the
+		// database, so wait for it instead of discarding it
+
+		return _waitForCounterHolder(
+			counterRegister.getName(), nextCounterHolderFuture);
+	}
+
 	private CounterHolder _obtainIncrement(
 		String counterName, long range, long size) {
 
@@ -408,6 +499,143 @@ public class CounterFinderImpl
 		}
 	}
 
+	private CounterHolder _obtainPrefetchedIncrement(
+			String counterName, long range)
+		throws SQLException {
+
+		// Runs outside of the counter transaction, so use a compare and set
+		// update instead of a row lock
+
+		Connection connection = null;
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+
+		try {
+			connection = getConnection();
+
+			while (true) {
+				preparedStatement = connection.prepareStatement(
+					_SQL_SELECT_ID_BY_NAME);
+
+				preparedStatement.setString(1, counterName);
+
+				resultSet = preparedStatement.executeQuery();
+
+				if (!resultSet.next()) {
+					throw new SystemException(
+						"No counter exists with the name " + counterName);
+				}
+
+				long currentId = resultSet.getLong(1);
+
+				DataAccess.cleanUp(resultSet);
+				DataAccess.cleanUp(preparedStatement);
+
+				resultSet = null;
+
+				long rangeMax = currentId + range;
+
+				preparedStatement = connection.prepareStatement(
+					_SQL_UPDATE_ID_BY_NAME_AND_ID);
+
+				preparedStatement.setLong(1, rangeMax);
+				preparedStatement.setString(2, counterName);
+				preparedStatement.setLong(3, currentId);
+
+				int count = preparedStatement.executeUpdate();
+
+				DataAccess.cleanUp(preparedStatement);
+
+				preparedStatement = null;
+
+				if (count > 0) {
+					return new CounterHolder(currentId, rangeMax);
+				}
+			}
+		}
+		finally {
+			DataAccess.cleanUp(connection, preparedStatement, resultSet);
+		}
+	}
+
+	private void _prefetchIncrement(
+		final CounterRegister counterRegister, CounterHolder counterHolder,
+		long value) {
+
+		final int rangeSize = counterRegister.getRangeSize();
+
+		// Counters that increment by 1 keep obtaining their values
+		// synchronously so that they stay sequential
+
+		if (!PropsValues.COUNTER_PREFETCH_ENABLED || (rangeSize <= 1) ||
+			((counterHolder.getRangeMax() - value) > (rangeSize / 2)) ||
+			(counterRegister.getNextCounterHolderFuture() != null)) {
+
+			return;
+		}
+
+		// Read the name when the prefetch runs so that a rename in between
+		// never reserves a range from the old name
+
+		FutureTask<CounterHolder> futureTask = new FutureTask<CounterHolder>(
+			new Callable<CounterHolder>() {
+
+				@Override
+				public CounterHolder call() throws Exception {
+					return _obtainPrefetchedIncrement(
+						counterRegister.getName(), rangeSize);
+				}
+
+			});
+
+		if (!counterRegister.compareAndSetNextCounterHolderFuture(
+				null, futureTask)) {
+
+			return;
+		}
+
+		ThreadPoolExecutor threadPoolExecutor =
+			PortalExecutorManagerUtil.getPortalExecutor(
+				CounterFinderImpl.class.getName());
+
+		try {
+			threadPoolExecutor.execute(futureTask);
+		}
+		catch (RejectedExecutionException ree) {
+			counterRegister.compareAndSetNextCounterHolderFuture(
+				futureTask, null);
+		}
+	}
+
+	private CounterHolder _waitForCounterHolder(
+		String name, Future<CounterHolder> counterHolderFuture) {
+
+		// Run a prefetch that is still queued in the calling thread, which
+		// also covers an executor that no longer runs its queue
+
+		RunnableFuture<CounterHolder> runnableFuture =
+			(RunnableFuture<CounterHolder>)counterHolderFuture;
+
+		runnableFuture.run();
+
+		try {
+			return runnableFuture.get();
+		}
+		catch (ExecutionException ee) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to prefetch increment for " + name, ee.getCause());
+			}
+
+			return null;
+		}
+		catch (InterruptedException ie) {
+			throw processException(ie);
+		}
+	}
+
+	private static final int _COUNTER_REGISTER_LOCKS_COUNT = 16;
+
 	private static final int _DEFAULT_CURRENT_ID = 0;
 
 	private static final int _MINIMUM_INCREMENT_SIZE = 1;
@@ -423,9 +651,17 @@ public class CounterFinderImpl
 	private static final String _SQL_SELECT_NAMES =
 		"select name from Counter order by name asc";
 
+	private static final String _SQL_UPDATE_ID_BY_NAME_AND_ID =
+		"update Counter set currentId = ? where name = ? and currentId = ?";
+
 	private static final String _SQL_UPDATE_NAME_BY_NAME =
 		"update Counter set name = ? where name = ?";
 
+	private static Log _log = LogFactoryUtil.getLog(CounterFinderImpl.class);
+
+	private final Object[] _counterRegisterLocks =
+		new Object[_COUNTER_REGISTER_LOCKS_COUNT];
+
 	private Map<String, CounterRegister> _counterRegisterMap =
 		new ConcurrentHashMap<String, CounterRegister>();
 	private Map<String, Integer> _rangeSizeMap =
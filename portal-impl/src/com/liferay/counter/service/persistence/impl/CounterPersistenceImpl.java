@@ -438,9 +438,11 @@ public class CounterPersistenceImpl extends BasePersistenceImpl<Counter>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(CounterModelImpl.ENTITY_CACHE_ENABLED,
+				CounterImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Counter counter = (Counter)EntityCacheUtil.getResult(CounterModelImpl.ENTITY_CACHE_ENABLED,
-					CounterImpl.class, primaryKey);
+			Counter counter = (Counter)cachedResults.get(primaryKey);
 
 			if (counter == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -0,0 +1,449 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.bootstrap;
+
+import com.liferay.portal.kernel.bean.PortalBeanLocatorUtil;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.concurrent.AbortPolicy;
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.concurrent.ThreadPoolHandlerAdapter;
+import com.liferay.portal.kernel.dao.orm.EntityCacheUtil;
+import com.liferay.portal.kernel.dao.shard.ShardUtil;
+import com.liferay.portal.kernel.io.Deserializer;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.io.Serializer;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.NamedThreadFactory;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.service.persistence.BasePersistence;
+import com.liferay.portal.util.ClassLoaderUtil;
+import com.liferay.portal.util.PropsValues;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps entity caches warm across restarts. The primary keys held by every
+ * entity cache are periodically written to local disk, and on startup they
+ * are reloaded in parallel batches through {@link
+ * BasePersistence#fetchByPrimaryKeys(java.util.Set)}, which repopulates the
+ * entity cache. Only keys are stored, so a snapshot never serves stale data.
+ * Both the loading and the writing run on portal executors, and startup waits
+ * for the loading at most for the configured load timeout.
+ *
+ * @author Shuyang Zhou
+ */
+public class EntityCacheSnapshotUtil {
+
+	public static synchronized void start() {
+		if (!PropsValues.EHCACHE_SNAPSHOT_ENABLED || ShardUtil.isEnabled() ||
+			_started) {
+
+			return;
+		}
+
+		_started = true;
+
+		File snapshotDir = new File(PropsValues.EHCACHE_SNAPSHOT_DIR);
+
+		Map<String, BasePersistence<?>> persistences = getPersistences();
+
+		try {
+			load(
+				snapshotDir, persistences,
+				PropsValues.EHCACHE_SNAPSHOT_LOAD_BATCH_SIZE,
+				PropsValues.EHCACHE_SNAPSHOT_LOAD_THREAD_POOL_SIZE,
+				PropsValues.EHCACHE_SNAPSHOT_LOAD_TIMEOUT);
+		}
+		catch (InterruptedException ie) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Interrupted while loading entity cache snapshots");
+			}
+		}
+
+		ThreadPoolExecutor threadPoolExecutor =
+			PortalExecutorManagerUtil.getPortalExecutor(_WRITER_NAME);
+
+		threadPoolExecutor.execute(
+			new Runnable() {
+
+				@Override
+				public void run() {
+					long interval = TimeUnit.SECONDS.toMillis(
+						PropsValues.EHCACHE_SNAPSHOT_INTERVAL);
+
+					while (true) {
+						try {
+							Thread.sleep(interval);
+						}
+						catch (InterruptedException ie) {
+							return;
+						}
+
+						store(
+							new File(PropsValues.EHCACHE_SNAPSHOT_DIR),
+							getPersistences(),
+							PropsValues.EHCACHE_SNAPSHOT_MAX_KEYS);
+					}
+				}
+
+			});
+	}
+
+	public static synchronized void stop() {
+		if (!_started) {
+			return;
+		}
+
+		_started = false;
+
+		ThreadPoolExecutor threadPoolExecutor =
+			PortalExecutorManagerUtil.getPortalExecutor(_WRITER_NAME, false);
+
+		if (threadPoolExecutor != null) {
+			PortalExecutorManagerUtil.shutdown(_WRITER_NAME, true);
+
+			try {
+				threadPoolExecutor.awaitTermination(
+					_WRITER_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException ie) {
+				if (_log.isWarnEnabled()) {
+					_log.warn(
+						"Interrupted while waiting for the entity cache " +
+							"snapshot writer");
+				}
+			}
+		}
+
+		store(
+			new File(PropsValues.EHCACHE_SNAPSHOT_DIR), getPersistences(),
+			PropsValues.EHCACHE_SNAPSHOT_MAX_KEYS);
+	}
+
+	protected static Map<String, BasePersistence<?>> getPersistences() {
+		Map<String, BasePersistence<?>> persistences =
+			new HashMap<String, BasePersistence<?>>();
+
+		Map<String, BasePersistence> beans = PortalBeanLocatorUtil.locate(
+			BasePersistence.class);
+
+		for (BasePersistence<?> basePersistence : beans.values()) {
+			Class<?> modelClass = basePersistence.getModelClass();
+
+			if (modelClass == null) {
+				continue;
+			}
+
+			Package modelPackage = modelClass.getPackage();
+
+			String implClassName = modelPackage.getName().concat(
+				".impl.").concat(modelClass.getSimpleName()).concat("Impl");
+
+			persistences.put(implClassName, basePersistence);
+		}
+
+		return persistences;
+	}
+
+	protected static void load(
+			File snapshotDir, Map<String, BasePersistence<?>> persistences,
+			int batchSize, int threadPoolSize, long timeout)
+		throws InterruptedException {
+
+		if ((batchSize < 1) || (threadPoolSize < 1)) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to load entity cache snapshots with a batch size " +
+						"of " + batchSize + " and a thread pool size of " +
+							threadPoolSize);
+			}
+
+			return;
+		}
+
+		File[] snapshotFiles = snapshotDir.listFiles();
+
+		if (snapshotFiles == null) {
+			return;
+		}
+
+		PortalExecutorManagerUtil.registerPortalExecutor(
+			_LOADER_NAME,
+			new ThreadPoolExecutor(
+				threadPoolSize, threadPoolSize, 60, TimeUnit.SECONDS, true,
+				Integer.MAX_VALUE, new AbortPolicy(),
+				new NamedThreadFactory(
+					_LOADER_NAME, Thread.MIN_PRIORITY,
+					ClassLoaderUtil.getClassLoader(
+						EntityCacheSnapshotUtil.class)),
+				new ThreadPoolHandlerAdapter()));
+
+		ThreadPoolExecutor threadPoolExecutor =
+			PortalExecutorManagerUtil.getPortalExecutor(_LOADER_NAME);
+
+		int count = 0;
+
+		for (File snapshotFile : snapshotFiles) {
+			String fileName = snapshotFile.getName();
+
+			if (!fileName.endsWith(_SNAPSHOT_FILE_EXTENSION)) {
+				continue;
+			}
+
+			String implClassName = fileName.substring(
+				0, fileName.length() - _SNAPSHOT_FILE_EXTENSION.length());
+
+			final BasePersistence<?> basePersistence = persistences.get(
+				implClassName);
+
+			if (basePersistence == null) {
+				continue;
+			}
+
+			List<Serializable> primaryKeys = null;
+
+			try {
+				primaryKeys = readSnapshot(snapshotFile);
+			}
+			catch (Exception e) {
+				if (_log.isWarnEnabled()) {
+					_log.warn("Unable to read snapshot " + snapshotFile, e);
+				}
+
+				continue;
+			}
+
+			for (int i = 0; i < primaryKeys.size(); i += batchSize) {
+				final List<Serializable> batch = primaryKeys.subList(
+					i, Math.min(i + batchSize, primaryKeys.size()));
+
+				threadPoolExecutor.execute(
+					new Runnable() {
+
+						@Override
+						public void run() {
+							try {
+								basePersistence.fetchByPrimaryKeys(
+									new HashSet<Serializable>(batch));
+							}
+							catch (Exception e) {
+								if (_log.isWarnEnabled()) {
+									_log.warn(
+										"Unable to load entity cache snapshot",
+										e);
+								}
+							}
+						}
+
+					});
+			}
+
+			count += primaryKeys.size();
+		}
+
+		// Pending batches still run after the shutdown
+
+		PortalExecutorManagerUtil.shutdown(_LOADER_NAME);
+
+		if (timeout <= 0) {
+			if (_log.isInfoEnabled()) {
+				_log.info(
+					"Loading " + count + " entities from snapshots in the " +
+						"background");
+			}
+
+			return;
+		}
+
+		boolean terminated = threadPoolExecutor.awaitTermination(
+			timeout, TimeUnit.MILLISECONDS);
+
+		if (terminated) {
+			if (_log.isInfoEnabled()) {
+				_log.info("Loaded " + count + " entities from snapshots");
+			}
+		}
+		else if (_log.isWarnEnabled()) {
+			_log.warn(
+				"Entity cache snapshots are still loading after " + timeout +
+					" ms");
+		}
+	}
+
+	protected static List<Serializable> readSnapshot(File snapshotFile)
+		throws ClassNotFoundException, IOException {
+
+		byte[] bytes = new byte[(int)snapshotFile.length()];
+
+		InputStream inputStream = new FileInputStream(snapshotFile);
+
+		try {
+			int offset = 0;
+
+			while (offset < bytes.length) {
+				int read = inputStream.read(
+					bytes, offset, bytes.length - offset);
+
+				if (read == -1) {
+					throw new IOException("Truncated snapshot " + snapshotFile);
+				}
+
+				offset += read;
+			}
+		}
+		finally {
+			inputStream.close();
+		}
+
+		Deserializer deserializer = new Deserializer(ByteBuffer.wrap(bytes));
+
+		int size = deserializer.readInt();
+
+		List<Serializable> primaryKeys = new ArrayList<Serializable>(size);
+
+		for (int i = 0; i < size; i++) {
+			Serializable primaryKey = deserializer.readObject();
+
+			primaryKeys.add(primaryKey);
+		}
+
+		return primaryKeys;
+	}
+
+	protected static void store(
+		File snapshotDir, Map<String, BasePersistence<?>> persistences,
+		int maxKeys) {
+
+		if (!snapshotDir.exists() && !snapshotDir.mkdirs()) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to create snapshot directory " + snapshotDir);
+			}
+
+			return;
+		}
+
+		for (Map.Entry<String, BasePersistence<?>> entry :
+				persistences.entrySet()) {
+
+			String implClassName = entry.getKey();
+			BasePersistence<?> basePersistence = entry.getValue();
+
+			try {
+				Class<?> implClass = Class.forName(
+					implClassName, false,
+					ClassLoaderUtil.getClassLoader(basePersistence.getClass()));
+
+				PortalCache<Serializable, Serializable> portalCache =
+					EntityCacheUtil.getPortalCache(implClass, false);
+
+				File snapshotFile = new File(
+					snapshotDir,
+					implClassName.concat(_SNAPSHOT_FILE_EXTENSION));
+
+				if (portalCache == null) {
+					snapshotFile.delete();
+
+					continue;
+				}
+
+				List<Serializable> primaryKeys = portalCache.getKeys();
+
+				if (primaryKeys.isEmpty()) {
+					snapshotFile.delete();
+
+					continue;
+				}
+
+				if (primaryKeys.size() > maxKeys) {
+					primaryKeys = primaryKeys.subList(0, maxKeys);
+				}
+
+				writeSnapshot(snapshotFile, primaryKeys);
+			}
+			catch (Exception e) {
+				if (_log.isWarnEnabled()) {
+					_log.warn(
+						"Unable to write snapshot for " + implClassName, e);
+				}
+			}
+		}
+	}
+
+	protected static void writeSnapshot(
+			File snapshotFile, List<Serializable> primaryKeys)
+		throws IOException {
+
+		Serializer serializer = new Serializer();
+
+		serializer.writeInt(primaryKeys.size());
+
+		for (Serializable primaryKey : primaryKeys) {
+			serializer.writeObject(primaryKey);
+		}
+
+		File tempFile = new File(
+			snapshotFile.getParentFile(),
+			snapshotFile.getName().concat(StringPool.TILDE));
+
+		OutputStream outputStream = new FileOutputStream(tempFile);
+
+		try {
+			serializer.writeTo(outputStream);
+		}
+		finally {
+			outputStream.close();
+		}
+
+		snapshotFile.delete();
+
+		if (!tempFile.renameTo(snapshotFile)) {
+			tempFile.delete();
+
+			throw new IOException("Unable to write snapshot " + snapshotFile);
+		}
+	}
+
+	private static final String _LOADER_NAME =
+		EntityCacheSnapshotUtil.class.getName() + "_LOADER";
+
+	private static final String _SNAPSHOT_FILE_EXTENSION = ".snapshot";
+
+	private static final String _WRITER_NAME =
+		EntityCacheSnapshotUtil.class.getName() + "_WRITER";
+
+	private static final long _WRITER_SHUTDOWN_TIMEOUT = 10000;
+
+	private static Log _log = LogFactoryUtil.getLog(
+		EntityCacheSnapshotUtil.class);
+
+	private static boolean _started;
+
+}
\ No newline at end of file
@@ -23,6 +23,7 @@ import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEvent;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEventType;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterLinkUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.model.MVCCModel;
 
 import java.io.Serializable;
 
@@ -37,6 +38,8 @@ public class ClusterLinkCacheReplicator
 
 	public ClusterLinkCacheReplicator(Properties properties) {
 		if (properties != null) {
+			_replicateMVCCVersions = GetterUtil.getBoolean(
+				properties.getProperty(_REPLICATE_MVCC_VERSIONS));
 			_replicatePuts = GetterUtil.getBoolean(
 				properties.getProperty(_REPLICATE_PUTS), true);
 			_replicatePutsViaCopy = GetterUtil.getBoolean(
@@ -49,6 +52,7 @@ public class ClusterLinkCacheReplicator
 				properties.getProperty(_REPLICATE_UPDATES_VIA_COPY));
 		}
 		else {
+			_replicateMVCCVersions = false;
 			_replicatePuts = true;
 			_replicatePutsViaCopy = false;
 			_replicateRemovals = true;
@@ -79,6 +83,14 @@ public class ClusterLinkCacheReplicator
 		PortalCacheManager<K, V> portalCacheManager =
 			portalCache.getPortalCacheManager();
 
+		if (_replicateMVCCVersions && (value instanceof MVCCModel)) {
+			sendMVCCVersion(
+				portalCacheManager.getName(), portalCache.getName(), key,
+				(MVCCModel)value);
+
+			return;
+		}
+
 		PortalCacheClusterEvent portalCacheClusterEvent =
 			new PortalCacheClusterEvent(
 				portalCacheManager.getName(), portalCache.getName(), key,
@@ -128,6 +140,14 @@ public class ClusterLinkCacheReplicator
 		PortalCacheManager<K, V> portalCacheManager =
 			portalCache.getPortalCacheManager();
 
+		if (_replicateMVCCVersions && (value instanceof MVCCModel)) {
+			sendMVCCVersion(
+				portalCacheManager.getName(), portalCache.getName(), key,
+				(MVCCModel)value);
+
+			return;
+		}
+
 		PortalCacheClusterEvent portalCacheClusterEvent =
 			new PortalCacheClusterEvent(
 				portalCacheManager.getName(), portalCache.getName(), key,
@@ -162,6 +182,25 @@ public class ClusterLinkCacheReplicator
 		PortalCacheClusterLinkUtil.sendEvent(portalCacheClusterEvent);
 	}
 
+	protected void sendMVCCVersion(
+		String portalCacheManagerName, String portalCacheName, K key,
+		MVCCModel mvccModel) {
+
+		// The version is sent as the value of a removal, so that nodes that do
+		// not compare versions invalidate the entry
+
+		PortalCacheClusterEvent portalCacheClusterEvent =
+			new PortalCacheClusterEvent(
+				portalCacheManagerName, portalCacheName, key,
+				mvccModel.getMvccVersion(), PortalCache.DEFAULT_TIME_TO_LIVE,
+				PortalCacheClusterEventType.REMOVE);
+
+		PortalCacheClusterLinkUtil.sendEvent(portalCacheClusterEvent);
+	}
+
+	private static final String _REPLICATE_MVCC_VERSIONS =
+		"replicateMVCCVersions";
+
 	private static final String _REPLICATE_PUTS = "replicatePuts";
 
 	private static final String _REPLICATE_PUTS_VIA_COPY =
@@ -174,6 +213,7 @@ public class ClusterLinkCacheReplicator
 	private static final String _REPLICATE_UPDATES_VIA_COPY =
 		"replicateUpdatesViaCopy";
 
+	private final boolean _replicateMVCCVersions;
 	private final boolean _replicatePuts;
 	private final boolean _replicatePutsViaCopy;
 	private final boolean _replicateRemovals;
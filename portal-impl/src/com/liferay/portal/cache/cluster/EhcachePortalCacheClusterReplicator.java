@@ -14,10 +14,12 @@
 
 package com.liferay.portal.cache.cluster;
 
+import com.liferay.portal.kernel.cache.PortalCache;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEvent;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEventType;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterLinkUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.model.MVCCModel;
 
 import java.io.Serializable;
 
@@ -36,6 +38,8 @@ public class EhcachePortalCacheClusterReplicator implements CacheEventListener {
 
 	public EhcachePortalCacheClusterReplicator(Properties properties) {
 		if (properties != null) {
+			_replicateMVCCVersions = GetterUtil.getBoolean(
+				properties.getProperty(_REPLICATE_MVCC_VERSIONS));
 			_replicatePuts = GetterUtil.getBoolean(
 				properties.getProperty(_REPLICATE_PUTS), true);
 			_replicatePutsViaCopy = GetterUtil.getBoolean(
@@ -48,6 +52,7 @@ public class EhcachePortalCacheClusterReplicator implements CacheEventListener {
 				properties.getProperty(_REPLICATE_UPDATES_VIA_COPY));
 		}
 		else {
+			_replicateMVCCVersions = false;
 			_replicatePuts = true;
 			_replicatePutsViaCopy = false;
 			_replicateRemovals = true;
@@ -84,6 +89,16 @@ public class EhcachePortalCacheClusterReplicator implements CacheEventListener {
 		CacheManager cacheManager = ehcache.getCacheManager();
 		Serializable key = (Serializable)element.getObjectKey();
 
+		if (_replicateMVCCVersions &&
+			(element.getObjectValue() instanceof MVCCModel)) {
+
+			sendMVCCVersion(
+				cacheManager.getName(), ehcache.getName(), key,
+				(MVCCModel)element.getObjectValue());
+
+			return;
+		}
+
 		PortalCacheClusterEvent portalCacheClusterEvent =
 			new PortalCacheClusterEvent(
 				cacheManager.getName(), ehcache.getName(), key,
@@ -133,6 +148,16 @@ public class EhcachePortalCacheClusterReplicator implements CacheEventListener {
 
 		CacheManager cacheManager = ehcache.getCacheManager();
 
+		if (_replicateMVCCVersions &&
+			(element.getObjectValue() instanceof MVCCModel)) {
+
+			sendMVCCVersion(
+				cacheManager.getName(), ehcache.getName(), key,
+				(MVCCModel)element.getObjectValue());
+
+			return;
+		}
+
 		PortalCacheClusterEvent portalCacheClusterEvent =
 			new PortalCacheClusterEvent(
 				cacheManager.getName(), ehcache.getName(), key,
@@ -165,6 +190,25 @@ public class EhcachePortalCacheClusterReplicator implements CacheEventListener {
 		PortalCacheClusterLinkUtil.sendEvent(portalCacheClusterEvent);
 	}
 
+	protected void sendMVCCVersion(
+		String portalCacheManagerName, String portalCacheName,
+		Serializable key, MVCCModel mvccModel) {
+
+		// The version is sent as the value of a removal, so that nodes that do
+		// not compare versions invalidate the entry
+
+		PortalCacheClusterEvent portalCacheClusterEvent =
+			new PortalCacheClusterEvent(
+				portalCacheManagerName, portalCacheName, key,
+				mvccModel.getMvccVersion(), PortalCache.DEFAULT_TIME_TO_LIVE,
+				PortalCacheClusterEventType.REMOVE);
+
+		PortalCacheClusterLinkUtil.sendEvent(portalCacheClusterEvent);
+	}
+
+	private static final String _REPLICATE_MVCC_VERSIONS =
+		"replicateMVCCVersions";
+
 	private static final String _REPLICATE_PUTS = "replicatePuts";
 
 	private static final String _REPLICATE_PUTS_VIA_COPY =
@@ -177,6 +221,7 @@ public class EhcachePortalCacheClusterReplicator implements CacheEventListener {
 	private static final String _REPLICATE_UPDATES_VIA_COPY =
 		"replicateUpdatesViaCopy";
 
+	private final boolean _replicateMVCCVersions;
 	private final boolean _replicatePuts;
 	private final boolean _replicatePutsViaCopy;
 	private final boolean _replicateRemovals;
@@ -15,14 +15,24 @@
 package com.liferay.portal.cache.cluster.clusterlink;
 
 import com.liferay.portal.kernel.cache.cluster.BasePortalCacheClusterChannel;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterBatchEvent;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEvent;
 import com.liferay.portal.kernel.cluster.ClusterLinkUtil;
 import com.liferay.portal.kernel.cluster.Priority;
+import com.liferay.portal.kernel.configuration.Filter;
 import com.liferay.portal.kernel.io.Serializer;
 import com.liferay.portal.kernel.messaging.Message;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.util.PropsUtil;
+
+import java.io.Serializable;
 
 import java.nio.ByteBuffer;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author Shuyang Zhou
  */
@@ -36,15 +46,43 @@ public class ClusterLinkPortalCacheClusterChannel
 		_priority = priority;
 	}
 
+	@Override
+	public void dispatchBatchEvent(
+		PortalCacheClusterBatchEvent portalCacheClusterBatchEvent) {
+
+		sendMulticastMessage(portalCacheClusterBatchEvent);
+	}
+
 	@Override
 	public void dispatchEvent(PortalCacheClusterEvent portalCacheClusterEvent) {
+		sendMulticastMessage(portalCacheClusterEvent);
+	}
+
+	@Override
+	protected int getRemoveAllThreshold(String portalCacheName) {
+		Integer removeAllThreshold = _removeAllThresholds.get(portalCacheName);
+
+		if (removeAllThreshold == null) {
+			removeAllThreshold = GetterUtil.getInteger(
+				PropsUtil.get(
+					PropsKeys.EHCACHE_CLUSTER_LINK_BATCH_REMOVE_ALL_THRESHOLD,
+					new Filter(portalCacheName)),
+				super.getRemoveAllThreshold(portalCacheName));
+
+			_removeAllThresholds.put(portalCacheName, removeAllThreshold);
+		}
+
+		return removeAllThreshold;
+	}
+
+	protected void sendMulticastMessage(Serializable payload) {
 		Message message = new Message();
 
 		message.setDestinationName(_destinationName);
 
 		Serializer serializer = new Serializer();
 
-		serializer.writeObject(portalCacheClusterEvent);
+		serializer.writeObject(payload);
 
 		ByteBuffer byteBuffer = serializer.toByteBuffer();
 
@@ -55,5 +93,7 @@ public class ClusterLinkPortalCacheClusterChannel
 
 	private String _destinationName;
 	private Priority _priority;
+	private final Map<String, Integer> _removeAllThresholds =
+		new ConcurrentHashMap<String, Integer>();
 
 }
\ No newline at end of file
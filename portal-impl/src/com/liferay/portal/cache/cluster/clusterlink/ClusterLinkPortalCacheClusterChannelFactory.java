@@ -18,6 +18,7 @@ import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterChannel;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterChannelFactory;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterException;
 import com.liferay.portal.kernel.cluster.Priority;
+import com.liferay.portal.util.PropsValues;
 
 import java.util.Collections;
 import java.util.List;
@@ -40,8 +41,25 @@ public class ClusterLinkPortalCacheClusterChannelFactory
 				"Cannot create more than " + _priorities.size() + " channels");
 		}
 
-		return new ClusterLinkPortalCacheClusterChannel(
-			_destinationName, _priorities.get(count));
+		ClusterLinkPortalCacheClusterChannel
+			clusterLinkPortalCacheClusterChannel =
+				new ClusterLinkPortalCacheClusterChannel(
+					_destinationName, _priorities.get(count));
+
+		clusterLinkPortalCacheClusterChannel.setBatchInterval(_batchInterval);
+		clusterLinkPortalCacheClusterChannel.setBatchSize(_batchSize);
+		clusterLinkPortalCacheClusterChannel.setRemoveAllThreshold(
+			_removeAllThreshold);
+
+		return clusterLinkPortalCacheClusterChannel;
+	}
+
+	public void setBatchInterval(long batchInterval) {
+		_batchInterval = batchInterval;
+	}
+
+	public void setBatchSize(int batchSize) {
+		_batchSize = batchSize;
 	}
 
 	public void setDestinationName(String destinationName) {
@@ -54,8 +72,17 @@ public class ClusterLinkPortalCacheClusterChannelFactory
 		Collections.sort(priorities);
 	}
 
+	public void setRemoveAllThreshold(int removeAllThreshold) {
+		_removeAllThreshold = removeAllThreshold;
+	}
+
+	private long _batchInterval =
+		PropsValues.EHCACHE_CLUSTER_LINK_BATCH_INTERVAL;
+	private int _batchSize = PropsValues.EHCACHE_CLUSTER_LINK_BATCH_SIZE;
 	private AtomicInteger _counter = new AtomicInteger(0);
 	private String _destinationName;
 	private List<Priority> _priorities;
+	private int _removeAllThreshold =
+		PropsValues.EHCACHE_CLUSTER_LINK_BATCH_REMOVE_ALL_THRESHOLD;
 
 }
\ No newline at end of file
@@ -15,9 +15,12 @@
 package com.liferay.portal.cache.cluster.clusterlink.messaging;
 
 import com.liferay.portal.cache.cluster.ClusterReplicationThreadLocal;
+import com.liferay.portal.kernel.cache.AbstractPortalCache;
 import com.liferay.portal.kernel.cache.PortalCache;
 import com.liferay.portal.kernel.cache.PortalCacheManager;
 import com.liferay.portal.kernel.cache.PortalCacheProvider;
+import com.liferay.portal.kernel.cache.PortalCacheWrapper;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterBatchEvent;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEvent;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEventType;
 import com.liferay.portal.kernel.io.Deserializer;
@@ -25,6 +28,7 @@ import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.messaging.BaseMessageListener;
 import com.liferay.portal.kernel.messaging.Message;
+import com.liferay.portal.model.MVCCModel;
 
 import java.io.Serializable;
 
@@ -41,10 +45,9 @@ public class ClusterLinkPortalCacheClusterListener extends BaseMessageListener {
 
 		Deserializer deserializer = new Deserializer(ByteBuffer.wrap(data));
 
-		PortalCacheClusterEvent portalCacheClusterEvent =
-			(PortalCacheClusterEvent)deserializer.readObject();
+		Object payload = deserializer.readObject();
 
-		if (portalCacheClusterEvent == null) {
+		if (payload == null) {
 			if (_log.isWarnEnabled()) {
 				_log.warn("Payload is null");
 			}
@@ -52,7 +55,91 @@ public class ClusterLinkPortalCacheClusterListener extends BaseMessageListener {
 			return;
 		}
 
-		handlePortalCacheClusterEvent(portalCacheClusterEvent);
+		if (payload instanceof PortalCacheClusterBatchEvent) {
+			handlePortalCacheClusterBatchEvent(
+				(PortalCacheClusterBatchEvent)payload);
+		}
+		else {
+			handlePortalCacheClusterEvent((PortalCacheClusterEvent)payload);
+		}
+	}
+
+	protected Serializable getQuiet(
+		PortalCache<Serializable, Serializable> portalCache, Serializable key) {
+
+		while (portalCache instanceof PortalCacheWrapper) {
+			PortalCacheWrapper<Serializable, Serializable> portalCacheWrapper =
+				(PortalCacheWrapper<Serializable, Serializable>)portalCache;
+
+			portalCache = portalCacheWrapper.getWrappedPortalCache();
+		}
+
+		if (portalCache instanceof AbstractPortalCache) {
+			AbstractPortalCache<Serializable, Serializable>
+				abstractPortalCache =
+					(AbstractPortalCache<Serializable, Serializable>)
+						portalCache;
+
+			return abstractPortalCache.getQuiet(key);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Keeps the local copy unless it is older than the version advertised by
+	 * the remote node. The local copy is read quietly from the underlying
+	 * cache, so that the read neither blocks nor counts as a hit or a miss. A
+	 * copy that is only held off-heap is treated as missing. A removed copy is
+	 * reloaded from the database on the next read.
+	 */
+	protected void handleMVCCVersion(
+		PortalCache<Serializable, Serializable> portalCache, Serializable key,
+		long mvccVersion) {
+
+		Serializable value = getQuiet(portalCache, key);
+
+		if (value instanceof MVCCModel) {
+			MVCCModel mvccModel = (MVCCModel)value;
+
+			if (mvccModel.getMvccVersion() >= mvccVersion) {
+				return;
+			}
+		}
+
+		portalCache.remove(key);
+	}
+
+	protected void handlePortalCacheClusterBatchEvent(
+		PortalCacheClusterBatchEvent portalCacheClusterBatchEvent) {
+
+		PortalCacheManager<? extends Serializable, ?> portalCacheManager =
+			PortalCacheProvider.getPortalCacheManager(
+				portalCacheClusterBatchEvent.getPortalCacheManagerName());
+
+		PortalCache<Serializable, Serializable> portalCache =
+			(PortalCache<Serializable, Serializable>)
+				portalCacheManager.getCache(
+					portalCacheClusterBatchEvent.getPortalCacheName());
+
+		if (portalCache == null) {
+			return;
+		}
+
+		boolean replicate = ClusterReplicationThreadLocal.isReplicate();
+
+		ClusterReplicationThreadLocal.setReplicate(false);
+
+		try {
+			for (Serializable key :
+					portalCacheClusterBatchEvent.getElementKeys()) {
+
+				portalCache.remove(key);
+			}
+		}
+		finally {
+			ClusterReplicationThreadLocal.setReplicate(replicate);
+		}
 	}
 
 	protected void handlePortalCacheClusterEvent(
@@ -100,6 +187,15 @@ public class ClusterLinkPortalCacheClusterListener extends BaseMessageListener {
 						key, value, portalCacheClusterEvent.getTimeToLive());
 				}
 			}
+			else if (portalCacheClusterEventType.equals(
+						PortalCacheClusterEventType.REMOVE) &&
+					 (portalCacheClusterEvent.getElementValue() instanceof
+						Long)) {
+
+				handleMVCCVersion(
+					portalCache, portalCacheClusterEvent.getElementKey(),
+					(Long)portalCacheClusterEvent.getElementValue());
+			}
 			else {
 				portalCache.remove(portalCacheClusterEvent.getElementKey());
 			}
@@ -21,6 +21,8 @@ import com.liferay.portal.kernel.cache.PortalCacheManager;
 
 import java.io.Serializable;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -154,6 +156,34 @@ public class EhcachePortalCache<K extends Serializable, V>
 		return (V)element.getObjectValue();
 	}
 
+	@Override
+	protected Map<K, V> doGetAll(Collection<K> keys) {
+		Map<Object, Element> elements = ehcache.getAll(keys);
+
+		Map<K, V> values = new HashMap<K, V>();
+
+		for (Map.Entry<Object, Element> entry : elements.entrySet()) {
+			Element element = entry.getValue();
+
+			if (element != null) {
+				values.put((K)entry.getKey(), (V)element.getObjectValue());
+			}
+		}
+
+		return values;
+	}
+
+	@Override
+	protected V doGetQuiet(K key) {
+		Element element = ehcache.getQuiet(key);
+
+		if (element == null) {
+			return null;
+		}
+
+		return (V)element.getObjectValue();
+	}
+
 	@Override
 	protected void doPut(K key, V value, int timeToLive, boolean quiet) {
 		Element element = new Element(key, value);
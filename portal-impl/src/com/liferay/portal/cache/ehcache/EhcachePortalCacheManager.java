@@ -14,6 +14,11 @@
 
 package com.liferay.portal.cache.ehcache;
 
+import com.liferay.portal.cache.offheap.OffHeapPortalCache;
+import com.liferay.portal.cache.offheap.OffHeapStore;
+import com.liferay.portal.cache.statistics.PortalCacheStatistics;
+import com.liferay.portal.cache.statistics.StatisticsPortalCache;
+import com.liferay.portal.cache.statistics.jmx.PortalCacheStatisticsManager;
 import com.liferay.portal.cache.transactional.TransactionalPortalCache;
 import com.liferay.portal.kernel.cache.BlockingPortalCache;
 import com.liferay.portal.kernel.cache.CacheManagerListener;
@@ -37,12 +42,15 @@ import java.lang.reflect.Field;
 
 import java.net.URL;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
@@ -105,6 +113,10 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 				_registerCacheStatistics);
 
 			_managementService.init();
+
+			if (PropsValues.EHCACHE_PORTAL_CACHE_STATISTICS_ENABLED) {
+				registerPortalCacheStatisticsManager();
+			}
 		}
 
 		PortalCacheProvider.registerPortalCacheManager(this);
@@ -122,6 +134,7 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 				_cacheManager.getName());
 
 			_portalCaches.clear();
+			_portalCacheStatisticsMap.clear();
 
 			_cacheManager.shutdown();
 		}
@@ -129,6 +142,10 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 			if (_managementService != null) {
 				_managementService.dispose();
 			}
+
+			if (_portalCacheStatisticsObjectName != null) {
+				unregisterPortalCacheStatisticsManager();
+			}
 		}
 	}
 
@@ -154,6 +171,14 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 
 					portalCache = new EhcachePortalCache<K, V>(this, cache);
 
+					if (isOffHeapPortalCache(name)) {
+						portalCache = new OffHeapPortalCache<K, V>(
+							portalCache,
+							new OffHeapStore<K>(
+								PropsValues.EHCACHE_OFF_HEAP_CACHE_MAX_SIZE,
+								PropsValues.EHCACHE_OFF_HEAP_CACHE_SEGMENTS));
+					}
+
 					if (PropsValues.TRANSACTIONAL_CACHE_ENABLED &&
 						isTransactionalPortalCache(name)) {
 
@@ -161,6 +186,17 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 							portalCache);
 					}
 
+					if (PropsValues.EHCACHE_PORTAL_CACHE_STATISTICS_ENABLED) {
+						StatisticsPortalCache<K, V> statisticsPortalCache =
+							new StatisticsPortalCache<K, V>(portalCache);
+
+						_portalCacheStatisticsMap.put(
+							name,
+							statisticsPortalCache.getPortalCacheStatistics());
+
+						portalCache = statisticsPortalCache;
+					}
+
 					if (PropsValues.EHCACHE_BLOCKING_CACHE_ALLOWED &&
 						blocking) {
 
@@ -250,10 +286,21 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 			new PortalCacheManagerEventListener(cacheManagerListener));
 	}
 
+	/**
+	 * Returns the statistics of the portal caches of this manager, mapped by
+	 * cache name. The map is empty unless the property
+	 * <code>ehcache.portal.cache.statistics.enabled</code> is set to
+	 * <code>true</code>.
+	 */
+	public Map<String, PortalCacheStatistics> getPortalCacheStatistics() {
+		return Collections.unmodifiableMap(_portalCacheStatisticsMap);
+	}
+
 	@Override
 	public void removeCache(String name) {
 		_cacheManager.removeCache(name);
 		_portalCaches.remove(name);
+		_portalCacheStatisticsMap.remove(name);
 	}
 
 	public void setClusterAware(boolean clusterAware) {
@@ -323,6 +370,23 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 		}
 	}
 
+	protected boolean isOffHeapPortalCache(String name) {
+		if (PropsValues.EHCACHE_OFF_HEAP_CACHE_MAX_SIZE <= 0) {
+			return false;
+		}
+
+		for (String namePattern : PropsValues.EHCACHE_OFF_HEAP_CACHE_NAMES) {
+			if (StringUtil.wildcardMatches(
+					name, namePattern, CharPool.QUESTION, CharPool.STAR,
+					CharPool.PERCENT, true)) {
+
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	protected boolean isTransactionalPortalCache(String name) {
 		for (String namePattern : PropsValues.TRANSACTIONAL_CACHE_NAMES) {
 			if (StringUtil.wildcardMatches(
@@ -336,6 +400,27 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 		return false;
 	}
 
+	protected void registerPortalCacheStatisticsManager() {
+		try {
+			ObjectName objectName = new ObjectName(
+				"com.liferay.portal.cache:classification=cache_statistics," +
+					"name=" + ObjectName.quote(_name));
+
+			if (!_mBeanServer.isRegistered(objectName)) {
+				_mBeanServer.registerMBean(
+					new PortalCacheStatisticsManager(
+						getPortalCacheStatistics()),
+					objectName);
+			}
+
+			_portalCacheStatisticsObjectName = objectName;
+		}
+		catch (Exception e) {
+			_log.error(
+				"Unable to register portal cache statistics for " + _name, e);
+		}
+	}
+
 	protected void replaceCache(Cache cache) {
 		String name = cache.getName();
 
@@ -359,6 +444,21 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 		}
 	}
 
+	protected void unregisterPortalCacheStatisticsManager() {
+		try {
+			if (_mBeanServer.isRegistered(_portalCacheStatisticsObjectName)) {
+				_mBeanServer.unregisterMBean(_portalCacheStatisticsObjectName);
+			}
+		}
+		catch (Exception e) {
+			_log.error(
+				"Unable to unregister portal cache statistics for " + _name, e);
+		}
+		finally {
+			_portalCacheStatisticsObjectName = null;
+		}
+	}
+
 	private EhcachePortalCache<K, V> getEhcachePortalCache(
 		PortalCache<K, V> portalCache) {
 
@@ -391,6 +491,9 @@ public class EhcachePortalCacheManager<K extends Serializable, V>
 	private String _name;
 	private Map<String, PortalCache<K, V>> _portalCaches =
 		new HashMap<String, PortalCache<K, V>>();
+	private final Map<String, PortalCacheStatistics> _portalCacheStatisticsMap =
+		new ConcurrentHashMap<String, PortalCacheStatistics>();
+	private ObjectName _portalCacheStatisticsObjectName;
 	private boolean _registerCacheConfigurations = true;
 	private boolean _registerCacheManager = true;
 	private boolean _registerCaches = true;
@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.offheap;
+
+import com.liferay.portal.cache.cluster.ClusterReplicationThreadLocal;
+import com.liferay.portal.kernel.cache.CacheListener;
+import com.liferay.portal.kernel.cache.CacheListenerScope;
+import com.liferay.portal.kernel.cache.LowLevelCache;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.cache.PortalCacheException;
+import com.liferay.portal.kernel.cache.PortalCacheWrapper;
+import com.liferay.portal.kernel.io.Deserializer;
+import com.liferay.portal.kernel.io.Serializer;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+
+import java.io.Serializable;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adds an off-heap tier behind an on-heap portal cache. The wrapped portal
+ * cache stays the hot tier. Entries it evicts are serialized into an {@link
+ * OffHeapStore} and promoted back on the next read. Puts, updates, removals,
+ * and expirations, whether local or replicated, invalidate the off-heap copy.
+ *
+ * @author Shuyang Zhou
+ */
+public class OffHeapPortalCache<K extends Serializable, V>
+	extends PortalCacheWrapper<K, V> {
+
+	public OffHeapPortalCache(
+		PortalCache<K, V> portalCache, OffHeapStore<K> offHeapStore) {
+
+		super(portalCache);
+
+		_offHeapStore = offHeapStore;
+
+		portalCache.registerCacheListener(
+			_offHeapCacheListener, CacheListenerScope.ALL);
+	}
+
+	@Override
+	public V get(K key) {
+		V value = portalCache.get(key);
+
+		if (value != null) {
+			return value;
+		}
+
+		return _getOffHeap(key);
+	}
+
+	@Override
+	public Map<K, V> getAll(Collection<K> keys) {
+		Map<K, V> values = portalCache.getAll(keys);
+
+		for (K key : keys) {
+			if (values.containsKey(key)) {
+				continue;
+			}
+
+			V value = _getOffHeap(key);
+
+			if (value != null) {
+				values.put(key, value);
+			}
+		}
+
+		return values;
+	}
+
+	@Override
+	public List<K> getKeys() {
+		Set<K> keys = new HashSet<K>(portalCache.getKeys());
+
+		keys.addAll(_offHeapStore.getKeys());
+
+		return new ArrayList<K>(keys);
+	}
+
+	public OffHeapStore<K> getOffHeapStore() {
+		return _offHeapStore;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		portalCache.put(key, value);
+
+		_offHeapStore.remove(key);
+	}
+
+	@Override
+	public void put(K key, V value, int timeToLive) {
+		portalCache.put(key, value, timeToLive);
+
+		_offHeapStore.remove(key);
+	}
+
+	@Override
+	public void putQuiet(K key, V value) {
+		portalCache.putQuiet(key, value);
+
+		_offHeapStore.remove(key);
+	}
+
+	@Override
+	public void putQuiet(K key, V value, int timeToLive) {
+		portalCache.putQuiet(key, value, timeToLive);
+
+		_offHeapStore.remove(key);
+	}
+
+	@Override
+	public void remove(K key) {
+		portalCache.remove(key);
+
+		_offHeapStore.remove(key);
+	}
+
+	@Override
+	public void removeAll() {
+		portalCache.removeAll();
+
+		_offHeapStore.clear();
+	}
+
+	@Override
+	public void unregisterCacheListeners() {
+		super.unregisterCacheListeners();
+
+		portalCache.registerCacheListener(
+			_offHeapCacheListener, CacheListenerScope.ALL);
+	}
+
+	private V _getOffHeap(K key) {
+		byte[] bytes = _offHeapStore.get(key);
+
+		if (bytes == null) {
+			return null;
+		}
+
+		Deserializer deserializer = new Deserializer(ByteBuffer.wrap(bytes));
+
+		V value = null;
+
+		try {
+			value = (V)deserializer.readObject();
+		}
+		catch (ClassNotFoundException cnfe) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to deserialize off-heap value of " + key +
+						" in " + getName(),
+					cnfe);
+			}
+
+			_offHeapStore.remove(key);
+
+			return null;
+		}
+
+		_promote(key, value);
+
+		return value;
+	}
+
+	private void _promote(K key, V value) {
+		if (!(portalCache instanceof LowLevelCache)) {
+			portalCache.putQuiet(key, value);
+
+			return;
+		}
+
+		// Use putIfAbsent so that a concurrent put is never overwritten by
+		// the older off-heap copy
+
+		LowLevelCache<K, V> lowLevelCache = (LowLevelCache<K, V>)portalCache;
+
+		boolean replicate = ClusterReplicationThreadLocal.isReplicate();
+
+		ClusterReplicationThreadLocal.setReplicate(false);
+
+		try {
+			lowLevelCache.putIfAbsent(key, value);
+		}
+		finally {
+			ClusterReplicationThreadLocal.setReplicate(replicate);
+		}
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(OffHeapPortalCache.class);
+
+	private final CacheListener<K, V> _offHeapCacheListener =
+		new OffHeapCacheListener();
+	private final OffHeapStore<K> _offHeapStore;
+
+	private class OffHeapCacheListener implements CacheListener<K, V> {
+
+		@Override
+		public void notifyEntryEvicted(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			if (!(value instanceof Serializable)) {
+				return;
+			}
+
+			// The entry may be put and removed again while it is serialized.
+			// The version drops the write of the evicted value in that case.
+
+			long version = _offHeapStore.getVersion(key);
+
+			Serializer serializer = new Serializer();
+
+			serializer.writeObject((Serializable)value);
+
+			ByteBuffer byteBuffer = serializer.toByteBuffer();
+
+			_offHeapStore.put(key, byteBuffer.array(), version);
+		}
+
+		@Override
+		public void notifyEntryExpired(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			_offHeapStore.remove(key);
+		}
+
+		@Override
+		public void notifyEntryPut(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			_offHeapStore.remove(key);
+		}
+
+		@Override
+		public void notifyEntryRemoved(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			_offHeapStore.remove(key);
+		}
+
+		@Override
+		public void notifyEntryUpdated(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			_offHeapStore.remove(key);
+		}
+
+		@Override
+		public void notifyRemoveAll(PortalCache<K, V> portalCache)
+			throws PortalCacheException {
+
+			_offHeapStore.clear();
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,394 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.offheap;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Stores byte arrays outside of the Java heap. The store is split into
+ * segments, each backed by a direct byte buffer that is allocated on first
+ * use and written as a ring. When a segment is full, its oldest entries are
+ * evicted first. There is no other eviction policy, because an entry is only
+ * written here when the on-heap cache evicts it and is removed again on its
+ * first read, so the order of the ring is the eviction order of the on-heap
+ * cache.
+ *
+ * <p>
+ * Every removal bumps a version shared by the keys that hash to the same
+ * stripe of a segment. A writer that captured the version before preparing
+ * its bytes can use {@link #put(Object, byte[], long)} to drop the write if
+ * the key was removed in the meantime.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class OffHeapStore<K> {
+
+	public OffHeapStore(long maxSize, int segmentsCount) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException(
+				"Max size " + maxSize + " is not greater than 0");
+		}
+
+		if (segmentsCount <= 0) {
+			throw new IllegalArgumentException(
+				"Segments count " + segmentsCount + " is not greater than 0");
+		}
+
+		long segmentSize = maxSize / segmentsCount;
+
+		if ((segmentSize <= 0) || (segmentSize > Integer.MAX_VALUE)) {
+			throw new IllegalArgumentException(
+				"Segment size " + segmentSize + " is out of range");
+		}
+
+		_segments = new Segment[segmentsCount];
+
+		for (int i = 0; i < segmentsCount; i++) {
+			_segments[i] = new Segment<K>((int)segmentSize, _evictionCount);
+		}
+	}
+
+	public void clear() {
+		for (Segment<K> segment : _segments) {
+			segment.clear();
+		}
+	}
+
+	public byte[] get(K key) {
+		int hash = _hash(key);
+
+		Segment<K> segment = _segments[hash % _segments.length];
+
+		return segment.get(key);
+	}
+
+	public long getEvictionCount() {
+		return _evictionCount.get();
+	}
+
+	public List<K> getKeys() {
+		List<K> keys = new ArrayList<K>();
+
+		for (Segment<K> segment : _segments) {
+			segment.collectKeys(keys);
+		}
+
+		return keys;
+	}
+
+	public long getMaxSize() {
+		long maxSize = 0;
+
+		for (Segment<K> segment : _segments) {
+			maxSize += segment._capacity;
+		}
+
+		return maxSize;
+	}
+
+	public long getSize() {
+		long size = 0;
+
+		for (Segment<K> segment : _segments) {
+			size += segment.getSize();
+		}
+
+		return size;
+	}
+
+	public long getVersion(K key) {
+		int hash = _hash(key);
+
+		Segment<K> segment = _segments[hash % _segments.length];
+
+		return segment.getVersion(hash / _segments.length);
+	}
+
+	public void put(K key, byte[] bytes) {
+		int hash = _hash(key);
+
+		Segment<K> segment = _segments[hash % _segments.length];
+
+		segment.put(key, bytes, hash / _segments.length);
+	}
+
+	/**
+	 * Stores the bytes only if the key, or a key that shares its version, was
+	 * not removed since {@link #getVersion(Object)} returned the version.
+	 *
+	 * @return <code>true</code> if the bytes were stored
+	 */
+	public boolean put(K key, byte[] bytes, long version) {
+		int hash = _hash(key);
+
+		Segment<K> segment = _segments[hash % _segments.length];
+
+		return segment.put(key, bytes, hash / _segments.length, version);
+	}
+
+	public void remove(K key) {
+		int hash = _hash(key);
+
+		Segment<K> segment = _segments[hash % _segments.length];
+
+		segment.remove(key, hash / _segments.length);
+	}
+
+	private int _hash(K key) {
+		int hash = key.hashCode();
+
+		hash ^= (hash >>> 20) ^ (hash >>> 12);
+		hash ^= (hash >>> 7) ^ (hash >>> 4);
+
+		return hash & Integer.MAX_VALUE;
+	}
+
+	private final AtomicLong _evictionCount = new AtomicLong();
+	private final Segment<K>[] _segments;
+
+	private static class Segment<K> {
+
+		public Segment(int capacity, AtomicLong evictionCount) {
+			_capacity = capacity;
+			_evictionCount = evictionCount;
+		}
+
+		public void clear() {
+			_writeLock.lock();
+
+			try {
+				_slots.clear();
+				_queue.clear();
+
+				_size = 0;
+
+				for (int i = 0; i < _versions.length; i++) {
+					_versions[i]++;
+				}
+			}
+			finally {
+				_writeLock.unlock();
+			}
+		}
+
+		public void collectKeys(List<K> keys) {
+			_readLock.lock();
+
+			try {
+				keys.addAll(_slots.keySet());
+			}
+			finally {
+				_readLock.unlock();
+			}
+		}
+
+		public byte[] get(K key) {
+			_readLock.lock();
+
+			try {
+				Slot<K> slot = _slots.get(key);
+
+				if (slot == null) {
+					return null;
+				}
+
+				ByteBuffer byteBuffer = _byteBuffer.duplicate();
+
+				byteBuffer.position((int)(slot._position % _capacity));
+
+				byte[] bytes = new byte[slot._length];
+
+				byteBuffer.get(bytes);
+
+				return bytes;
+			}
+			finally {
+				_readLock.unlock();
+			}
+		}
+
+		public long getSize() {
+			_readLock.lock();
+
+			try {
+				return _size;
+			}
+			finally {
+				_readLock.unlock();
+			}
+		}
+
+		public long getVersion(int stripe) {
+			_readLock.lock();
+
+			try {
+				return _versions[stripe % _versions.length];
+			}
+			finally {
+				_readLock.unlock();
+			}
+		}
+
+		public void put(K key, byte[] bytes, int stripe) {
+			_writeLock.lock();
+
+			try {
+				_versions[stripe % _versions.length]++;
+
+				_put(key, bytes);
+			}
+			finally {
+				_writeLock.unlock();
+			}
+		}
+
+		public boolean put(K key, byte[] bytes, int stripe, long version) {
+			_writeLock.lock();
+
+			try {
+				if (_versions[stripe % _versions.length] != version) {
+					return false;
+				}
+
+				_put(key, bytes);
+
+				return true;
+			}
+			finally {
+				_writeLock.unlock();
+			}
+		}
+
+		public void remove(K key, int stripe) {
+			_writeLock.lock();
+
+			try {
+				_versions[stripe % _versions.length]++;
+
+				_remove(key);
+			}
+			finally {
+				_writeLock.unlock();
+			}
+		}
+
+		private void _put(K key, byte[] bytes) {
+			_remove(key);
+
+			if (bytes.length > _capacity) {
+				return;
+			}
+
+			if (_byteBuffer == null) {
+				_byteBuffer = ByteBuffer.allocateDirect(_capacity);
+			}
+
+			long position = _head;
+
+			int offset = (int)(position % _capacity);
+
+			if ((offset + bytes.length) > _capacity) {
+				position += _capacity - offset;
+				offset = 0;
+			}
+
+			long end = position + bytes.length;
+
+			while ((end - _tail) > _capacity) {
+				Slot<K> slot = _queue.poll();
+
+				if (slot == null) {
+					_tail = position;
+
+					break;
+				}
+
+				_tail = slot._position + slot._length;
+
+				if (_slots.get(slot._key) == slot) {
+					_slots.remove(slot._key);
+
+					_size -= slot._length;
+
+					_evictionCount.getAndIncrement();
+				}
+			}
+
+			ByteBuffer byteBuffer = _byteBuffer.duplicate();
+
+			byteBuffer.position(offset);
+
+			byteBuffer.put(bytes);
+
+			Slot<K> slot = new Slot<K>(key, position, bytes.length);
+
+			_slots.put(key, slot);
+			_queue.offer(slot);
+
+			_head = end;
+			_size += bytes.length;
+		}
+
+		private void _remove(K key) {
+			Slot<K> slot = _slots.remove(key);
+
+			if (slot != null) {
+				_size -= slot._length;
+			}
+		}
+
+		private ByteBuffer _byteBuffer;
+		private final int _capacity;
+		private final AtomicLong _evictionCount;
+		private long _head;
+		private final Queue<Slot<K>> _queue = new ArrayDeque<Slot<K>>();
+		private final ReadWriteLock _readWriteLock =
+			new ReentrantReadWriteLock();
+		private final Lock _readLock = _readWriteLock.readLock();
+		private long _size;
+		private final Map<K, Slot<K>> _slots = new HashMap<K, Slot<K>>();
+		private long _tail;
+		private final long[] _versions = new long[64];
+		private final Lock _writeLock = _readWriteLock.writeLock();
+
+	}
+
+	private static class Slot<K> {
+
+		public Slot(K key, long position, int length) {
+			_key = key;
+			_position = position;
+			_length = length;
+		}
+
+		private final K _key;
+		private final int _length;
+		private final long _position;
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.statistics;
+
+import com.liferay.portal.kernel.cache.PortalCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Holds the counters of a single portal cache. Recording only touches atomic
+ * counters, so it never blocks a cache operation. Hot keys and value sizes are
+ * sampled at a fixed rate and aggregated when they are read.
+ *
+ * @author Shuyang Zhou
+ */
+public class PortalCacheStatistics {
+
+	public PortalCacheStatistics(PortalCache<?, ?> portalCache, int sampleRate) {
+		_portalCache = portalCache;
+		_sampleRate = Math.max(sampleRate, 1);
+
+		List<?> keys = portalCache.getKeys();
+
+		_entryCount.set(keys.size());
+	}
+
+	public long getApproximateSize() {
+		return getAverageValueSize() * getEntryCount();
+	}
+
+	public double getAverageLoadTime() {
+		long loadCount = _loadCount.get();
+
+		if (loadCount == 0) {
+			return 0;
+		}
+
+		return _loadTime.get() / (loadCount * 1000000.0);
+	}
+
+	public long getAverageValueSize() {
+		long valueSizeSampleCount = _valueSizeSampleCount.get();
+
+		if (valueSizeSampleCount == 0) {
+			return 0;
+		}
+
+		return _valueSizeSampleTotal.get() / valueSizeSampleCount;
+	}
+
+	public String getCacheName() {
+		return _portalCache.getName();
+	}
+
+	/**
+	 * Returns the number of entries in the portal cache, as tracked from its
+	 * events since this object was created.
+	 */
+	public long getEntryCount() {
+		return Math.max(_entryCount.get(), 0);
+	}
+
+	public long getEvictionCount() {
+		return _evictionCount.get();
+	}
+
+	public long getHitCount() {
+		return _hitCount.get();
+	}
+
+	public double getHitRatio() {
+		long hitCount = _hitCount.get();
+
+		long total = hitCount + _missCount.get();
+
+		if (total == 0) {
+			return 0;
+		}
+
+		return (double)hitCount / total;
+	}
+
+	public List<Map.Entry<String, Integer>> getHotKeys(int count) {
+		Map<String, Integer> hotKeyCounts = new HashMap<String, Integer>();
+
+		for (int i = 0; i < _hotKeySamples.length(); i++) {
+			Object key = _hotKeySamples.get(i);
+
+			if (key == null) {
+				continue;
+			}
+
+			String keyString = String.valueOf(key);
+
+			Integer keyCount = hotKeyCounts.get(keyString);
+
+			if (keyCount == null) {
+				keyCount = 0;
+			}
+
+			hotKeyCounts.put(keyString, keyCount + 1);
+		}
+
+		List<Map.Entry<String, Integer>> hotKeys =
+			new ArrayList<Map.Entry<String, Integer>>(hotKeyCounts.entrySet());
+
+		Collections.sort(hotKeys, _hotKeyComparator);
+
+		if (hotKeys.size() > count) {
+			hotKeys = hotKeys.subList(0, count);
+		}
+
+		return hotKeys;
+	}
+
+	public long getMissCount() {
+		return _missCount.get();
+	}
+
+	public long getPutCount() {
+		return _putCount.get();
+	}
+
+	public long getRemoveCount() {
+		return _removeCount.get();
+	}
+
+	public void recordEntryAdded() {
+		_entryCount.incrementAndGet();
+	}
+
+	public void recordEntryRemoved() {
+		_entryCount.decrementAndGet();
+	}
+
+	public void recordEviction() {
+		_evictionCount.incrementAndGet();
+	}
+
+	public void recordGet(Object key, boolean hit) {
+		if (hit) {
+			_hitCount.incrementAndGet();
+		}
+		else {
+			_missCount.incrementAndGet();
+		}
+
+		if (!isSampled()) {
+			return;
+		}
+
+		int index = _hotKeySampleIndex.getAndIncrement();
+
+		_hotKeySamples.set(index & (_HOT_KEY_SAMPLES_SIZE - 1), key);
+	}
+
+	public void recordLoad(long loadTime) {
+		_loadCount.incrementAndGet();
+		_loadTime.addAndGet(loadTime);
+	}
+
+	public void recordPut() {
+		_putCount.incrementAndGet();
+	}
+
+	public void recordRemove() {
+		_removeCount.incrementAndGet();
+	}
+
+	public void recordRemoveAll() {
+		_entryCount.set(0);
+	}
+
+	public void recordValueSize(int valueSize) {
+		_valueSizeSampleCount.incrementAndGet();
+		_valueSizeSampleTotal.addAndGet(valueSize);
+	}
+
+	public void reset() {
+		_evictionCount.set(0);
+		_hitCount.set(0);
+		_loadCount.set(0);
+		_loadTime.set(0);
+		_missCount.set(0);
+		_putCount.set(0);
+		_removeCount.set(0);
+		_valueSizeSampleCount.set(0);
+		_valueSizeSampleTotal.set(0);
+
+		for (int i = 0; i < _hotKeySamples.length(); i++) {
+			_hotKeySamples.set(i, null);
+		}
+	}
+
+	protected boolean isSampled() {
+		ThreadLocalRandom threadLocalRandom = ThreadLocalRandom.current();
+
+		if (threadLocalRandom.nextInt(_sampleRate) == 0) {
+			return true;
+		}
+
+		return false;
+	}
+
+	private static final int _HOT_KEY_SAMPLES_SIZE = 1024;
+
+	private static Comparator<Map.Entry<String, Integer>> _hotKeyComparator =
+		new Comparator<Map.Entry<String, Integer>>() {
+
+			@Override
+			public int compare(
+				Map.Entry<String, Integer> entry1,
+				Map.Entry<String, Integer> entry2) {
+
+				return entry2.getValue() - entry1.getValue();
+			}
+
+		};
+
+	private final AtomicLong _entryCount = new AtomicLong();
+	private final AtomicLong _evictionCount = new AtomicLong();
+	private final AtomicLong _hitCount = new AtomicLong();
+	private final AtomicInteger _hotKeySampleIndex = new AtomicInteger();
+	private final AtomicReferenceArray<Object> _hotKeySamples =
+		new AtomicReferenceArray<Object>(_HOT_KEY_SAMPLES_SIZE);
+	private final AtomicLong _loadCount = new AtomicLong();
+	private final AtomicLong _loadTime = new AtomicLong();
+	private final AtomicLong _missCount = new AtomicLong();
+	private final PortalCache<?, ?> _portalCache;
+	private final AtomicLong _putCount = new AtomicLong();
+	private final AtomicLong _removeCount = new AtomicLong();
+	private final int _sampleRate;
+	private final AtomicLong _valueSizeSampleCount = new AtomicLong();
+	private final AtomicLong _valueSizeSampleTotal = new AtomicLong();
+
+}
\ No newline at end of file
@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.statistics;
+
+import com.liferay.portal.kernel.cache.CacheListener;
+import com.liferay.portal.kernel.cache.CacheListenerScope;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.cache.PortalCacheException;
+import com.liferay.portal.kernel.cache.PortalCacheWrapper;
+import com.liferay.portal.kernel.io.Serializer;
+import com.liferay.portal.kernel.util.CentralizedThreadLocal;
+import com.liferay.portal.util.PropsValues;
+
+import java.io.Serializable;
+
+import java.nio.ByteBuffer;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Records {@link PortalCacheStatistics} for the wrapped portal cache. The load
+ * time of an entry is the time between a miss and the following put of the
+ * same key by the same thread. The pending load only keeps the name of the
+ * portal cache and the hash code of the key, so that it does not retain the
+ * key or the portal cache on pooled threads.
+ *
+ * <p>
+ * The number of entries is tracked from the put, remove, eviction, and
+ * expiration events of the wrapped portal cache. Quiet puts do not raise
+ * events, so this wrapper counts them as new entries when the key was absent.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class StatisticsPortalCache<K extends Serializable, V>
+	extends PortalCacheWrapper<K, V> {
+
+	public StatisticsPortalCache(PortalCache<K, V> portalCache) {
+		this(
+			portalCache,
+			PropsValues.EHCACHE_PORTAL_CACHE_STATISTICS_SAMPLE_RATE);
+	}
+
+	public StatisticsPortalCache(
+		PortalCache<K, V> portalCache, int sampleRate) {
+
+		super(portalCache);
+
+		_portalCacheStatistics = new PortalCacheStatistics(
+			portalCache, sampleRate);
+
+		portalCache.registerCacheListener(
+			_statisticsCacheListener, CacheListenerScope.ALL);
+	}
+
+	@Override
+	public V get(K key) {
+		V value = portalCache.get(key);
+
+		_recordGet(key, value);
+
+		return value;
+	}
+
+	@Override
+	public Map<K, V> getAll(Collection<K> keys) {
+		Map<K, V> values = portalCache.getAll(keys);
+
+		for (K key : keys) {
+			_portalCacheStatistics.recordGet(key, values.containsKey(key));
+		}
+
+		return values;
+	}
+
+	public PortalCacheStatistics getPortalCacheStatistics() {
+		return _portalCacheStatistics;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		portalCache.put(key, value);
+
+		_recordPut(key, value);
+	}
+
+	@Override
+	public void put(K key, V value, int timeToLive) {
+		portalCache.put(key, value, timeToLive);
+
+		_recordPut(key, value);
+	}
+
+	@Override
+	public void putQuiet(K key, V value) {
+		boolean absent = (portalCache.get(key) == null);
+
+		portalCache.putQuiet(key, value);
+
+		if (absent) {
+			_portalCacheStatistics.recordEntryAdded();
+		}
+
+		_recordPut(key, value);
+	}
+
+	@Override
+	public void putQuiet(K key, V value, int timeToLive) {
+		boolean absent = (portalCache.get(key) == null);
+
+		portalCache.putQuiet(key, value, timeToLive);
+
+		if (absent) {
+			_portalCacheStatistics.recordEntryAdded();
+		}
+
+		_recordPut(key, value);
+	}
+
+	@Override
+	public void remove(K key) {
+		portalCache.remove(key);
+
+		_portalCacheStatistics.recordRemove();
+	}
+
+	@Override
+	public void unregisterCacheListeners() {
+		super.unregisterCacheListeners();
+
+		portalCache.registerCacheListener(
+			_statisticsCacheListener, CacheListenerScope.ALL);
+	}
+
+	private void _recordGet(K key, V value) {
+		if (value != null) {
+			_portalCacheStatistics.recordGet(key, true);
+
+			return;
+		}
+
+		_portalCacheStatistics.recordGet(key, false);
+
+		PendingLoad pendingLoad = _pendingLoadThreadLocal.get();
+
+		pendingLoad._keyHashCode = key.hashCode();
+		pendingLoad._portalCacheName = getName();
+		pendingLoad._startTime = System.nanoTime();
+	}
+
+	private void _recordPut(K key, V value) {
+		_portalCacheStatistics.recordPut();
+
+		PendingLoad pendingLoad = _pendingLoadThreadLocal.get();
+
+		if ((pendingLoad._portalCacheName != null) &&
+			(pendingLoad._keyHashCode == key.hashCode()) &&
+			pendingLoad._portalCacheName.equals(getName())) {
+
+			_portalCacheStatistics.recordLoad(
+				System.nanoTime() - pendingLoad._startTime);
+
+			pendingLoad._portalCacheName = null;
+		}
+
+		if (!(value instanceof Serializable) ||
+			!_portalCacheStatistics.isSampled()) {
+
+			return;
+		}
+
+		Serializer serializer = new Serializer();
+
+		serializer.writeObject((Serializable)value);
+
+		ByteBuffer byteBuffer = serializer.toByteBuffer();
+
+		_portalCacheStatistics.recordValueSize(byteBuffer.remaining());
+	}
+
+	private static final ThreadLocal<PendingLoad> _pendingLoadThreadLocal =
+		new CentralizedThreadLocal<PendingLoad>(false) {
+
+		@Override
+		protected PendingLoad initialValue() {
+			return new PendingLoad();
+		}
+
+	};
+
+	private final PortalCacheStatistics _portalCacheStatistics;
+	private final CacheListener<K, V> _statisticsCacheListener =
+		new StatisticsCacheListener();
+
+	private static class PendingLoad {
+
+		private int _keyHashCode;
+		private String _portalCacheName;
+		private long _startTime;
+
+	}
+
+	private class StatisticsCacheListener implements CacheListener<K, V> {
+
+		@Override
+		public void notifyEntryEvicted(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			_portalCacheStatistics.recordEntryRemoved();
+			_portalCacheStatistics.recordEviction();
+		}
+
+		@Override
+		public void notifyEntryExpired(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			_portalCacheStatistics.recordEntryRemoved();
+		}
+
+		@Override
+		public void notifyEntryPut(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			_portalCacheStatistics.recordEntryAdded();
+		}
+
+		@Override
+		public void notifyEntryRemoved(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+
+			_portalCacheStatistics.recordEntryRemoved();
+		}
+
+		@Override
+		public void notifyEntryUpdated(
+				PortalCache<K, V> portalCache, K key, V value, int timeToLive)
+			throws PortalCacheException {
+		}
+
+		@Override
+		public void notifyRemoveAll(PortalCache<K, V> portalCache)
+			throws PortalCacheException {
+
+			_portalCacheStatistics.recordRemoveAll();
+		}
+
+	}
+
+}
\ No newline at end of file
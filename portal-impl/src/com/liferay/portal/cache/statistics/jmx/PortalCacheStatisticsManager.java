@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.statistics.jmx;
+
+import com.liferay.portal.cache.statistics.PortalCacheStatistics;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reports statistics of the portal caches of one portal cache manager. Caches
+ * that have no statistics yet report zero for every counter.
+ *
+ * @author Shuyang Zhou
+ */
+public class PortalCacheStatisticsManager
+	implements PortalCacheStatisticsManagerMBean {
+
+	public PortalCacheStatisticsManager(
+		Map<String, PortalCacheStatistics> portalCacheStatisticsMap) {
+
+		_portalCacheStatisticsMap = portalCacheStatisticsMap;
+	}
+
+	@Override
+	public long getApproximateSize(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return 0;
+		}
+
+		return portalCacheStatistics.getApproximateSize();
+	}
+
+	@Override
+	public double getAverageLoadTime(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return 0;
+		}
+
+		return portalCacheStatistics.getAverageLoadTime();
+	}
+
+	@Override
+	public Set<String> getCacheNames() {
+		return new TreeSet<String>(_portalCacheStatisticsMap.keySet());
+	}
+
+	@Override
+	public long getEvictionCount(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return 0;
+		}
+
+		return portalCacheStatistics.getEvictionCount();
+	}
+
+	@Override
+	public long getHitCount(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return 0;
+		}
+
+		return portalCacheStatistics.getHitCount();
+	}
+
+	@Override
+	public double getHitRatio(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return 0;
+		}
+
+		return portalCacheStatistics.getHitRatio();
+	}
+
+	@Override
+	public String[] getHotKeys(String cacheName, int count) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return new String[0];
+		}
+
+		List<Map.Entry<String, Integer>> hotKeys =
+			portalCacheStatistics.getHotKeys(count);
+
+		String[] hotKeyStrings = new String[hotKeys.size()];
+
+		for (int i = 0; i < hotKeys.size(); i++) {
+			Map.Entry<String, Integer> hotKey = hotKeys.get(i);
+
+			hotKeyStrings[i] =
+				hotKey.getKey() + StringPool.EQUAL + hotKey.getValue();
+		}
+
+		return hotKeyStrings;
+	}
+
+	@Override
+	public long getMissCount(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return 0;
+		}
+
+		return portalCacheStatistics.getMissCount();
+	}
+
+	@Override
+	public long getPutCount(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return 0;
+		}
+
+		return portalCacheStatistics.getPutCount();
+	}
+
+	@Override
+	public long getRemoveCount(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics == null) {
+			return 0;
+		}
+
+		return portalCacheStatistics.getRemoveCount();
+	}
+
+	@Override
+	public void reset() {
+		for (PortalCacheStatistics portalCacheStatistics :
+				_portalCacheStatisticsMap.values()) {
+
+			portalCacheStatistics.reset();
+		}
+	}
+
+	@Override
+	public void reset(String cacheName) {
+		PortalCacheStatistics portalCacheStatistics =
+			_portalCacheStatisticsMap.get(cacheName);
+
+		if (portalCacheStatistics != null) {
+			portalCacheStatistics.reset();
+		}
+	}
+
+	private final Map<String, PortalCacheStatistics> _portalCacheStatisticsMap;
+
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.statistics.jmx;
+
+import java.util.Set;
+
+/**
+ * Exposes the statistics of the portal caches of one portal cache manager.
+ *
+ * @author Shuyang Zhou
+ */
+public interface PortalCacheStatisticsManagerMBean {
+
+	public long getApproximateSize(String cacheName);
+
+	public double getAverageLoadTime(String cacheName);
+
+	public Set<String> getCacheNames();
+
+	public long getEvictionCount(String cacheName);
+
+	public long getHitCount(String cacheName);
+
+	public double getHitRatio(String cacheName);
+
+	public String[] getHotKeys(String cacheName, int count);
+
+	public long getMissCount(String cacheName);
+
+	public long getPutCount(String cacheName);
+
+	public long getRemoveCount(String cacheName);
+
+	public void reset();
+
+	public void reset(String cacheName);
+
+}
\ No newline at end of file
@@ -19,6 +19,12 @@ import com.liferay.portal.kernel.cache.PortalCacheWrapper;
 
 import java.io.Serializable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author Shuyang Zhou
  * @author Edward Han
@@ -53,6 +59,38 @@ public class TransactionalPortalCache<K extends Serializable, V>
 		return result;
 	}
 
+	@Override
+	public Map<K, V> getAll(Collection<K> keys) {
+		if (!TransactionalPortalCacheHelper.isEnabled()) {
+			return portalCache.getAll(keys);
+		}
+
+		Map<K, V> values = new HashMap<K, V>();
+
+		List<K> uncachedKeys = new ArrayList<K>(keys.size());
+
+		for (K key : keys) {
+			if (key == null) {
+				throw new NullPointerException("Key is null");
+			}
+
+			V value = TransactionalPortalCacheHelper.get(portalCache, key);
+
+			if (value == null) {
+				uncachedKeys.add(key);
+			}
+			else if (value != NULL_HOLDER) {
+				values.put(key, value);
+			}
+		}
+
+		if (!uncachedKeys.isEmpty()) {
+			values.putAll(portalCache.getAll(uncachedKeys));
+		}
+
+		return values;
+	}
+
 	@Override
 	public void put(K key, V value) {
 		doPut(key, value, DEFAULT_TIME_TO_LIVE, false);
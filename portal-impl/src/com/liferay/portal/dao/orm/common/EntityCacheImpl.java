@@ -28,7 +28,6 @@ import com.liferay.portal.kernel.dao.shard.ShardUtil;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.security.pacl.DoPrivileged;
-import com.liferay.portal.kernel.util.AutoResetThreadLocal;
 import com.liferay.portal.kernel.util.HashUtil;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.BaseModel;
@@ -42,12 +41,15 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
-import org.apache.commons.collections.map.LRUMap;
-
 /**
  * @author Brian Wing Shun Chan
  * @author Shuyang Zhou
@@ -101,6 +103,13 @@ public class EntityCacheImpl
 		return _getPortalCache(clazz, true);
 	}
 
+	@Override
+	public PortalCache<Serializable, Serializable> getPortalCache(
+		Class<?> clazz, boolean createIfAbsent) {
+
+		return _getPortalCache(clazz, createIfAbsent);
+	}
+
 	@Override
 	public String getRegistryName() {
 		return CACHE_NAME;
@@ -118,7 +127,7 @@ public class EntityCacheImpl
 
 		Serializable result = null;
 
-		Map<Serializable, Serializable> localCache = null;
+		LocalCache localCache = null;
 
 		Serializable localCacheKey = null;
 
@@ -127,7 +136,7 @@ public class EntityCacheImpl
 
 			localCacheKey = _encodeLocalCacheKey(clazz, primaryKey);
 
-			result = localCache.get(localCacheKey);
+			result = localCache.get(clazz, localCacheKey);
 		}
 
 		if (result == null) {
@@ -143,13 +152,89 @@ public class EntityCacheImpl
 			}
 
 			if (_LOCAL_CACHE_AVAILABLE) {
-				localCache.put(localCacheKey, result);
+				localCache.put(clazz, localCacheKey, result);
 			}
 		}
 
 		return _toEntityModel(result);
 	}
 
+	@Override
+	public Map<Serializable, Serializable> getResults(
+		boolean entityCacheEnabled, Class<?> clazz,
+		Collection<Serializable> primaryKeys) {
+
+		if (!PropsValues.VALUE_OBJECT_ENTITY_CACHE_ENABLED ||
+			!entityCacheEnabled || !CacheRegistryUtil.isActive()) {
+
+			return Collections.emptyMap();
+		}
+
+		Map<Serializable, Serializable> results =
+			new HashMap<Serializable, Serializable>();
+
+		LocalCache localCache = null;
+
+		if (_LOCAL_CACHE_AVAILABLE) {
+			localCache = _localCache.get();
+		}
+
+		List<Serializable> uncachedCacheKeys = null;
+		List<Serializable> uncachedPrimaryKeys = null;
+
+		for (Serializable primaryKey : primaryKeys) {
+			Serializable result = null;
+
+			if (_LOCAL_CACHE_AVAILABLE) {
+				result = localCache.get(
+					clazz, _encodeLocalCacheKey(clazz, primaryKey));
+			}
+
+			if (result == null) {
+				if (uncachedPrimaryKeys == null) {
+					uncachedCacheKeys = new ArrayList<Serializable>();
+					uncachedPrimaryKeys = new ArrayList<Serializable>();
+				}
+
+				uncachedCacheKeys.add(_encodeCacheKey(primaryKey));
+				uncachedPrimaryKeys.add(primaryKey);
+			}
+			else if (result != StringPool.BLANK) {
+				results.put(primaryKey, _toEntityModel(result));
+			}
+		}
+
+		if (uncachedPrimaryKeys == null) {
+			return results;
+		}
+
+		PortalCache<Serializable, Serializable> portalCache = _getPortalCache(
+			clazz, true);
+
+		Map<Serializable, Serializable> cacheResults = portalCache.getAll(
+			uncachedCacheKeys);
+
+		for (int i = 0; i < uncachedPrimaryKeys.size(); i++) {
+			Serializable primaryKey = uncachedPrimaryKeys.get(i);
+
+			Serializable result = cacheResults.get(uncachedCacheKeys.get(i));
+
+			if (result == null) {
+				result = StringPool.BLANK;
+			}
+			else {
+				results.put(primaryKey, _toEntityModel(result));
+			}
+
+			if (_LOCAL_CACHE_AVAILABLE) {
+				localCache.put(
+					clazz, _encodeLocalCacheKey(clazz, primaryKey), result);
+			}
+		}
+
+		return results;
+	}
+
 	@Override
 	public void init() {
 	}
@@ -181,7 +266,7 @@ public class EntityCacheImpl
 
 		Serializable result = null;
 
-		Map<Serializable, Serializable> localCache = null;
+		LocalCache localCache = null;
 
 		Serializable localCacheKey = null;
 
@@ -190,7 +275,7 @@ public class EntityCacheImpl
 
 			localCacheKey = _encodeLocalCacheKey(clazz, primaryKey);
 
-			result = localCache.get(localCacheKey);
+			result = localCache.get(clazz, localCacheKey);
 		}
 
 		Serializable loadResult = null;
@@ -231,7 +316,7 @@ public class EntityCacheImpl
 			}
 
 			if (_LOCAL_CACHE_AVAILABLE) {
-				localCache.put(localCacheKey, result);
+				localCache.put(clazz, localCacheKey, result);
 			}
 		}
 
@@ -274,12 +359,12 @@ public class EntityCacheImpl
 		result = ((BaseModel<?>)result).toCacheModel();
 
 		if (_LOCAL_CACHE_AVAILABLE) {
-			Map<Serializable, Serializable> localCache = _localCache.get();
+			LocalCache localCache = _localCache.get();
 
 			Serializable localCacheKey = _encodeLocalCacheKey(
 				clazz, primaryKey);
 
-			localCache.put(localCacheKey, result);
+			localCache.put(clazz, localCacheKey, result);
 		}
 
 		PortalCache<Serializable, Serializable> portalCache = _getPortalCache(
@@ -315,12 +400,12 @@ public class EntityCacheImpl
 		}
 
 		if (_LOCAL_CACHE_AVAILABLE) {
-			Map<Serializable, Serializable> localCache = _localCache.get();
+			LocalCache localCache = _localCache.get();
 
 			Serializable localCacheKey = _encodeLocalCacheKey(
 				clazz, primaryKey);
 
-			localCache.remove(localCacheKey);
+			localCache.remove(clazz, localCacheKey);
 		}
 
 		PortalCache<Serializable, Serializable> portalCache = _getPortalCache(
@@ -356,7 +441,7 @@ public class EntityCacheImpl
 				ShardUtil.getCurrentShardName(), clazz.getName(), primaryKey);
 		}
 
-		return new LocalCacheKey(clazz.getName(), primaryKey);
+		return primaryKey;
 	}
 
 	private PortalCache<Serializable, Serializable> _getPortalCache(
@@ -415,17 +500,15 @@ public class EntityCacheImpl
 
 	private static Log _log = LogFactoryUtil.getLog(EntityCacheImpl.class);
 
-	private static final ThreadLocal<LRUMap> _localCache;
+	private static final ThreadLocal<LocalCache> _localCache;
 
 	static {
 		if (PropsValues.VALUE_OBJECT_ENTITY_THREAD_LOCAL_CACHE_MAX_SIZE > 0) {
 			_LOCAL_CACHE_AVAILABLE = true;
 
-			_localCache = new AutoResetThreadLocal<LRUMap>(
-				EntityCacheImpl.class + "._localCache",
-				new LRUMap(
-					PropsValues.
-						VALUE_OBJECT_ENTITY_THREAD_LOCAL_CACHE_MAX_SIZE));
+			_localCache = new LocalCacheThreadLocal(
+				EntityCacheImpl.class.getName() + "._localCache",
+				PropsValues.VALUE_OBJECT_ENTITY_THREAD_LOCAL_CACHE_MAX_SIZE);
 		}
 		else {
 			_LOCAL_CACHE_AVAILABLE = false;
@@ -492,38 +575,6 @@ public class EntityCacheImpl
 
 	}
 
-	private static class LocalCacheKey implements Serializable {
-
-		public LocalCacheKey(String className, Serializable primaryKey) {
-			_className = className;
-			_primaryKey = primaryKey;
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			LocalCacheKey localCacheKey = (LocalCacheKey)obj;
-
-			if (localCacheKey._className.equals(_className) &&
-				localCacheKey._primaryKey.equals(_primaryKey)) {
-
-				return true;
-			}
-
-			return false;
-		}
-
-		@Override
-		public int hashCode() {
-			return _className.hashCode() * 11 + _primaryKey.hashCode();
-		}
-
-		private static final long serialVersionUID = 1L;
-
-		private final String _className;
-		private final Serializable _primaryKey;
-
-	}
-
 	private static class ShardLocalCacheKey implements Serializable {
 
 		public ShardLocalCacheKey(
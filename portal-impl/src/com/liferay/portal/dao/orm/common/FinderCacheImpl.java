@@ -14,6 +14,7 @@
 
 package com.liferay.portal.dao.orm.common;
 
+import com.liferay.portal.dao.orm.common.jmx.FinderCacheStatisticsManager;
 import com.liferay.portal.kernel.cache.CacheManagerListener;
 import com.liferay.portal.kernel.cache.CacheRegistryItem;
 import com.liferay.portal.kernel.cache.CacheRegistryUtil;
@@ -22,9 +23,11 @@ import com.liferay.portal.kernel.cache.PortalCache;
 import com.liferay.portal.kernel.cache.PortalCacheManager;
 import com.liferay.portal.kernel.dao.orm.EntityCacheUtil;
 import com.liferay.portal.kernel.dao.orm.FinderCache;
+import com.liferay.portal.kernel.dao.orm.FinderCacheStatistics;
 import com.liferay.portal.kernel.dao.orm.FinderPath;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.security.pacl.DoPrivileged;
-import com.liferay.portal.kernel.util.AutoResetThreadLocal;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.BaseModel;
 import com.liferay.portal.service.persistence.impl.BasePersistenceImpl;
@@ -33,6 +36,7 @@ import com.liferay.portal.util.PropsValues;
 import java.io.Serializable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -41,7 +45,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
-import org.apache.commons.collections.map.LRUMap;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
  * @author Brian Wing Shun Chan
@@ -55,12 +60,20 @@ public class FinderCacheImpl
 
 	public void afterPropertiesSet() {
 		CacheRegistryUtil.register(this);
+
+		if (PropsValues.VALUE_OBJECT_FINDER_CACHE_STATISTICS_ENABLED &&
+			(_mBeanServer != null)) {
+
+			registerFinderCacheStatisticsManager();
+		}
 	}
 
 	@Override
 	public void clearCache() {
 		clearLocalCache();
 
+		_finderCacheStatisticsMap.clear();
+
 		for (PortalCache<?, ?> portalCache : _portalCaches.values()) {
 			portalCache.removeAll();
 		}
@@ -70,6 +83,8 @@ public class FinderCacheImpl
 	public void clearCache(String className) {
 		clearLocalCache();
 
+		_finderCacheStatisticsMap.remove(className);
+
 		PortalCache<?, ?> portalCache = _getPortalCache(className, true);
 
 		if (portalCache != null) {
@@ -84,11 +99,72 @@ public class FinderCacheImpl
 		}
 	}
 
+	public void destroy() {
+		if (_finderCacheStatisticsObjectName != null) {
+			unregisterFinderCacheStatisticsManager();
+		}
+	}
+
 	@Override
 	public void dispose() {
 		_portalCaches.clear();
 	}
 
+	@Override
+	public Collection<FinderCacheStatistics> getFinderCacheStatistics() {
+		List<FinderCacheStatistics> finderCacheStatisticsList =
+			new ArrayList<FinderCacheStatistics>();
+
+		for (Map<FinderPath, FinderCacheStatistics> finderCacheStatisticsMap :
+				_finderCacheStatisticsMap.values()) {
+
+			finderCacheStatisticsList.addAll(
+				finderCacheStatisticsMap.values());
+		}
+
+		return Collections.unmodifiableCollection(finderCacheStatisticsList);
+	}
+
+	@Override
+	public FinderCacheStatistics getFinderCacheStatistics(
+		FinderPath finderPath) {
+
+		ConcurrentMap<FinderPath, FinderCacheStatistics>
+			finderCacheStatisticsMap = _finderCacheStatisticsMap.get(
+				finderPath.getCacheName());
+
+		if (finderCacheStatisticsMap == null) {
+			finderCacheStatisticsMap =
+				new ConcurrentHashMap<FinderPath, FinderCacheStatistics>();
+
+			ConcurrentMap<FinderPath, FinderCacheStatistics>
+				previousFinderCacheStatisticsMap =
+					_finderCacheStatisticsMap.putIfAbsent(
+						finderPath.getCacheName(), finderCacheStatisticsMap);
+
+			if (previousFinderCacheStatisticsMap != null) {
+				finderCacheStatisticsMap = previousFinderCacheStatisticsMap;
+			}
+		}
+
+		FinderCacheStatistics finderCacheStatistics =
+			finderCacheStatisticsMap.get(finderPath);
+
+		if (finderCacheStatistics == null) {
+			finderCacheStatistics = new FinderCacheStatistics(finderPath);
+
+			FinderCacheStatistics previousFinderCacheStatistics =
+				finderCacheStatisticsMap.putIfAbsent(
+					finderPath, finderCacheStatistics);
+
+			if (previousFinderCacheStatistics != null) {
+				finderCacheStatistics = previousFinderCacheStatistics;
+			}
+		}
+
+		return finderCacheStatistics;
+	}
+
 	@Override
 	public String getRegistryName() {
 		return CACHE_NAME;
@@ -108,16 +184,12 @@ public class FinderCacheImpl
 
 		Serializable primaryKey = null;
 
-		Map<Serializable, Serializable> localCache = null;
-
-		Serializable localCacheKey = null;
+		LocalCache localCache = null;
 
 		if (_LOCAL_CACHE_AVAILABLE) {
 			localCache = _localCache.get();
 
-			localCacheKey = finderPath.encodeLocalCacheKey(args);
-
-			primaryKey = localCache.get(localCacheKey);
+			primaryKey = localCache.get(finderPath, args);
 		}
 
 		if (primaryKey == null) {
@@ -130,17 +202,26 @@ public class FinderCacheImpl
 
 			if (primaryKey != null) {
 				if (_LOCAL_CACHE_AVAILABLE) {
-					localCache.put(localCacheKey, primaryKey);
+					localCache.put(finderPath, args, primaryKey);
 				}
 			}
 		}
 
+		Object result = null;
+
 		if (primaryKey != null) {
-			return _primaryKeyToResult(
+			result = _primaryKeyToResult(
 				finderPath, basePersistenceImpl, primaryKey);
 		}
 
-		return null;
+		if (PropsValues.VALUE_OBJECT_FINDER_CACHE_STATISTICS_ENABLED) {
+			FinderCacheStatistics finderCacheStatistics =
+				getFinderCacheStatistics(finderPath);
+
+			finderCacheStatistics.recordGet(result);
+		}
+
+		return result;
 	}
 
 	@Override
@@ -180,12 +261,17 @@ public class FinderCacheImpl
 
 		Serializable primaryKey = _resultToPrimaryKey((Serializable)result);
 
-		if (_LOCAL_CACHE_AVAILABLE) {
-			Map<Serializable, Serializable> localCache = _localCache.get();
+		if (PropsValues.VALUE_OBJECT_FINDER_CACHE_STATISTICS_ENABLED) {
+			FinderCacheStatistics finderCacheStatistics =
+				getFinderCacheStatistics(finderPath);
+
+			finderCacheStatistics.recordPut(primaryKey);
+		}
 
-			Serializable localCacheKey = finderPath.encodeLocalCacheKey(args);
+		if (_LOCAL_CACHE_AVAILABLE) {
+			LocalCache localCache = _localCache.get();
 
-			localCache.put(localCacheKey, primaryKey);
+			localCache.put(finderPath, args, primaryKey);
 		}
 
 		PortalCache<Serializable, Serializable> portalCache = _getPortalCache(
@@ -203,6 +289,8 @@ public class FinderCacheImpl
 
 	@Override
 	public void removeCache(String className) {
+		_finderCacheStatisticsMap.remove(className);
+
 		_portalCaches.remove(className);
 
 		String groupKey = _GROUP_KEY_PREFIX.concat(className);
@@ -220,11 +308,9 @@ public class FinderCacheImpl
 		}
 
 		if (_LOCAL_CACHE_AVAILABLE) {
-			Map<Serializable, Serializable> localCache = _localCache.get();
-
-			Serializable localCacheKey = finderPath.encodeLocalCacheKey(args);
+			LocalCache localCache = _localCache.get();
 
-			localCache.remove(localCacheKey);
+			localCache.remove(finderPath, args);
 		}
 
 		PortalCache<Serializable, Serializable> portalCache = _getPortalCache(
@@ -235,6 +321,10 @@ public class FinderCacheImpl
 		portalCache.remove(cacheKey);
 	}
 
+	public void setMBeanServer(MBeanServer mBeanServer) {
+		_mBeanServer = mBeanServer;
+	}
+
 	public void setMultiVMPool(MultiVMPool multiVMPool) {
 		_multiVMPool = multiVMPool;
 
@@ -244,6 +334,38 @@ public class FinderCacheImpl
 		portalCacheManager.registerCacheManagerListener(this);
 	}
 
+	protected void registerFinderCacheStatisticsManager() {
+		try {
+			ObjectName objectName = new ObjectName(
+				"com.liferay.portal.cache:classification=cache_statistics," +
+					"name=" + ObjectName.quote(CACHE_NAME));
+
+			if (!_mBeanServer.isRegistered(objectName)) {
+				_mBeanServer.registerMBean(
+					new FinderCacheStatisticsManager(this), objectName);
+			}
+
+			_finderCacheStatisticsObjectName = objectName;
+		}
+		catch (Exception e) {
+			_log.error("Unable to register finder cache statistics", e);
+		}
+	}
+
+	protected void unregisterFinderCacheStatisticsManager() {
+		try {
+			if (_mBeanServer.isRegistered(_finderCacheStatisticsObjectName)) {
+				_mBeanServer.unregisterMBean(_finderCacheStatisticsObjectName);
+			}
+		}
+		catch (Exception e) {
+			_log.error("Unable to unregister finder cache statistics", e);
+		}
+		finally {
+			_finderCacheStatisticsObjectName = null;
+		}
+	}
+
 	private PortalCache<Serializable, Serializable> _getPortalCache(
 		String className, boolean createIfAbsent) {
 
@@ -343,17 +465,17 @@ public class FinderCacheImpl
 
 	private static final boolean _LOCAL_CACHE_AVAILABLE;
 
-	private static final ThreadLocal<LRUMap> _localCache;
+	private static Log _log = LogFactoryUtil.getLog(FinderCacheImpl.class);
+
+	private static final ThreadLocal<LocalCache> _localCache;
 
 	static {
 		if (PropsValues.VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE > 0) {
 			_LOCAL_CACHE_AVAILABLE = true;
 
-			_localCache = new AutoResetThreadLocal<LRUMap>(
-				FinderCacheImpl.class + "._localCache",
-				new LRUMap(
-					PropsValues.
-						VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE));
+			_localCache = new LocalCacheThreadLocal(
+				FinderCacheImpl.class.getName() + "._localCache",
+				PropsValues.VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE);
 		}
 		else {
 			_LOCAL_CACHE_AVAILABLE = false;
@@ -362,6 +484,12 @@ public class FinderCacheImpl
 		}
 	}
 
+	private final ConcurrentMap
+		<String, ConcurrentMap<FinderPath, FinderCacheStatistics>>
+			_finderCacheStatisticsMap = new ConcurrentHashMap
+				<String, ConcurrentMap<FinderPath, FinderCacheStatistics>>();
+	private ObjectName _finderCacheStatisticsObjectName;
+	private MBeanServer _mBeanServer;
 	private MultiVMPool _multiVMPool;
 	private final ConcurrentMap<String, PortalCache<Serializable, Serializable>>
 		_portalCaches =
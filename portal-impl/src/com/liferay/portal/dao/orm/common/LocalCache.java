@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size, open addressing cache for the results looked up by a single
+ * thread. An entry is matched by the identity of its owner, such as a finder
+ * path or a model class, and by the equality of its key, such as a primary
+ * key or the finder arguments, so a lookup never creates a key object.
+ * Clearing the cache advances its generation and releases the references held
+ * by the slots used since the last clear, so that a pooled thread does not
+ * retain models or their class loaders. This class is not thread safe.
+ *
+ * @author Shuyang Zhou
+ */
+public class LocalCache {
+
+	public LocalCache(int maxSize) {
+		int capacity = 1;
+
+		while (capacity < (maxSize * 2)) {
+			capacity <<= 1;
+		}
+
+		_mask = capacity - 1;
+
+		_generations = new int[capacity];
+		_hashes = new int[capacity];
+		_keys = new Object[capacity];
+		_owners = new Object[capacity];
+		_usedIndexes = new int[capacity];
+		_values = new Object[capacity];
+	}
+
+	public void clear() {
+		if (_usedCount < _usedIndexes.length) {
+			for (int i = 0; i < _usedCount; i++) {
+				int index = _usedIndexes[i];
+
+				_keys[index] = null;
+				_owners[index] = null;
+				_values[index] = null;
+			}
+		}
+		else {
+			Arrays.fill(_keys, null);
+			Arrays.fill(_owners, null);
+			Arrays.fill(_values, null);
+		}
+
+		_usedCount = 0;
+
+		_generation++;
+
+		if (_generation == 0) {
+			Arrays.fill(_generations, 0);
+
+			_generation = 1;
+		}
+	}
+
+	public <T> T get(Object owner, Object key) {
+		int index = _indexOf(owner, key, _hash(owner, key));
+
+		if (index < 0) {
+			_missCount++;
+
+			return null;
+		}
+
+		_hitCount++;
+
+		return (T)_values[index];
+	}
+
+	public long getHitCount() {
+		return _hitCount;
+	}
+
+	public long getMissCount() {
+		return _missCount;
+	}
+
+	public void put(Object owner, Object key, Object value) {
+		int hash = _hash(owner, key);
+
+		int freeIndex = -1;
+
+		for (int i = 0; i < _PROBE_LIMIT; i++) {
+			int index = (hash + i) & _mask;
+
+			if (_generations[index] != _generation) {
+				if (freeIndex < 0) {
+					freeIndex = index;
+				}
+			}
+			else if (_matches(index, owner, key, hash)) {
+				_values[index] = value;
+
+				return;
+			}
+		}
+
+		if (freeIndex < 0) {
+			freeIndex = hash & _mask;
+		}
+		else if (_usedCount < _usedIndexes.length) {
+			_usedIndexes[_usedCount++] = freeIndex;
+		}
+
+		_generations[freeIndex] = _generation;
+		_hashes[freeIndex] = hash;
+		_keys[freeIndex] = key;
+		_owners[freeIndex] = owner;
+		_values[freeIndex] = value;
+	}
+
+	public void remove(Object owner, Object key) {
+		int index = _indexOf(owner, key, _hash(owner, key));
+
+		if (index >= 0) {
+			_generations[index] = 0;
+			_keys[index] = null;
+			_owners[index] = null;
+			_values[index] = null;
+		}
+	}
+
+	public void resetStatistics() {
+		_hitCount = 0;
+		_missCount = 0;
+	}
+
+	private int _hash(Object owner, Object key) {
+		int hash = owner.hashCode() * 31;
+
+		if (key instanceof Object[]) {
+			hash += Arrays.deepHashCode((Object[])key);
+		}
+		else {
+			hash += key.hashCode();
+		}
+
+		return hash ^ (hash >>> 16);
+	}
+
+	private int _indexOf(Object owner, Object key, int hash) {
+		for (int i = 0; i < _PROBE_LIMIT; i++) {
+			int index = (hash + i) & _mask;
+
+			if ((_generations[index] == _generation) &&
+				_matches(index, owner, key, hash)) {
+
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	private boolean _matches(int index, Object owner, Object key, int hash) {
+		if ((_hashes[index] != hash) || (_owners[index] != owner)) {
+			return false;
+		}
+
+		Object curKey = _keys[index];
+
+		if (key instanceof Object[]) {
+			if (curKey instanceof Object[]) {
+				return Arrays.deepEquals((Object[])key, (Object[])curKey);
+			}
+
+			return false;
+		}
+
+		return key.equals(curKey);
+	}
+
+	private static final int _PROBE_LIMIT = 8;
+
+	private int _generation = 1;
+	private final int[] _generations;
+	private final int[] _hashes;
+	private long _hitCount;
+	private final Object[] _keys;
+	private final int _mask;
+	private long _missCount;
+	private final Object[] _owners;
+	private int _usedCount;
+	private final int[] _usedIndexes;
+	private final Object[] _values;
+
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common;
+
+import com.liferay.portal.kernel.util.AutoResetThreadLocal;
+import com.liferay.portal.kernel.util.CentralizedThreadLocal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds one {@link LocalCache} per thread for the lifetime of the thread. The
+ * cache is cleared without allocating a new cache when it is removed, for
+ * example by the ThreadLocalFilter at the end of a request, and when it is
+ * first used after the short lived thread locals were cleared.
+ *
+ * @author Shuyang Zhou
+ */
+public class LocalCacheThreadLocal extends CentralizedThreadLocal<LocalCache> {
+
+	public static void clearLocalCaches() {
+		for (LocalCacheThreadLocal localCacheThreadLocal :
+				_localCacheThreadLocals) {
+
+			localCacheThreadLocal.remove();
+		}
+	}
+
+	public static List<LocalCacheThreadLocal> getLocalCacheThreadLocals() {
+		return Collections.unmodifiableList(_localCacheThreadLocals);
+	}
+
+	public LocalCacheThreadLocal(String name, int maxSize) {
+		super(false);
+
+		_name = name;
+		_maxSize = maxSize;
+
+		_activeThreadLocal = new AutoResetThreadLocal<Object>(
+			name.concat("._active"));
+
+		_localCacheThreadLocals.add(this);
+	}
+
+	@Override
+	public LocalCache get() {
+		LocalCache localCache = super.get();
+
+		if (_activeThreadLocal.get() == null) {
+			_clear(localCache);
+
+			_activeThreadLocal.set(_ACTIVE);
+		}
+
+		return localCache;
+	}
+
+	/**
+	 * Returns the number of hits of the thread local caches. The count is
+	 * updated when a thread's cache is cleared.
+	 */
+	public long getHitCount() {
+		return _hitCount.get();
+	}
+
+	public double getHitRatio() {
+		long hitCount = _hitCount.get();
+
+		long total = hitCount + _missCount.get();
+
+		if (total == 0) {
+			return 0;
+		}
+
+		return (double)hitCount / total;
+	}
+
+	public long getMissCount() {
+		return _missCount.get();
+	}
+
+	public String getName() {
+		return _name;
+	}
+
+	@Override
+	public void remove() {
+		if (_activeThreadLocal.get() == null) {
+			return;
+		}
+
+		_clear(super.get());
+
+		_activeThreadLocal.remove();
+	}
+
+	public void resetStatistics() {
+		_hitCount.set(0);
+		_missCount.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return _name;
+	}
+
+	@Override
+	protected LocalCache initialValue() {
+		return new LocalCache(_maxSize);
+	}
+
+	private void _clear(LocalCache localCache) {
+		_hitCount.addAndGet(localCache.getHitCount());
+		_missCount.addAndGet(localCache.getMissCount());
+
+		localCache.clear();
+		localCache.resetStatistics();
+	}
+
+	private static final Object _ACTIVE = new Object();
+
+	private static final List<LocalCacheThreadLocal> _localCacheThreadLocals =
+		new CopyOnWriteArrayList<LocalCacheThreadLocal>();
+
+	private final ThreadLocal<Object> _activeThreadLocal;
+	private final AtomicLong _hitCount = new AtomicLong();
+	private final int _maxSize;
+	private final AtomicLong _missCount = new AtomicLong();
+	private final String _name;
+
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common.jmx;
+
+import com.liferay.portal.kernel.dao.orm.FinderCache;
+import com.liferay.portal.kernel.dao.orm.FinderCacheStatistics;
+import com.liferay.portal.kernel.dao.orm.FinderPath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reports the statistics of the finder cache. The counters of a cache name
+ * start over when the finder cache of that name is cleared or removed.
+ *
+ * @author Shuyang Zhou
+ */
+public class FinderCacheStatisticsManager
+	implements FinderCacheStatisticsManagerMBean {
+
+	public FinderCacheStatisticsManager(FinderCache finderCache) {
+		_finderCache = finderCache;
+	}
+
+	@Override
+	public Set<String> getCacheNames() {
+		Set<String> cacheNames = new TreeSet<String>();
+
+		for (FinderCacheStatistics finderCacheStatistics :
+				_finderCache.getFinderCacheStatistics()) {
+
+			FinderPath finderPath = finderCacheStatistics.getFinderPath();
+
+			cacheNames.add(finderPath.getCacheName());
+		}
+
+		return cacheNames;
+	}
+
+	@Override
+	public String[] getFinderCacheStatistics(String cacheName) {
+		List<FinderCacheStatistics> finderCacheStatisticsList =
+			_getFinderCacheStatisticsList(cacheName);
+
+		String[] finderCacheStatisticsStrings =
+			new String[finderCacheStatisticsList.size()];
+
+		for (int i = 0; i < finderCacheStatisticsList.size(); i++) {
+			FinderCacheStatistics finderCacheStatistics =
+				finderCacheStatisticsList.get(i);
+
+			finderCacheStatisticsStrings[i] = finderCacheStatistics.toString();
+		}
+
+		return finderCacheStatisticsStrings;
+	}
+
+	@Override
+	public long getHitCount(String cacheName) {
+		long hitCount = 0;
+
+		for (FinderCacheStatistics finderCacheStatistics :
+				_getFinderCacheStatisticsList(cacheName)) {
+
+			hitCount += finderCacheStatistics.getHitCount();
+		}
+
+		return hitCount;
+	}
+
+	@Override
+	public long getMissCount(String cacheName) {
+		long missCount = 0;
+
+		for (FinderCacheStatistics finderCacheStatistics :
+				_getFinderCacheStatisticsList(cacheName)) {
+
+			missCount += finderCacheStatistics.getMissCount();
+		}
+
+		return missCount;
+	}
+
+	@Override
+	public long getNegativeHitCount(String cacheName) {
+		long negativeHitCount = 0;
+
+		for (FinderCacheStatistics finderCacheStatistics :
+				_getFinderCacheStatisticsList(cacheName)) {
+
+			negativeHitCount += finderCacheStatistics.getNegativeHitCount();
+		}
+
+		return negativeHitCount;
+	}
+
+	@Override
+	public long getNegativePutCount(String cacheName) {
+		long negativePutCount = 0;
+
+		for (FinderCacheStatistics finderCacheStatistics :
+				_getFinderCacheStatisticsList(cacheName)) {
+
+			negativePutCount += finderCacheStatistics.getNegativePutCount();
+		}
+
+		return negativePutCount;
+	}
+
+	@Override
+	public void reset() {
+		for (FinderCacheStatistics finderCacheStatistics :
+				_finderCache.getFinderCacheStatistics()) {
+
+			finderCacheStatistics.reset();
+		}
+	}
+
+	@Override
+	public void reset(String cacheName) {
+		for (FinderCacheStatistics finderCacheStatistics :
+				_getFinderCacheStatisticsList(cacheName)) {
+
+			finderCacheStatistics.reset();
+		}
+	}
+
+	private List<FinderCacheStatistics> _getFinderCacheStatisticsList(
+		String cacheName) {
+
+		List<FinderCacheStatistics> finderCacheStatisticsList =
+			new ArrayList<FinderCacheStatistics>();
+
+		for (FinderCacheStatistics finderCacheStatistics :
+				_finderCache.getFinderCacheStatistics()) {
+
+			FinderPath finderPath = finderCacheStatistics.getFinderPath();
+
+			if (cacheName.equals(finderPath.getCacheName())) {
+				finderCacheStatisticsList.add(finderCacheStatistics);
+			}
+		}
+
+		return finderCacheStatisticsList;
+	}
+
+	private final FinderCache _finderCache;
+
+}
\ No newline at end of file
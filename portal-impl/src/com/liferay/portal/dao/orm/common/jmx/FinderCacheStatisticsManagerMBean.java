@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common.jmx;
+
+import java.util.Set;
+
+/**
+ * Exposes the statistics of the finder cache, summed per cache name.
+ *
+ * @author Shuyang Zhou
+ */
+public interface FinderCacheStatisticsManagerMBean {
+
+	public Set<String> getCacheNames();
+
+	public String[] getFinderCacheStatistics(String cacheName);
+
+	public long getHitCount(String cacheName);
+
+	public long getMissCount(String cacheName);
+
+	public long getNegativeHitCount(String cacheName);
+
+	public long getNegativePutCount(String cacheName);
+
+	public void reset();
+
+	public void reset(String cacheName);
+
+}
\ No newline at end of file
@@ -14,6 +14,7 @@
 
 package com.liferay.portal.events;
 
+import com.liferay.portal.cache.bootstrap.EntityCacheSnapshotUtil;
 import com.liferay.portal.deploy.RequiredPluginsUtil;
 import com.liferay.portal.im.AIMConnector;
 import com.liferay.portal.im.ICQConnector;
@@ -147,6 +148,10 @@ public class GlobalShutdownAction extends SimpleAction {
 		catch (Exception e) {
 		}
 
+		// Entity cache snapshot
+
+		EntityCacheSnapshotUtil.stop();
+
 		// Javadoc
 
 		JavadocManagerUtil.unload(StringPool.BLANK);
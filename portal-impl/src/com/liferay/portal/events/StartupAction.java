@@ -15,6 +15,7 @@
 package com.liferay.portal.events;
 
 import com.liferay.portal.cache.bootstrap.ClusterLinkBootstrapLoaderHelperUtil;
+import com.liferay.portal.cache.bootstrap.EntityCacheSnapshotUtil;
 import com.liferay.portal.jericho.CachedLoggerProvider;
 import com.liferay.portal.kernel.bean.PortalBeanLocatorUtil;
 import com.liferay.portal.kernel.cluster.ClusterExecutorUtil;
@@ -191,6 +192,10 @@ public class StartupAction extends SimpleAction {
 
 		ClusterLinkBootstrapLoaderHelperUtil.start();
 
+		// Entity cache snapshot
+
+		EntityCacheSnapshotUtil.start();
+
 		// Scheduler
 
 		if (_log.isDebugEnabled()) {
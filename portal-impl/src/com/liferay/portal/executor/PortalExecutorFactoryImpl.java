@@ -17,6 +17,7 @@ package com.liferay.portal.executor;
 import com.liferay.portal.kernel.concurrent.RejectedExecutionHandler;
 import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
 import com.liferay.portal.kernel.concurrent.ThreadPoolHandler;
+import com.liferay.portal.kernel.concurrent.WorkStealingThreadPoolExecutor;
 import com.liferay.portal.kernel.executor.PortalExecutorFactory;
 import com.liferay.portal.kernel.util.NamedThreadFactory;
 import com.liferay.portal.util.ClassLoaderUtil;
@@ -74,6 +75,13 @@ public class PortalExecutorFactoryImpl implements PortalExecutorFactory {
 			executorName, Thread.NORM_PRIORITY,
 			ClassLoaderUtil.getPortalClassLoader());
 
+		if (_workStealing) {
+			return new WorkStealingThreadPoolExecutor(
+				_corePoolSize, _maxPoolSize, _keepAliveTime, _timeUnit,
+				_allowCoreThreadTimeout, _maxQueueSize,
+				_rejectedExecutionHandler, threadFactory, _threadPoolHandler);
+		}
+
 		return new ThreadPoolExecutor(
 			_corePoolSize, _maxPoolSize, _keepAliveTime, _timeUnit,
 			_allowCoreThreadTimeout, _maxQueueSize, _rejectedExecutionHandler,
@@ -114,6 +122,10 @@ public class PortalExecutorFactoryImpl implements PortalExecutorFactory {
 		_timeUnit = timeUnit;
 	}
 
+	public void setWorkStealing(boolean workStealing) {
+		_workStealing = workStealing;
+	}
+
 	private boolean _allowCoreThreadTimeout;
 	private int _corePoolSize;
 	private long _keepAliveTime;
@@ -122,5 +134,6 @@ public class PortalExecutorFactoryImpl implements PortalExecutorFactory {
 	private RejectedExecutionHandler _rejectedExecutionHandler;
 	private ThreadPoolHandler _threadPoolHandler;
 	private TimeUnit _timeUnit;
+	private boolean _workStealing;
 
 }
\ No newline at end of file
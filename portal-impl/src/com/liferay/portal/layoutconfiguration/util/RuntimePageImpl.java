@@ -14,6 +14,9 @@
 
 package com.liferay.portal.layoutconfiguration.util;
 
+import com.liferay.portal.kernel.concurrent.FutureListener;
+import com.liferay.portal.kernel.concurrent.NoticeableFuture;
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
 import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
 import com.liferay.portal.kernel.io.unsync.UnsyncStringWriter;
 import com.liferay.portal.kernel.log.Log;
@@ -53,16 +56,23 @@ import com.liferay.taglib.util.VelocityTaglib;
 import com.liferay.taglib.util.VelocityTaglibImpl;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -111,7 +121,7 @@ public class RuntimePageImpl implements RuntimePage {
 		throws Exception {
 
 		StringBundler sb = doDispatch(
-			request, response, portletId, templateResource, true);
+			request, response, portletId, templateResource, true, true);
 
 		sb.writeTo(response.getWriter());
 	}
@@ -253,6 +263,17 @@ public class RuntimePageImpl implements RuntimePage {
 			boolean processTemplate)
 		throws Exception {
 
+		return doDispatch(
+			request, response, portletId, templateResource, processTemplate,
+			false);
+	}
+
+	protected StringBundler doDispatch(
+			HttpServletRequest request, HttpServletResponse response,
+			String portletId, TemplateResource templateResource,
+			boolean processTemplate, boolean streaming)
+		throws Exception {
+
 		ClassLoader pluginClassLoader = null;
 
 		LayoutTemplate layoutTemplate = getLayoutTemplate(
@@ -284,7 +305,8 @@ public class RuntimePageImpl implements RuntimePage {
 
 			if (processTemplate) {
 				return doProcessTemplate(
-					request, response, portletId, templateResource, false);
+					request, response, portletId, templateResource, false,
+					streaming);
 			}
 			else {
 				doProcessCustomizationSettings(
@@ -342,6 +364,22 @@ public class RuntimePageImpl implements RuntimePage {
 			boolean restricted)
 		throws Exception {
 
+		return doProcessTemplate(
+			request, response, portletId, templateResource, restricted, false);
+	}
+
+	/**
+	 * Processes the template and renders its portlets. When
+	 * <code>streaming</code> is <code>true</code> and streaming parallel
+	 * rendering is enabled, the result is written to the response as portlets
+	 * finish rendering and an empty string bundler is returned.
+	 */
+	protected StringBundler doProcessTemplate(
+			HttpServletRequest request, HttpServletResponse response,
+			String portletId, TemplateResource templateResource,
+			boolean restricted, boolean streaming)
+		throws Exception {
+
 		TemplateProcessor processor = new TemplateProcessor(
 			request, response, portletId);
 
@@ -377,6 +415,36 @@ public class RuntimePageImpl implements RuntimePage {
 		boolean portletParallelRender = GetterUtil.getBoolean(
 			request.getAttribute(WebKeys.PORTLET_PARALLEL_RENDER));
 
+		if (streaming && portletParallelRender &&
+			PropsValues.LAYOUT_PARALLEL_RENDER_STREAMING_ENABLE) {
+
+			if (_waitTime == Integer.MAX_VALUE) {
+				_waitTime = PropsValues.LAYOUT_PARALLEL_RENDER_TIMEOUT;
+			}
+
+			Lock lock = new ReentrantLock();
+
+			request.setAttribute(WebKeys.PARALLEL_RENDERING_MERGE_LOCK, lock);
+
+			ObjectValuePair<HttpServletRequest, Closeable> objectValuePair =
+				ThreadLocalFacadeServletRequestWrapperUtil.inject(request);
+
+			try {
+				streamPortlets(
+					objectValuePair.getKey(), response, processor,
+					unsyncStringWriter.toString());
+			}
+			finally {
+				Closeable closeable = objectValuePair.getValue();
+
+				closeable.close();
+
+				request.removeAttribute(WebKeys.PARALLEL_RENDERING_MERGE_LOCK);
+			}
+
+			return new StringBundler(0);
+		}
+
 		Lock lock = null;
 
 		Map<String, StringBundler> contentsMap =
@@ -511,6 +579,16 @@ public class RuntimePageImpl implements RuntimePage {
 			layoutTemplateId, standard, themeId);
 	}
 
+	protected StringBundler getStreamingPlaceholder(Portlet portlet) {
+		StringBundler sb = new StringBundler(3);
+
+		sb.append("<div class=\"loading-animation\" id=\"p_p_streaming_");
+		sb.append(portlet.getPortletId());
+		sb.append("\"></div>");
+
+		return sb;
+	}
+
 	protected void parallelyRenderPortlets(
 			HttpServletRequest request, HttpServletResponse response,
 			TemplateProcessor processor, Map<String, StringBundler> contentsMap,
@@ -640,40 +718,313 @@ public class RuntimePageImpl implements RuntimePage {
 				future.cancel(true);
 			}
 
-			StringBundler sb = null;
+			contentsMap.put(
+				portlet.getPortletId(),
+				renderFallback(request, response, processor, portletRenderer));
 
-			if (processor.isPortletAjaxRender() && portlet.isAjaxable()) {
-				if (_log.isDebugEnabled()) {
-					_log.debug(
-						"Fall back to ajax rendering of portlet " +
-							portlet.getPortletId());
-				}
+			portletRenderer.finishParallelRender();
+		}
+	}
+
+	protected StringBundler renderFallback(
+			HttpServletRequest request, HttpServletResponse response,
+			TemplateProcessor processor, PortletRenderer portletRenderer)
+		throws Exception {
 
-				sb = portletRenderer.renderAjax(request, response);
+		Portlet portlet = portletRenderer.getPortlet();
+
+		if (processor.isPortletAjaxRender() && portlet.isAjaxable()) {
+			if (_log.isDebugEnabled()) {
+				_log.debug(
+					"Fall back to ajax rendering of portlet " +
+						portlet.getPortletId());
+			}
+
+			return portletRenderer.renderAjax(request, response);
+		}
+
+		if (_log.isDebugEnabled()) {
+			if (processor.isPortletAjaxRender()) {
+				_log.debug(
+					"Fall back to an error message for portlet " +
+						portlet.getPortletId() + " since it is not ajaxable");
 			}
 			else {
-				if (_log.isDebugEnabled()) {
-					if (processor.isPortletAjaxRender()) {
-						_log.debug(
-							"Fall back to an error message for portlet " +
-								portlet.getPortletId() +
-									" since it is not ajaxable");
+				_log.debug(
+					"Fall back to an error message for portlet " +
+						portlet.getPortletId() +
+							" since ajax rendering is disabled");
+			}
+		}
+
+		return portletRenderer.renderError(request, response);
+	}
+
+	/**
+	 * Renders the portlets in parallel and writes the layout as soon as the
+	 * portlets that finish within the streaming timeout are rendered. The
+	 * other portlets are written as placeholders, and their content is written
+	 * after the layout in the order in which they finish, together with a
+	 * script that moves it into the placeholders.
+	 *
+	 * <p>
+	 * The portlets of a render weight may depend on the portlets of the
+	 * higher render weights, so each render weight is rendered completely
+	 * before the next one starts. Only the portlets of the last render weight
+	 * are streamed.
+	 * </p>
+	 */
+	protected void streamPortlets(
+			HttpServletRequest request, HttpServletResponse response,
+			TemplateProcessor processor, String content)
+		throws Exception {
+
+		long startTime = System.currentTimeMillis();
+
+		ThreadPoolExecutor threadPoolExecutor =
+			PortalExecutorManagerUtil.getPortalExecutor(
+				RuntimePageImpl.class.getName());
+
+		final BlockingQueue<Future<StringBundler>> completedFutures =
+			new LinkedBlockingQueue<Future<StringBundler>>();
+
+		FutureListener<StringBundler> futureListener =
+			new FutureListener<StringBundler>() {
+
+				@Override
+				public void complete(Future<StringBundler> future) {
+					completedFutures.add(future);
+				}
+
+			};
+
+		Map<String, StringBundler> contentsMap =
+			new HashMap<String, StringBundler>();
+		Map<Future<StringBundler>, PortletRenderer> pendingFutures =
+			new HashMap<Future<StringBundler>, PortletRenderer>();
+
+		Map<Integer, List<PortletRenderer>> portletRenderersMap =
+			processor.getPortletRenderers();
+
+		long timeoutTime = startTime + _waitTime;
+
+		Collection<List<PortletRenderer>> portletRenderersCollection =
+			portletRenderersMap.values();
+
+		Iterator<List<PortletRenderer>> iterator =
+			portletRenderersCollection.iterator();
+
+		while (iterator.hasNext()) {
+			List<PortletRenderer> portletRenderers = iterator.next();
+
+			if (portletRenderers.size() == 1) {
+				PortletRenderer portletRenderer = portletRenderers.get(0);
+
+				Portlet portlet = portletRenderer.getPortlet();
+
+				contentsMap.put(
+					portlet.getPortletId(),
+					portletRenderer.render(request, response));
+
+				continue;
+			}
+
+			Map<NoticeableFuture<StringBundler>, PortletRenderer> futures =
+				new LinkedHashMap<NoticeableFuture<StringBundler>,
+					PortletRenderer>(portletRenderers.size());
+
+			for (PortletRenderer portletRenderer : portletRenderers) {
+				Callable<StringBundler> renderCallable =
+					portletRenderer.getCallable(request, response);
+
+				try {
+					futures.put(
+						threadPoolExecutor.submit(renderCallable),
+						portletRenderer);
+				}
+				catch (RejectedExecutionException ree) {
+					Portlet portlet = portletRenderer.getPortlet();
+
+					contentsMap.put(
+						portlet.getPortletId(),
+						renderFallback(
+							request, response, processor, portletRenderer));
+
+					portletRenderer.finishParallelRender();
+				}
+			}
+
+			boolean streamable = !iterator.hasNext();
+
+			long streamingTime = timeoutTime;
+
+			if (streamable) {
+				streamingTime =
+					System.currentTimeMillis() +
+						PropsValues.LAYOUT_PARALLEL_RENDER_STREAMING_TIMEOUT;
+			}
+
+			for (Map.Entry<NoticeableFuture<StringBundler>, PortletRenderer>
+					entry : futures.entrySet()) {
+
+				NoticeableFuture<StringBundler> future = entry.getKey();
+				PortletRenderer portletRenderer = entry.getValue();
+
+				Portlet portlet = portletRenderer.getPortlet();
+
+				StringBundler sb = null;
+
+				try {
+					sb = future.get(
+						Math.max(streamingTime - System.currentTimeMillis(), 0),
+						TimeUnit.MILLISECONDS);
+				}
+				catch (CancellationException ce) {
+				}
+				catch (TimeoutException te) {
+					if (!streamable) {
+						future.cancel(true);
 					}
 					else {
-						_log.debug(
-							"Fall back to an error message for portlet " +
-								portlet.getPortletId() +
-									" since ajax rendering is disabled");
+						contentsMap.put(
+							portlet.getPortletId(),
+							getStreamingPlaceholder(portlet));
+
+						pendingFutures.put(future, portletRenderer);
+
+						future.addFutureListener(futureListener);
+
+						continue;
 					}
 				}
 
-				sb = portletRenderer.renderError(request, response);
+				if (sb == null) {
+					sb = renderFallback(
+						request, response, processor, portletRenderer);
+				}
+
+				contentsMap.put(portlet.getPortletId(), sb);
+
+				portletRenderer.finishParallelRender();
 			}
+		}
+
+		Writer writer = response.getWriter();
 
-			contentsMap.put(portlet.getPortletId(), sb);
+		StringBundler sb = StringUtil.replaceWithStringBundler(
+			content, "[$TEMPLATE_PORTLET_", "$]", contentsMap);
+
+		sb.writeTo(writer);
+
+		if (pendingFutures.isEmpty()) {
+			return;
+		}
+
+		if (_log.isDebugEnabled()) {
+			_log.debug(
+				"Streamed layout with " + pendingFutures.size() +
+					" pending portlets in " +
+						(System.currentTimeMillis() - startTime) + " ms");
+		}
+
+		writer.flush();
+
+		response.flushBuffer();
+
+		while (!pendingFutures.isEmpty()) {
+			long waitTime = timeoutTime - System.currentTimeMillis();
+
+			if (waitTime <= 0) {
+				break;
+			}
+
+			Future<StringBundler> future = null;
+
+			try {
+				future = completedFutures.poll(waitTime, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException ie) {
+				break;
+			}
+
+			if (future == null) {
+				break;
+			}
+
+			PortletRenderer portletRenderer = pendingFutures.remove(future);
+
+			sb = null;
+
+			try {
+				sb = future.get();
+			}
+			catch (CancellationException ce) {
+			}
+			catch (ExecutionException ee) {
+				Portlet portlet = portletRenderer.getPortlet();
+
+				_log.error(
+					"Unable to render portlet " + portlet.getPortletId(), ee);
+			}
+
+			if (sb == null) {
+				sb = renderFallback(
+					request, response, processor, portletRenderer);
+			}
 
 			portletRenderer.finishParallelRender();
+
+			writeStreamedPortlet(writer, portletRenderer.getPortlet(), sb);
+
+			writer.flush();
+
+			response.flushBuffer();
 		}
+
+		// Portlets that are still pending fall back to ajax loading or an
+		// error message
+
+		for (Map.Entry<Future<StringBundler>, PortletRenderer> entry :
+				pendingFutures.entrySet()) {
+
+			Future<StringBundler> future = entry.getKey();
+			PortletRenderer portletRenderer = entry.getValue();
+
+			future.cancel(true);
+
+			sb = renderFallback(request, response, processor, portletRenderer);
+
+			portletRenderer.finishParallelRender();
+
+			writeStreamedPortlet(writer, portletRenderer.getPortlet(), sb);
+		}
+	}
+
+	protected void writeStreamedPortlet(
+			Writer writer, Portlet portlet, StringBundler sb)
+		throws IOException {
+
+		String portletId = portlet.getPortletId();
+
+		writer.write("<div hidden id=\"p_p_streaming_content_");
+		writer.write(portletId);
+		writer.write("\">");
+
+		sb.writeTo(writer);
+
+		writer.write("</div><script type=\"text/javascript\">");
+		writer.write("(function() {var placeholder = ");
+		writer.write("document.getElementById('p_p_streaming_");
+		writer.write(portletId);
+		writer.write("'); var content = document.getElementById(");
+		writer.write("'p_p_streaming_content_");
+		writer.write(portletId);
+		writer.write("'); var parentNode = placeholder.parentNode; ");
+		writer.write("while (content.firstChild) {parentNode.insertBefore(");
+		writer.write("content.firstChild, placeholder);} ");
+		writer.write("parentNode.removeChild(placeholder); ");
+		writer.write("content.parentNode.removeChild(content);})();");
+		writer.write("</script>");
 	}
 
 	private static Log _log = LogFactoryUtil.getLog(RuntimePageImpl.class);
@@ -124,6 +124,7 @@ public class PortletImpl extends PortletBaseImpl {
 		_headerPortletJavaScript = new ArrayList<String>();
 		_indexerClasses = new ArrayList<String>();
 		_initParams = new HashMap<String, String>();
+		_outputCacheModelClasses = new ArrayList<String>();
 		_portletFilters = new LinkedHashMap<String, PortletFilter>();
 		_portletModes = new HashMap<String, Set<String>>();
 		_roleMappers = new LinkedHashMap<String, String>();
@@ -409,6 +410,8 @@ public class PortletImpl extends PortletBaseImpl {
 			getPortletApp());
 
 		portlet.setId(getId());
+		portlet.setOutputCacheModelClasses(getOutputCacheModelClasses());
+		portlet.setOutputCacheTime(getOutputCacheTime());
 		portlet.setUndeployedPortlet(isUndeployedPortlet());
 
 		return portlet;
@@ -1121,6 +1124,28 @@ public class PortletImpl extends PortletBaseImpl {
 		return openSearchInstances.get(0);
 	}
 
+	/**
+	 * Returns the names of the model classes whose changes remove the cached
+	 * output of the portlet.
+	 *
+	 * @return the names of the model classes whose changes remove the cached
+	 *         output of the portlet
+	 */
+	@Override
+	public List<String> getOutputCacheModelClasses() {
+		return _outputCacheModelClasses;
+	}
+
+	/**
+	 * Returns the number of seconds the output of the portlet is cached.
+	 *
+	 * @return the number of seconds the output of the portlet is cached
+	 */
+	@Override
+	public int getOutputCacheTime() {
+		return _outputCacheTime;
+	}
+
 	/**
 	 * Returns the parent struts path of the portlet.
 	 *
@@ -3209,6 +3234,31 @@ public class PortletImpl extends PortletBaseImpl {
 		_openSearchClass = openSearchClass;
 	}
 
+	/**
+	 * Sets the names of the model classes whose changes remove the cached
+	 * output of the portlet.
+	 *
+	 * @param outputCacheModelClasses the names of the model classes whose
+	 *        changes remove the cached output of the portlet
+	 */
+	@Override
+	public void setOutputCacheModelClasses(
+		List<String> outputCacheModelClasses) {
+
+		_outputCacheModelClasses = outputCacheModelClasses;
+	}
+
+	/**
+	 * Sets the number of seconds the output of the portlet is cached.
+	 *
+	 * @param outputCacheTime the number of seconds the output of the portlet
+	 *        is cached
+	 */
+	@Override
+	public void setOutputCacheTime(int outputCacheTime) {
+		_outputCacheTime = outputCacheTime;
+	}
+
 	/**
 	 * Sets the parent struts path of the portlet.
 	 *
@@ -4174,6 +4224,17 @@ public class PortletImpl extends PortletBaseImpl {
 	 */
 	private String _openSearchClass;
 
+	/**
+	 * The names of the model classes whose changes remove the cached output of
+	 * the portlet.
+	 */
+	private List<String> _outputCacheModelClasses;
+
+	/**
+	 * The number of seconds the output of the portlet is cached.
+	 */
+	private int _outputCacheTime;
+
 	/**
 	 * The parent struts path of the portlet.
 	 */
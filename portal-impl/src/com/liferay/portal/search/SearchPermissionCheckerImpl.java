@@ -25,12 +25,15 @@ import com.liferay.portal.kernel.search.Field;
 import com.liferay.portal.kernel.search.Indexer;
 import com.liferay.portal.kernel.search.IndexerRegistryUtil;
 import com.liferay.portal.kernel.search.Query;
+import com.liferay.portal.kernel.search.QueryConfig;
 import com.liferay.portal.kernel.search.SearchContext;
 import com.liferay.portal.kernel.search.SearchPermissionChecker;
 import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.ListUtil;
+import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.model.Group;
 import com.liferay.portal.model.GroupConstants;
@@ -41,6 +44,7 @@ import com.liferay.portal.model.UserGroupRole;
 import com.liferay.portal.security.permission.ActionKeys;
 import com.liferay.portal.security.permission.AdvancedPermissionChecker;
 import com.liferay.portal.security.permission.PermissionChecker;
+import com.liferay.portal.security.permission.PermissionCacheUtil;
 import com.liferay.portal.security.permission.PermissionCheckerBag;
 import com.liferay.portal.security.permission.PermissionThreadLocal;
 import com.liferay.portal.security.permission.ResourceActionsUtil;
@@ -54,11 +58,13 @@ import com.liferay.portal.service.UserGroupRoleLocalServiceUtil;
 import com.liferay.portal.util.PortalUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * @author Allen Chiang
@@ -135,6 +141,94 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 		return query;
 	}
 
+	/**
+	 * Checks the hits in bulk, one check per group and entry class, so that
+	 * the indexers' permission checks of the hits are served from the
+	 * permission cache. The bulk checks use the indexed group and root entry
+	 * class primary key, so no models are loaded. Other resources that the
+	 * indexers check, such as parent folders, are shared by many hits and
+	 * are cached by the first check.
+	 */
+	@Override
+	public void preloadPermissions(
+		PermissionChecker permissionChecker, Document[] documents,
+		String actionId) {
+
+		Map<Long, Map<String, List<Long>>> classPKsMap =
+			new HashMap<Long, Map<String, List<Long>>>();
+
+		for (Document document : documents) {
+			String entryClassName = document.get(Field.ENTRY_CLASS_NAME);
+
+			Indexer indexer = IndexerRegistryUtil.getIndexer(entryClassName);
+
+			if ((indexer == null) || !indexer.isFilterSearch() ||
+				!indexer.isPermissionAware() ||
+				GetterUtil.getBoolean(document.get(Field.RELATED_ENTRY))) {
+
+				continue;
+			}
+
+			String classPK = document.get(Field.ROOT_ENTRY_CLASS_PK);
+
+			if (Validator.isNull(classPK)) {
+				classPK = document.get(Field.ENTRY_CLASS_PK);
+			}
+
+			if (Validator.isNull(classPK)) {
+				continue;
+			}
+
+			long groupId = GetterUtil.getLong(document.get(Field.GROUP_ID));
+
+			Map<String, List<Long>> groupClassPKsMap = classPKsMap.get(
+				groupId);
+
+			if (groupClassPKsMap == null) {
+				groupClassPKsMap = new HashMap<String, List<Long>>();
+
+				classPKsMap.put(groupId, groupClassPKsMap);
+			}
+
+			List<Long> classPKs = groupClassPKsMap.get(entryClassName);
+
+			if (classPKs == null) {
+				classPKs = new ArrayList<Long>();
+
+				groupClassPKsMap.put(entryClassName, classPKs);
+			}
+
+			classPKs.add(GetterUtil.getLong(classPK));
+		}
+
+		for (Map.Entry<Long, Map<String, List<Long>>> entry :
+				classPKsMap.entrySet()) {
+
+			long groupId = entry.getKey();
+
+			Map<String, List<Long>> groupClassPKsMap = entry.getValue();
+
+			for (Map.Entry<String, List<Long>> groupEntry :
+					groupClassPKsMap.entrySet()) {
+
+				List<Long> classPKs = groupEntry.getValue();
+
+				if (classPKs.size() < 2) {
+					continue;
+				}
+
+				try {
+					permissionChecker.hasPermissions(
+						groupId, groupEntry.getKey(),
+						ArrayUtil.toLongArray(classPKs), actionId);
+				}
+				catch (Exception e) {
+					_log.error(e, e);
+				}
+			}
+		}
+	}
+
 	@Override
 	public void updatePermissionFields(
 		String resourceName, String resourceClassPK) {
@@ -148,15 +242,14 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 	}
 
 	protected void addRequiredMemberRole(
-			Group group, BooleanQuery permissionQuery)
+			Group group, SearchPermissionTerms searchPermissionTerms)
 		throws Exception {
 
 		if (group.isOrganization()) {
 			Role organizationUserRole = RoleLocalServiceUtil.getRole(
 				group.getCompanyId(), RoleConstants.ORGANIZATION_USER);
 
-			permissionQuery.addTerm(
-				Field.GROUP_ROLE_ID,
+			searchPermissionTerms.addGroupRoleId(
 				group.getGroupId() + StringPool.DASH +
 					organizationUserRole.getRoleId());
 		}
@@ -165,8 +258,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 			Role siteMemberRole = RoleLocalServiceUtil.getRole(
 				group.getCompanyId(), RoleConstants.SITE_MEMBER);
 
-			permissionQuery.addTerm(
-				Field.GROUP_ROLE_ID,
+			searchPermissionTerms.addGroupRoleId(
 				group.getGroupId() + StringPool.DASH +
 					siteMemberRole.getRoleId());
 		}
@@ -359,6 +451,26 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 			Map<Long, List<Role>> groupIdsToRoles)
 		throws Exception {
 
+		String permissionSignature = getPermissionSignature(
+			companyId, groupIds, className, groups, roles, userGroupRoles,
+			groupIdsToRoles);
+
+		SearchPermissionTerms searchPermissionTerms =
+			PermissionCacheUtil.getSearchPermissionTerms(permissionSignature);
+
+		if (searchPermissionTerms == null) {
+			searchPermissionTerms = getSearchPermissionTerms(
+				companyId, groupIds, className, groups, roles, userGroupRoles,
+				groupIdsToRoles);
+
+			PermissionCacheUtil.putSearchPermissionTerms(
+				permissionSignature, searchPermissionTerms);
+		}
+
+		if (searchPermissionTerms.isUnrestricted()) {
+			return query;
+		}
+
 		BooleanQuery permissionQuery = BooleanQueryFactoryUtil.create(
 			searchContext);
 
@@ -368,13 +480,175 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 
 		BooleanQuery groupsQuery = BooleanQueryFactoryUtil.create(
 			searchContext);
+
+		for (long groupId : searchPermissionTerms.getGroupIds()) {
+			groupsQuery.addTerm(Field.GROUP_ID, groupId);
+		}
+
 		BooleanQuery rolesQuery = BooleanQueryFactoryUtil.create(searchContext);
 
+		for (long roleId : searchPermissionTerms.getRoleIds()) {
+			rolesQuery.addTerm(Field.ROLE_ID, roleId);
+		}
+
+		for (String groupRoleId : searchPermissionTerms.getGroupRoleIds()) {
+			rolesQuery.addTerm(Field.GROUP_ROLE_ID, groupRoleId);
+		}
+
+		BooleanQuery termsQuery = BooleanQueryFactoryUtil.create(searchContext);
+
+		if (groupsQuery.hasClauses()) {
+			termsQuery.add(groupsQuery, BooleanClauseOccur.SHOULD);
+		}
+
+		if (rolesQuery.hasClauses()) {
+			termsQuery.add(rolesQuery, BooleanClauseOccur.SHOULD);
+		}
+
+		if (termsQuery.hasClauses()) {
+
+			// The permission terms only restrict the matching entries. Search
+			// engines that support filter queries cache the entries matched
+			// by the terms for all of the users with the same permission
+			// signature, and the terms no longer affect the relevance of the
+			// hits.
+
+			QueryConfig queryConfig = termsQuery.getQueryConfig();
+
+			queryConfig.setFilter(true);
+
+			permissionQuery.add(termsQuery, BooleanClauseOccur.SHOULD);
+		}
+
+		BooleanQuery fullQuery = BooleanQueryFactoryUtil.create(searchContext);
+
+		fullQuery.add(query, BooleanClauseOccur.MUST);
+		fullQuery.add(permissionQuery, BooleanClauseOccur.MUST);
+
+		return fullQuery;
+	}
+
+	protected void doUpdatePermissionFields(
+			String resourceName, String resourceClassPK)
+		throws Exception {
+
+		Indexer indexer = IndexerRegistryUtil.getIndexer(resourceName);
+
+		if (indexer != null) {
+			indexer.reindex(resourceName, GetterUtil.getLong(resourceClassPK));
+		}
+	}
+
+	protected PermissionCheckerBag getPermissionCheckerBag(
+			AdvancedPermissionChecker advancedPermissionChecker, long userId)
+		throws Exception {
+
+		if (!advancedPermissionChecker.isSignedIn()) {
+			return advancedPermissionChecker.getGuestUserBag();
+		}
+		else {
+			return advancedPermissionChecker.getUserBag(userId, 0);
+		}
+	}
+
+	/**
+	 * Returns a key for everything except the user ID that the permission
+	 * terms of a search depend on. Users with the same roles and groups have
+	 * the same key.
+	 */
+	protected String getPermissionSignature(
+		long companyId, long[] groupIds, String className, Set<Group> groups,
+		Set<Role> roles, Set<UserGroupRole> userGroupRoles,
+		Map<Long, List<Role>> groupIdsToRoles) {
+
+		Set<String> groupKeys = new TreeSet<String>();
+
+		for (Group group : groups) {
+			Set<Long> groupRoleIds = new TreeSet<Long>();
+
+			for (Role role : groupIdsToRoles.get(group.getGroupId())) {
+				groupRoleIds.add(role.getRoleId());
+			}
+
+			groupKeys.add(
+				group.getGroupId() + StringPool.COLON +
+					StringUtil.merge(groupRoleIds));
+		}
+
+		Set<Long> roleIds = new TreeSet<Long>();
+
+		for (Role role : roles) {
+			roleIds.add(role.getRoleId());
+		}
+
+		Set<String> userGroupRoleIds = new TreeSet<String>();
+
+		for (UserGroupRole userGroupRole : userGroupRoles) {
+			userGroupRoleIds.add(
+				userGroupRole.getGroupId() + StringPool.DASH +
+					userGroupRole.getRoleId());
+		}
+
+		long[] sortedGroupIds = ArrayUtil.clone(groupIds);
+
+		Arrays.sort(sortedGroupIds);
+
+		StringBundler sb = new StringBundler(11);
+
+		sb.append(companyId);
+		sb.append(StringPool.POUND);
+		sb.append(className);
+		sb.append(StringPool.POUND);
+		sb.append(StringUtil.merge(sortedGroupIds));
+		sb.append(StringPool.POUND);
+		sb.append(StringUtil.merge(groupKeys, StringPool.SEMICOLON));
+		sb.append(StringPool.POUND);
+		sb.append(StringUtil.merge(roleIds));
+		sb.append(StringPool.POUND);
+		sb.append(StringUtil.merge(userGroupRoleIds));
+
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the permission terms of a permission signature. The terms match
+	 * the role IDs and group role IDs that {@link #addPermissionFields(long,
+	 * Document)} already indexes for the roles with view permission on an
+	 * entry, so the filter needs no additional index time encoding.
+	 *
+	 * <p>
+	 * Encoding more of the permission model at index time, such as the view
+	 * permissions that an entry inherits from its parent folder or from its
+	 * group, was dropped. Every change of such a permission would require
+	 * reindexing all of the entries below it. That is why the filter is
+	 * disabled by default and why the hits still go through the per hit
+	 * permission checks.
+	 * </p>
+	 *
+	 * <p>
+	 * The roles and groups of the signature are still collected for every
+	 * query, but they are read from the user and group bags that the
+	 * permission cache already holds, so only the terms are built once per
+	 * signature.
+	 * </p>
+	 */
+	protected SearchPermissionTerms getSearchPermissionTerms(
+			long companyId, long[] groupIds, String className,
+			Set<Group> groups, Set<Role> roles,
+			Set<UserGroupRole> userGroupRoles,
+			Map<Long, List<Role>> groupIdsToRoles)
+		throws Exception {
+
+		SearchPermissionTerms searchPermissionTerms =
+			new SearchPermissionTerms();
+
 		for (Role role : roles) {
 			String roleName = role.getName();
 
 			if (roleName.equals(RoleConstants.ADMINISTRATOR)) {
-				return query;
+				searchPermissionTerms.setUnrestricted(true);
+
+				return searchPermissionTerms;
 			}
 
 			if (ResourcePermissionLocalServiceUtil.hasResourcePermission(
@@ -382,7 +656,9 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 					String.valueOf(companyId), role.getRoleId(),
 					ActionKeys.VIEW)) {
 
-				return query;
+				searchPermissionTerms.setUnrestricted(true);
+
+				return searchPermissionTerms;
 			}
 
 			if ((role.getType() == RoleConstants.TYPE_REGULAR) &&
@@ -392,7 +668,9 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 					String.valueOf(GroupConstants.DEFAULT_PARENT_GROUP_ID),
 					role.getRoleId(), ActionKeys.VIEW)) {
 
-				return query;
+				searchPermissionTerms.setUnrestricted(true);
+
+				return searchPermissionTerms;
 			}
 
 			for (Group group : groups) {
@@ -401,7 +679,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 						String.valueOf(group.getGroupId()), role.getRoleId(),
 						ActionKeys.VIEW)) {
 
-					groupsQuery.addTerm(Field.GROUP_ID, group.getGroupId());
+					searchPermissionTerms.addGroupId(group.getGroupId());
 				}
 
 				if ((role.getType() != RoleConstants.TYPE_REGULAR) &&
@@ -415,7 +693,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 						group.getGroupId());
 
 					if (groupRoles.contains(role)) {
-						groupsQuery.addTerm(Field.GROUP_ID, group.getGroupId());
+						searchPermissionTerms.addGroupId(group.getGroupId());
 					}
 				}
 
@@ -423,8 +701,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 					!roleName.equals(RoleConstants.SITE_MEMBER) &&
 					(role.getType() == RoleConstants.TYPE_SITE)) {
 
-					rolesQuery.addTerm(
-						Field.GROUP_ROLE_ID,
+					searchPermissionTerms.addGroupRoleId(
 						group.getGroupId() + StringPool.DASH +
 							role.getRoleId());
 				}
@@ -436,61 +713,24 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 						String.valueOf(groupId), role.getRoleId(),
 						ActionKeys.VIEW)) {
 
-					groupsQuery.addTerm(Field.GROUP_ID, groupId);
+					searchPermissionTerms.addGroupId(groupId);
 				}
 			}
 
-			rolesQuery.addTerm(Field.ROLE_ID, role.getRoleId());
+			searchPermissionTerms.addRoleId(role.getRoleId());
 		}
 
 		for (Group group : groups) {
-			addRequiredMemberRole(group, rolesQuery);
+			addRequiredMemberRole(group, searchPermissionTerms);
 		}
 
 		for (UserGroupRole userGroupRole : userGroupRoles) {
-			rolesQuery.addTerm(
-				Field.GROUP_ROLE_ID,
+			searchPermissionTerms.addGroupRoleId(
 				userGroupRole.getGroupId() + StringPool.DASH +
 					userGroupRole.getRoleId());
 		}
 
-		if (groupsQuery.hasClauses()) {
-			permissionQuery.add(groupsQuery, BooleanClauseOccur.SHOULD);
-		}
-
-		if (rolesQuery.hasClauses()) {
-			permissionQuery.add(rolesQuery, BooleanClauseOccur.SHOULD);
-		}
-
-		BooleanQuery fullQuery = BooleanQueryFactoryUtil.create(searchContext);
-
-		fullQuery.add(query, BooleanClauseOccur.MUST);
-		fullQuery.add(permissionQuery, BooleanClauseOccur.MUST);
-
-		return fullQuery;
-	}
-
-	protected void doUpdatePermissionFields(
-			String resourceName, String resourceClassPK)
-		throws Exception {
-
-		Indexer indexer = IndexerRegistryUtil.getIndexer(resourceName);
-
-		if (indexer != null) {
-			indexer.reindex(resourceName, GetterUtil.getLong(resourceClassPK));
-		}
-	}
-
-	protected PermissionCheckerBag getPermissionCheckerBag(
-			AdvancedPermissionChecker advancedPermissionChecker, long userId)
-		throws Exception {
-
-		if (!advancedPermissionChecker.isSignedIn()) {
-			return advancedPermissionChecker.getGuestUserBag();
-		}
-		else {
-			return advancedPermissionChecker.getUserBag(userId, 0);
-		}
+		return searchPermissionTerms;
 	}
 
 	private static Log _log = LogFactoryUtil.getLog(
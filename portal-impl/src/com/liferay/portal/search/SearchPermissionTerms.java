@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search;
+
+import java.io.Serializable;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Holds the indexed permission terms that grant a permission signature, which
+ * is a set of roles and groups, the view permission on the entries of a class.
+ * The terms do not depend on the user, so they are shared by all of the users
+ * with the same signature. The terms are sorted, so equal terms always build
+ * equal queries.
+ *
+ * @author Allen Chiang
+ */
+public class SearchPermissionTerms implements Serializable {
+
+	public void addGroupId(long groupId) {
+		_groupIds.add(groupId);
+	}
+
+	public void addGroupRoleId(String groupRoleId) {
+		_groupRoleIds.add(groupRoleId);
+	}
+
+	public void addRoleId(long roleId) {
+		_roleIds.add(roleId);
+	}
+
+	public Set<Long> getGroupIds() {
+		return _groupIds;
+	}
+
+	public Set<String> getGroupRoleIds() {
+		return _groupRoleIds;
+	}
+
+	public Set<Long> getRoleIds() {
+		return _roleIds;
+	}
+
+	public boolean isUnrestricted() {
+		return _unrestricted;
+	}
+
+	public void setUnrestricted(boolean unrestricted) {
+		_unrestricted = unrestricted;
+	}
+
+	private Set<Long> _groupIds = new TreeSet<Long>();
+	private Set<String> _groupRoleIds = new TreeSet<String>();
+	private Set<Long> _roleIds = new TreeSet<Long>();
+	private boolean _unrestricted;
+
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.lucene;
+
+import java.io.IOException;
+
+import java.lang.ref.WeakReference;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.util.FixedBitSet;
+
+/**
+ * Caches the documents that filter queries match in each index segment.
+ *
+ * <p>
+ * Entries are keyed by the cache key of the segment reader and its deletions,
+ * so a segment that has not changed since the last commit keeps its entries,
+ * and a segment with new deletions gets new ones. Searches and Bobo browses
+ * pass the reader of each segment, which delegates its cache keys to the
+ * segment, rather than the top level reader that is reopened on every commit.
+ * Entries are evicted in least recently used order once the cache holds more
+ * than the maximum number of entries or more than the maximum number of bytes.
+ * </p>
+ *
+ * @author Brian Wing Shun Chan
+ */
+public class FilterCache {
+
+	public FilterCache(int maxSize, long maxMemorySize) {
+		_maxSize = maxSize;
+		_maxMemorySize = maxMemorySize;
+	}
+
+	public synchronized void clear() {
+		_fixedBitSets.clear();
+
+		_memorySize = 0;
+	}
+
+	public DocIdSet getDocIdSet(IndexReader indexReader, Query query)
+		throws IOException {
+
+		Object readerKey = indexReader.getCoreCacheKey();
+
+		if (indexReader.hasDeletions()) {
+			readerKey = indexReader.getDeletesCacheKey();
+		}
+
+		FilterKey filterKey = new FilterKey(readerKey, query);
+
+		FixedBitSet fixedBitSet = null;
+
+		synchronized (this) {
+			fixedBitSet = _fixedBitSets.get(filterKey);
+		}
+
+		if (fixedBitSet != null) {
+			_hitCount.incrementAndGet();
+
+			return fixedBitSet;
+		}
+
+		_missCount.incrementAndGet();
+
+		fixedBitSet = createFixedBitSet(indexReader, query);
+
+		_put(filterKey, fixedBitSet);
+
+		return fixedBitSet;
+	}
+
+	/**
+	 * Returns a filter that matches the documents matched by all of the
+	 * queries, of which there must be at least one. The documents of each
+	 * query are cached separately, so filters that share a query also share
+	 * its cache entries.
+	 */
+	public Filter getFilter(Query... queries) {
+		return new QueriesFilter(queries);
+	}
+
+	public long getHitCount() {
+		return _hitCount.get();
+	}
+
+	public synchronized long getMemorySize() {
+		return _memorySize;
+	}
+
+	public long getMissCount() {
+		return _missCount.get();
+	}
+
+	public synchronized int getSize() {
+		return _fixedBitSets.size();
+	}
+
+	protected FixedBitSet createFixedBitSet(
+			IndexReader indexReader, Query query)
+		throws IOException {
+
+		FixedBitSet fixedBitSet = new FixedBitSet(indexReader.maxDoc());
+
+		Filter filter = new QueryWrapperFilter(query);
+
+		DocIdSet docIdSet = filter.getDocIdSet(indexReader);
+
+		if (docIdSet == null) {
+			return fixedBitSet;
+		}
+
+		DocIdSetIterator docIdSetIterator = docIdSet.iterator();
+
+		if (docIdSetIterator != null) {
+			fixedBitSet.or(docIdSetIterator);
+		}
+
+		return fixedBitSet;
+	}
+
+	protected long getMemorySize(FixedBitSet fixedBitSet) {
+		long[] bits = fixedBitSet.getBits();
+
+		return _ENTRY_MEMORY_SIZE + bits.length * 8;
+	}
+
+	private synchronized void _put(
+		FilterKey filterKey, FixedBitSet fixedBitSet) {
+
+		long memorySize = getMemorySize(fixedBitSet);
+
+		if ((_maxSize <= 0) || (memorySize > _maxMemorySize)) {
+			return;
+		}
+
+		FixedBitSet oldFixedBitSet = _fixedBitSets.put(filterKey, fixedBitSet);
+
+		if (oldFixedBitSet != null) {
+			_memorySize -= getMemorySize(oldFixedBitSet);
+		}
+
+		_memorySize += memorySize;
+
+		Iterator<Map.Entry<FilterKey, FixedBitSet>> iterator =
+			_fixedBitSets.entrySet().iterator();
+
+		while (iterator.hasNext()) {
+			Map.Entry<FilterKey, FixedBitSet> entry = iterator.next();
+
+			FilterKey curFilterKey = entry.getKey();
+
+			if (curFilterKey.isCleared() ||
+				(_fixedBitSets.size() > _maxSize) ||
+				(_memorySize > _maxMemorySize)) {
+
+				iterator.remove();
+
+				_memorySize -= getMemorySize(entry.getValue());
+			}
+		}
+	}
+
+	private static final int _ENTRY_MEMORY_SIZE = 128;
+
+	private final Map<FilterKey, FixedBitSet> _fixedBitSets =
+		new LinkedHashMap<FilterKey, FixedBitSet>(16, 0.75F, true);
+	private final AtomicLong _hitCount = new AtomicLong();
+	private final long _maxMemorySize;
+	private final int _maxSize;
+	private long _memorySize;
+	private final AtomicLong _missCount = new AtomicLong();
+
+	private static class FilterKey {
+
+		public FilterKey(Object readerKey, Query query) {
+			_readerKeyReference = new WeakReference<Object>(readerKey);
+			_query = query;
+
+			_hashCode =
+				System.identityHashCode(readerKey) * 31 + query.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof FilterKey)) {
+				return false;
+			}
+
+			FilterKey filterKey = (FilterKey)obj;
+
+			Object readerKey = _readerKeyReference.get();
+
+			if ((readerKey != null) &&
+				(readerKey == filterKey._readerKeyReference.get()) &&
+				_query.equals(filterKey._query)) {
+
+				return true;
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return _hashCode;
+		}
+
+		public boolean isCleared() {
+			if (_readerKeyReference.get() == null) {
+				return true;
+			}
+
+			return false;
+		}
+
+		private final int _hashCode;
+		private final Query _query;
+		private final WeakReference<Object> _readerKeyReference;
+
+	}
+
+	private class QueriesFilter extends Filter {
+
+		public QueriesFilter(Query[] queries) {
+			_queries = queries;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof QueriesFilter)) {
+				return false;
+			}
+
+			QueriesFilter queriesFilter = (QueriesFilter)obj;
+
+			return Arrays.equals(_queries, queriesFilter._queries);
+		}
+
+		@Override
+		public DocIdSet getDocIdSet(IndexReader indexReader)
+			throws IOException {
+
+			DocIdSet docIdSet = FilterCache.this.getDocIdSet(
+				indexReader, _queries[0]);
+
+			if (_queries.length == 1) {
+				return docIdSet;
+			}
+
+			FixedBitSet fixedBitSet = new FixedBitSet((FixedBitSet)docIdSet);
+
+			for (int i = 1; i < _queries.length; i++) {
+				fixedBitSet.and(
+					(FixedBitSet)FilterCache.this.getDocIdSet(
+						indexReader, _queries[i]));
+			}
+
+			return fixedBitSet;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(_queries);
+		}
+
+		@Override
+		public String toString() {
+			return "QueriesFilter(" + Arrays.toString(_queries) + ")";
+		}
+
+		private final Query[] _queries;
+
+	}
+
+}
\ No newline at end of file
@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import java.util.Collection;
+import java.util.Map;
 
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.Term;
@@ -47,6 +48,12 @@ public interface IndexAccessor {
 
 	public void dumpIndex(OutputStream outputStream) throws IOException;
 
+	public void dumpIndex(
+			OutputStream outputStream, Map<String, String> checksums)
+		throws IOException;
+
+	public Map<String, String> getChecksums() throws IOException;
+
 	public long getCompanyId();
 
 	public long getLastGeneration();
@@ -38,6 +38,7 @@ import java.io.OutputStream;
 import java.io.Serializable;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -83,9 +84,10 @@ public class IndexAccessorImpl implements IndexAccessor {
 			if (!SPIUtil.isSPI()) {
 				_checkLuceneDir();
 				_initIndexWriter();
-				_initCommitScheduler();
 
 				_indexSearcherManager = new IndexSearcherManager(_indexWriter);
+
+				_initCommitScheduler();
 			}
 			else {
 				_indexSearcherManager = new IndexSearcherManager(
@@ -188,6 +190,25 @@ public class IndexAccessorImpl implements IndexAccessor {
 		}
 	}
 
+	@Override
+	public void dumpIndex(
+			OutputStream outputStream, Map<String, String> checksums)
+		throws IOException {
+
+		try {
+			_dumpIndexDeletionPolicy.dump(
+				outputStream, _indexWriter, _commitLock, checksums);
+		}
+		finally {
+			_indexSearcherManager.invalidate();
+		}
+	}
+
+	@Override
+	public Map<String, String> getChecksums() throws IOException {
+		return _dumpIndexDeletionPolicy.getChecksums();
+	}
+
 	@Override
 	public long getCompanyId() {
 		return _companyId;
@@ -239,7 +260,13 @@ public class IndexAccessorImpl implements IndexAccessor {
 
 		try (Directory tempDirectory = FSDirectory.open(tempFile)) {
 			IndexCommitSerializationUtil.deserializeIndex(
-				inputStream, tempDirectory);
+				inputStream, tempDirectory, getLuceneDir());
+
+			if (PropsValues.LUCENE_CLUSTER_INDEX_LOADING_INCREMENTAL_ENABLED) {
+				_replaceIndex(tempDirectory);
+
+				return;
+			}
 
 			_deleteDirectory();
 
@@ -271,8 +298,9 @@ public class IndexAccessorImpl implements IndexAccessor {
 				indexReader.flush();
 			}
 		}
-
-		FileUtil.deltree(tempFile);
+		finally {
+			FileUtil.deltree(tempFile);
+		}
 	}
 
 	@Override
@@ -334,6 +362,10 @@ public class IndexAccessorImpl implements IndexAccessor {
 	}
 
 	private void _commit() throws IOException {
+		if (PropsValues.LUCENE_NRT_MAX_STALENESS > 0) {
+			return;
+		}
+
 		if ((PropsValues.LUCENE_COMMIT_BATCH_SIZE == 0) ||
 			(PropsValues.LUCENE_COMMIT_BATCH_SIZE <= _batchCount)) {
 
@@ -454,6 +486,12 @@ public class IndexAccessorImpl implements IndexAccessor {
 	}
 
 	private void _initCommitScheduler() {
+		if (PropsValues.LUCENE_NRT_MAX_STALENESS > 0) {
+			_initNRTScheduler();
+
+			return;
+		}
+
 		if ((PropsValues.LUCENE_COMMIT_BATCH_SIZE <= 0) ||
 			(PropsValues.LUCENE_COMMIT_TIME_INTERVAL <= 0)) {
 
@@ -484,6 +522,53 @@ public class IndexAccessorImpl implements IndexAccessor {
 			TimeUnit.MILLISECONDS);
 	}
 
+	private void _initNRTScheduler() {
+		_scheduledExecutorService =
+			Executors.newSingleThreadScheduledExecutor();
+
+		Runnable refreshRunnable = new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					_indexSearcherManager.refresh();
+				}
+				catch (IOException ioe) {
+					_log.error("Could not refresh index searcher", ioe);
+				}
+			}
+
+		};
+
+		_scheduledExecutorService.scheduleWithFixedDelay(
+			refreshRunnable, PropsValues.LUCENE_NRT_MAX_STALENESS,
+			PropsValues.LUCENE_NRT_MAX_STALENESS, TimeUnit.MILLISECONDS);
+
+		if (PropsValues.LUCENE_NRT_COMMIT_INTERVAL <= 0) {
+			return;
+		}
+
+		Runnable commitRunnable = new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					if (_batchCount > 0) {
+						_doCommit();
+					}
+				}
+				catch (IOException ioe) {
+					_log.error("Could not run scheduled commit", ioe);
+				}
+			}
+
+		};
+
+		_scheduledExecutorService.scheduleWithFixedDelay(
+			commitRunnable, PropsValues.LUCENE_NRT_COMMIT_INTERVAL,
+			PropsValues.LUCENE_NRT_COMMIT_INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
 	private void _initIndexWriter() {
 		try {
 			Analyzer analyzer = new LimitTokenCountAnalyzer(
@@ -518,6 +603,34 @@ public class IndexAccessorImpl implements IndexAccessor {
 		}
 	}
 
+	private void _replaceIndex(Directory directory) throws IOException {
+		if (SearchEngineUtil.isIndexReadOnly()) {
+			return;
+		}
+
+		// Copy the loaded segments as they are instead of reindexing their
+		// documents, and publish them with the deletion in a single commit
+
+		_commitLock.lock();
+
+		try {
+			_indexWriter.deleteAll();
+
+			_indexWriter.addIndexes(directory);
+
+			_indexWriter.commit();
+		}
+		finally {
+			_commitLock.unlock();
+
+			_indexSearcherManager.invalidate();
+
+			_invalidate(_companyId);
+		}
+
+		_batchCount = 0;
+	}
+
 	private void _write(Term term, Document document) throws IOException {
 		try {
 			if (term != null) {
@@ -41,21 +41,7 @@ public class IndexSearcherManager {
 		if (_invalid) {
 			synchronized (this) {
 				if (_invalid) {
-					IndexSearcher indexSearcher = _indexSearcher;
-
-					if (indexSearcher == null) {
-						throw new AlreadyClosedException(
-							"Index searcher manager is closed");
-					}
-
-					IndexReader newIndexReader = IndexReader.openIfChanged(
-						indexSearcher.getIndexReader());
-
-					if (newIndexReader != null) {
-						_indexSearcher = _createIndexSearcher(newIndexReader);
-
-						release(indexSearcher);
-					}
+					_reopen();
 
 					_invalid = false;
 				}
@@ -92,6 +78,17 @@ public class IndexSearcherManager {
 		_invalid = true;
 	}
 
+	/**
+	 * Reopens the index searcher if the index changed, regardless of whether
+	 * the manager was invalidated. With a reader opened from an index writer,
+	 * this exposes uncommitted changes to searches.
+	 */
+	public synchronized void refresh() throws IOException {
+		_reopen();
+
+		_invalid = false;
+	}
+
 	public void release(IndexSearcher indexSearcher) throws IOException {
 		if (indexSearcher == null) {
 			return;
@@ -111,6 +108,24 @@ public class IndexSearcherManager {
 		return indexSearcher;
 	}
 
+	private void _reopen() throws IOException {
+		IndexSearcher indexSearcher = _indexSearcher;
+
+		if (indexSearcher == null) {
+			throw new AlreadyClosedException(
+				"Index searcher manager is closed");
+		}
+
+		IndexReader newIndexReader = IndexReader.openIfChanged(
+			indexSearcher.getIndexReader());
+
+		if (newIndexReader != null) {
+			_indexSearcher = _createIndexSearcher(newIndexReader);
+
+			release(indexSearcher);
+		}
+	}
+
 	private volatile IndexSearcher _indexSearcher;
 	private volatile boolean _invalid;
 
@@ -21,12 +21,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Filter;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.highlight.Formatter;
@@ -98,8 +100,17 @@ public interface LuceneHelper {
 	public void dumpIndex(long companyId, OutputStream outputStream)
 		throws IOException;
 
+	public void dumpIndex(
+			long companyId, OutputStream outputStream,
+			Map<String, String> checksums)
+		throws IOException;
+
 	public Analyzer getAnalyzer();
 
+	public Filter getFilter(Query... queries);
+
+	public Query getFilterQuery(Query query);
+
 	public IndexAccessor getIndexAccessor(long companyId);
 
 	public IndexSearcher getIndexSearcher(long companyId) throws IOException;
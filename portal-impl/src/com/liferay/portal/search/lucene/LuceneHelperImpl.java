@@ -70,6 +70,7 @@ import java.net.InetSocketAddress;
 import java.net.URL;
 import java.net.URLConnection;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -89,6 +90,8 @@ import org.apache.lucene.index.Term;
 import org.apache.lucene.queryParser.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.Filter;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.NumericRangeQuery;
 import org.apache.lucene.search.Query;
@@ -354,6 +357,16 @@ public class LuceneHelperImpl implements LuceneHelper {
 	public void dumpIndex(long companyId, OutputStream outputStream)
 		throws IOException {
 
+		dumpIndex(
+			companyId, outputStream, Collections.<String, String>emptyMap());
+	}
+
+	@Override
+	public void dumpIndex(
+			long companyId, OutputStream outputStream,
+			Map<String, String> checksums)
+		throws IOException {
+
 		long lastGeneration = getLastGeneration(companyId);
 
 		if (lastGeneration == IndexAccessor.DEFAULT_LAST_GENERATION) {
@@ -371,7 +384,7 @@ public class LuceneHelperImpl implements LuceneHelper {
 			return;
 		}
 
-		indexAccessor.dumpIndex(outputStream);
+		indexAccessor.dumpIndex(outputStream, checksums);
 	}
 
 	@Override
@@ -379,6 +392,27 @@ public class LuceneHelperImpl implements LuceneHelper {
 		return _analyzer;
 	}
 
+	/**
+	 * Returns a filter that matches the documents matched by all of the
+	 * queries. The matching documents of each query are cached per index
+	 * segment, so later searches with an equal query only read the segments
+	 * that changed since the last search.
+	 */
+	@Override
+	public Filter getFilter(Query... queries) {
+		return _filterCache.getFilter(queries);
+	}
+
+	/**
+	 * Returns a query that matches the same documents as the query without
+	 * scoring them. The matching documents are cached like the ones of {@link
+	 * #getFilter(Query...)}.
+	 */
+	@Override
+	public Query getFilterQuery(Query query) {
+		return new ConstantScoreQuery(getFilter(query));
+	}
+
 	@Override
 	public IndexAccessor getIndexAccessor(long companyId) {
 		IndexAccessor indexAccessor = _indexAccessors.get(companyId);
@@ -456,40 +490,8 @@ public class LuceneHelperImpl implements LuceneHelper {
 	public InputStream getLoadIndexesInputStreamFromCluster(
 		long companyId, Address bootupAddress) {
 
-		if (!isLoadIndexFromClusterEnabled()) {
-			return null;
-		}
-
-		InputStream inputStream = null;
-
-		try {
-			ObjectValuePair<String, URL> bootupClusterNodeObjectValuePair =
-				_getBootupClusterNodeObjectValuePair(bootupAddress);
-
-			URL url = bootupClusterNodeObjectValuePair.getValue();
-
-			URLConnection urlConnection = url.openConnection();
-
-			urlConnection.setDoOutput(true);
-
-			try (UnsyncPrintWriter unsyncPrintWriter =
-					UnsyncPrintWriterPool.borrow(
-						urlConnection.getOutputStream())) {
-
-				unsyncPrintWriter.write("transientToken=");
-				unsyncPrintWriter.write(
-					bootupClusterNodeObjectValuePair.getKey());
-				unsyncPrintWriter.write("&companyId=");
-				unsyncPrintWriter.write(String.valueOf(companyId));
-			}
-
-			inputStream = urlConnection.getInputStream();
-
-			return inputStream;
-		}
-		catch (IOException ioe) {
-			throw new SystemException(ioe);
-		}
+		return _getLoadIndexesInputStreamFromCluster(
+			companyId, bootupAddress, Collections.<String, String>emptyMap());
 	}
 
 	@Override
@@ -745,6 +747,8 @@ public class LuceneHelperImpl implements LuceneHelper {
 		for (IndexAccessor indexAccessor : _indexAccessors.values()) {
 			indexAccessor.close();
 		}
+
+		_filterCache.clear();
 	}
 
 	@Override
@@ -885,6 +889,58 @@ public class LuceneHelperImpl implements LuceneHelper {
 		}
 	}
 
+	private InputStream _getLoadIndexesInputStreamFromCluster(
+		long companyId, Address bootupAddress, Map<String, String> checksums) {
+
+		if (!isLoadIndexFromClusterEnabled()) {
+			return null;
+		}
+
+		InputStream inputStream = null;
+
+		try {
+			ObjectValuePair<String, URL> bootupClusterNodeObjectValuePair =
+				_getBootupClusterNodeObjectValuePair(bootupAddress);
+
+			URL url = bootupClusterNodeObjectValuePair.getValue();
+
+			URLConnection urlConnection = url.openConnection();
+
+			urlConnection.setDoOutput(true);
+
+			try (UnsyncPrintWriter unsyncPrintWriter =
+					UnsyncPrintWriterPool.borrow(
+						urlConnection.getOutputStream())) {
+
+				unsyncPrintWriter.write("transientToken=");
+				unsyncPrintWriter.write(
+					bootupClusterNodeObjectValuePair.getKey());
+				unsyncPrintWriter.write("&companyId=");
+				unsyncPrintWriter.write(String.valueOf(companyId));
+
+				if (!checksums.isEmpty()) {
+					unsyncPrintWriter.write("&checksums=");
+
+					for (Map.Entry<String, String> entry :
+							checksums.entrySet()) {
+
+						unsyncPrintWriter.write(entry.getKey());
+						unsyncPrintWriter.write(StringPool.COLON);
+						unsyncPrintWriter.write(entry.getValue());
+						unsyncPrintWriter.write(StringPool.COMMA);
+					}
+				}
+			}
+
+			inputStream = urlConnection.getInputStream();
+
+			return inputStream;
+		}
+		catch (IOException ioe) {
+			throw new SystemException(ioe);
+		}
+	}
+
 	private void _includeIfUnique(
 		BooleanQuery booleanQuery, boolean like, QueryParser queryParser,
 		Query query, BooleanClause.Occur occur) {
@@ -1004,6 +1060,9 @@ public class LuceneHelperImpl implements LuceneHelper {
 		LuceneHelperUtil.class, "getLastGeneration", long.class);
 
 	private Analyzer _analyzer;
+	private FilterCache _filterCache = new FilterCache(
+		PropsValues.LUCENE_FILTER_CACHE_SIZE,
+		PropsValues.LUCENE_FILTER_CACHE_MEMORY_SIZE * 1024L * 1024L);
 	private Map<Long, IndexAccessor> _indexAccessors =
 		new ConcurrentHashMap<Long, IndexAccessor>();
 	private LoadIndexClusterEventListener _loadIndexClusterEventListener;
@@ -1172,11 +1231,47 @@ public class LuceneHelperImpl implements LuceneHelper {
 						bootupAddress);
 			}
 
+			if (PropsValues.LUCENE_CLUSTER_INDEX_LOADING_INCREMENTAL_ENABLED) {
+				try {
+					loadIndex(bootupAddress, _indexAccessor.getChecksums());
+
+					return;
+				}
+				catch (Exception e) {
+					if (_log.isWarnEnabled()) {
+						_log.warn(
+							"Unable to load changed index files for company " +
+								_companyId + ", loading all index files",
+							e);
+					}
+				}
+			}
+
+			try {
+				loadIndex(
+					bootupAddress, Collections.<String, String>emptyMap());
+			}
+			catch (Exception e) {
+				_log.error("Unable to load index for company " + _companyId, e);
+			}
+		}
+
+		@Override
+		public void processTimeoutException(TimeoutException timeoutException) {
+			_log.error(
+				"Unable to load index for company " + _companyId,
+				timeoutException);
+		}
+
+		protected void loadIndex(
+				Address bootupAddress, Map<String, String> checksums)
+			throws IOException {
+
 			InputStream inputStream = null;
 
 			try {
-				inputStream = getLoadIndexesInputStreamFromCluster(
-					_companyId, bootupAddress);
+				inputStream = _getLoadIndexesInputStreamFromCluster(
+					_companyId, bootupAddress, checksums);
 
 				_indexAccessor.loadIndex(inputStream);
 
@@ -1184,9 +1279,6 @@ public class LuceneHelperImpl implements LuceneHelper {
 					_log.info("Lucene index files loaded successfully");
 				}
 			}
-			catch (Exception e) {
-				_log.error("Unable to load index for company " + _companyId, e);
-			}
 			finally {
 				if (inputStream != null) {
 					try {
@@ -1202,13 +1294,6 @@ public class LuceneHelperImpl implements LuceneHelper {
 			}
 		}
 
-		@Override
-		public void processTimeoutException(TimeoutException timeoutException) {
-			_log.error(
-				"Unable to load index for company " + _companyId,
-				timeoutException);
-		}
-
 		private int _clusterNodeAddressesCount;
 		private long _companyId;
 		private IndexAccessor _indexAccessor;
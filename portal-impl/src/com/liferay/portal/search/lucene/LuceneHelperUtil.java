@@ -24,12 +24,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import java.util.Date;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Filter;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.highlight.Formatter;
@@ -311,10 +313,26 @@ public class LuceneHelperUtil {
 		getLuceneHelper().dumpIndex(companyId, outputStream);
 	}
 
+	public static void dumpIndex(
+			long companyId, OutputStream outputStream,
+			Map<String, String> checksums)
+		throws IOException {
+
+		getLuceneHelper().dumpIndex(companyId, outputStream, checksums);
+	}
+
 	public static Analyzer getAnalyzer() {
 		return getLuceneHelper().getAnalyzer();
 	}
 
+	public static Filter getFilter(Query... queries) {
+		return getLuceneHelper().getFilter(queries);
+	}
+
+	public static Query getFilterQuery(Query query) {
+		return getLuceneHelper().getFilterQuery(query);
+	}
+
 	public static IndexAccessor getIndexAccessor(long companyId) {
 		return getLuceneHelper().getIndexAccessor(companyId);
 	}
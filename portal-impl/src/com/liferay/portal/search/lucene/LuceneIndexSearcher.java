@@ -79,10 +79,14 @@ import org.apache.lucene.document.FieldSelector;
 import org.apache.lucene.document.NumericField;
 import org.apache.lucene.document.SetBasedFieldSelector;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.highlight.Formatter;
 import org.apache.lucene.search.highlight.TokenGroup;
 
@@ -228,10 +232,30 @@ public class LuceneIndexSearcher extends BaseIndexSearcher {
 			}
 
 			browseRequest.setCount(end);
-			browseRequest.setOffset(0);
-			browseRequest.setQuery(
+
+			org.apache.lucene.search.Query luceneQuery =
 				(org.apache.lucene.search.Query)QueryTranslatorUtil.translate(
-					query));
+					query);
+
+			List<org.apache.lucene.search.Query> filterQueries =
+				new ArrayList<org.apache.lucene.search.Query>();
+
+			luceneQuery = extractFilterQueries(luceneQuery, filterQueries);
+
+			if (luceneQuery == null) {
+				luceneQuery = new MatchAllDocsQuery();
+			}
+
+			if (!filterQueries.isEmpty()) {
+				browseRequest.setFilter(
+					LuceneHelperUtil.getFilter(
+						filterQueries.toArray(
+							new org.apache.lucene.search.Query[
+								filterQueries.size()])));
+			}
+
+			browseRequest.setOffset(0);
+			browseRequest.setQuery(luceneQuery);
 			browseRequest.setSort(sortFields);
 
 			boboBrowser = new BoboBrowser(boboIndexReader);
@@ -333,6 +357,89 @@ public class LuceneIndexSearcher extends BaseIndexSearcher {
 		return hits;
 	}
 
+	/**
+	 * Moves the required clauses that only match terms of the fields in
+	 * <code>lucene.filter.cache.field.names</code> to the filter queries and
+	 * returns the rest of the query. The filter queries are then matched from
+	 * the filter cache instead of being scored again. Clauses are only taken
+	 * from Boolean queries that are themselves required, so that the
+	 * documents matched by the rest of the query and the filter queries are
+	 * the ones matched by the query.
+	 */
+	protected org.apache.lucene.search.Query extractFilterQueries(
+		org.apache.lucene.search.Query query,
+		List<org.apache.lucene.search.Query> filterQueries) {
+
+		if (_FILTER_FIELD_NAMES.isEmpty() || !(query instanceof BooleanQuery)) {
+			return query;
+		}
+
+		BooleanQuery booleanQuery = (BooleanQuery)query;
+
+		BooleanQuery newBooleanQuery = new BooleanQuery(
+			booleanQuery.isCoordDisabled());
+
+		newBooleanQuery.setBoost(booleanQuery.getBoost());
+		newBooleanQuery.setMinimumNumberShouldMatch(
+			booleanQuery.getMinimumNumberShouldMatch());
+
+		boolean extracted = false;
+		boolean required = false;
+
+		for (BooleanClause booleanClause : booleanQuery.getClauses()) {
+			if (!booleanClause.isRequired()) {
+				newBooleanQuery.add(booleanClause);
+
+				continue;
+			}
+
+			org.apache.lucene.search.Query clauseQuery =
+				booleanClause.getQuery();
+
+			if (isFilterQuery(clauseQuery)) {
+				filterQueries.add(clauseQuery);
+
+				extracted = true;
+
+				continue;
+			}
+
+			org.apache.lucene.search.Query newClauseQuery =
+				extractFilterQueries(clauseQuery, filterQueries);
+
+			if (newClauseQuery != clauseQuery) {
+				extracted = true;
+			}
+
+			if (newClauseQuery != null) {
+				newBooleanQuery.add(newClauseQuery, BooleanClause.Occur.MUST);
+
+				required = true;
+			}
+		}
+
+		if (!extracted) {
+			return query;
+		}
+
+		BooleanClause[] booleanClauses = newBooleanQuery.getClauses();
+
+		if (booleanClauses.length == 0) {
+			return null;
+		}
+
+		if (!required) {
+
+			// Keep the optional clauses optional and give the prohibited
+			// clauses something to be subtracted from
+
+			newBooleanQuery.add(
+				new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+		}
+
+		return newBooleanQuery;
+	}
+
 	protected void cleanUp(BoboBrowser boboBrowser) {
 		if (boboBrowser == null) {
 			return;
@@ -491,6 +598,36 @@ public class LuceneIndexSearcher extends BaseIndexSearcher {
 		return snippet;
 	}
 
+	protected boolean isFilterQuery(org.apache.lucene.search.Query query) {
+		if (query instanceof TermQuery) {
+			TermQuery termQuery = (TermQuery)query;
+
+			Term term = termQuery.getTerm();
+
+			return _FILTER_FIELD_NAMES.contains(term.field());
+		}
+
+		if (!(query instanceof BooleanQuery)) {
+			return false;
+		}
+
+		BooleanQuery booleanQuery = (BooleanQuery)query;
+
+		BooleanClause[] booleanClauses = booleanQuery.getClauses();
+
+		if (booleanClauses.length == 0) {
+			return false;
+		}
+
+		for (BooleanClause booleanClause : booleanClauses) {
+			if (!isFilterQuery(booleanClause.getQuery())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	protected Hits toHits(
 			IndexSearcher indexSearcher, BrowseResult browseResult, Query query,
 			long startTime, float searchTime, int start, int end)
@@ -607,6 +744,9 @@ public class LuceneIndexSearcher extends BaseIndexSearcher {
 		return hits;
 	}
 
+	private static final Set<String> _FILTER_FIELD_NAMES = SetUtil.fromArray(
+		PropsValues.LUCENE_FILTER_CACHE_FIELD_NAMES);
+
 	private static Log _log = LogFactoryUtil.getLog(LuceneIndexSearcher.class);
 
 	private static java.lang.reflect.Field _runtimeFacetDataMapField;
@@ -20,6 +20,7 @@ import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.search.Field;
 import com.liferay.portal.kernel.search.ParseException;
 import com.liferay.portal.kernel.search.Query;
+import com.liferay.portal.kernel.search.QueryConfig;
 import com.liferay.portal.kernel.search.QueryTranslator;
 import com.liferay.portal.kernel.search.StringQueryImpl;
 import com.liferay.portal.kernel.security.pacl.DoPrivileged;
@@ -42,7 +43,16 @@ public class QueryTranslatorImpl implements QueryTranslator {
 	@Override
 	public Object translate(Query query) throws ParseException {
 		if (query instanceof BooleanQueryImpl) {
-			return ((BooleanQueryImpl)query).getBooleanQuery();
+			BooleanQueryImpl booleanQueryImpl = (BooleanQueryImpl)query;
+
+			QueryConfig queryConfig = query.getQueryConfig();
+
+			if (queryConfig.isFilter()) {
+				return LuceneHelperUtil.getFilterQuery(
+					booleanQueryImpl.getBooleanQuery());
+			}
+
+			return booleanQueryImpl.getBooleanQuery();
 		}
 		else if (query instanceof LuceneQueryImpl) {
 			return ((LuceneQueryImpl)query).getQuery();
@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -128,6 +129,26 @@ public class SynchronizedIndexAccessorImpl implements IndexAccessor {
 		}
 	}
 
+	@Override
+	public void dumpIndex(
+			OutputStream outputStream, Map<String, String> checksums)
+		throws IOException {
+
+		_readLock.lock();
+
+		try {
+			_indexAccessor.dumpIndex(outputStream, checksums);
+		}
+		finally {
+			_readLock.unlock();
+		}
+	}
+
+	@Override
+	public Map<String, String> getChecksums() throws IOException {
+		return _indexAccessor.getChecksums();
+	}
+
 	@Override
 	public long getCompanyId() {
 		return _indexAccessor.getCompanyId();
@@ -14,16 +14,31 @@
 
 package com.liferay.portal.search.lucene.dump;
 
+import com.liferay.portal.kernel.util.Digester;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
+
 import java.io.IOException;
 import java.io.OutputStream;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 
 import org.apache.lucene.index.IndexCommit;
 import org.apache.lucene.index.IndexDeletionPolicy;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IndexInput;
 
 /**
  * @author Shuyang Zhou
@@ -34,6 +49,21 @@ public class DumpIndexDeletionPolicy implements IndexDeletionPolicy {
 			OutputStream outputStream, IndexWriter indexWriter, Lock commitLock)
 		throws IOException {
 
+		dump(
+			outputStream, indexWriter, commitLock,
+			Collections.<String, String>emptyMap());
+	}
+
+	/**
+	 * Dumps the last commit, omitting the content of every file whose checksum
+	 * is a key of <code>checksums</code>. The receiver copies those files from
+	 * its own directory, using the file names mapped to the checksums.
+	 */
+	public void dump(
+			OutputStream outputStream, IndexWriter indexWriter, Lock commitLock,
+			Map<String, String> checksums)
+		throws IOException {
+
 		IndexCommit indexCommit = null;
 
 		String segmentsFileName = null;
@@ -54,22 +84,64 @@ public class DumpIndexDeletionPolicy implements IndexDeletionPolicy {
 		}
 
 		try {
+			Map<String, String> localFileNames = new HashMap<String, String>();
+
+			if (!checksums.isEmpty()) {
+				Directory directory = indexCommit.getDirectory();
+
+				for (String fileName : indexCommit.getFileNames()) {
+					String localFileName = checksums.get(
+						_getChecksum(directory, fileName));
+
+					if (localFileName != null) {
+						localFileNames.put(fileName, localFileName);
+					}
+				}
+			}
+
 			IndexCommitSerializationUtil.serializeIndex(
-				indexCommit, outputStream);
+				indexCommit, outputStream, localFileNames);
 		}
 		finally {
 			_segmentsFileNames.remove(segmentsFileName);
 		}
 	}
 
+	/**
+	 * Returns the checksums of the files of the last commit, mapped to their
+	 * file names.
+	 */
+	public Map<String, String> getChecksums() throws IOException {
+		IndexCommit indexCommit = _lastIndexCommit;
+
+		if (indexCommit == null) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, String> checksums = new HashMap<String, String>();
+
+		Directory directory = indexCommit.getDirectory();
+
+		for (String fileName : indexCommit.getFileNames()) {
+			checksums.put(_getChecksum(directory, fileName), fileName);
+		}
+
+		return checksums;
+	}
+
 	public long getLastGeneration() {
 		return _lastIndexCommit.getGeneration();
 	}
 
 	@Override
-	public void onCommit(List<? extends IndexCommit> indexCommits) {
+	public void onCommit(List<? extends IndexCommit> indexCommits)
+		throws IOException {
+
 		_lastIndexCommit = indexCommits.get(indexCommits.size() - 1);
 
+		Set<String> fileNames = new HashSet<String>(
+			_lastIndexCommit.getFileNames());
+
 		for (int i = 0; i < indexCommits.size() - 1; i++) {
 			IndexCommit indexCommit = indexCommits.get(i);
 
@@ -78,14 +150,82 @@ public class DumpIndexDeletionPolicy implements IndexDeletionPolicy {
 
 				indexCommit.delete();
 			}
+			else {
+				fileNames.addAll(indexCommit.getFileNames());
+			}
 		}
+
+		Set<String> checksumFileNames = _checksums.keySet();
+
+		checksumFileNames.retainAll(fileNames);
 	}
 
 	@Override
-	public void onInit(List<? extends IndexCommit> indexCommits) {
+	public void onInit(List<? extends IndexCommit> indexCommits)
+		throws IOException {
+
 		onCommit(indexCommits);
 	}
 
+	private String _getChecksum(Directory directory, String fileName)
+		throws IOException {
+
+		String checksum = _checksums.get(fileName);
+
+		if (checksum != null) {
+			return checksum;
+		}
+
+		MessageDigest messageDigest = null;
+
+		try {
+			messageDigest = MessageDigest.getInstance(Digester.SHA_1);
+		}
+		catch (NoSuchAlgorithmException nsae) {
+			throw new IOException(nsae);
+		}
+
+		IndexInput indexInput = directory.openInput(fileName);
+
+		try {
+			byte[] buffer = new byte[_BUFFER_SIZE];
+
+			long length = indexInput.length();
+
+			long position = 0;
+
+			while (position < length) {
+				int size = (int)Math.min(_BUFFER_SIZE, length - position);
+
+				indexInput.readBytes(buffer, 0, size);
+
+				messageDigest.update(buffer, 0, size);
+
+				position += size;
+			}
+
+			// The receiver reuses its own copy of a file with the same
+			// checksum, so the checksum must not collide in practice
+
+			checksum = String.valueOf(length).concat(StringPool.DASH).concat(
+				StringUtil.bytesToHexString(messageDigest.digest()));
+		}
+		finally {
+			indexInput.close();
+		}
+
+		// Index files are write once, except for the generation file that is
+		// never part of a commit
+
+		_checksums.put(fileName, checksum);
+
+		return checksum;
+	}
+
+	private static final int _BUFFER_SIZE = 8192;
+
+	private Map<String, String> _checksums =
+		new ConcurrentHashMap<String, String>();
 	private volatile IndexCommit _lastIndexCommit;
 	private List<String> _segmentsFileNames =
 		new CopyOnWriteArrayList<String>();
@@ -21,7 +21,9 @@ import java.io.IOException;
 import java.io.Serializable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.lucene.index.IndexCommit;
 import org.apache.lucene.store.Directory;
@@ -32,6 +34,13 @@ import org.apache.lucene.store.Directory;
 public class IndexCommitMetaInfo implements Serializable {
 
 	public IndexCommitMetaInfo(IndexCommit indexCommit) throws IOException {
+		this(indexCommit, Collections.<String, String>emptyMap());
+	}
+
+	public IndexCommitMetaInfo(
+			IndexCommit indexCommit, Map<String, String> localFileNames)
+		throws IOException {
+
 		if (indexCommit == null) {
 			_empty = true;
 
@@ -47,7 +56,8 @@ public class IndexCommitMetaInfo implements Serializable {
 
 		for (String fileName : fileNames) {
 			Segment segment = new Segment(
-				fileName, directory.fileLength(fileName));
+				fileName, directory.fileLength(fileName),
+				localFileNames.get(fileName));
 
 			_segments.add(segment);
 		}
@@ -100,8 +110,13 @@ public class IndexCommitMetaInfo implements Serializable {
 	public class Segment implements Serializable {
 
 		public Segment(String fileName, long fileSize) {
+			this(fileName, fileSize, null);
+		}
+
+		public Segment(String fileName, long fileSize, String localFileName) {
 			_fileName = fileName;
 			_fileSize = fileSize;
+			_localFileName = localFileName;
 		}
 
 		public String getFileName() {
@@ -112,14 +127,24 @@ public class IndexCommitMetaInfo implements Serializable {
 			return _fileSize;
 		}
 
+		/**
+		 * Returns the name of the identical file the receiver already has, or
+		 * <code>null</code> if the content of this segment is transferred.
+		 */
+		public String getLocalFileName() {
+			return _localFileName;
+		}
+
 		@Override
 		public String toString() {
-			StringBundler sb = new StringBundler(5);
+			StringBundler sb = new StringBundler(7);
 
 			sb.append("{_fileName=");
 			sb.append(_fileName);
 			sb.append(", _fileSize=");
 			sb.append(_fileSize);
+			sb.append(", _localFileName=");
+			sb.append(_localFileName);
 			sb.append("}");
 
 			return sb.toString();
@@ -127,6 +152,7 @@ public class IndexCommitMetaInfo implements Serializable {
 
 		private String _fileName;
 		private long _fileSize;
+		private String _localFileName;
 
 	}
 
@@ -25,7 +25,9 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -44,6 +46,18 @@ public class IndexCommitSerializationUtil {
 			InputStream inputStream, Directory directory)
 		throws IOException {
 
+		deserializeIndex(inputStream, directory, null);
+	}
+
+	/**
+	 * Deserializes an index into <code>directory</code>, copying the segments
+	 * that were left out of the stream from <code>localDirectory</code>.
+	 */
+	public static void deserializeIndex(
+			InputStream inputStream, Directory directory,
+			Directory localDirectory)
+		throws IOException {
+
 		if (PropsValues.INDEX_DUMP_COMPRESSION_ENABLED) {
 			inputStream = new GZIPInputStream(inputStream);
 		}
@@ -76,6 +90,16 @@ public class IndexCommitSerializationUtil {
 					_log.debug("Deserializing segment " + segment);
 				}
 
+				String localFileName = segment.getLocalFileName();
+
+				if (localFileName != null) {
+					_copySegment(
+						localDirectory, localFileName, directory,
+						segment.getFileName(), segment.getFileSize());
+
+					continue;
+				}
+
 				_deserializeSegment(
 					objectInputStream, segment.getFileSize(),
 					directory.createOutput(segment.getFileName()));
@@ -89,6 +113,20 @@ public class IndexCommitSerializationUtil {
 			IndexCommit indexCommit, OutputStream outputStream)
 		throws IOException {
 
+		serializeIndex(
+			indexCommit, outputStream, Collections.<String, String>emptyMap());
+	}
+
+	/**
+	 * Serializes an index commit, leaving out the content of the files that
+	 * are keys of <code>localFileNames</code>. The receiver already has those
+	 * files under the mapped names.
+	 */
+	public static void serializeIndex(
+			IndexCommit indexCommit, OutputStream outputStream,
+			Map<String, String> localFileNames)
+		throws IOException {
+
 		if (PropsValues.INDEX_DUMP_COMPRESSION_ENABLED) {
 			outputStream = new GZIPOutputStream(outputStream);
 		}
@@ -97,7 +135,7 @@ public class IndexCommitSerializationUtil {
 			outputStream);
 
 		IndexCommitMetaInfo indexCommitMetaInfo = new IndexCommitMetaInfo(
-			indexCommit);
+			indexCommit, localFileNames);
 
 		if (_log.isDebugEnabled()) {
 			_log.debug("Serializing " + indexCommitMetaInfo);
@@ -110,6 +148,10 @@ public class IndexCommitSerializationUtil {
 		Directory directory = indexCommit.getDirectory();
 
 		for (Segment segment : segments) {
+			if (segment.getLocalFileName() != null) {
+				continue;
+			}
+
 			if (_log.isDebugEnabled()) {
 				_log.debug("Serializing segment " + segment);
 			}
@@ -128,6 +170,26 @@ public class IndexCommitSerializationUtil {
 		}
 	}
 
+	private static void _copySegment(
+			Directory localDirectory, String localFileName,
+			Directory directory, String fileName, long length)
+		throws IOException {
+
+		if ((localDirectory == null) ||
+			!localDirectory.fileExists(localFileName) ||
+			(localDirectory.fileLength(localFileName) != length)) {
+
+			throw new IOException(
+				"Local file " + localFileName + " is no longer available");
+		}
+
+		if (_log.isDebugEnabled()) {
+			_log.debug("Copying local file " + localFileName);
+		}
+
+		localDirectory.copy(directory, localFileName, fileName);
+	}
+
 	private static void _deserializeSegment(
 			InputStream inputStream, long length, IndexOutput indexOutput)
 		throws IOException {
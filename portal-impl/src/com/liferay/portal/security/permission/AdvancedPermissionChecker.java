@@ -49,6 +49,7 @@ import com.liferay.portal.service.UserGroupLocalServiceUtil;
 import com.liferay.portal.service.permission.PortletPermissionUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -596,6 +597,73 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 		return value.booleanValue();
 	}
 
+	@Override
+	public boolean[] hasPermissions(
+		long groupId, String name, long[] primKeys, String actionId) {
+
+		if ((primKeys.length < 2) ||
+			!isBulkPermissionCheckSupported(groupId, name)) {
+
+			return super.hasPermissions(groupId, name, primKeys, actionId);
+		}
+
+		StopWatch stopWatch = new StopWatch();
+
+		stopWatch.start();
+
+		boolean[] hasPermissions = new boolean[primKeys.length];
+
+		Boolean[] values = PermissionCacheUtil.getPermissions(
+			user.getUserId(), signedIn, groupId, name, primKeys, actionId);
+
+		int uncachedCount = 0;
+
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == null) {
+				uncachedCount++;
+			}
+			else {
+				hasPermissions[i] = values[i].booleanValue();
+			}
+		}
+
+		if (uncachedCount == 0) {
+			return hasPermissions;
+		}
+
+		int[] uncachedIndexes = new int[uncachedCount];
+		long[] uncachedPrimKeys = new long[uncachedCount];
+
+		for (int i = 0, j = 0; i < values.length; i++) {
+			if (values[i] == null) {
+				uncachedIndexes[j] = i;
+				uncachedPrimKeys[j] = primKeys[i];
+
+				j++;
+			}
+		}
+
+		boolean[] uncachedHasPermissions = hasPermissionsImpl(
+			groupId, name, uncachedPrimKeys, actionId);
+
+		for (int i = 0; i < uncachedCount; i++) {
+			hasPermissions[uncachedIndexes[i]] = uncachedHasPermissions[i];
+		}
+
+		PermissionCacheUtil.putPermissions(
+			user.getUserId(), signedIn, groupId, name, uncachedPrimKeys,
+			actionId, uncachedHasPermissions);
+
+		if (_log.isDebugEnabled()) {
+			_log.debug(
+				"Checking " + uncachedCount + " permissions for " + groupId +
+					" " + name + " " + actionId + " takes " +
+						stopWatch.getTime() + " ms");
+		}
+
+		return hasPermissions;
+	}
+
 	@Override
 	public boolean hasUserPermission(
 		long groupId, String name, String primKey, String actionId,
@@ -779,6 +847,25 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 		return value;
 	}
 
+	protected boolean[] doCheckPermissions(
+			long companyId, long groupId, String name, long[] primKeys,
+			String actionId, long[] roleIds)
+		throws Exception {
+
+		List<Resource> resources = getResources(
+			companyId, groupId, name, String.valueOf(primKeys[0]), actionId);
+
+		// The individual resource comes first. The group, group template, and
+		// company scope resources after it are the same for every primary key.
+
+		resources = resources.subList(1, resources.size());
+
+		return ResourcePermissionLocalServiceUtil.
+			hasIndividualResourcePermissions(
+				companyId, name, ArrayUtil.toStringArray(primKeys), resources,
+				roleIds, actionId);
+	}
+
 	/**
 	 * Returns representations of the resource at each scope level.
 	 *
@@ -885,31 +972,8 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 			long groupId, String name, String primKey, String actionId)
 		throws Exception {
 
-		ResourceActionsUtil.checkAction(name, actionId);
-
-		if (name.indexOf(CharPool.PERIOD) != -1) {
-
-			// Check unsupported model actions
-
-			List<String> actions =
-				ResourceActionsUtil.getModelResourceGuestUnsupportedActions(
-					name);
-
-			if (actions.contains(actionId)) {
-				return false;
-			}
-		}
-		else {
-
-			// Check unsupported portlet actions
-
-			List<String> actions =
-				ResourceActionsUtil.getPortletResourceGuestUnsupportedActions(
-					name);
-
-			if (actions.contains(actionId)) {
-				return false;
-			}
+		if (!isGuestActionSupported(name, actionId)) {
+			return false;
 		}
 
 		long companyId = user.getCompanyId();
@@ -939,6 +1003,28 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 		}
 	}
 
+	protected boolean[] hasGuestPermissions(
+			long groupId, String name, long[] primKeys, String actionId)
+		throws Exception {
+
+		if (!isGuestActionSupported(name, actionId)) {
+			return new boolean[primKeys.length];
+		}
+
+		PermissionCheckerBag bag = getGuestUserBag();
+
+		try {
+			return doCheckPermissions(
+				user.getCompanyId(), groupId, name, primKeys, actionId,
+				bag.getRoleIds());
+		}
+		catch (Exception e) {
+			_log.error(e, e);
+
+			return new boolean[primKeys.length];
+		}
+	}
+
 	protected boolean hasPermissionImpl(
 		long groupId, String name, String primKey, String actionId) {
 
@@ -977,6 +1063,59 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 		}
 	}
 
+	protected boolean[] hasPermissionsImpl(
+		long groupId, String name, long[] primKeys, String actionId) {
+
+		try {
+			if (!signedIn) {
+				return hasGuestPermissions(groupId, name, primKeys, actionId);
+			}
+
+			boolean[] hasPermissions = null;
+
+			if (checkGuest) {
+				hasPermissions = hasGuestPermissions(
+					groupId, name, primKeys, actionId);
+			}
+			else {
+				hasPermissions = new boolean[primKeys.length];
+			}
+
+			long companyId = user.getCompanyId();
+
+			if (groupId > 0) {
+				Group group = GroupLocalServiceUtil.getGroup(groupId);
+
+				companyId = group.getCompanyId();
+			}
+
+			if (isCompanyAdminImpl(companyId) || isGroupAdminImpl(groupId)) {
+				Arrays.fill(hasPermissions, true);
+
+				return hasPermissions;
+			}
+
+			PermissionCheckerBag bag = getUserBag(user.getUserId(), groupId);
+
+			boolean[] hasUserPermissions = doCheckPermissions(
+				companyId, groupId, name, primKeys, actionId,
+				bag.getRoleIds());
+
+			for (int i = 0; i < primKeys.length; i++) {
+				if (hasUserPermissions[i]) {
+					hasPermissions[i] = true;
+				}
+			}
+
+			return hasPermissions;
+		}
+		catch (Exception e) {
+			_log.error(e, e);
+
+			return new boolean[primKeys.length];
+		}
+	}
+
 	protected boolean hasUserPermissionImpl(
 			long groupId, String name, String primKey, String actionId,
 			boolean checkAdmin)
@@ -1028,6 +1167,45 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 			companyId, groupId, name, primKey, actionId, stopWatch);
 	}
 
+	/**
+	 * Returns <code>true</code> if {@link #hasPermissions(long, String, long[],
+	 * String)} can check the resources at once. Resource block permissions,
+	 * organizations, and groups that {@link #hasPermission(long, String,
+	 * String, String)} maps to another group are checked one by one.
+	 */
+	protected boolean isBulkPermissionCheckSupported(
+		long groupId, String name) {
+
+		if (ResourceBlockLocalServiceUtil.isSupported(name) ||
+			name.equals(Organization.class.getName())) {
+
+			return false;
+		}
+
+		if (groupId <= 0) {
+			return true;
+		}
+
+		try {
+			Group group = GroupLocalServiceUtil.getGroup(groupId);
+
+			if ((group.isUser() && (group.getClassPK() == getUserId())) ||
+				group.isLayout() || group.isStagingGroup()) {
+
+				return false;
+			}
+
+			return true;
+		}
+		catch (Exception e) {
+			if (_log.isDebugEnabled()) {
+				_log.debug(e, e);
+			}
+
+			return false;
+		}
+	}
+
 	protected boolean isCompanyAdminImpl() throws Exception {
 		return isCompanyAdminImpl(user.getCompanyId());
 	}
@@ -1229,6 +1407,37 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 		}
 	}
 
+	protected boolean isGuestActionSupported(String name, String actionId)
+		throws Exception {
+
+		ResourceActionsUtil.checkAction(name, actionId);
+
+		List<String> actions = null;
+
+		if (name.indexOf(CharPool.PERIOD) != -1) {
+
+			// Check unsupported model actions
+
+			actions =
+				ResourceActionsUtil.getModelResourceGuestUnsupportedActions(
+					name);
+		}
+		else {
+
+			// Check unsupported portlet actions
+
+			actions =
+				ResourceActionsUtil.getPortletResourceGuestUnsupportedActions(
+					name);
+		}
+
+		if (actions.contains(actionId)) {
+			return false;
+		}
+
+		return true;
+	}
+
 	protected boolean isOrganizationAdminImpl(long organizationId)
 		throws Exception {
 
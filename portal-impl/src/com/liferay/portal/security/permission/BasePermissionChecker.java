@@ -100,6 +100,20 @@ public abstract class BasePermissionChecker implements PermissionChecker {
 		return hasPermission(groupId, name, String.valueOf(primKey), actionId);
 	}
 
+	@Override
+	public boolean[] hasPermissions(
+		long groupId, String name, long[] primKeys, String actionId) {
+
+		boolean[] hasPermissions = new boolean[primKeys.length];
+
+		for (int i = 0; i < primKeys.length; i++) {
+			hasPermissions[i] = hasPermission(
+				groupId, name, primKeys[i], actionId);
+		}
+
+		return hasPermissions;
+	}
+
 	@Override
 	public void init(User user) {
 		this.user = user;
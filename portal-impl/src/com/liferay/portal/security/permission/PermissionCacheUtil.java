@@ -19,10 +19,14 @@ import com.liferay.portal.kernel.cache.PortalCache;
 import com.liferay.portal.kernel.lar.ExportImportThreadLocal;
 import com.liferay.portal.kernel.util.HashUtil;
 import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.search.SearchPermissionTerms;
 import com.liferay.portal.util.PropsValues;
 
 import java.io.Serializable;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @author Charles May
  * @author Michael Young
@@ -41,6 +45,9 @@ public class PermissionCacheUtil {
 	public static final String RESOURCE_BLOCK_IDS_BAG_CACHE_NAME =
 		PermissionCacheUtil.class.getName() + "_RESOURCE_BLOCK_IDS_BAG";
 
+	public static final String SEARCH_PERMISSION_TERMS_CACHE_NAME =
+		PermissionCacheUtil.class.getName() + "_SEARCH_PERMISSION_TERMS";
+
 	public static final String USER_PERMISSION_CHECKER_BAG_CACHE_NAME =
 		PermissionCacheUtil.class.getName() + "_USER_PERMISSION_CHECKER_BAG";
 
@@ -54,6 +61,7 @@ public class PermissionCacheUtil {
 		_permissionCheckerBagPortalCache.removeAll();
 		_permissionPortalCache.removeAll();
 		_resourceBlockIdsBagCache.removeAll();
+		_searchPermissionTermsPortalCache.removeAll();
 		_userPermissionCheckerBagPortalCache.removeAll();
 	}
 
@@ -68,9 +76,33 @@ public class PermissionCacheUtil {
 		String primKey, String actionId) {
 
 		PermissionKey permissionKey = new PermissionKey(
-			userId, signedIn, groupId, name, primKey, actionId);
+			userId, signedIn, groupId, name, actionId);
+
+		PermissionValues permissionValues = _permissionPortalCache.get(
+			permissionKey);
+
+		if (permissionValues == null) {
+			return null;
+		}
 
-		return _permissionPortalCache.get(permissionKey);
+		return permissionValues.get(primKey);
+	}
+
+	public static Boolean[] getPermissions(
+		long userId, boolean signedIn, long groupId, String name,
+		long[] primKeys, String actionId) {
+
+		PermissionKey permissionKey = new PermissionKey(
+			userId, signedIn, groupId, name, actionId);
+
+		PermissionValues permissionValues = _permissionPortalCache.get(
+			permissionKey);
+
+		if (permissionValues == null) {
+			return new Boolean[primKeys.length];
+		}
+
+		return permissionValues.get(primKeys);
 	}
 
 	public static ResourceBlockIdsBag getResourceBlockIdsBag(
@@ -82,6 +114,12 @@ public class PermissionCacheUtil {
 		return _resourceBlockIdsBagCache.get(resourceBlockIdsBagKey);
 	}
 
+	public static SearchPermissionTerms getSearchPermissionTerms(
+		String permissionSignature) {
+
+		return _searchPermissionTermsPortalCache.get(permissionSignature);
+	}
+
 	public static UserPermissionCheckerBag getUserBag(long userId) {
 		return _userPermissionCheckerBagPortalCache.get(userId);
 	}
@@ -103,9 +141,29 @@ public class PermissionCacheUtil {
 		String primKey, String actionId, Boolean value) {
 
 		PermissionKey permissionKey = new PermissionKey(
-			userId, signedIn, groupId, name, primKey, actionId);
+			userId, signedIn, groupId, name, actionId);
+
+		PermissionValues permissionValues = _getPermissionValues(
+			permissionKey);
+
+		permissionValues.put(primKey, value.booleanValue());
+
+		_permissionPortalCache.put(permissionKey, permissionValues);
+	}
+
+	public static void putPermissions(
+		long userId, boolean signedIn, long groupId, String name,
+		long[] primKeys, String actionId, boolean[] values) {
+
+		PermissionKey permissionKey = new PermissionKey(
+			userId, signedIn, groupId, name, actionId);
+
+		PermissionValues permissionValues = _getPermissionValues(
+			permissionKey);
 
-		_permissionPortalCache.put(permissionKey, value);
+		permissionValues.put(primKeys, values);
+
+		_permissionPortalCache.put(permissionKey, permissionValues);
 	}
 
 	public static void putResourceBlockIdsBag(
@@ -123,6 +181,18 @@ public class PermissionCacheUtil {
 			resourceBlockIdsBagKey, resourceBlockIdsBag);
 	}
 
+	public static void putSearchPermissionTerms(
+		String permissionSignature,
+		SearchPermissionTerms searchPermissionTerms) {
+
+		if (searchPermissionTerms == null) {
+			return;
+		}
+
+		_searchPermissionTermsPortalCache.put(
+			permissionSignature, searchPermissionTerms);
+	}
+
 	public static void putUserBag(
 		long userId, UserPermissionCheckerBag userPermissionCheckerBag) {
 
@@ -130,18 +200,35 @@ public class PermissionCacheUtil {
 			userId, userPermissionCheckerBag);
 	}
 
+	private static PermissionValues _getPermissionValues(
+		PermissionKey permissionKey) {
+
+		PermissionValues permissionValues = _permissionPortalCache.get(
+			permissionKey);
+
+		if (permissionValues == null) {
+			permissionValues = new PermissionValues();
+		}
+
+		return permissionValues;
+	}
+
 	private static PortalCache<BagKey, PermissionCheckerBag>
 		_permissionCheckerBagPortalCache = MultiVMPoolUtil.getCache(
 			PERMISSION_CHECKER_BAG_CACHE_NAME,
 			PropsValues.PERMISSIONS_OBJECT_BLOCKING_CACHE);
-	private static PortalCache<PermissionKey, Boolean> _permissionPortalCache =
-		MultiVMPoolUtil.getCache(
+	private static PortalCache<PermissionKey, PermissionValues>
+		_permissionPortalCache = MultiVMPoolUtil.getCache(
 			PERMISSION_CACHE_NAME,
 			PropsValues.PERMISSIONS_OBJECT_BLOCKING_CACHE);
 	private static PortalCache<ResourceBlockIdsBagKey, ResourceBlockIdsBag>
 		_resourceBlockIdsBagCache = MultiVMPoolUtil.getCache(
 			RESOURCE_BLOCK_IDS_BAG_CACHE_NAME,
 			PropsValues.PERMISSIONS_OBJECT_BLOCKING_CACHE);
+	private static PortalCache<String, SearchPermissionTerms>
+		_searchPermissionTermsPortalCache = MultiVMPoolUtil.getCache(
+			SEARCH_PERMISSION_TERMS_CACHE_NAME,
+			PropsValues.PERMISSIONS_OBJECT_BLOCKING_CACHE);
 	private static PortalCache<Long, UserPermissionCheckerBag>
 		_userPermissionCheckerBagPortalCache = MultiVMPoolUtil.getCache(
 			USER_PERMISSION_CHECKER_BAG_CACHE_NAME,
@@ -182,13 +269,12 @@ public class PermissionCacheUtil {
 
 		public PermissionKey(
 			long userId, boolean signedIn, long groupId, String name,
-			String primKey, String actionId) {
+			String actionId) {
 
 			_userId = userId;
 			_signedIn = signedIn;
 			_groupId = groupId;
 			_name = name;
-			_primKey = primKey;
 			_actionId = actionId;
 		}
 
@@ -200,7 +286,6 @@ public class PermissionCacheUtil {
 				(permissionKey._signedIn == _signedIn) &&
 				(permissionKey._groupId == _groupId) &&
 				Validator.equals(permissionKey._name, _name) &&
-				Validator.equals(permissionKey._primKey, _primKey) &&
 				Validator.equals(permissionKey._actionId, _actionId)) {
 
 				return true;
@@ -217,7 +302,6 @@ public class PermissionCacheUtil {
 			hashCode = HashUtil.hash(hashCode, _signedIn);
 			hashCode = HashUtil.hash(hashCode, _groupId);
 			hashCode = HashUtil.hash(hashCode, _name);
-			hashCode = HashUtil.hash(hashCode, _primKey);
 			hashCode = HashUtil.hash(hashCode, _actionId);
 
 			return hashCode;
@@ -228,12 +312,195 @@ public class PermissionCacheUtil {
 		private final String _actionId;
 		private final long _groupId;
 		private final String _name;
-		private final String _primKey;
 		private final boolean _signedIn;
 		private final long _userId;
 
 	}
 
+	/**
+	 * Holds the permissions of one user, group, resource name, and action,
+	 * keyed by primary key. Numeric primary keys are kept in an open
+	 * addressing table of primitive longs, so that looking them up allocates
+	 * no keys. Other primary keys are kept in a map. The values are updated
+	 * in place and put back into the portal cache, so that caches that copy
+	 * their values see the update, and they are dropped together with their
+	 * cache entry.
+	 */
+	private static class PermissionValues implements Serializable {
+
+		public synchronized Boolean get(long primKey) {
+			int index = _indexOf(primKey);
+
+			if (_states[index] == _STATE_EMPTY) {
+				return null;
+			}
+
+			return Boolean.valueOf(_states[index] == _STATE_TRUE);
+		}
+
+		public synchronized Boolean[] get(long[] primKeys) {
+			Boolean[] values = new Boolean[primKeys.length];
+
+			for (int i = 0; i < primKeys.length; i++) {
+				int index = _indexOf(primKeys[i]);
+
+				if (_states[index] != _STATE_EMPTY) {
+					values[i] = Boolean.valueOf(_states[index] == _STATE_TRUE);
+				}
+			}
+
+			return values;
+		}
+
+		public Boolean get(String primKey) {
+			long longPrimKey = _toLong(primKey);
+
+			if (longPrimKey >= 0) {
+				return get(longPrimKey);
+			}
+
+			synchronized (this) {
+				if (_stringValues == null) {
+					return null;
+				}
+
+				return _stringValues.get(primKey);
+			}
+		}
+
+		public synchronized void put(long primKey, boolean value) {
+			_put(primKey, value);
+		}
+
+		public synchronized void put(long[] primKeys, boolean[] values) {
+			for (int i = 0; i < primKeys.length; i++) {
+				_put(primKeys[i], values[i]);
+			}
+		}
+
+		public void put(String primKey, boolean value) {
+			long longPrimKey = _toLong(primKey);
+
+			if (longPrimKey >= 0) {
+				put(longPrimKey, value);
+
+				return;
+			}
+
+			synchronized (this) {
+				if ((_stringValues == null) ||
+					(_stringValues.size() >= _MAX_SIZE)) {
+
+					_stringValues = new HashMap<String, Boolean>();
+				}
+
+				_stringValues.put(primKey, value);
+			}
+		}
+
+		private int _indexOf(long primKey) {
+			int hash = (int)(primKey ^ (primKey >>> 32)) * 0x9E3779B9;
+
+			int mask = _primKeys.length - 1;
+
+			int index = (hash ^ (hash >>> 16)) & mask;
+
+			while ((_states[index] != _STATE_EMPTY) &&
+				   (_primKeys[index] != primKey)) {
+
+				index = (index + 1) & mask;
+			}
+
+			return index;
+		}
+
+		private void _put(long primKey, boolean value) {
+			if (_size >= _MAX_SIZE) {
+				_primKeys = new long[_INITIAL_CAPACITY];
+				_states = new byte[_INITIAL_CAPACITY];
+				_size = 0;
+			}
+			else if (((_size + 1) * 2) > _primKeys.length) {
+				long[] primKeys = _primKeys;
+				byte[] states = _states;
+
+				_primKeys = new long[primKeys.length * 2];
+				_states = new byte[primKeys.length * 2];
+
+				for (int i = 0; i < primKeys.length; i++) {
+					if (states[i] != _STATE_EMPTY) {
+						int index = _indexOf(primKeys[i]);
+
+						_primKeys[index] = primKeys[i];
+						_states[index] = states[i];
+					}
+				}
+			}
+
+			int index = _indexOf(primKey);
+
+			if (_states[index] == _STATE_EMPTY) {
+				_primKeys[index] = primKey;
+
+				_size++;
+			}
+
+			if (value) {
+				_states[index] = _STATE_TRUE;
+			}
+			else {
+				_states[index] = _STATE_FALSE;
+			}
+		}
+
+		/**
+		 * Returns the primary key as a long if it is the decimal string of a
+		 * nonnegative long, and -1 otherwise. Primary keys such as "007" are
+		 * not converted, because they are different resources than "7".
+		 */
+		private long _toLong(String primKey) {
+			int length = primKey.length();
+
+			if ((length == 0) || (length > 18) ||
+				((length > 1) && (primKey.charAt(0) == '0'))) {
+
+				return -1;
+			}
+
+			long value = 0;
+
+			for (int i = 0; i < length; i++) {
+				char c = primKey.charAt(i);
+
+				if ((c < '0') || (c > '9')) {
+					return -1;
+				}
+
+				value = value * 10 + (c - '0');
+			}
+
+			return value;
+		}
+
+		private static final int _INITIAL_CAPACITY = 16;
+
+		private static final int _MAX_SIZE = 1024;
+
+		private static final byte _STATE_EMPTY = 0;
+
+		private static final byte _STATE_FALSE = 1;
+
+		private static final byte _STATE_TRUE = 2;
+
+		private static final long serialVersionUID = 1L;
+
+		private long[] _primKeys = new long[_INITIAL_CAPACITY];
+		private int _size;
+		private byte[] _states = new byte[_INITIAL_CAPACITY];
+		private Map<String, Boolean> _stringValues;
+
+	}
+
 	private static class ResourceBlockIdsBagKey implements Serializable {
 
 		public ResourceBlockIdsBagKey(
@@ -1660,6 +1660,21 @@ public class PortletLocalServiceImpl extends PortletLocalServiceBaseImpl {
 			GetterUtil.getBoolean(
 				portletElement.elementText("ajaxable"),
 				portletModel.isAjaxable()));
+		portletModel.setOutputCacheTime(
+			GetterUtil.getInteger(
+				portletElement.elementText("output-cache-time"),
+				portletModel.getOutputCacheTime()));
+
+		List<String> outputCacheModelClasses = new ArrayList<String>();
+
+		for (Element outputCacheModelClassElement :
+				portletElement.elements("output-cache-model-class")) {
+
+			outputCacheModelClasses.add(
+				outputCacheModelClassElement.getText());
+		}
+
+		portletModel.setOutputCacheModelClasses(outputCacheModelClasses);
 
 		List<String> headerPortalCssList = new ArrayList<String>();
 
@@ -583,6 +583,116 @@ public class ResourcePermissionLocalServiceImpl
 		}
 	}
 
+	/**
+	 * Returns whether the roles have permission to perform the action on each
+	 * of the individual resources. Permissions granted on the broader scope
+	 * resources apply to every individual resource, like in {@link
+	 * #hasResourcePermission(List, long[], String)}. The individual scope
+	 * resource permissions of all the primary keys are fetched with a single
+	 * query.
+	 *
+	 * @param  companyId the primary key of the company
+	 * @param  name the resource's name, which can be either a class name or a
+	 *         portlet ID
+	 * @param  primKeys the primary keys of the individual resources
+	 * @param  resources the group, group template, and company scope
+	 *         resources shared by the individual resources
+	 * @param  roleIds the primary keys of the roles
+	 * @param  actionId the action ID
+	 * @return the permissions, in the order of the primary keys
+	 * @throws PortalException if any one of the roles with the primary keys
+	 *         could not be found or if a resource action with the name and
+	 *         action ID could not be found
+	 */
+	@Override
+	public boolean[] hasIndividualResourcePermissions(
+			long companyId, String name, String[] primKeys,
+			List<Resource> resources, long[] roleIds, String actionId)
+		throws PortalException {
+
+		boolean[] hasIndividualResourcePermissions =
+			new boolean[primKeys.length];
+
+		if ((primKeys.length == 0) || (roleIds.length == 0)) {
+			return hasIndividualResourcePermissions;
+		}
+
+		ResourceAction resourceAction =
+			resourceActionLocalService.getResourceAction(name, actionId);
+
+		Set<String> existingPrimKeys = new HashSet<String>();
+		Set<String> grantedPrimKeys = new HashSet<String>();
+
+		for (int i = 0; i < primKeys.length;
+				i += _PRIM_KEYS_QUERY_BATCH_SIZE) {
+
+			String[] batchPrimKeys = ArrayUtil.subset(
+				primKeys, i,
+				Math.min(i + _PRIM_KEYS_QUERY_BATCH_SIZE, primKeys.length));
+
+			List<ResourcePermission> resourcePermissions =
+				resourcePermissionFinder.findByC_N_S_P(
+					companyId, name, ResourceConstants.SCOPE_INDIVIDUAL,
+					batchPrimKeys);
+
+			for (ResourcePermission resourcePermission : resourcePermissions) {
+				String primKey = resourcePermission.getPrimKey();
+
+				existingPrimKeys.add(primKey);
+
+				if (ArrayUtil.contains(
+						roleIds, resourcePermission.getRoleId()) &&
+					hasActionId(resourcePermission, resourceAction)) {
+
+					grantedPrimKeys.add(primKey);
+				}
+			}
+		}
+
+		// See LPS-47464
+
+		if (existingPrimKeys.isEmpty()) {
+			return hasIndividualResourcePermissions;
+		}
+
+		Boolean hasScopeResourcePermission = null;
+
+		for (int i = 0; i < primKeys.length; i++) {
+			String primKey = primKeys[i];
+
+			if (!existingPrimKeys.contains(primKey)) {
+				continue;
+			}
+
+			if (grantedPrimKeys.contains(primKey)) {
+				hasIndividualResourcePermissions[i] = true;
+
+				continue;
+			}
+
+			if (hasScopeResourcePermission == null) {
+				hasScopeResourcePermission = Boolean.FALSE;
+
+				for (Resource resource : resources) {
+					if (hasResourcePermission(
+							resource.getCompanyId(), resource.getName(),
+							resource.getScope(), resource.getPrimKey(),
+							roleIds, actionId)) {
+
+						hasScopeResourcePermission = Boolean.TRUE;
+
+						break;
+					}
+				}
+			}
+
+			hasIndividualResourcePermissions[i] =
+				hasScopeResourcePermission.booleanValue();
+		}
+
+		return hasIndividualResourcePermissions;
+	}
+
 	/**
 	 * Returns <code>true</code> if the roles have permission at the scope to
 	 * perform the action on the resources.
@@ -1445,6 +1555,8 @@ public class ResourcePermissionLocalServiceImpl
 		ResourcePermissionLocalServiceImpl.class.getName() +
 			".findMissingResourcePermissions";
 
+	private static final int _PRIM_KEYS_QUERY_BATCH_SIZE = 500;
+
 	private static final String _UPDATE_ACTION_IDS =
 		ResourcePermissionLocalServiceImpl.class.getName() + ".updateActionIds";
 
@@ -454,9 +454,11 @@ public class AccountPersistenceImpl extends BasePersistenceImpl<Account>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(AccountModelImpl.ENTITY_CACHE_ENABLED,
+				AccountImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Account account = (Account)EntityCacheUtil.getResult(AccountModelImpl.ENTITY_CACHE_ENABLED,
-					AccountImpl.class, primaryKey);
+			Account account = (Account)cachedResults.get(primaryKey);
 
 			if (account == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -4935,9 +4935,11 @@ public class AddressPersistenceImpl extends BasePersistenceImpl<Address>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(AddressModelImpl.ENTITY_CACHE_ENABLED,
+				AddressImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Address address = (Address)EntityCacheUtil.getResult(AddressModelImpl.ENTITY_CACHE_ENABLED,
-					AddressImpl.class, primaryKey);
+			Address address = (Address)cachedResults.get(primaryKey);
 
 			if (address == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -7613,9 +7613,11 @@ public class BackgroundTaskPersistenceImpl extends BasePersistenceImpl<Backgroun
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(BackgroundTaskModelImpl.ENTITY_CACHE_ENABLED,
+				BackgroundTaskImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			BackgroundTask backgroundTask = (BackgroundTask)EntityCacheUtil.getResult(BackgroundTaskModelImpl.ENTITY_CACHE_ENABLED,
-					BackgroundTaskImpl.class, primaryKey);
+			BackgroundTask backgroundTask = (BackgroundTask)cachedResults.get(primaryKey);
 
 			if (backgroundTask == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -705,9 +705,11 @@ public class BrowserTrackerPersistenceImpl extends BasePersistenceImpl<BrowserTr
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(BrowserTrackerModelImpl.ENTITY_CACHE_ENABLED,
+				BrowserTrackerImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			BrowserTracker browserTracker = (BrowserTracker)EntityCacheUtil.getResult(BrowserTrackerModelImpl.ENTITY_CACHE_ENABLED,
-					BrowserTrackerImpl.class, primaryKey);
+			BrowserTracker browserTracker = (BrowserTracker)cachedResults.get(primaryKey);
 
 			if (browserTracker == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -728,9 +728,11 @@ public class ClassNamePersistenceImpl extends BasePersistenceImpl<ClassName>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ClassNameModelImpl.ENTITY_CACHE_ENABLED,
+				ClassNameImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ClassName className = (ClassName)EntityCacheUtil.getResult(ClassNameModelImpl.ENTITY_CACHE_ENABLED,
-					ClassNameImpl.class, primaryKey);
+			ClassName className = (ClassName)cachedResults.get(primaryKey);
 
 			if (className == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -446,9 +446,11 @@ public class ClusterGroupPersistenceImpl extends BasePersistenceImpl<ClusterGrou
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ClusterGroupModelImpl.ENTITY_CACHE_ENABLED,
+				ClusterGroupImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ClusterGroup clusterGroup = (ClusterGroup)EntityCacheUtil.getResult(ClusterGroupModelImpl.ENTITY_CACHE_ENABLED,
-					ClusterGroupImpl.class, primaryKey);
+			ClusterGroup clusterGroup = (ClusterGroup)cachedResults.get(primaryKey);
 
 			if (clusterGroup == null) {
 				if (uncachedPrimaryKeys == null) {
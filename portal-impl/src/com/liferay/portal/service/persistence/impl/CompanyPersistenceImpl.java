@@ -1741,9 +1741,11 @@ public class CompanyPersistenceImpl extends BasePersistenceImpl<Company>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(CompanyModelImpl.ENTITY_CACHE_ENABLED,
+				CompanyImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Company company = (Company)EntityCacheUtil.getResult(CompanyModelImpl.ENTITY_CACHE_ENABLED,
-					CompanyImpl.class, primaryKey);
+			Company company = (Company)cachedResults.get(primaryKey);
 
 			if (company == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2002,9 +2002,11 @@ public class ContactPersistenceImpl extends BasePersistenceImpl<Contact>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ContactModelImpl.ENTITY_CACHE_ENABLED,
+				ContactImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Contact contact = (Contact)EntityCacheUtil.getResult(ContactModelImpl.ENTITY_CACHE_ENABLED,
-					ContactImpl.class, primaryKey);
+			Contact contact = (Contact)cachedResults.get(primaryKey);
 
 			if (contact == null) {
 				if (uncachedPrimaryKeys == null) {
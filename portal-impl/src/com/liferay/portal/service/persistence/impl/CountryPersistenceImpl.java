@@ -1754,9 +1754,11 @@ public class CountryPersistenceImpl extends BasePersistenceImpl<Country>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(CountryModelImpl.ENTITY_CACHE_ENABLED,
+				CountryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Country country = (Country)EntityCacheUtil.getResult(CountryModelImpl.ENTITY_CACHE_ENABLED,
-					CountryImpl.class, primaryKey);
+			Country country = (Country)cachedResults.get(primaryKey);
 
 			if (country == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3173,9 +3173,11 @@ public class ExportImportConfigurationPersistenceImpl
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ExportImportConfigurationModelImpl.ENTITY_CACHE_ENABLED,
+				ExportImportConfigurationImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ExportImportConfiguration exportImportConfiguration = (ExportImportConfiguration)EntityCacheUtil.getResult(ExportImportConfigurationModelImpl.ENTITY_CACHE_ENABLED,
-					ExportImportConfigurationImpl.class, primaryKey);
+			ExportImportConfiguration exportImportConfiguration = (ExportImportConfiguration)cachedResults.get(primaryKey);
 
 			if (exportImportConfiguration == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -7859,9 +7859,11 @@ public class GroupPersistenceImpl extends BasePersistenceImpl<Group>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(GroupModelImpl.ENTITY_CACHE_ENABLED,
+				GroupImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Group group = (Group)EntityCacheUtil.getResult(GroupModelImpl.ENTITY_CACHE_ENABLED,
-					GroupImpl.class, primaryKey);
+			Group group = (Group)cachedResults.get(primaryKey);
 
 			if (group == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -899,9 +899,11 @@ public class ImagePersistenceImpl extends BasePersistenceImpl<Image>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ImageModelImpl.ENTITY_CACHE_ENABLED,
+				ImageImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Image image = (Image)EntityCacheUtil.getResult(ImageModelImpl.ENTITY_CACHE_ENABLED,
-					ImageImpl.class, primaryKey);
+			Image image = (Image)cachedResults.get(primaryKey);
 
 			if (image == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2429,9 +2429,11 @@ public class LayoutBranchPersistenceImpl extends BasePersistenceImpl<LayoutBranc
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(LayoutBranchModelImpl.ENTITY_CACHE_ENABLED,
+				LayoutBranchImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			LayoutBranch layoutBranch = (LayoutBranch)EntityCacheUtil.getResult(LayoutBranchModelImpl.ENTITY_CACHE_ENABLED,
-					LayoutBranchImpl.class, primaryKey);
+			LayoutBranch layoutBranch = (LayoutBranch)cachedResults.get(primaryKey);
 
 			if (layoutBranch == null) {
 				if (uncachedPrimaryKeys == null) {
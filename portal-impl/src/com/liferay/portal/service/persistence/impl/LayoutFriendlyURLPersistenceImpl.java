@@ -5350,9 +5350,11 @@ public class LayoutFriendlyURLPersistenceImpl extends BasePersistenceImpl<Layout
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(LayoutFriendlyURLModelImpl.ENTITY_CACHE_ENABLED,
+				LayoutFriendlyURLImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			LayoutFriendlyURL layoutFriendlyURL = (LayoutFriendlyURL)EntityCacheUtil.getResult(LayoutFriendlyURLModelImpl.ENTITY_CACHE_ENABLED,
-					LayoutFriendlyURLImpl.class, primaryKey);
+			LayoutFriendlyURL layoutFriendlyURL = (LayoutFriendlyURL)cachedResults.get(primaryKey);
 
 			if (layoutFriendlyURL == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -8610,9 +8610,11 @@ public class LayoutPersistenceImpl extends BasePersistenceImpl<Layout>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(LayoutModelImpl.ENTITY_CACHE_ENABLED,
+				LayoutImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Layout layout = (Layout)EntityCacheUtil.getResult(LayoutModelImpl.ENTITY_CACHE_ENABLED,
-					LayoutImpl.class, primaryKey);
+			Layout layout = (Layout)cachedResults.get(primaryKey);
 
 			if (layout == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -4203,9 +4203,11 @@ public class LayoutPrototypePersistenceImpl extends BasePersistenceImpl<LayoutPr
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(LayoutPrototypeModelImpl.ENTITY_CACHE_ENABLED,
+				LayoutPrototypeImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			LayoutPrototype layoutPrototype = (LayoutPrototype)EntityCacheUtil.getResult(LayoutPrototypeModelImpl.ENTITY_CACHE_ENABLED,
-					LayoutPrototypeImpl.class, primaryKey);
+			LayoutPrototype layoutPrototype = (LayoutPrototype)cachedResults.get(primaryKey);
 
 			if (layoutPrototype == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -6235,9 +6235,11 @@ public class LayoutRevisionPersistenceImpl extends BasePersistenceImpl<LayoutRev
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(LayoutRevisionModelImpl.ENTITY_CACHE_ENABLED,
+				LayoutRevisionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			LayoutRevision layoutRevision = (LayoutRevision)EntityCacheUtil.getResult(LayoutRevisionModelImpl.ENTITY_CACHE_ENABLED,
-					LayoutRevisionImpl.class, primaryKey);
+			LayoutRevision layoutRevision = (LayoutRevision)cachedResults.get(primaryKey);
 
 			if (layoutRevision == null) {
 				if (uncachedPrimaryKeys == null) {
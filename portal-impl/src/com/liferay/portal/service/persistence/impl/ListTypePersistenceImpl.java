@@ -982,9 +982,11 @@ public class ListTypePersistenceImpl extends BasePersistenceImpl<ListType>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ListTypeModelImpl.ENTITY_CACHE_ENABLED,
+				ListTypeImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ListType listType = (ListType)EntityCacheUtil.getResult(ListTypeModelImpl.ENTITY_CACHE_ENABLED,
-					ListTypeImpl.class, primaryKey);
+			ListType listType = (ListType)cachedResults.get(primaryKey);
 
 			if (listType == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2409,9 +2409,11 @@ public class LockPersistenceImpl extends BasePersistenceImpl<Lock>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(LockModelImpl.ENTITY_CACHE_ENABLED,
+				LockImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Lock lock = (Lock)EntityCacheUtil.getResult(LockModelImpl.ENTITY_CACHE_ENABLED,
-					LockImpl.class, primaryKey);
+			Lock lock = (Lock)cachedResults.get(primaryKey);
 
 			if (lock == null) {
 				if (uncachedPrimaryKeys == null) {
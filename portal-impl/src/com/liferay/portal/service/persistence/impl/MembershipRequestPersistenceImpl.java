@@ -2584,9 +2584,11 @@ public class MembershipRequestPersistenceImpl extends BasePersistenceImpl<Member
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MembershipRequestModelImpl.ENTITY_CACHE_ENABLED,
+				MembershipRequestImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MembershipRequest membershipRequest = (MembershipRequest)EntityCacheUtil.getResult(MembershipRequestModelImpl.ENTITY_CACHE_ENABLED,
-					MembershipRequestImpl.class, primaryKey);
+			MembershipRequest membershipRequest = (MembershipRequest)cachedResults.get(primaryKey);
 
 			if (membershipRequest == null) {
 				if (uncachedPrimaryKeys == null) {
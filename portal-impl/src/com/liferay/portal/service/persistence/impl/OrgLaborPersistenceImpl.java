@@ -965,9 +965,11 @@ public class OrgLaborPersistenceImpl extends BasePersistenceImpl<OrgLabor>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(OrgLaborModelImpl.ENTITY_CACHE_ENABLED,
+				OrgLaborImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			OrgLabor orgLabor = (OrgLabor)EntityCacheUtil.getResult(OrgLaborModelImpl.ENTITY_CACHE_ENABLED,
-					OrgLaborImpl.class, primaryKey);
+			OrgLabor orgLabor = (OrgLabor)cachedResults.get(primaryKey);
 
 			if (orgLabor == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -6941,9 +6941,11 @@ public class OrganizationPersistenceImpl extends BasePersistenceImpl<Organizatio
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(OrganizationModelImpl.ENTITY_CACHE_ENABLED,
+				OrganizationImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Organization organization = (Organization)EntityCacheUtil.getResult(OrganizationModelImpl.ENTITY_CACHE_ENABLED,
-					OrganizationImpl.class, primaryKey);
+			Organization organization = (Organization)cachedResults.get(primaryKey);
 
 			if (organization == null) {
 				if (uncachedPrimaryKeys == null) {
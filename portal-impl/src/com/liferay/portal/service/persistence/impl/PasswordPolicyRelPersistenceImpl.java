@@ -1266,9 +1266,11 @@ public class PasswordPolicyRelPersistenceImpl extends BasePersistenceImpl<Passwo
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PasswordPolicyRelModelImpl.ENTITY_CACHE_ENABLED,
+				PasswordPolicyRelImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PasswordPolicyRel passwordPolicyRel = (PasswordPolicyRel)EntityCacheUtil.getResult(PasswordPolicyRelModelImpl.ENTITY_CACHE_ENABLED,
-					PasswordPolicyRelImpl.class, primaryKey);
+			PasswordPolicyRel passwordPolicyRel = (PasswordPolicyRel)cachedResults.get(primaryKey);
 
 			if (passwordPolicyRel == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -955,9 +955,11 @@ public class PasswordTrackerPersistenceImpl extends BasePersistenceImpl<Password
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PasswordTrackerModelImpl.ENTITY_CACHE_ENABLED,
+				PasswordTrackerImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PasswordTracker passwordTracker = (PasswordTracker)EntityCacheUtil.getResult(PasswordTrackerModelImpl.ENTITY_CACHE_ENABLED,
-					PasswordTrackerImpl.class, primaryKey);
+			PasswordTracker passwordTracker = (PasswordTracker)cachedResults.get(primaryKey);
 
 			if (passwordTracker == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -4277,9 +4277,11 @@ public class PhonePersistenceImpl extends BasePersistenceImpl<Phone>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PhoneModelImpl.ENTITY_CACHE_ENABLED,
+				PhoneImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Phone phone = (Phone)EntityCacheUtil.getResult(PhoneModelImpl.ENTITY_CACHE_ENABLED,
-					PhoneImpl.class, primaryKey);
+			Phone phone = (Phone)cachedResults.get(primaryKey);
 
 			if (phone == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1343,9 +1343,11 @@ public class PluginSettingPersistenceImpl extends BasePersistenceImpl<PluginSett
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PluginSettingModelImpl.ENTITY_CACHE_ENABLED,
+				PluginSettingImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PluginSetting pluginSetting = (PluginSetting)EntityCacheUtil.getResult(PluginSettingModelImpl.ENTITY_CACHE_ENABLED,
-					PluginSettingImpl.class, primaryKey);
+			PluginSetting pluginSetting = (PluginSetting)cachedResults.get(primaryKey);
 
 			if (pluginSetting == null) {
 				if (uncachedPrimaryKeys == null) {
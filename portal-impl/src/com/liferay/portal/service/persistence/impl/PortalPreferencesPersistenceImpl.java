@@ -751,9 +751,11 @@ public class PortalPreferencesPersistenceImpl extends BasePersistenceImpl<Portal
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PortalPreferencesModelImpl.ENTITY_CACHE_ENABLED,
+				PortalPreferencesImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PortalPreferences portalPreferences = (PortalPreferences)EntityCacheUtil.getResult(PortalPreferencesModelImpl.ENTITY_CACHE_ENABLED,
-					PortalPreferencesImpl.class, primaryKey);
+			PortalPreferences portalPreferences = (PortalPreferences)cachedResults.get(primaryKey);
 
 			if (portalPreferences == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2030,9 +2030,11 @@ public class PortletItemPersistenceImpl extends BasePersistenceImpl<PortletItem>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PortletItemModelImpl.ENTITY_CACHE_ENABLED,
+				PortletItemImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PortletItem portletItem = (PortletItem)EntityCacheUtil.getResult(PortletItemModelImpl.ENTITY_CACHE_ENABLED,
-					PortletItemImpl.class, primaryKey);
+			PortletItem portletItem = (PortletItem)cachedResults.get(primaryKey);
 
 			if (portletItem == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1260,9 +1260,11 @@ public class PortletPersistenceImpl extends BasePersistenceImpl<Portlet>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PortletModelImpl.ENTITY_CACHE_ENABLED,
+				PortletImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Portlet portlet = (Portlet)EntityCacheUtil.getResult(PortletModelImpl.ENTITY_CACHE_ENABLED,
-					PortletImpl.class, primaryKey);
+			Portlet portlet = (Portlet)cachedResults.get(primaryKey);
 
 			if (portlet == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -4907,9 +4907,11 @@ public class PortletPreferencesPersistenceImpl extends BasePersistenceImpl<Portl
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(PortletPreferencesModelImpl.ENTITY_CACHE_ENABLED,
+				PortletPreferencesImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			PortletPreferences portletPreferences = (PortletPreferences)EntityCacheUtil.getResult(PortletPreferencesModelImpl.ENTITY_CACHE_ENABLED,
-					PortletPreferencesImpl.class, primaryKey);
+			PortletPreferences portletPreferences = (PortletPreferences)cachedResults.get(primaryKey);
 
 			if (portletPreferences == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2283,9 +2283,11 @@ public class RegionPersistenceImpl extends BasePersistenceImpl<Region>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(RegionModelImpl.ENTITY_CACHE_ENABLED,
+				RegionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Region region = (Region)EntityCacheUtil.getResult(RegionModelImpl.ENTITY_CACHE_ENABLED,
-					RegionImpl.class, primaryKey);
+			Region region = (Region)cachedResults.get(primaryKey);
 
 			if (region == null) {
 				if (uncachedPrimaryKeys == null) {
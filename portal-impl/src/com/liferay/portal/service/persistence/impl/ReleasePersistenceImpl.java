@@ -746,9 +746,11 @@ public class ReleasePersistenceImpl extends BasePersistenceImpl<Release>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ReleaseModelImpl.ENTITY_CACHE_ENABLED,
+				ReleaseImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Release release = (Release)EntityCacheUtil.getResult(ReleaseModelImpl.ENTITY_CACHE_ENABLED,
-					ReleaseImpl.class, primaryKey);
+			Release release = (Release)cachedResults.get(primaryKey);
 
 			if (release == null) {
 				if (uncachedPrimaryKeys == null) {
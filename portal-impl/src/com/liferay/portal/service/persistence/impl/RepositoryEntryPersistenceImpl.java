@@ -2725,9 +2725,11 @@ public class RepositoryEntryPersistenceImpl extends BasePersistenceImpl<Reposito
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(RepositoryEntryModelImpl.ENTITY_CACHE_ENABLED,
+				RepositoryEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			RepositoryEntry repositoryEntry = (RepositoryEntry)EntityCacheUtil.getResult(RepositoryEntryModelImpl.ENTITY_CACHE_ENABLED,
-					RepositoryEntryImpl.class, primaryKey);
+			RepositoryEntry repositoryEntry = (RepositoryEntry)cachedResults.get(primaryKey);
 
 			if (repositoryEntry == null) {
 				if (uncachedPrimaryKeys == null) {
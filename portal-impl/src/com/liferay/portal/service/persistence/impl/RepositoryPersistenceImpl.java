@@ -2759,9 +2759,11 @@ public class RepositoryPersistenceImpl extends BasePersistenceImpl<Repository>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(RepositoryModelImpl.ENTITY_CACHE_ENABLED,
+				RepositoryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Repository repository = (Repository)EntityCacheUtil.getResult(RepositoryModelImpl.ENTITY_CACHE_ENABLED,
-					RepositoryImpl.class, primaryKey);
+			Repository repository = (Repository)cachedResults.get(primaryKey);
 
 			if (repository == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1343,9 +1343,11 @@ public class ResourceActionPersistenceImpl extends BasePersistenceImpl<ResourceA
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ResourceActionModelImpl.ENTITY_CACHE_ENABLED,
+				ResourceActionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ResourceAction resourceAction = (ResourceAction)EntityCacheUtil.getResult(ResourceActionModelImpl.ENTITY_CACHE_ENABLED,
-					ResourceActionImpl.class, primaryKey);
+			ResourceAction resourceAction = (ResourceAction)cachedResults.get(primaryKey);
 
 			if (resourceAction == null) {
 				if (uncachedPrimaryKeys == null) {
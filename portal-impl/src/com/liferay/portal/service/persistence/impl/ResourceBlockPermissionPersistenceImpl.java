@@ -1781,9 +1781,11 @@ public class ResourceBlockPermissionPersistenceImpl extends BasePersistenceImpl<
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ResourceBlockPermissionModelImpl.ENTITY_CACHE_ENABLED,
+				ResourceBlockPermissionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ResourceBlockPermission resourceBlockPermission = (ResourceBlockPermission)EntityCacheUtil.getResult(ResourceBlockPermissionModelImpl.ENTITY_CACHE_ENABLED,
-					ResourceBlockPermissionImpl.class, primaryKey);
+			ResourceBlockPermission resourceBlockPermission = (ResourceBlockPermission)cachedResults.get(primaryKey);
 
 			if (resourceBlockPermission == null) {
 				if (uncachedPrimaryKeys == null) {
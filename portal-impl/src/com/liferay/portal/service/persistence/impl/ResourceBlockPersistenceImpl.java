@@ -2078,9 +2078,11 @@ public class ResourceBlockPersistenceImpl extends BasePersistenceImpl<ResourceBl
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ResourceBlockModelImpl.ENTITY_CACHE_ENABLED,
+				ResourceBlockImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ResourceBlock resourceBlock = (ResourceBlock)EntityCacheUtil.getResult(ResourceBlockModelImpl.ENTITY_CACHE_ENABLED,
-					ResourceBlockImpl.class, primaryKey);
+			ResourceBlock resourceBlock = (ResourceBlock)cachedResults.get(primaryKey);
 
 			if (resourceBlock == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -34,6 +34,7 @@ import com.liferay.util.dao.orm.CustomSQLUtil;
 
 import java.io.Serializable;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +53,9 @@ public class ResourcePermissionFinderImpl
 	public static final String COUNT_BY_C_N_S_P_R_A =
 		ResourcePermissionFinder.class.getName() + ".countByC_N_S_P_R_A";
 
+	public static final String FIND_BY_C_N_S_P =
+		ResourcePermissionFinder.class.getName() + ".findByC_N_S_P";
+
 	public static final String FIND_BY_RESOURCE =
 		ResourcePermissionFinder.class.getName() + ".findByResource";
 
@@ -182,6 +186,55 @@ public class ResourcePermissionFinderImpl
 		return count.intValue();
 	}
 
+	@Override
+	public List<ResourcePermission> findByC_N_S_P(
+		long companyId, String name, int scope, String[] primKeys) {
+
+		if (primKeys.length == 0) {
+			return Collections.emptyList();
+		}
+
+		Session session = null;
+
+		try {
+			session = openSession();
+
+			String sql = CustomSQLUtil.get(FIND_BY_C_N_S_P);
+
+			StringBundler sb = new StringBundler(primKeys.length * 2 - 1);
+
+			for (int i = 0; i < primKeys.length; i++) {
+				if (i > 0) {
+					sb.append(StringPool.COMMA_AND_SPACE);
+				}
+
+				sb.append(StringPool.QUESTION);
+			}
+
+			sql = StringUtil.replace(sql, "[$PRIM_KEY$]", sb.toString());
+
+			SQLQuery q = session.createSynchronizedSQLQuery(sql);
+
+			q.addEntity("ResourcePermission", ResourcePermissionImpl.class);
+
+			QueryPos qPos = QueryPos.getInstance(q);
+
+			qPos.add(companyId);
+			qPos.add(name);
+			qPos.add(scope);
+			qPos.add(primKeys);
+
+			return (List<ResourcePermission>)QueryUtil.list(
+				q, getDialect(), QueryUtil.ALL_POS, QueryUtil.ALL_POS);
+		}
+		catch (Exception e) {
+			throw new SystemException(e);
+		}
+		finally {
+			closeSession(session);
+		}
+	}
+
 	@Override
 	public List<ResourcePermission> findByResource(
 		long companyId, long groupId, String name, String primKey) {
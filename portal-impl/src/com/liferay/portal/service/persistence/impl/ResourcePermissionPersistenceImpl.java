@@ -4456,9 +4456,11 @@ public class ResourcePermissionPersistenceImpl extends BasePersistenceImpl<Resou
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ResourcePermissionModelImpl.ENTITY_CACHE_ENABLED,
+				ResourcePermissionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ResourcePermission resourcePermission = (ResourcePermission)EntityCacheUtil.getResult(ResourcePermissionModelImpl.ENTITY_CACHE_ENABLED,
-					ResourcePermissionImpl.class, primaryKey);
+			ResourcePermission resourcePermission = (ResourcePermission)cachedResults.get(primaryKey);
 
 			if (resourcePermission == null) {
 				if (uncachedPrimaryKeys == null) {
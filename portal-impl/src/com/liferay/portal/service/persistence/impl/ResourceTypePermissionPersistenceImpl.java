@@ -1982,9 +1982,11 @@ public class ResourceTypePermissionPersistenceImpl extends BasePersistenceImpl<R
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ResourceTypePermissionModelImpl.ENTITY_CACHE_ENABLED,
+				ResourceTypePermissionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ResourceTypePermission resourceTypePermission = (ResourceTypePermission)EntityCacheUtil.getResult(ResourceTypePermissionModelImpl.ENTITY_CACHE_ENABLED,
-					ResourceTypePermissionImpl.class, primaryKey);
+			ResourceTypePermission resourceTypePermission = (ResourceTypePermission)cachedResults.get(primaryKey);
 
 			if (resourceTypePermission == null) {
 				if (uncachedPrimaryKeys == null) {
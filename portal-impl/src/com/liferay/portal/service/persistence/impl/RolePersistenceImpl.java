@@ -8864,9 +8864,11 @@ public class RolePersistenceImpl extends BasePersistenceImpl<Role>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(RoleModelImpl.ENTITY_CACHE_ENABLED,
+				RoleImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Role role = (Role)EntityCacheUtil.getResult(RoleModelImpl.ENTITY_CACHE_ENABLED,
-					RoleImpl.class, primaryKey);
+			Role role = (Role)cachedResults.get(primaryKey);
 
 			if (role == null) {
 				if (uncachedPrimaryKeys == null) {
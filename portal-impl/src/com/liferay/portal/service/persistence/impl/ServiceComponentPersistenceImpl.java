@@ -1345,9 +1345,11 @@ public class ServiceComponentPersistenceImpl extends BasePersistenceImpl<Service
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ServiceComponentModelImpl.ENTITY_CACHE_ENABLED,
+				ServiceComponentImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ServiceComponent serviceComponent = (ServiceComponent)EntityCacheUtil.getResult(ServiceComponentModelImpl.ENTITY_CACHE_ENABLED,
-					ServiceComponentImpl.class, primaryKey);
+			ServiceComponent serviceComponent = (ServiceComponent)cachedResults.get(primaryKey);
 
 			if (serviceComponent == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -998,9 +998,11 @@ public class ShardPersistenceImpl extends BasePersistenceImpl<Shard>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ShardModelImpl.ENTITY_CACHE_ENABLED,
+				ShardImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Shard shard = (Shard)EntityCacheUtil.getResult(ShardModelImpl.ENTITY_CACHE_ENABLED,
-					ShardImpl.class, primaryKey);
+			Shard shard = (Shard)cachedResults.get(primaryKey);
 
 			if (shard == null) {
 				if (uncachedPrimaryKeys == null) {
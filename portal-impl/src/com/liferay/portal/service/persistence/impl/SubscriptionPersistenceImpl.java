@@ -2757,9 +2757,11 @@ public class SubscriptionPersistenceImpl extends BasePersistenceImpl<Subscriptio
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SubscriptionModelImpl.ENTITY_CACHE_ENABLED,
+				SubscriptionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Subscription subscription = (Subscription)EntityCacheUtil.getResult(SubscriptionModelImpl.ENTITY_CACHE_ENABLED,
-					SubscriptionImpl.class, primaryKey);
+			Subscription subscription = (Subscription)cachedResults.get(primaryKey);
 
 			if (subscription == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2686,9 +2686,11 @@ public class SystemEventPersistenceImpl extends BasePersistenceImpl<SystemEvent>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SystemEventModelImpl.ENTITY_CACHE_ENABLED,
+				SystemEventImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SystemEvent systemEvent = (SystemEvent)EntityCacheUtil.getResult(SystemEventModelImpl.ENTITY_CACHE_ENABLED,
-					SystemEventImpl.class, primaryKey);
+			SystemEvent systemEvent = (SystemEvent)cachedResults.get(primaryKey);
 
 			if (systemEvent == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1606,9 +1606,11 @@ public class TeamPersistenceImpl extends BasePersistenceImpl<Team>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(TeamModelImpl.ENTITY_CACHE_ENABLED,
+				TeamImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Team team = (Team)EntityCacheUtil.getResult(TeamModelImpl.ENTITY_CACHE_ENABLED,
-					TeamImpl.class, primaryKey);
+			Team team = (Team)cachedResults.get(primaryKey);
 
 			if (team == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -737,9 +737,11 @@ public class TicketPersistenceImpl extends BasePersistenceImpl<Ticket>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(TicketModelImpl.ENTITY_CACHE_ENABLED,
+				TicketImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Ticket ticket = (Ticket)EntityCacheUtil.getResult(TicketModelImpl.ENTITY_CACHE_ENABLED,
-					TicketImpl.class, primaryKey);
+			Ticket ticket = (Ticket)cachedResults.get(primaryKey);
 
 			if (ticket == null) {
 				if (uncachedPrimaryKeys == null) {
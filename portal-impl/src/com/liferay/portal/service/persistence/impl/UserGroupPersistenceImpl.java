@@ -4490,9 +4490,11 @@ public class UserGroupPersistenceImpl extends BasePersistenceImpl<UserGroup>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(UserGroupModelImpl.ENTITY_CACHE_ENABLED,
+				UserGroupImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			UserGroup userGroup = (UserGroup)EntityCacheUtil.getResult(UserGroupModelImpl.ENTITY_CACHE_ENABLED,
-					UserGroupImpl.class, primaryKey);
+			UserGroup userGroup = (UserGroup)cachedResults.get(primaryKey);
 
 			if (userGroup == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1597,9 +1597,11 @@ public class UserIdMapperPersistenceImpl extends BasePersistenceImpl<UserIdMappe
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(UserIdMapperModelImpl.ENTITY_CACHE_ENABLED,
+				UserIdMapperImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			UserIdMapper userIdMapper = (UserIdMapper)EntityCacheUtil.getResult(UserIdMapperModelImpl.ENTITY_CACHE_ENABLED,
-					UserIdMapperImpl.class, primaryKey);
+			UserIdMapper userIdMapper = (UserIdMapper)cachedResults.get(primaryKey);
 
 			if (userIdMapper == null) {
 				if (uncachedPrimaryKeys == null) {
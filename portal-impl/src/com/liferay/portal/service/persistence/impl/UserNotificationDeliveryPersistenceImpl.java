@@ -1396,9 +1396,11 @@ public class UserNotificationDeliveryPersistenceImpl extends BasePersistenceImpl
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(UserNotificationDeliveryModelImpl.ENTITY_CACHE_ENABLED,
+				UserNotificationDeliveryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			UserNotificationDelivery userNotificationDelivery = (UserNotificationDelivery)EntityCacheUtil.getResult(UserNotificationDeliveryModelImpl.ENTITY_CACHE_ENABLED,
-					UserNotificationDeliveryImpl.class, primaryKey);
+			UserNotificationDelivery userNotificationDelivery = (UserNotificationDelivery)cachedResults.get(primaryKey);
 
 			if (userNotificationDelivery == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -7379,9 +7379,11 @@ public class UserNotificationEventPersistenceImpl extends BasePersistenceImpl<Us
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(UserNotificationEventModelImpl.ENTITY_CACHE_ENABLED,
+				UserNotificationEventImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			UserNotificationEvent userNotificationEvent = (UserNotificationEvent)EntityCacheUtil.getResult(UserNotificationEventModelImpl.ENTITY_CACHE_ENABLED,
-					UserNotificationEventImpl.class, primaryKey);
+			UserNotificationEvent userNotificationEvent = (UserNotificationEvent)cachedResults.get(primaryKey);
 
 			if (userNotificationEvent == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -7704,9 +7704,11 @@ public class UserPersistenceImpl extends BasePersistenceImpl<User>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(UserModelImpl.ENTITY_CACHE_ENABLED,
+				UserImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			User user = (User)EntityCacheUtil.getResult(UserModelImpl.ENTITY_CACHE_ENABLED,
-					UserImpl.class, primaryKey);
+			User user = (User)cachedResults.get(primaryKey);
 
 			if (user == null) {
 				if (uncachedPrimaryKeys == null) {
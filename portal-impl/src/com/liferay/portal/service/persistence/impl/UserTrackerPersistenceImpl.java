@@ -1991,9 +1991,11 @@ public class UserTrackerPersistenceImpl extends BasePersistenceImpl<UserTracker>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(UserTrackerModelImpl.ENTITY_CACHE_ENABLED,
+				UserTrackerImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			UserTracker userTracker = (UserTracker)EntityCacheUtil.getResult(UserTrackerModelImpl.ENTITY_CACHE_ENABLED,
-					UserTrackerImpl.class, primaryKey);
+			UserTracker userTracker = (UserTracker)cachedResults.get(primaryKey);
 
 			if (userTracker == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1004,9 +1004,11 @@ public class VirtualHostPersistenceImpl extends BasePersistenceImpl<VirtualHost>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(VirtualHostModelImpl.ENTITY_CACHE_ENABLED,
+				VirtualHostImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			VirtualHost virtualHost = (VirtualHost)EntityCacheUtil.getResult(VirtualHostModelImpl.ENTITY_CACHE_ENABLED,
-					VirtualHostImpl.class, primaryKey);
+			VirtualHost virtualHost = (VirtualHost)cachedResults.get(primaryKey);
 
 			if (virtualHost == null) {
 				if (uncachedPrimaryKeys == null) {
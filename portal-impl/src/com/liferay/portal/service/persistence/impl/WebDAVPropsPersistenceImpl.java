@@ -736,9 +736,11 @@ public class WebDAVPropsPersistenceImpl extends BasePersistenceImpl<WebDAVProps>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(WebDAVPropsModelImpl.ENTITY_CACHE_ENABLED,
+				WebDAVPropsImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			WebDAVProps webDAVProps = (WebDAVProps)EntityCacheUtil.getResult(WebDAVPropsModelImpl.ENTITY_CACHE_ENABLED,
-					WebDAVPropsImpl.class, primaryKey);
+			WebDAVProps webDAVProps = (WebDAVProps)cachedResults.get(primaryKey);
 
 			if (webDAVProps == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -4305,9 +4305,11 @@ public class WebsitePersistenceImpl extends BasePersistenceImpl<Website>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(WebsiteModelImpl.ENTITY_CACHE_ENABLED,
+				WebsiteImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			Website website = (Website)EntityCacheUtil.getResult(WebsiteModelImpl.ENTITY_CACHE_ENABLED,
-					WebsiteImpl.class, primaryKey);
+			Website website = (Website)cachedResults.get(primaryKey);
 
 			if (website == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -16,6 +16,8 @@ package com.liferay.portal.servlet;
 
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.ParamUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.model.CompanyConstants;
 import com.liferay.portal.search.lucene.LuceneHelperUtil;
@@ -24,6 +26,9 @@ import com.liferay.portal.service.CompanyLocalServiceUtil;
 
 import java.io.IOException;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -79,7 +84,26 @@ public class LuceneServlet extends HttpServlet {
 			}
 		}
 
-		LuceneHelperUtil.dumpIndex(companyId, response.getOutputStream());
+		LuceneHelperUtil.dumpIndex(
+			companyId, response.getOutputStream(), _getChecksums(request));
+	}
+
+	private Map<String, String> _getChecksums(HttpServletRequest request) {
+		Map<String, String> checksums = new HashMap<String, String>();
+
+		String[] entries = StringUtil.split(
+			ParamUtil.getString(request, "checksums"));
+
+		for (String entry : entries) {
+			int index = entry.indexOf(StringPool.COLON);
+
+			if (index > 0) {
+				checksums.put(
+					entry.substring(0, index), entry.substring(index + 1));
+			}
+		}
+
+		return checksums;
 	}
 
 }
\ No newline at end of file
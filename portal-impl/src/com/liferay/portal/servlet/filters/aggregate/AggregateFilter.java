@@ -17,6 +17,7 @@ package com.liferay.portal.servlet.filters.aggregate;
 import com.liferay.portal.kernel.cache.key.CacheKeyGenerator;
 import com.liferay.portal.kernel.cache.key.CacheKeyGeneratorUtil;
 import com.liferay.portal.kernel.configuration.Filter;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.servlet.BrowserSniffer;
@@ -27,10 +28,13 @@ import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.ContentTypes;
 import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.HttpUtil;
+import com.liferay.portal.kernel.util.InstanceFactory;
 import com.liferay.portal.kernel.util.JavaConstants;
 import com.liferay.portal.kernel.util.ParamUtil;
 import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.StreamUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.StringUtil;
@@ -44,11 +48,22 @@ import com.liferay.portal.util.PropsUtil;
 import com.liferay.portal.util.PropsValues;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 import java.net.URL;
 import java.net.URLConnection;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -234,6 +249,22 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 		_tempDir = new File(tempDir, _TEMP_DIR);
 
 		_tempDir.mkdirs();
+
+		for (String contentEncoderClassName :
+				PropsValues.MINIFIER_CONTENT_ENCODERS) {
+
+			try {
+				ContentEncoder contentEncoder =
+					(ContentEncoder)InstanceFactory.newInstance(
+						contentEncoderClassName);
+
+				_contentEncoders.add(contentEncoder);
+			}
+			catch (Exception e) {
+				_log.error(
+					"Unable to instantiate " + contentEncoderClassName, e);
+			}
+		}
 	}
 
 	protected static String getJavaScriptContent(
@@ -242,6 +273,32 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 		return MinifierUtil.minifyJavaScript(resourceName, content);
 	}
 
+	/**
+	 * Encodes the cache file with every content encoder in the background, so
+	 * that no request waits for the content to be compressed. Until an encoded
+	 * file is up to date, the cache file is served as is.
+	 */
+	protected void encode(File file) {
+		if (_contentEncoders.isEmpty() || !_encodingFiles.add(file)) {
+			return;
+		}
+
+		ExecutorService executorService =
+			PortalExecutorManagerUtil.getPortalExecutor(
+				AggregateFilter.class.getName());
+
+		try {
+			executorService.execute(new EncodeRunnable(file));
+		}
+		catch (RejectedExecutionException ree) {
+			_encodingFiles.remove(file);
+
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to encode " + file, ree);
+			}
+		}
+	}
+
 	protected Object getBundleContent(
 			HttpServletRequest request, HttpServletResponse response)
 		throws IOException {
@@ -320,6 +377,8 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 
 		FileUtil.write(cacheFile, content);
 
+		encode(cacheFile);
+
 		return content;
 	}
 
@@ -455,6 +514,8 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 
 		FileUtil.write(cacheDataFile, content);
 
+		encode(cacheDataFile);
+
 		return content;
 	}
 
@@ -506,6 +567,59 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 		return getCssContent(request, response, resourcePath, content);
 	}
 
+	/**
+	 * Returns the up to date encoded copy of the cache file whose encoding is
+	 * accepted by the request, and sets the Content-Encoding header of the
+	 * response accordingly. Returns the cache file if there is no such copy,
+	 * if the request is an include, or if the request disables compression
+	 * the same way it does for {@link
+	 * com.liferay.portal.servlet.filters.gzip.GZipFilter}.
+	 */
+	protected File getEncodedFile(
+		HttpServletRequest request, HttpServletResponse response, File file) {
+
+		if (_contentEncoders.isEmpty() ||
+			!ParamUtil.getBoolean(request, _COMPRESS, true) ||
+			(request.getAttribute(
+				JavaConstants.JAVAX_SERVLET_INCLUDE_REQUEST_URI) != null)) {
+
+			return file;
+		}
+
+		response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+		String acceptEncoding = request.getHeader(
+			HttpHeaders.ACCEPT_ENCODING);
+
+		boolean staleEncodedFile = false;
+
+		for (ContentEncoder contentEncoder : _contentEncoders) {
+			File encodedFile = new File(
+				file.getPath() + contentEncoder.getFileExtension());
+
+			if (encodedFile.lastModified() != file.lastModified()) {
+				staleEncodedFile = true;
+
+				continue;
+			}
+
+			String contentEncoding = contentEncoder.getContentEncoding();
+
+			if (isAcceptedEncoding(acceptEncoding, contentEncoding)) {
+				response.setHeader(
+					HttpHeaders.CONTENT_ENCODING, contentEncoding);
+
+				return encodedFile;
+			}
+		}
+
+		if (staleEncodedFile) {
+			encode(file);
+		}
+
+		return file;
+	}
+
 	protected String getJavaScriptContent(URL resourceURL) throws IOException {
 		URLConnection urlConnection = resourceURL.openConnection();
 
@@ -514,6 +628,39 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 		return getJavaScriptContent(resourceURL.toString(), content);
 	}
 
+	protected boolean isAcceptedEncoding(
+		String acceptEncoding, String contentEncoding) {
+
+		if (acceptEncoding == null) {
+			return false;
+		}
+
+		for (String coding : StringUtil.split(acceptEncoding)) {
+			String[] parameters = StringUtil.split(coding, CharPool.SEMICOLON);
+
+			if ((parameters.length == 0) ||
+				!StringUtil.equalsIgnoreCase(
+					parameters[0].trim(), contentEncoding)) {
+
+				continue;
+			}
+
+			for (int i = 1; i < parameters.length; i++) {
+				String parameter = parameters[i].trim();
+
+				if (parameter.startsWith("q=") &&
+					(GetterUtil.getDouble(parameter.substring(2)) == 0)) {
+
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
 	@Override
 	protected void processFilter(
 			HttpServletRequest request, HttpServletResponse response,
@@ -532,7 +679,10 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 		}
 		else {
 			if (minifiedContent instanceof File) {
-				ServletResponseUtil.write(response, (File)minifiedContent);
+				File file = getEncodedFile(
+					request, response, (File)minifiedContent);
+
+				ServletResponseUtil.write(response, file);
 			}
 			else if (minifiedContent instanceof String) {
 				ServletResponseUtil.write(response, (String)minifiedContent);
@@ -548,6 +698,8 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 
 	private static String _BASE_URL = "@base_url@";
 
+	private static final String _COMPRESS = "compress";
+
 	private static final String _CSS_COMMENT_BEGIN = "/*";
 
 	private static final String _CSS_COMMENT_END = "*/";
@@ -566,12 +718,93 @@ public class AggregateFilter extends IgnoreModuleRequestFilter {
 
 	private static final String _TEMP_DIR = "aggregate";
 
+	private static final String _TEMP_EXTENSION = ".tmp";
+
 	private static Log _log = LogFactoryUtil.getLog(AggregateFilter.class);
 
 	private static Pattern _pattern = Pattern.compile(
 		"^(\\.ie|\\.js\\.ie)([^}]*)}", Pattern.MULTILINE);
 
+	private final List<ContentEncoder> _contentEncoders =
+		new ArrayList<ContentEncoder>();
+	private final Set<File> _encodingFiles = Collections.newSetFromMap(
+		new ConcurrentHashMap<File, Boolean>());
 	private ServletContext _servletContext;
 	private File _tempDir;
 
+	private class EncodeRunnable implements Runnable {
+
+		public EncodeRunnable(File file) {
+			_file = file;
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (ContentEncoder contentEncoder : _contentEncoders) {
+					encode(contentEncoder);
+				}
+			}
+			catch (IOException ioe) {
+				_log.error("Unable to encode " + _file, ioe);
+			}
+			finally {
+				_encodingFiles.remove(_file);
+			}
+		}
+
+		protected void encode(ContentEncoder contentEncoder)
+			throws IOException {
+
+			long lastModified = _file.lastModified();
+
+			File encodedFile = new File(
+				_file.getPath() + contentEncoder.getFileExtension());
+
+			if ((lastModified == 0) ||
+				(encodedFile.lastModified() == lastModified)) {
+
+				return;
+			}
+
+			if (_log.isDebugEnabled()) {
+				_log.debug(
+					"Encoding " + _file + " with " +
+						contentEncoder.getContentEncoding());
+			}
+
+			// The encoded file is written under a temporary name and stamped
+			// with the modification time of the content it was encoded from,
+			// so that an encoded file is never served for newer content
+
+			File tempFile = new File(encodedFile.getPath() + _TEMP_EXTENSION);
+
+			InputStream inputStream = null;
+			OutputStream outputStream = null;
+
+			try {
+				inputStream = new FileInputStream(_file);
+				outputStream = new FileOutputStream(tempFile);
+
+				contentEncoder.encode(inputStream, outputStream);
+			}
+			finally {
+				StreamUtil.cleanUp(inputStream, outputStream);
+			}
+
+			tempFile.setLastModified(lastModified);
+
+			if (!FileUtil.move(tempFile, encodedFile)) {
+				tempFile.delete();
+
+				throw new IOException("Unable to move " + tempFile);
+			}
+
+			encodedFile.setLastModified(lastModified);
+		}
+
+		private final File _file;
+
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.aggregate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Encodes the minified content cached by {@link AggregateFilter} ahead of
+ * time, so that it can be served without being compressed again on every
+ * request.
+ *
+ * @author Brian Wing Shun Chan
+ */
+public interface ContentEncoder {
+
+	/**
+	 * Writes the encoded content of the input stream to the output stream.
+	 * The caller closes both streams after this method returns, so
+	 * implementations must write all of the encoded content, including any
+	 * trailer, but must not close the streams.
+	 */
+	public void encode(InputStream inputStream, OutputStream outputStream)
+		throws IOException;
+
+	/**
+	 * Returns the value of the Content-Encoding header for the encoded
+	 * content, such as <code>gzip</code>.
+	 */
+	public String getContentEncoding();
+
+	/**
+	 * Returns the extension that is appended to the name of the cache file to
+	 * store the encoded content, such as <code>.gz</code>.
+	 */
+	public String getFileExtension();
+
+}
\ No newline at end of file
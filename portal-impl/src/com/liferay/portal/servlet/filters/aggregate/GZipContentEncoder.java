@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.aggregate;
+
+import com.liferay.portal.kernel.util.StreamUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class GZipContentEncoder implements ContentEncoder {
+
+	@Override
+	public void encode(InputStream inputStream, OutputStream outputStream)
+		throws IOException {
+
+		// The content is encoded once, so it is worth the slowest compression
+
+		GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream) {
+
+			{
+				def.setLevel(Deflater.BEST_COMPRESSION);
+			}
+
+			@Override
+			public void finish() throws IOException {
+
+				// The stream is not closed, so the deflater is released here
+
+				try {
+					super.finish();
+				}
+				finally {
+					def.end();
+				}
+			}
+
+		};
+
+		StreamUtil.transfer(inputStream, gzipOutputStream, false);
+
+		gzipOutputStream.finish();
+	}
+
+	@Override
+	public String getContentEncoding() {
+		return _CONTENT_ENCODING;
+	}
+
+	@Override
+	public String getFileExtension() {
+		return _FILE_EXTENSION;
+	}
+
+	private static final String _CONTENT_ENCODING = "gzip";
+
+	private static final String _FILE_EXTENSION = ".gz";
+
+}
\ No newline at end of file
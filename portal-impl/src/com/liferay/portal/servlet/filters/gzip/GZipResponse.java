@@ -119,7 +119,11 @@ public class GZipResponse extends MetaInfoCacheServletResponse {
 		}
 
 		if (_servletOutputStream == null) {
-			if (_isGZipContentType()) {
+
+			// Content that is already encoded, such as the precompressed
+			// content of the aggregate filter, is written as is
+
+			if (_isContentEncoded() || _isGZipContentType()) {
 				_servletOutputStream = _response.getOutputStream();
 			}
 			else {
@@ -164,6 +168,9 @@ public class GZipResponse extends MetaInfoCacheServletResponse {
 
 	@Override
 	public void setContentLength(int contentLength) {
+		if (_isContentEncoded()) {
+			super.setContentLength(contentLength);
+		}
 	}
 
 	private ServletOutputStream _createGZipServletOutputStream(
@@ -181,6 +188,14 @@ public class GZipResponse extends MetaInfoCacheServletResponse {
 		return new ServletOutputStreamAdapter(gzipOutputStream);
 	}
 
+	private boolean _isContentEncoded() {
+		if (getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+			return true;
+		}
+
+		return false;
+	}
+
 	private boolean _isGZipContentType() {
 		String contentType = getContentType();
 
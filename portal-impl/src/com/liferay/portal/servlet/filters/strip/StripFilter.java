@@ -22,7 +22,6 @@ import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayOutputStream;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.portlet.LiferayWindowState;
-import com.liferay.portal.kernel.scripting.ScriptingException;
 import com.liferay.portal.kernel.servlet.BufferCacheServletResponse;
 import com.liferay.portal.kernel.servlet.HttpHeaders;
 import com.liferay.portal.kernel.servlet.ServletResponseUtil;
@@ -234,51 +233,9 @@ public class StripFilter extends BasePortalFilter {
 		return false;
 	}
 
-	protected void outputCloseTag(
-			CharBuffer charBuffer, Writer writer, String closeTag)
-		throws Exception {
-
-		writer.write(closeTag);
-
-		charBuffer.position(charBuffer.position() + closeTag.length());
-
-		skipWhiteSpace(charBuffer, writer, true);
-	}
-
-	protected void outputOpenTag(
-			CharBuffer charBuffer, Writer writer, char[] openTag)
-		throws Exception {
-
-		writer.write(openTag);
-
-		charBuffer.position(charBuffer.position() + openTag.length);
-	}
-
-	protected void processCSS(
-			HttpServletRequest request, HttpServletResponse response,
-			CharBuffer charBuffer, Writer writer)
-		throws Exception {
-
-		outputOpenTag(charBuffer, writer, _MARKER_STYLE_OPEN);
-
-		int length = KMPSearch.search(
-			charBuffer, _MARKER_STYLE_CLOSE, _MARKER_STYLE_CLOSE_NEXTS);
-
-		if (length == -1) {
-			if (_log.isWarnEnabled()) {
-				_log.warn("Missing </style>");
-			}
-
-			return;
-		}
-
-		if (length == 0) {
-			outputCloseTag(charBuffer, writer, _MARKER_STYLE_CLOSE);
-
-			return;
-		}
-
-		String content = extractContent(charBuffer, length);
+	protected String minifyCss(
+		HttpServletRequest request, HttpServletResponse response,
+		String content) {
 
 		String minifiedContent = content;
 
@@ -298,8 +255,8 @@ public class StripFilter extends BasePortalFilter {
 							_servletContext, request, request.getRequestURI(),
 							content);
 					}
-					catch (ScriptingException se) {
-						_log.error("Unable to parse SASS on CSS " + key, se);
+					catch (Exception e) {
+						_log.error("Unable to parse SASS on CSS " + key, e);
 
 						if (_log.isDebugEnabled()) {
 							_log.debug(content);
@@ -333,6 +290,95 @@ public class StripFilter extends BasePortalFilter {
 			}
 		}
 
+		return minifiedContent;
+	}
+
+	protected String minifyJavaScript(String resourceName, String content) {
+		String minifiedContent = content;
+
+		if (PropsValues.MINIFIER_INLINE_CONTENT_CACHE_SIZE > 0) {
+			CacheKeyGenerator cacheKeyGenerator =
+				CacheKeyGeneratorUtil.getCacheKeyGenerator(
+					StripFilter.class.getName());
+
+			String key = String.valueOf(cacheKeyGenerator.getCacheKey(content));
+
+			minifiedContent = _minifierCache.get(key);
+
+			if (minifiedContent == null) {
+				minifiedContent = MinifierUtil.minifyJavaScript(
+					resourceName, content);
+
+				boolean skipCache = false;
+
+				for (String skipJavaScript :
+						PropsValues.
+							MINIFIER_INLINE_CONTENT_CACHE_SKIP_JAVASCRIPT) {
+
+					if (minifiedContent.contains(skipJavaScript)) {
+						skipCache = true;
+
+						break;
+					}
+				}
+
+				if (!skipCache) {
+					_minifierCache.put(key, minifiedContent);
+				}
+			}
+		}
+
+		return minifiedContent;
+	}
+
+	protected void outputCloseTag(
+			CharBuffer charBuffer, Writer writer, String closeTag)
+		throws Exception {
+
+		writer.write(closeTag);
+
+		charBuffer.position(charBuffer.position() + closeTag.length());
+
+		skipWhiteSpace(charBuffer, writer, true);
+	}
+
+	protected void outputOpenTag(
+			CharBuffer charBuffer, Writer writer, char[] openTag)
+		throws Exception {
+
+		writer.write(openTag);
+
+		charBuffer.position(charBuffer.position() + openTag.length);
+	}
+
+	protected void processCSS(
+			HttpServletRequest request, HttpServletResponse response,
+			CharBuffer charBuffer, Writer writer)
+		throws Exception {
+
+		outputOpenTag(charBuffer, writer, _MARKER_STYLE_OPEN);
+
+		int length = KMPSearch.search(
+			charBuffer, _MARKER_STYLE_CLOSE, _MARKER_STYLE_CLOSE_NEXTS);
+
+		if (length == -1) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Missing </style>");
+			}
+
+			return;
+		}
+
+		if (length == 0) {
+			outputCloseTag(charBuffer, writer, _MARKER_STYLE_CLOSE);
+
+			return;
+		}
+
+		String content = extractContent(charBuffer, length);
+
+		String minifiedContent = minifyCss(request, response, content);
+
 		if (Validator.isNotNull(minifiedContent)) {
 			writer.write(minifiedContent);
 		}
@@ -354,6 +400,22 @@ public class StripFilter extends BasePortalFilter {
 
 		request.setAttribute(SKIP_FILTER, Boolean.TRUE);
 
+		// The content length can only be set before the content is written, so
+		// the content is buffered and stripped once it is complete. Otherwise,
+		// it is stripped as it is written.
+
+		if (!ParamUtil.getBoolean(request, _ENSURE_CONTENT_LENGTH)) {
+			StripServletResponse stripServletResponse =
+				new StripServletResponse(request, response, this);
+
+			processFilter(
+				StripFilter.class, request, stripServletResponse, filterChain);
+
+			stripServletResponse.finishResponse();
+
+			return;
+		}
+
 		BufferCacheServletResponse bufferCacheServletResponse =
 			new BufferCacheServletResponse(response);
 
@@ -379,24 +441,16 @@ public class StripFilter extends BasePortalFilter {
 			CharBuffer oldCharBuffer =
 				bufferCacheServletResponse.getCharBuffer();
 
-			boolean ensureContentLength = ParamUtil.getBoolean(
-				request, _ENSURE_CONTENT_LENGTH);
-
-			if (ensureContentLength) {
-				UnsyncByteArrayOutputStream unsyncByteArrayOutputStream =
-					new UnsyncByteArrayOutputStream();
+			UnsyncByteArrayOutputStream unsyncByteArrayOutputStream =
+				new UnsyncByteArrayOutputStream();
 
-				strip(
-					request, response, oldCharBuffer,
-					new OutputStreamWriter(unsyncByteArrayOutputStream));
+			strip(
+				request, response, oldCharBuffer,
+				new OutputStreamWriter(unsyncByteArrayOutputStream));
 
-				response.setContentLength(unsyncByteArrayOutputStream.size());
+			response.setContentLength(unsyncByteArrayOutputStream.size());
 
-				unsyncByteArrayOutputStream.writeTo(response.getOutputStream());
-			}
-			else if (!response.isCommitted()) {
-				strip(request, response, oldCharBuffer, response.getWriter());
-			}
+			unsyncByteArrayOutputStream.writeTo(response.getOutputStream());
 		}
 		else {
 			ServletResponseUtil.write(response, bufferCacheServletResponse);
@@ -521,39 +575,7 @@ public class StripFilter extends BasePortalFilter {
 
 		String content = extractContent(charBuffer, length);
 
-		String minifiedContent = content;
-
-		if (PropsValues.MINIFIER_INLINE_CONTENT_CACHE_SIZE > 0) {
-			CacheKeyGenerator cacheKeyGenerator =
-				CacheKeyGeneratorUtil.getCacheKeyGenerator(
-					StripFilter.class.getName());
-
-			String key = String.valueOf(cacheKeyGenerator.getCacheKey(content));
-
-			minifiedContent = _minifierCache.get(key);
-
-			if (minifiedContent == null) {
-				minifiedContent = MinifierUtil.minifyJavaScript(
-					resourceName, content);
-
-				boolean skipCache = false;
-
-				for (String skipJavaScript :
-						PropsValues.
-							MINIFIER_INLINE_CONTENT_CACHE_SKIP_JAVASCRIPT) {
-
-					if (minifiedContent.contains(skipJavaScript)) {
-						skipCache = true;
-
-						break;
-					}
-				}
-
-				if (!skipCache) {
-					_minifierCache.put(key, minifiedContent);
-				}
-			}
-		}
+		String minifiedContent = minifyJavaScript(resourceName, content);
 
 		if (Validator.isNotNull(minifiedContent)) {
 			writer.write(minifiedContent);
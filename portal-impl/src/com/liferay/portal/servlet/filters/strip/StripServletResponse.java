@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.strip;
+
+import com.liferay.portal.kernel.io.WriterOutputStream;
+import com.liferay.portal.kernel.io.unsync.UnsyncPrintWriter;
+import com.liferay.portal.kernel.servlet.MetaInfoCacheServletResponse;
+import com.liferay.portal.kernel.servlet.ServletOutputStreamAdapter;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.StringUtil;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Strips the content of the wrapped response with a {@link StripWriter} as it
+ * is written. Whether the content is stripped is decided by the content type
+ * and status of the response when its writer or output stream is first
+ * requested.
+ *
+ * @author Brian Wing Shun Chan
+ */
+public class StripServletResponse extends MetaInfoCacheServletResponse {
+
+	public StripServletResponse(
+		HttpServletRequest request, HttpServletResponse response,
+		StripFilter stripFilter) {
+
+		super(response);
+
+		_request = request;
+		_response = response;
+		_stripFilter = stripFilter;
+	}
+
+	@Override
+	public void finishResponse() throws IOException {
+		if (_stripWriter == null) {
+			return;
+		}
+
+		if (_servletOutputStream != null) {
+			_servletOutputStream.flush();
+		}
+
+		if (_printWriter != null) {
+			_printWriter.flush();
+		}
+
+		_stripWriter.finish();
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (_servletOutputStream != null) {
+			_servletOutputStream.flush();
+		}
+
+		if (_printWriter != null) {
+			_printWriter.flush();
+		}
+
+		super.flushBuffer();
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (_servletOutputStream != null) {
+			return _servletOutputStream;
+		}
+
+		if (_printWriter != null) {
+			throw new IllegalStateException();
+		}
+
+		if (!isStrip()) {
+			return super.getOutputStream();
+		}
+
+		_stripWriter = createStripWriter();
+
+		_servletOutputStream = new ServletOutputStreamAdapter(
+			new WriterOutputStream(_stripWriter, getCharacterEncoding()));
+
+		return _servletOutputStream;
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (_printWriter != null) {
+			return _printWriter;
+		}
+
+		if (_servletOutputStream != null) {
+			throw new IllegalStateException();
+		}
+
+		if (!isStrip()) {
+			return super.getWriter();
+		}
+
+		_stripWriter = createStripWriter();
+
+		_printWriter = new UnsyncPrintWriter(_stripWriter);
+
+		return _printWriter;
+	}
+
+	@Override
+	public void setContentLength(int contentLength) {
+
+		// The content length of stripped content is unknown until it is
+		// completely written
+
+		if (_strip == null) {
+			String contentType = GetterUtil.getString(getContentType());
+
+			contentType = StringUtil.toLowerCase(contentType);
+
+			if (_stripFilter.isStripContentType(contentType)) {
+				return;
+			}
+		}
+		else if (_strip) {
+			return;
+		}
+
+		super.setContentLength(contentLength);
+	}
+
+	protected StripWriter createStripWriter() throws IOException {
+		return new StripWriter(
+			_stripFilter, _request, _response,
+			new OutputStreamWriter(
+				_response.getOutputStream(), getCharacterEncoding()));
+	}
+
+	protected boolean isStrip() {
+		if (_strip != null) {
+			return _strip;
+		}
+
+		String contentType = GetterUtil.getString(getContentType());
+
+		contentType = StringUtil.toLowerCase(contentType);
+
+		if (_stripFilter.isStripContentType(contentType) &&
+			(getStatus() == HttpServletResponse.SC_OK)) {
+
+			_strip = Boolean.TRUE;
+		}
+		else {
+			_strip = Boolean.FALSE;
+		}
+
+		return _strip;
+	}
+
+	private PrintWriter _printWriter;
+	private final HttpServletRequest _request;
+	private final HttpServletResponse _response;
+	private ServletOutputStream _servletOutputStream;
+	private Boolean _strip;
+	private final StripFilter _stripFilter;
+	private StripWriter _stripWriter;
+
+}
\ No newline at end of file
@@ -0,0 +1,539 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.strip;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.CharPool;
+import com.liferay.portal.kernel.util.KMPSearch;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.util.PropsValues;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Strips the content written to it in a single pass and writes the result to
+ * the underlying writer as it goes. For well formed content, it produces the
+ * same output as {@link StripFilter#strip(HttpServletRequest,
+ * HttpServletResponse, java.nio.CharBuffer, Writer)}, but it only holds back
+ * the few characters needed to recognize the open tags that are not stripped
+ * and the content of the inline scripts and styles that is minified.
+ *
+ * @author Brian Wing Shun Chan
+ */
+public class StripWriter extends Writer {
+
+	public StripWriter(
+		StripFilter stripFilter, HttpServletRequest request,
+		HttpServletResponse response, Writer writer) {
+
+		_stripFilter = stripFilter;
+		_request = request;
+		_response = response;
+		_writer = writer;
+	}
+
+	@Override
+	public void close() throws IOException {
+		finish();
+
+		_writer.close();
+	}
+
+	/**
+	 * Writes the characters that are held back. Inline scripts and styles
+	 * without a close tag are stripped as text, while the content of a
+	 * preformatted block without a close tag is left as it was written.
+	 */
+	public void finish() throws IOException {
+		if (_finished) {
+			return;
+		}
+
+		while (_state != _STATE_TEXT) {
+			if (_state == _STATE_VERBATIM) {
+				if (_log.isWarnEnabled()) {
+					_log.warn("Missing " + _closeTag);
+				}
+
+				_state = _STATE_TEXT;
+
+				break;
+			}
+
+			String content = _sb.toString();
+
+			if (((_state == _STATE_SCRIPT) || (_state == _STATE_STYLE)) &&
+				_log.isWarnEnabled()) {
+
+				_log.warn("Missing " + _closeTag);
+			}
+
+			_state = _STATE_TEXT;
+
+			_sb.setLength(0);
+
+			write(content);
+		}
+
+		if (_whiteSpace) {
+			_writer.write(CharPool.SPACE);
+
+			_whiteSpace = false;
+		}
+
+		_finished = true;
+
+		_writer.flush();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		_writer.flush();
+	}
+
+	@Override
+	public void write(char[] chars, int offset, int length)
+		throws IOException {
+
+		int end = offset + length;
+
+		while (offset < end) {
+			if (_state == _STATE_TEXT) {
+				offset = processText(chars, offset, end);
+			}
+			else if (_state == _STATE_VERBATIM) {
+				offset = processVerbatim(chars, offset, end);
+			}
+			else {
+				process(chars[offset++]);
+			}
+		}
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+		write(new char[] {(char)c}, 0, 1);
+	}
+
+	@Override
+	public void write(String s, int offset, int length) throws IOException {
+		char[] chars = new char[length];
+
+		s.getChars(offset, offset + length, chars, 0);
+
+		write(chars, 0, length);
+	}
+
+	protected boolean hasMarker(CharSequence charSequence, char[] marker) {
+		if (charSequence.length() <= marker.length) {
+			return false;
+		}
+
+		for (int i = 0; i < marker.length; i++) {
+			char c = marker[i];
+
+			char oldC = charSequence.charAt(i);
+
+			if ((c != oldC) && (Character.toUpperCase(c) != oldC)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	protected boolean isJavaScriptTag(String attributes) {
+		if ((attributes.length() >= _MARKER_TYPE_JAVASCRIPT.length()) &&
+			(KMPSearch.search(
+				attributes, _MARKER_TYPE_JAVASCRIPT,
+				_MARKER_TYPE_JAVASCRIPT_NEXTS) != -1)) {
+
+			return true;
+		}
+
+		if (!PropsValues.STRIP_JS_LANGUAGE_ATTRIBUTE_SUPPORT_ENABLED) {
+			return false;
+		}
+
+		if (KMPSearch.search(
+				attributes, _MARKER_LANGUAGE, _MARKER_LANGUAGE_NEXTS) == -1) {
+
+			return false;
+		}
+
+		attributes = StringUtil.toLowerCase(attributes);
+
+		if (attributes.contains("javascript")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isMarkerPrefix(CharSequence charSequence, char[] marker) {
+		int length = Math.min(charSequence.length(), marker.length);
+
+		for (int i = 0; i < length; i++) {
+			char c = marker[i];
+
+			char oldC = charSequence.charAt(i);
+
+			if ((c != oldC) && (Character.toUpperCase(c) != oldC)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	protected int match(char c, String pattern, int[] nexts, int index) {
+		while (index != -1) {
+			char patternC = pattern.charAt(index);
+
+			if ((c == patternC) || (c == Character.toUpperCase(patternC))) {
+				return index + 1;
+			}
+
+			index = nexts[index];
+		}
+
+		return 0;
+	}
+
+	protected void process(char c) throws IOException {
+		if (_state == _STATE_MARKER) {
+			processMarker(c);
+		}
+		else if (_state == _STATE_SCRIPT_OPEN_TAG) {
+			processScriptOpenTag(c);
+		}
+		else {
+			processContent(c);
+		}
+	}
+
+	protected void processContent(char c) throws IOException {
+		_sb.append(c);
+
+		_closeTagIndex = match(c, _closeTag, _closeTagNexts, _closeTagIndex);
+
+		if (_closeTagIndex < _closeTag.length()) {
+			return;
+		}
+
+		String content = _sb.substring(0, _sb.length() - _closeTag.length());
+
+		if (!content.isEmpty()) {
+			String minifiedContent = null;
+
+			if (_state == _STATE_SCRIPT) {
+				StringBuffer requestURL = _request.getRequestURL();
+
+				minifiedContent = _stripFilter.minifyJavaScript(
+					requestURL.toString(), content);
+			}
+			else {
+				minifiedContent = _stripFilter.minifyCss(
+					_request, _response, content);
+			}
+
+			if (Validator.isNotNull(minifiedContent)) {
+				_writer.write(minifiedContent);
+			}
+		}
+
+		_writer.write(_closeTag);
+
+		_sb.setLength(0);
+
+		_state = _STATE_TEXT;
+		_whiteSpace = false;
+	}
+
+	protected void processMarker(char c) throws IOException {
+		_sb.append(c);
+
+		if (hasMarker(_sb, _MARKER_INPUT_OPEN)) {
+			startVerbatim(_MARKER_INPUT_CLOSE, _MARKER_INPUT_CLOSE_NEXTS);
+		}
+		else if (hasMarker(_sb, _MARKER_PRE_OPEN)) {
+			startVerbatim(_MARKER_PRE_CLOSE, _MARKER_PRE_CLOSE_NEXTS);
+		}
+		else if (hasMarker(_sb, _MARKER_TEXTAREA_OPEN)) {
+			startVerbatim(_MARKER_TEXTAREA_CLOSE, _MARKER_TEXTAREA_CLOSE_NEXTS);
+		}
+		else if (hasMarker(_sb, _MARKER_SCRIPT_OPEN)) {
+			_state = _STATE_SCRIPT_OPEN_TAG;
+
+			processScriptOpenTag();
+		}
+		else if (hasMarker(_sb, _MARKER_STYLE_OPEN)) {
+			_writer.write(_MARKER_STYLE_OPEN);
+
+			_closeTag = _MARKER_STYLE_CLOSE;
+			_closeTagIndex = 0;
+			_closeTagNexts = _MARKER_STYLE_CLOSE_NEXTS;
+			_state = _STATE_STYLE;
+
+			_sb.setLength(0);
+
+			process(c);
+		}
+		else if (!isMarkerPrefix(_sb, _MARKER_INPUT_OPEN) &&
+				 !isMarkerPrefix(_sb, _MARKER_PRE_OPEN) &&
+				 !isMarkerPrefix(_sb, _MARKER_TEXTAREA_OPEN) &&
+				 !isMarkerPrefix(_sb, _MARKER_SCRIPT_OPEN) &&
+				 !isMarkerPrefix(_sb, _MARKER_STYLE_OPEN)) {
+
+			reprocess();
+		}
+	}
+
+	protected void processScriptOpenTag() throws IOException {
+		char c = _sb.charAt(_MARKER_SCRIPT_OPEN.length);
+
+		if (c == CharPool.GREATER_THAN) {
+			startScript();
+		}
+		else if (c != CharPool.SPACE) {
+			reprocess();
+		}
+	}
+
+	protected void processScriptOpenTag(char c) throws IOException {
+		_sb.append(c);
+
+		if (c == CharPool.GREATER_THAN) {
+			String attributes = _sb.substring(
+				_MARKER_SCRIPT_OPEN.length + 1, _sb.length() - 1);
+
+			if (isJavaScriptTag(attributes)) {
+				startScript();
+			}
+			else {
+				reprocess();
+			}
+		}
+		else if (c == CharPool.LESS_THAN) {
+			reprocess();
+		}
+	}
+
+	/**
+	 * Writes the text up to the end or up to the first open tag, collapsing
+	 * white space, and returns the index of the first character that is not
+	 * processed. Runs of characters that are not white space are written at
+	 * once.
+	 */
+	protected int processText(char[] chars, int offset, int end)
+		throws IOException {
+
+		int start = offset;
+
+		for (int i = offset; i < end; i++) {
+			char c = chars[i];
+
+			if ((c == CharPool.SPACE) || (c == CharPool.TAB) ||
+				(c == CharPool.RETURN) || (c == CharPool.NEW_LINE)) {
+
+				if (start < i) {
+					_writer.write(chars, start, i - start);
+				}
+
+				start = i + 1;
+
+				if (_started) {
+					_whiteSpace = true;
+				}
+
+				continue;
+			}
+
+			if (_whiteSpace) {
+				_writer.write(CharPool.SPACE);
+
+				_whiteSpace = false;
+			}
+
+			_started = true;
+
+			if (c == CharPool.LESS_THAN) {
+				_writer.write(chars, start, i + 1 - start);
+
+				_state = _STATE_MARKER;
+
+				return i + 1;
+			}
+		}
+
+		if (start < end) {
+			_writer.write(chars, start, end - start);
+		}
+
+		return end;
+	}
+
+	/**
+	 * Writes the content up to the end or up to the close tag, and returns the
+	 * index of the first character that is not processed.
+	 */
+	protected int processVerbatim(char[] chars, int offset, int end)
+		throws IOException {
+
+		for (int i = offset; i < end; i++) {
+			_closeTagIndex = match(
+				chars[i], _closeTag, _closeTagNexts, _closeTagIndex);
+
+			if (_closeTagIndex == _closeTag.length()) {
+				_writer.write(chars, offset, i + 1 - offset);
+
+				_state = _STATE_TEXT;
+				_whiteSpace = false;
+
+				return i + 1;
+			}
+		}
+
+		_writer.write(chars, offset, end - offset);
+
+		return end;
+	}
+
+	/**
+	 * Processes the characters that are held back as text because they do not
+	 * start a tag that is stripped.
+	 */
+	protected void reprocess() throws IOException {
+		String s = _sb.toString();
+
+		_state = _STATE_TEXT;
+
+		_sb.setLength(0);
+
+		write(s);
+	}
+
+	protected void startScript() throws IOException {
+		_writer.append(_sb);
+
+		_closeTag = _MARKER_SCRIPT_CLOSE;
+		_closeTagIndex = 0;
+		_closeTagNexts = _MARKER_SCRIPT_CLOSE_NEXTS;
+		_state = _STATE_SCRIPT;
+
+		_sb.setLength(0);
+	}
+
+	protected void startVerbatim(String closeTag, int[] closeTagNexts)
+		throws IOException {
+
+		int length = _sb.length() - 1;
+
+		_writer.append(_sb, 0, length);
+
+		_closeTag = closeTag;
+		_closeTagIndex = 0;
+		_closeTagNexts = closeTagNexts;
+		_state = _STATE_VERBATIM;
+
+		char[] chars = {_sb.charAt(length)};
+
+		_sb.setLength(0);
+
+		processVerbatim(chars, 0, 1);
+	}
+
+	private static final String _MARKER_INPUT_CLOSE = ">";
+
+	private static final int[] _MARKER_INPUT_CLOSE_NEXTS =
+		KMPSearch.generateNexts(_MARKER_INPUT_CLOSE);
+
+	private static final char[] _MARKER_INPUT_OPEN = "input".toCharArray();
+
+	private static final String _MARKER_LANGUAGE = "language=";
+
+	private static final int[] _MARKER_LANGUAGE_NEXTS = KMPSearch.generateNexts(
+		_MARKER_LANGUAGE);
+
+	private static final String _MARKER_PRE_CLOSE = "/pre>";
+
+	private static final int[] _MARKER_PRE_CLOSE_NEXTS =
+		KMPSearch.generateNexts(_MARKER_PRE_CLOSE);
+
+	private static final char[] _MARKER_PRE_OPEN = "pre".toCharArray();
+
+	private static final String _MARKER_SCRIPT_CLOSE = "</script>";
+
+	private static final int[] _MARKER_SCRIPT_CLOSE_NEXTS =
+		KMPSearch.generateNexts(_MARKER_SCRIPT_CLOSE);
+
+	private static final char[] _MARKER_SCRIPT_OPEN = "script".toCharArray();
+
+	private static final String _MARKER_STYLE_CLOSE = "</style>";
+
+	private static final int[] _MARKER_STYLE_CLOSE_NEXTS =
+		KMPSearch.generateNexts(_MARKER_STYLE_CLOSE);
+
+	private static final char[] _MARKER_STYLE_OPEN =
+		"style type=\"text/css\">".toCharArray();
+
+	private static final String _MARKER_TEXTAREA_CLOSE = "/textarea>";
+
+	private static final int[] _MARKER_TEXTAREA_CLOSE_NEXTS =
+		KMPSearch.generateNexts(_MARKER_TEXTAREA_CLOSE);
+
+	private static final char[] _MARKER_TEXTAREA_OPEN =
+		"textarea ".toCharArray();
+
+	private static final String _MARKER_TYPE_JAVASCRIPT =
+		"type=\"text/javascript\"";
+
+	private static final int[] _MARKER_TYPE_JAVASCRIPT_NEXTS =
+		KMPSearch.generateNexts(_MARKER_TYPE_JAVASCRIPT);
+
+	private static final int _STATE_MARKER = 1;
+
+	private static final int _STATE_SCRIPT = 3;
+
+	private static final int _STATE_SCRIPT_OPEN_TAG = 2;
+
+	private static final int _STATE_STYLE = 4;
+
+	private static final int _STATE_TEXT = 0;
+
+	private static final int _STATE_VERBATIM = 5;
+
+	private static Log _log = LogFactoryUtil.getLog(StripWriter.class);
+
+	private String _closeTag;
+	private int _closeTagIndex;
+	private int[] _closeTagNexts;
+	private boolean _finished;
+	private final HttpServletRequest _request;
+	private final HttpServletResponse _response;
+	private final StringBuilder _sb = new StringBuilder();
+	private boolean _started;
+	private int _state = _STATE_TEXT;
+	private final StripFilter _stripFilter;
+	private boolean _whiteSpace;
+	private final Writer _writer;
+
+}
\ No newline at end of file
@@ -14,6 +14,7 @@
 
 package com.liferay.portal.servlet.filters.threadlocal;
 
+import com.liferay.portal.dao.orm.common.LocalCacheThreadLocal;
 import com.liferay.portal.kernel.cache.Lifecycle;
 import com.liferay.portal.kernel.cache.ThreadLocalCacheManager;
 import com.liferay.portal.kernel.servlet.TryFinallyFilter;
@@ -36,6 +37,8 @@ public class ThreadLocalFilter
 
 		ThreadLocalCacheManager.clearAll(Lifecycle.REQUEST);
 
+		LocalCacheThreadLocal.clearLocalCaches();
+
 		CentralizedThreadLocal.clearShortLivedThreadLocals();
 	}
 
@@ -896,8 +896,10 @@ public class ${entity.name}PersistenceImpl extends BasePersistenceImpl<${entity.
 
 			Set<Serializable> uncachedPrimaryKeys = null;
 
+			Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(${entity.name}ModelImpl.ENTITY_CACHE_ENABLED, ${entity.name}Impl.class, primaryKeys);
+
 			for (Serializable primaryKey : primaryKeys) {
-				${entity.name} ${entity.varName} = (${entity.name})EntityCacheUtil.getResult(${entity.name}ModelImpl.ENTITY_CACHE_ENABLED, ${entity.name}Impl.class, primaryKey);
+				${entity.name} ${entity.varName} = (${entity.name})cachedResults.get(primaryKey);
 
 				if (${entity.varName} == null) {
 					if (uncachedPrimaryKeys == null) {
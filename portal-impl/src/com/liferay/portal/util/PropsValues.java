@@ -442,6 +442,8 @@ public class PropsValues {
 
 	public static final int COUNTER_INCREMENT = GetterUtil.getInteger(PropsUtil.get(PropsKeys.COUNTER_INCREMENT));
 
+	public static final boolean COUNTER_PREFETCH_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.COUNTER_PREFETCH_ENABLED));
+
 	public static final String CUSTOM_SQL_FUNCTION_ISNOTNULL = PropsUtil.get(PropsKeys.CUSTOM_SQL_FUNCTION_ISNOTNULL);
 
 	public static final String CUSTOM_SQL_FUNCTION_ISNULL = PropsUtil.get(PropsKeys.CUSTOM_SQL_FUNCTION_ISNULL);
@@ -696,10 +698,40 @@ public class PropsValues {
 
 	public static final int EHCACHE_CACHE_MANAGER_STATISTICS_THREAD_POOL_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_CACHE_MANAGER_STATISTICS_THREAD_POOL_SIZE));
 
+	public static final long EHCACHE_CLUSTER_LINK_BATCH_INTERVAL = GetterUtil.getLong(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_BATCH_INTERVAL));
+
+	public static final int EHCACHE_CLUSTER_LINK_BATCH_REMOVE_ALL_THRESHOLD = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_BATCH_REMOVE_ALL_THRESHOLD));
+
+	public static final int EHCACHE_CLUSTER_LINK_BATCH_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_BATCH_SIZE));
+
 	public static final boolean EHCACHE_CLUSTER_LINK_REPLICATION_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_REPLICATION_ENABLED));
 
+	public static final long EHCACHE_OFF_HEAP_CACHE_MAX_SIZE = GetterUtil.getLong(PropsUtil.get(PropsKeys.EHCACHE_OFF_HEAP_CACHE_MAX_SIZE));
+
+	public static final String[] EHCACHE_OFF_HEAP_CACHE_NAMES = PropsUtil.getArray(PropsKeys.EHCACHE_OFF_HEAP_CACHE_NAMES);
+
+	public static final int EHCACHE_OFF_HEAP_CACHE_SEGMENTS = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_OFF_HEAP_CACHE_SEGMENTS));
+
 	public static final boolean EHCACHE_PORTAL_CACHE_MANAGER_JMX_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.EHCACHE_PORTAL_CACHE_MANAGER_JMX_ENABLED));
 
+	public static final boolean EHCACHE_PORTAL_CACHE_STATISTICS_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.EHCACHE_PORTAL_CACHE_STATISTICS_ENABLED));
+
+	public static final int EHCACHE_PORTAL_CACHE_STATISTICS_SAMPLE_RATE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_PORTAL_CACHE_STATISTICS_SAMPLE_RATE));
+
+	public static final String EHCACHE_SNAPSHOT_DIR = PropsUtil.get(PropsKeys.EHCACHE_SNAPSHOT_DIR);
+
+	public static final boolean EHCACHE_SNAPSHOT_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.EHCACHE_SNAPSHOT_ENABLED));
+
+	public static final long EHCACHE_SNAPSHOT_INTERVAL = GetterUtil.getLong(PropsUtil.get(PropsKeys.EHCACHE_SNAPSHOT_INTERVAL));
+
+	public static final int EHCACHE_SNAPSHOT_LOAD_BATCH_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_SNAPSHOT_LOAD_BATCH_SIZE));
+
+	public static final int EHCACHE_SNAPSHOT_LOAD_THREAD_POOL_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_SNAPSHOT_LOAD_THREAD_POOL_SIZE));
+
+	public static final long EHCACHE_SNAPSHOT_LOAD_TIMEOUT = GetterUtil.getLong(PropsUtil.get(PropsKeys.EHCACHE_SNAPSHOT_LOAD_TIMEOUT));
+
+	public static final int EHCACHE_SNAPSHOT_MAX_KEYS = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_SNAPSHOT_MAX_KEYS));
+
 	public static final int EHCACHE_SOCKET_SO_TIMEOUT = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_SOCKET_SO_TIMEOUT));
 
 	public static final int EHCACHE_SOCKET_START_PORT = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_SOCKET_START_PORT));
@@ -804,6 +836,8 @@ public class PropsValues {
 
 	public static boolean INDEX_READ_ONLY = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.INDEX_READ_ONLY));
 
+	public static final boolean INDEX_PERMISSION_FILTER_SEARCH_QUERY_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.INDEX_PERMISSION_FILTER_SEARCH_QUERY_ENABLED));
+
 	public static final boolean INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_ENABLED));
 
 	public static final int INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_SCORES_THRESHOLD = GetterUtil.getInteger(PropsUtil.get(PropsKeys.INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_SCORES_THRESHOLD));
@@ -980,6 +1014,10 @@ public class PropsValues {
 
 	public static final boolean LAYOUT_PARALLEL_RENDER_ENABLE = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.LAYOUT_PARALLEL_RENDER_ENABLE));
 
+	public static final boolean LAYOUT_PARALLEL_RENDER_STREAMING_ENABLE = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.LAYOUT_PARALLEL_RENDER_STREAMING_ENABLE));
+
+	public static final int LAYOUT_PARALLEL_RENDER_STREAMING_TIMEOUT = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LAYOUT_PARALLEL_RENDER_STREAMING_TIMEOUT));
+
 	public static final boolean LAYOUT_PARALLEL_RENDER_THREAD_POOL_ALLOW_CORE_THREAD_TIMEOUT = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.LAYOUT_PARALLEL_RENDER_THREAD_POOL_ALLOW_CORE_THREAD_TIMEOUT));
 
 	public static final int LAYOUT_PARALLEL_RENDER_THREAD_POOL_CORE_THREAD_COUNT = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LAYOUT_PARALLEL_RENDER_THREAD_POOL_CORE_THREAD_COUNT));
@@ -1114,6 +1152,8 @@ public class PropsValues {
 
 	public static final int LUCENE_BUFFER_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LUCENE_BUFFER_SIZE));
 
+	public static final boolean LUCENE_CLUSTER_INDEX_LOADING_INCREMENTAL_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.LUCENE_CLUSTER_INDEX_LOADING_INCREMENTAL_ENABLED));
+
 	public static final long LUCENE_CLUSTER_INDEX_LOADING_SYNC_TIMEOUT = GetterUtil.getLong(PropsUtil.get(PropsKeys.LUCENE_CLUSTER_INDEX_LOADING_SYNC_TIMEOUT));
 
 	public static final int LUCENE_COMMIT_BATCH_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LUCENE_COMMIT_BATCH_SIZE));
@@ -1126,12 +1166,22 @@ public class PropsValues {
 
 	public static final String LUCENE_FILE_EXTRACTOR_REGEXP_STRIP = PropsUtil.get(PropsKeys.LUCENE_FILE_EXTRACTOR_REGEXP_STRIP);
 
+	public static final String[] LUCENE_FILTER_CACHE_FIELD_NAMES = PropsUtil.getArray(PropsKeys.LUCENE_FILTER_CACHE_FIELD_NAMES);
+
+	public static final int LUCENE_FILTER_CACHE_MEMORY_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LUCENE_FILTER_CACHE_MEMORY_SIZE));
+
+	public static final int LUCENE_FILTER_CACHE_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LUCENE_FILTER_CACHE_SIZE));
+
 	public static final int LUCENE_MERGE_FACTOR = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LUCENE_MERGE_FACTOR));
 
 	public static String LUCENE_MERGE_POLICY = PropsUtil.get(PropsKeys.LUCENE_MERGE_POLICY);
 
 	public static String LUCENE_MERGE_SCHEDULER = PropsUtil.get(PropsKeys.LUCENE_MERGE_SCHEDULER);
 
+	public static final long LUCENE_NRT_COMMIT_INTERVAL = GetterUtil.getLong(PropsUtil.get(PropsKeys.LUCENE_NRT_COMMIT_INTERVAL));
+
+	public static final long LUCENE_NRT_MAX_STALENESS = GetterUtil.getLong(PropsUtil.get(PropsKeys.LUCENE_NRT_MAX_STALENESS));
+
 	public static final boolean LUCENE_REPLICATE_WRITE = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.LUCENE_REPLICATE_WRITE));
 
 	public static final String LUCENE_STORE_TYPE = PropsUtil.get(PropsKeys.LUCENE_STORE_TYPE);
@@ -1190,6 +1240,8 @@ public class PropsValues {
 
 	public static final String MESSAGE_BOARDS_THREAD_VIEWS_DEFAULT = PropsUtil.get(PropsKeys.MESSAGE_BOARDS_THREAD_VIEWS_DEFAULT);
 
+	public static final String MESSAGE_BUS_OVERFLOW_DIR = PropsUtil.get(PropsKeys.MESSAGE_BUS_OVERFLOW_DIR);
+
 	public static final String MICROSOFT_TRANSLATOR_CLIENT_ID = PropsUtil.get(PropsKeys.MICROSOFT_TRANSLATOR_CLIENT_ID);
 
 	public static final String MICROSOFT_TRANSLATOR_CLIENT_SECRET = PropsUtil.get(PropsKeys.MICROSOFT_TRANSLATOR_CLIENT_SECRET);
@@ -1198,6 +1250,8 @@ public class PropsValues {
 
 	public static String[] MIME_TYPES_WEB_IMAGES = PropsUtil.getArray(PropsKeys.MIME_TYPES_WEB_IMAGES);
 
+	public static final String[] MINIFIER_CONTENT_ENCODERS = PropsUtil.getArray(PropsKeys.MINIFIER_CONTENT_ENCODERS);
+
 	public static final boolean MINIFIER_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.MINIFIER_ENABLED));
 
 	public static final int MINIFIER_INLINE_CONTENT_CACHE_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.MINIFIER_INLINE_CONTENT_CACHE_SIZE));
@@ -1908,6 +1962,8 @@ public class PropsValues {
 
 	public static final boolean VALUE_OBJECT_FINDER_CACHE_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.VALUE_OBJECT_FINDER_CACHE_ENABLED));
 
+	public static final boolean VALUE_OBJECT_FINDER_CACHE_STATISTICS_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.VALUE_OBJECT_FINDER_CACHE_STATISTICS_ENABLED));
+
 	public static final int VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE));
 
 	public static final boolean VALUE_OBJECT_MVCC_ENTITY_CACHE_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.VALUE_OBJECT_MVCC_ENTITY_CACHE_ENABLED));
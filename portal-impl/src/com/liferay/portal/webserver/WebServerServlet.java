@@ -18,6 +18,7 @@ import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.image.ImageBag;
 import com.liferay.portal.kernel.image.ImageToolUtil;
+import com.liferay.portal.kernel.io.SendableFileInputStream;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.repository.RepositoryException;
@@ -98,7 +99,6 @@ import com.liferay.portlet.trash.util.TrashUtil;
 import java.awt.image.RenderedImage;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -1010,7 +1010,7 @@ public class WebServerServlet extends HttpServlet {
 				if (convertedFile != null) {
 					fileName = FileUtil.stripExtension(fileName).concat(
 						StringPool.PERIOD).concat(targetExtension);
-					inputStream = new FileInputStream(convertedFile);
+					inputStream = new SendableFileInputStream(convertedFile);
 					contentLength = convertedFile.length();
 
 					converted = true;
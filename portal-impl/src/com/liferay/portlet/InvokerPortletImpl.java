@@ -39,6 +39,7 @@ import com.liferay.portal.model.PortletConstants;
 import com.liferay.portal.model.impl.PortletFilterImpl;
 import com.liferay.portal.tools.deploy.PortletDeployer;
 import com.liferay.portal.util.ClassLoaderUtil;
+import com.liferay.portal.util.PortalUtil;
 import com.liferay.portal.util.PropsValues;
 import com.liferay.portal.util.WebKeys;
 import com.liferay.registry.Registry;
@@ -213,6 +214,8 @@ public class InvokerPortletImpl implements InvokerPortlet {
 
 			removePortletFilters();
 
+			PortletOutputCachePool.remove(_portletId);
+
 			_portlet.destroy();
 		}
 		finally {
@@ -362,10 +365,24 @@ public class InvokerPortletImpl implements InvokerPortlet {
 
 		stopWatch.start();
 
+		String outputCacheKey = null;
+
+		if (_portletOutputCache != null) {
+			outputCacheKey = _portletOutputCache.getKey(
+				_portletId, renderRequest);
+		}
+
 		String remoteUser = renderRequest.getRemoteUser();
 
-		if ((remoteUser == null) || (_expCache == null) ||
-			(_expCache.intValue() == 0)) {
+		if (outputCacheKey != null) {
+			if (!_portletOutputCache.render(
+					outputCacheKey, renderRequest, renderResponse)) {
+
+				invokeRender(renderRequest, renderResponse, outputCacheKey);
+			}
+		}
+		else if ((remoteUser == null) || (_expCache == null) ||
+				 (_expCache.intValue() == 0)) {
 
 			invokeRender(renderRequest, renderResponse);
 		}
@@ -671,6 +688,38 @@ public class InvokerPortletImpl implements InvokerPortlet {
 		return renderResponseImpl.getTitle();
 	}
 
+	protected void invokeRender(
+			RenderRequest renderRequest, RenderResponse renderResponse,
+			String outputCacheKey)
+		throws IOException, PortletException {
+
+		long generation = _portletOutputCache.getGeneration();
+
+		HttpServletRequest request = PortalUtil.getHttpServletRequest(
+			renderRequest);
+
+		// Render without the shared attributes of the other portlets so that
+		// only what this portlet adds to them is cached
+
+		Map<String, Object> sharedAttributes =
+			PortletOutputCache.removeSharedAttributes(request, _portletId);
+
+		Map<String, Object> portletSharedAttributes = null;
+
+		try {
+			invokeRender(renderRequest, renderResponse);
+		}
+		finally {
+			portletSharedAttributes =
+				PortletOutputCache.restoreSharedAttributes(
+					request, sharedAttributes);
+		}
+
+		_portletOutputCache.put(
+			outputCacheKey, generation, renderRequest, renderResponse,
+			portletSharedAttributes);
+	}
+
 	protected void invokeResource(
 			ResourceRequest resourceRequest, ResourceResponse resourceResponse)
 		throws IOException, PortletException {
@@ -716,6 +765,15 @@ public class InvokerPortletImpl implements InvokerPortlet {
 		_strutsBridgePortlet = strutsBridgePortlet;
 		_expCache = portletModel.getExpCache();
 
+		ClassLoader portletClassLoader = getPortletClassLoader();
+
+		if (portletClassLoader == null) {
+			portletClassLoader = ClassLoaderUtil.getPortalClassLoader();
+		}
+
+		_portletOutputCache = PortletOutputCachePool.get(
+			portletModel, portletClassLoader);
+
 		if (_log.isDebugEnabled()) {
 			_log.debug(
 				"Create instance cache wrapper for " +
@@ -764,6 +822,7 @@ public class InvokerPortletImpl implements InvokerPortlet {
 	private Portlet _portlet;
 	private String _portletId;
 	private com.liferay.portal.model.Portlet _portletModel;
+	private PortletOutputCache _portletOutputCache;
 	private List<RenderFilter> _renderFilters;
 	private List<ResourceFilter> _resourceFilters =
 		new ArrayList<ResourceFilter>();
@@ -0,0 +1,569 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet;
+
+import com.liferay.portal.kernel.cache.CacheListener;
+import com.liferay.portal.kernel.cache.CacheListenerScope;
+import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.servlet.BufferCacheServletResponse;
+import com.liferay.portal.kernel.util.Digester;
+import com.liferay.portal.kernel.util.DigesterUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.Mergeable;
+import com.liferay.portal.kernel.util.SerializableUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.kernel.util.WebKeys;
+import com.liferay.portal.security.auth.AuthTokenUtil;
+import com.liferay.portal.security.permission.PermissionChecker;
+import com.liferay.portal.theme.ThemeDisplay;
+import com.liferay.portal.util.PortalUtil;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Serializable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.portlet.PortletMode;
+import javax.portlet.PortletPreferences;
+import javax.portlet.RenderRequest;
+import javax.portlet.RenderResponse;
+import javax.portlet.WindowState;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+/**
+ * Caches the view mode output of a portlet for all guests, or for a signed in
+ * user, that share the same page, preferences, render parameters, language,
+ * theme, and roles.
+ *
+ * <p>
+ * Besides the markup and the title, the output includes the response headers
+ * and cookies, the scripts, the page top and bottom content, and the page
+ * title, subtitle, description, and keywords that the portlet adds while
+ * rendering. The authentication tokens and the session ID in the markup are
+ * replaced with those of the current request. The output of portlets that add
+ * breadcrumb entries or authentication tokens of other portlets is not cached.
+ * </p>
+ *
+ * <p>
+ * Each node caches the output it renders. Removing the cached output removes
+ * it on all nodes of the cluster.
+ * </p>
+ *
+ * @author Brian Wing Shun Chan
+ */
+public class PortletOutputCache {
+
+	/**
+	 * Removes the shared attributes that a portlet can add to while rendering
+	 * from the request, so that the attributes the portlet sets only hold what
+	 * the portlet adds.
+	 *
+	 * @return the removed shared attributes, to be passed to {@link
+	 *         #restoreSharedAttributes(HttpServletRequest, Map)}
+	 */
+	public static Map<String, Object> removeSharedAttributes(
+		HttpServletRequest request, String portletId) {
+
+		Map<String, Object> sharedAttributes = new HashMap<String, Object>();
+
+		for (String name : _getSharedAttributeNames(portletId)) {
+			sharedAttributes.put(name, request.getAttribute(name));
+
+			request.removeAttribute(name);
+		}
+
+		return sharedAttributes;
+	}
+
+	/**
+	 * Merges the shared attributes that the portlet set while rendering into
+	 * the shared attributes that were removed from the request.
+	 *
+	 * @return the shared attributes that the portlet set while rendering
+	 */
+	public static Map<String, Object> restoreSharedAttributes(
+		HttpServletRequest request, Map<String, Object> sharedAttributes) {
+
+		Map<String, Object> portletSharedAttributes =
+			new HashMap<String, Object>();
+
+		for (Map.Entry<String, Object> entry : sharedAttributes.entrySet()) {
+			String name = entry.getKey();
+
+			Object value = request.getAttribute(name);
+
+			if (value != null) {
+				portletSharedAttributes.put(name, value);
+			}
+
+			Object sharedValue = entry.getValue();
+
+			if (sharedValue == null) {
+				continue;
+			}
+
+			request.setAttribute(name, sharedValue);
+
+			if (value != null) {
+				_mergeAttribute(request, name, value);
+			}
+		}
+
+		return portletSharedAttributes;
+	}
+
+	public PortletOutputCache(String portletId, int outputCacheTime) {
+		_portletId = portletId;
+		_outputCacheTime = outputCacheTime;
+
+		_portalCache = MultiVMPoolUtil.getCache(
+			PortletOutputCache.class.getName() + StringPool.POUND +
+				portletId);
+
+		_portalCache.registerCacheListener(
+			new GenerationCacheListener(), CacheListenerScope.ALL);
+	}
+
+	public void destroy() {
+		MultiVMPoolUtil.removeCache(_portalCache.getName());
+	}
+
+	/**
+	 * Returns the generation of the cached output. The generation is
+	 * incremented whenever the cached output is removed on any node, so output
+	 * rendered before the removal is not cached afterwards.
+	 */
+	public long getGeneration() {
+		return _generation.get();
+	}
+
+	/**
+	 * Returns the cache key of the render request, or <code>null</code> if the
+	 * output of the render request cannot be cached.
+	 */
+	public String getKey(String portletId, RenderRequest renderRequest) {
+		if (!PortletMode.VIEW.equals(renderRequest.getPortletMode())) {
+			return null;
+		}
+
+		WindowState windowState = renderRequest.getWindowState();
+
+		if (!WindowState.MAXIMIZED.equals(windowState) &&
+			!WindowState.NORMAL.equals(windowState)) {
+
+			return null;
+		}
+
+		ThemeDisplay themeDisplay = (ThemeDisplay)renderRequest.getAttribute(
+			WebKeys.THEME_DISPLAY);
+
+		if (themeDisplay.isImpersonated() || themeDisplay.isIsolated() ||
+			Validator.isNotNull(themeDisplay.getDoAsUserId())) {
+
+			return null;
+		}
+
+		StringBundler sb = new StringBundler();
+
+		sb.append(portletId);
+		sb.append(StringPool.POUND);
+		sb.append(themeDisplay.getPlid());
+		sb.append(StringPool.POUND);
+		sb.append(windowState);
+		sb.append(StringPool.POUND);
+		sb.append(themeDisplay.getPortalURL());
+		sb.append(StringPool.POUND);
+		sb.append(themeDisplay.getLanguageId());
+		sb.append(StringPool.POUND);
+		sb.append(themeDisplay.getThemeId());
+		sb.append(StringPool.POUND);
+		sb.append(themeDisplay.getColorSchemeId());
+		sb.append(StringPool.POUND);
+
+		PermissionChecker permissionChecker =
+			themeDisplay.getPermissionChecker();
+
+		if (permissionChecker.isSignedIn()) {
+			sb.append(themeDisplay.getUserId());
+			sb.append(StringPool.POUND);
+
+			long[] roleIds = permissionChecker.getRoleIds(
+				themeDisplay.getUserId(), themeDisplay.getScopeGroupId());
+
+			roleIds = Arrays.copyOf(roleIds, roleIds.length);
+
+			Arrays.sort(roleIds);
+
+			sb.append(Arrays.toString(roleIds));
+		}
+
+		sb.append(StringPool.POUND);
+
+		Map<String, String[]> parameterMap = new TreeMap<String, String[]>(
+			renderRequest.getParameterMap());
+
+		for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+			sb.append(entry.getKey());
+			sb.append(StringPool.EQUAL);
+			sb.append(Arrays.toString(entry.getValue()));
+			sb.append(StringPool.AMPERSAND);
+		}
+
+		sb.append(StringPool.POUND);
+
+		PortletPreferences portletPreferences = renderRequest.getPreferences();
+
+		sb.append(PortletPreferencesFactoryUtil.toXML(portletPreferences));
+
+		return DigesterUtil.digestBase64(Digester.SHA_1, sb.toString());
+	}
+
+	public String getPortletId() {
+		return _portletId;
+	}
+
+	/**
+	 * Caches the output of a render that started at the generation. The output
+	 * is not cached if the cached output was removed since the render started,
+	 * if the portlet set shared attributes that cannot be merged, such as
+	 * breadcrumb entries, or if the markup holds authentication tokens that
+	 * cannot be replaced on a later request.
+	 */
+	public void put(
+			String key, long generation, RenderRequest renderRequest,
+			RenderResponse renderResponse, Map<String, Object> sharedAttributes)
+		throws IOException {
+
+		if (generation != _generation.get()) {
+			return;
+		}
+
+		Map<String, Object> mergeableSharedAttributes =
+			new HashMap<String, Object>();
+
+		for (Map.Entry<String, Object> entry : sharedAttributes.entrySet()) {
+			Object value = entry.getValue();
+
+			if (!(value instanceof Mergeable) ||
+				!(value instanceof Serializable)) {
+
+				if (_log.isDebugEnabled()) {
+					_log.debug(
+						"Unable to cache the output of portlet " + _portletId +
+							" because it sets the shared attribute " +
+								entry.getKey());
+				}
+
+				return;
+			}
+
+			mergeableSharedAttributes.put(entry.getKey(), value);
+		}
+
+		RenderResponseImpl renderResponseImpl =
+			(RenderResponseImpl)renderResponse;
+
+		BufferCacheServletResponse bufferCacheServletResponse =
+			(BufferCacheServletResponse)
+				renderResponseImpl.getHttpServletResponse();
+
+		String content = StringUtil.replace(
+			bufferCacheServletResponse.getString(),
+			_getTokens(renderRequest, renderResponseImpl), _TOKEN_PLACEHOLDERS);
+
+		int index = content.indexOf(_P_AUTH_PARAMETER);
+
+		while (index != -1) {
+			index += _P_AUTH_PARAMETER.length();
+
+			if (!content.startsWith(_TOKEN_PLACEHOLDER_PREFIX, index)) {
+				if (_log.isDebugEnabled()) {
+					_log.debug(
+						"Unable to cache the output of portlet " + _portletId +
+							" because it has authentication tokens of " +
+								"other portlets");
+				}
+
+				return;
+			}
+
+			index = content.indexOf(_P_AUTH_PARAMETER, index);
+		}
+
+		byte[] sharedAttributesBytes = null;
+
+		if (!mergeableSharedAttributes.isEmpty()) {
+			sharedAttributesBytes = SerializableUtil.serialize(
+				mergeableSharedAttributes);
+		}
+
+		OutputCacheEntry outputCacheEntry = new OutputCacheEntry(
+			renderResponseImpl.getTitle(), content,
+			new LinkedHashMap<String, Object>(renderResponseImpl.getHeaders()),
+			sharedAttributesBytes);
+
+		// Keep the output on this node, the cached output of other nodes is
+		// removed through the replicated removal of all entries
+
+		_portalCache.putQuiet(key, outputCacheEntry, _outputCacheTime);
+
+		// Remove the output if the cached output was removed while it was put
+
+		if (generation != _generation.get()) {
+			_portalCache.remove(key);
+		}
+	}
+
+	public void removeAll() {
+		_generation.incrementAndGet();
+
+		_portalCache.removeAll();
+	}
+
+	/**
+	 * Writes the cached output of the render request to the render response
+	 * and returns <code>true</code>, or returns <code>false</code> if there is
+	 * no cached output.
+	 */
+	public boolean render(
+			String key, RenderRequest renderRequest,
+			RenderResponse renderResponse)
+		throws IOException {
+
+		OutputCacheEntry outputCacheEntry = _portalCache.get(key);
+
+		if (outputCacheEntry == null) {
+			return false;
+		}
+
+		RenderResponseImpl renderResponseImpl =
+			(RenderResponseImpl)renderResponse;
+
+		renderResponseImpl.setTitle(outputCacheEntry._title);
+
+		for (Map.Entry<String, Object> entry :
+				outputCacheEntry._headers.entrySet()) {
+
+			_addHeader(renderResponseImpl, entry.getKey(), entry.getValue());
+		}
+
+		BufferCacheServletResponse bufferCacheServletResponse =
+			(BufferCacheServletResponse)
+				renderResponseImpl.getHttpServletResponse();
+
+		PrintWriter printWriter = bufferCacheServletResponse.getWriter();
+
+		printWriter.print(
+			StringUtil.replace(
+				outputCacheEntry._content, _TOKEN_PLACEHOLDERS,
+				_getTokens(renderRequest, renderResponseImpl)));
+
+		if (outputCacheEntry._sharedAttributesBytes == null) {
+			return true;
+		}
+
+		Map<String, Object> sharedAttributes =
+			(Map<String, Object>)SerializableUtil.deserialize(
+				outputCacheEntry._sharedAttributesBytes);
+
+		HttpServletRequest request = PortalUtil.getHttpServletRequest(
+			renderRequest);
+
+		for (Map.Entry<String, Object> entry : sharedAttributes.entrySet()) {
+			_mergeAttribute(request, entry.getKey(), entry.getValue());
+		}
+
+		return true;
+	}
+
+	private static void _addHeader(
+		RenderResponseImpl renderResponseImpl, String name, Object values) {
+
+		if (values instanceof Cookie[]) {
+			for (Cookie cookie : (Cookie[])values) {
+				renderResponseImpl.addProperty((Cookie)cookie.clone());
+			}
+		}
+		else if (values instanceof Integer[]) {
+			for (Integer value : (Integer[])values) {
+				renderResponseImpl.addIntHeader(name, value);
+			}
+		}
+		else if (values instanceof Long[]) {
+			for (Long value : (Long[])values) {
+				renderResponseImpl.addDateHeader(name, value);
+			}
+		}
+		else if (values instanceof String[]) {
+			for (String value : (String[])values) {
+				renderResponseImpl.addHeader(name, value);
+			}
+		}
+	}
+
+	private static String[] _getSharedAttributeNames(String portletId) {
+		return new String[] {
+			WebKeys.AUI_SCRIPT_DATA, WebKeys.OUTPUT_DATA,
+			WebKeys.PAGE_DESCRIPTION, WebKeys.PAGE_KEYWORDS,
+			WebKeys.PAGE_SUBTITLE, WebKeys.PAGE_TITLE,
+			WebKeys.PORTLET_BREADCRUMBS,
+			WebKeys.PORTLET_BREADCRUMBS + StringPool.UNDERLINE + portletId,
+			WebKeys.PORTLET_OUTPUT_CACHE_DISABLED
+		};
+	}
+
+	private static String[] _getTokens(
+		RenderRequest renderRequest, RenderResponseImpl renderResponseImpl) {
+
+		HttpServletRequest request = PortalUtil.getHttpServletRequest(
+			renderRequest);
+
+		String sessionId = StringPool.BLANK;
+
+		HttpSession session = request.getSession(false);
+
+		if (session != null) {
+			sessionId = session.getId();
+		}
+
+		return new String[] {
+			GetterUtil.getString(AuthTokenUtil.getToken(request)),
+			GetterUtil.getString(
+				AuthTokenUtil.getToken(
+					request, renderResponseImpl.getPlid(),
+					renderResponseImpl.getPortletName())),
+			sessionId
+		};
+	}
+
+	private static void _mergeAttribute(
+		HttpServletRequest request, String name, Object value) {
+
+		Object requestValue = request.getAttribute(name);
+
+		if (requestValue == null) {
+			request.setAttribute(name, value);
+		}
+		else if (requestValue instanceof Mergeable) {
+			Mergeable<Object> mergeable = (Mergeable<Object>)requestValue;
+
+			request.setAttribute(name, mergeable.merge(value));
+		}
+		else if (requestValue instanceof List) {
+			List<Object> list = (List<Object>)requestValue;
+
+			list.addAll((List<Object>)value);
+		}
+	}
+
+	private static final String _P_AUTH_PARAMETER = "p_auth=";
+
+	private static final String _TOKEN_PLACEHOLDER_PREFIX = "[$";
+
+	private static final String[] _TOKEN_PLACEHOLDERS = {
+		"[$P_AUTH$]", "[$P_P_AUTH$]", "[$SESSION_ID$]"
+	};
+
+	private static Log _log = LogFactoryUtil.getLog(PortletOutputCache.class);
+
+	private final AtomicLong _generation = new AtomicLong();
+	private final int _outputCacheTime;
+	private final PortalCache<String, OutputCacheEntry> _portalCache;
+	private final String _portletId;
+
+	private static class OutputCacheEntry implements Serializable {
+
+		public OutputCacheEntry(
+			String title, String content, Map<String, Object> headers,
+			byte[] sharedAttributesBytes) {
+
+			_title = title;
+			_content = content;
+			_headers = headers;
+			_sharedAttributesBytes = sharedAttributesBytes;
+		}
+
+		private static final long serialVersionUID = 1L;
+
+		private final String _content;
+		private final Map<String, Object> _headers;
+		private final byte[] _sharedAttributesBytes;
+		private final String _title;
+
+	}
+
+	/**
+	 * Increments the generation when the cached output is removed on this or
+	 * on another node.
+	 */
+	private class GenerationCacheListener
+		implements CacheListener<String, OutputCacheEntry> {
+
+		@Override
+		public void notifyEntryEvicted(
+			PortalCache<String, OutputCacheEntry> portalCache, String key,
+			OutputCacheEntry outputCacheEntry, int timeToLive) {
+		}
+
+		@Override
+		public void notifyEntryExpired(
+			PortalCache<String, OutputCacheEntry> portalCache, String key,
+			OutputCacheEntry outputCacheEntry, int timeToLive) {
+		}
+
+		@Override
+		public void notifyEntryPut(
+			PortalCache<String, OutputCacheEntry> portalCache, String key,
+			OutputCacheEntry outputCacheEntry, int timeToLive) {
+		}
+
+		@Override
+		public void notifyEntryRemoved(
+			PortalCache<String, OutputCacheEntry> portalCache, String key,
+			OutputCacheEntry outputCacheEntry, int timeToLive) {
+		}
+
+		@Override
+		public void notifyEntryUpdated(
+			PortalCache<String, OutputCacheEntry> portalCache, String key,
+			OutputCacheEntry outputCacheEntry, int timeToLive) {
+		}
+
+		@Override
+		public void notifyRemoveAll(
+			PortalCache<String, OutputCacheEntry> portalCache) {
+
+			_generation.incrementAndGet();
+		}
+
+	}
+
+}
\ No newline at end of file
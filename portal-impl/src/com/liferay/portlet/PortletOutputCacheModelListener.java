@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet;
+
+import com.liferay.portal.ModelListenerException;
+import com.liferay.portal.model.ModelListener;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Removes the cached output of the portlets that declare a model class as an
+ * output cache model class whenever an entity of that model changes.
+ *
+ * @author Brian Wing Shun Chan
+ */
+public class PortletOutputCacheModelListener implements ModelListener<Object> {
+
+	public void addPortletOutputCache(PortletOutputCache portletOutputCache) {
+		_portletOutputCaches.add(portletOutputCache);
+	}
+
+	public boolean hasPortletOutputCaches() {
+		return !_portletOutputCaches.isEmpty();
+	}
+
+	@Override
+	public void onAfterAddAssociation(
+			Object classPK, String associationClassName,
+			Object associationClassPK)
+		throws ModelListenerException {
+
+		removeAll();
+	}
+
+	@Override
+	public void onAfterCreate(Object model) throws ModelListenerException {
+		removeAll();
+	}
+
+	@Override
+	public void onAfterRemove(Object model) throws ModelListenerException {
+		removeAll();
+	}
+
+	@Override
+	public void onAfterRemoveAssociation(
+			Object classPK, String associationClassName,
+			Object associationClassPK)
+		throws ModelListenerException {
+
+		removeAll();
+	}
+
+	@Override
+	public void onAfterUpdate(Object model) throws ModelListenerException {
+		removeAll();
+	}
+
+	@Override
+	public void onBeforeAddAssociation(
+			Object classPK, String associationClassName,
+			Object associationClassPK)
+		throws ModelListenerException {
+	}
+
+	@Override
+	public void onBeforeCreate(Object model) throws ModelListenerException {
+	}
+
+	@Override
+	public void onBeforeRemove(Object model) throws ModelListenerException {
+	}
+
+	@Override
+	public void onBeforeRemoveAssociation(
+			Object classPK, String associationClassName,
+			Object associationClassPK)
+		throws ModelListenerException {
+	}
+
+	@Override
+	public void onBeforeUpdate(Object model) throws ModelListenerException {
+	}
+
+	public void removePortletOutputCache(
+		PortletOutputCache portletOutputCache) {
+
+		_portletOutputCaches.remove(portletOutputCache);
+	}
+
+	protected void removeAll() {
+		for (PortletOutputCache portletOutputCache : _portletOutputCaches) {
+			portletOutputCache.removeAll();
+		}
+	}
+
+	private final Set<PortletOutputCache> _portletOutputCaches =
+		new CopyOnWriteArraySet<PortletOutputCache>();
+
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.model.ModelListenerRegistrationUtil;
+import com.liferay.portal.model.Portlet;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Holds the output caches of the portlets with an output cache time and the
+ * model listeners that remove their cached output.
+ *
+ * @author Brian Wing Shun Chan
+ */
+public class PortletOutputCachePool {
+
+	public static PortletOutputCache get(
+		Portlet portlet, ClassLoader classLoader) {
+
+		return _instance._get(portlet, classLoader);
+	}
+
+	public static void remove(String portletId) {
+		_instance._remove(portletId);
+	}
+
+	private PortletOutputCachePool() {
+	}
+
+	private synchronized PortletOutputCache _get(
+		Portlet portlet, ClassLoader classLoader) {
+
+		if (portlet.getOutputCacheTime() <= 0) {
+			return null;
+		}
+
+		String rootPortletId = portlet.getRootPortletId();
+
+		PortletOutputCache portletOutputCache = _portletOutputCaches.get(
+			rootPortletId);
+
+		if (portletOutputCache != null) {
+			return portletOutputCache;
+		}
+
+		portletOutputCache = new PortletOutputCache(
+			rootPortletId, portlet.getOutputCacheTime());
+
+		for (String modelClassName : portlet.getOutputCacheModelClasses()) {
+			Class<?> modelClass = null;
+
+			try {
+				modelClass = classLoader.loadClass(modelClassName);
+			}
+			catch (ClassNotFoundException cnfe) {
+				_log.error(
+					"Unable to load output cache model class " +
+						modelClassName + " for portlet " + rootPortletId,
+					cnfe);
+
+				continue;
+			}
+
+			PortletOutputCacheModelListener portletOutputCacheModelListener =
+				_portletOutputCacheModelListeners.get(modelClass);
+
+			if (portletOutputCacheModelListener == null) {
+				portletOutputCacheModelListener =
+					new PortletOutputCacheModelListener();
+
+				ModelListenerRegistrationUtil.register(
+					modelClass, portletOutputCacheModelListener);
+
+				_portletOutputCacheModelListeners.put(
+					modelClass, portletOutputCacheModelListener);
+			}
+
+			portletOutputCacheModelListener.addPortletOutputCache(
+				portletOutputCache);
+		}
+
+		_portletOutputCaches.put(rootPortletId, portletOutputCache);
+
+		return portletOutputCache;
+	}
+
+	private synchronized void _remove(String portletId) {
+		PortletOutputCache portletOutputCache = _portletOutputCaches.remove(
+			portletId);
+
+		if (portletOutputCache == null) {
+			return;
+		}
+
+		Iterator<Map.Entry<Class<?>, PortletOutputCacheModelListener>>
+			iterator = _portletOutputCacheModelListeners.entrySet().iterator();
+
+		while (iterator.hasNext()) {
+			Map.Entry<Class<?>, PortletOutputCacheModelListener> entry =
+				iterator.next();
+
+			PortletOutputCacheModelListener portletOutputCacheModelListener =
+				entry.getValue();
+
+			portletOutputCacheModelListener.removePortletOutputCache(
+				portletOutputCache);
+
+			if (!portletOutputCacheModelListener.hasPortletOutputCaches()) {
+				ModelListenerRegistrationUtil.unregister(
+					entry.getKey(), portletOutputCacheModelListener);
+
+				iterator.remove();
+			}
+		}
+
+		portletOutputCache.destroy();
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(
+		PortletOutputCachePool.class);
+
+	private static PortletOutputCachePool _instance =
+		new PortletOutputCachePool();
+
+	private final Map<String, PortletOutputCache> _portletOutputCaches =
+		new HashMap<String, PortletOutputCache>();
+	private final Map<Class<?>, PortletOutputCacheModelListener>
+		_portletOutputCacheModelListeners =
+			new HashMap<Class<?>, PortletOutputCacheModelListener>();
+
+}
\ No newline at end of file
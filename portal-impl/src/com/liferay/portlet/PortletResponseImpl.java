@@ -327,6 +327,10 @@ public abstract class PortletResponseImpl implements LiferayPortletResponse {
 		return _companyId;
 	}
 
+	public Map<String, Object> getHeaders() {
+		return _headers;
+	}
+
 	public HttpServletRequest getHttpServletRequest() {
 		return _portletRequestImpl.getHttpServletRequest();
 	}
@@ -15,13 +15,18 @@
 package com.liferay.portlet.admin.action;
 
 import com.liferay.mail.service.MailServiceUtil;
+import com.liferay.portal.cache.ehcache.EhcachePortalCacheManager;
+import com.liferay.portal.cache.statistics.PortalCacheStatistics;
 import com.liferay.portal.captcha.CaptchaImpl;
 import com.liferay.portal.captcha.recaptcha.ReCaptchaImpl;
 import com.liferay.portal.captcha.simplecaptcha.SimpleCaptchaImpl;
 import com.liferay.portal.convert.ConvertException;
 import com.liferay.portal.convert.ConvertProcess;
+import com.liferay.portal.dao.orm.common.LocalCacheThreadLocal;
 import com.liferay.portal.kernel.cache.CacheRegistryUtil;
 import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.cache.PortalCacheManager;
+import com.liferay.portal.kernel.cache.PortalCacheProvider;
 import com.liferay.portal.kernel.cache.SingleVMPoolUtil;
 import com.liferay.portal.kernel.captcha.Captcha;
 import com.liferay.portal.kernel.captcha.CaptchaUtil;
@@ -204,6 +209,9 @@ public class EditServerAction extends PortletAction {
 		else if (cmd.equals("reindexDictionaries")) {
 			reindexDictionaries(actionRequest);
 		}
+		else if (cmd.equals("resetCacheStatistics")) {
+			resetCacheStatistics();
+		}
 		else if (cmd.equals("runScript")) {
 			runScript(portletConfig, actionRequest, actionResponse);
 		}
@@ -490,6 +498,34 @@ public class EditServerAction extends PortletAction {
 		}
 	}
 
+	protected void resetCacheStatistics() {
+		for (PortalCacheManager<?, ?> portalCacheManager :
+				PortalCacheProvider.getPortalCacheManagers()) {
+
+			if (!(portalCacheManager instanceof EhcachePortalCacheManager)) {
+				continue;
+			}
+
+			EhcachePortalCacheManager<?, ?> ehcachePortalCacheManager =
+				(EhcachePortalCacheManager<?, ?>)portalCacheManager;
+
+			Map<String, PortalCacheStatistics> portalCacheStatisticsMap =
+				ehcachePortalCacheManager.getPortalCacheStatistics();
+
+			for (PortalCacheStatistics portalCacheStatistics :
+					portalCacheStatisticsMap.values()) {
+
+				portalCacheStatistics.reset();
+			}
+		}
+
+		for (LocalCacheThreadLocal localCacheThreadLocal :
+				LocalCacheThreadLocal.getLocalCacheThreadLocals()) {
+
+			localCacheThreadLocal.resetStatistics();
+		}
+	}
+
 	protected void runScript(
 			PortletConfig portletConfig, ActionRequest actionRequest,
 			ActionResponse actionResponse)
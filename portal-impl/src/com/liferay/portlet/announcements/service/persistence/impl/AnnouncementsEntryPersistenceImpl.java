@@ -5236,9 +5236,11 @@ public class AnnouncementsEntryPersistenceImpl extends BasePersistenceImpl<Annou
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(AnnouncementsEntryModelImpl.ENTITY_CACHE_ENABLED,
+				AnnouncementsEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			AnnouncementsEntry announcementsEntry = (AnnouncementsEntry)EntityCacheUtil.getResult(AnnouncementsEntryModelImpl.ENTITY_CACHE_ENABLED,
-					AnnouncementsEntryImpl.class, primaryKey);
+			AnnouncementsEntry announcementsEntry = (AnnouncementsEntry)cachedResults.get(primaryKey);
 
 			if (announcementsEntry == null) {
 				if (uncachedPrimaryKeys == null) {
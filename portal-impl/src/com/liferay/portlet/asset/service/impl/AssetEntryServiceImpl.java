@@ -21,6 +21,7 @@ import com.liferay.portal.kernel.dao.orm.QueryUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.security.permission.ActionKeys;
 import com.liferay.portal.security.permission.PermissionChecker;
@@ -35,7 +36,9 @@ import com.liferay.portlet.asset.util.AssetUtil;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Provides the remote service for accessing and updating asset entries. Its
@@ -277,6 +280,8 @@ public class AssetEntryServiceImpl extends AssetEntryServiceBaseImpl {
 
 			filteredEntries = new ArrayList<AssetEntry>();
 
+			preloadPermissions(permissionChecker, entries);
+
 			for (AssetEntry entry : entries) {
 				String className = entry.getClassName();
 				long classPK = entry.getClassPK();
@@ -379,6 +384,70 @@ public class AssetEntryServiceImpl extends AssetEntryServiceBaseImpl {
 		return false;
 	}
 
+	/**
+	 * Checks the view permissions of all of the entries at once, so that the
+	 * asset renderer factories' permission checks are served from the
+	 * permission cache.
+	 */
+	protected void preloadPermissions(
+		PermissionChecker permissionChecker, List<AssetEntry> entries) {
+
+		if (entries.size() < 2) {
+			return;
+		}
+
+		Map<Long, Map<String, List<Long>>> classPKsMap =
+			new HashMap<Long, Map<String, List<Long>>>();
+
+		for (AssetEntry entry : entries) {
+			Map<String, List<Long>> groupClassPKsMap = classPKsMap.get(
+				entry.getGroupId());
+
+			if (groupClassPKsMap == null) {
+				groupClassPKsMap = new HashMap<String, List<Long>>();
+
+				classPKsMap.put(entry.getGroupId(), groupClassPKsMap);
+			}
+
+			List<Long> classPKs = groupClassPKsMap.get(entry.getClassName());
+
+			if (classPKs == null) {
+				classPKs = new ArrayList<Long>();
+
+				groupClassPKsMap.put(entry.getClassName(), classPKs);
+			}
+
+			classPKs.add(entry.getClassPK());
+		}
+
+		for (Map.Entry<Long, Map<String, List<Long>>> entry :
+				classPKsMap.entrySet()) {
+
+			long groupId = entry.getKey();
+
+			Map<String, List<Long>> groupClassPKsMap = entry.getValue();
+
+			for (Map.Entry<String, List<Long>> groupEntry :
+					groupClassPKsMap.entrySet()) {
+
+				List<Long> classPKs = groupEntry.getValue();
+
+				if (classPKs.size() < 2) {
+					continue;
+				}
+
+				try {
+					permissionChecker.hasPermissions(
+						groupId, groupEntry.getKey(),
+						ArrayUtil.toLongArray(classPKs), ActionKeys.VIEW);
+				}
+				catch (Exception e) {
+					_log.error(e, e);
+				}
+			}
+		}
+	}
+
 	private static Log _log = LogFactoryUtil.getLog(
 		AssetEntryServiceImpl.class);
 
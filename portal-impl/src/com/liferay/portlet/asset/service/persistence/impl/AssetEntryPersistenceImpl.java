@@ -4175,9 +4175,11 @@ public class AssetEntryPersistenceImpl extends BasePersistenceImpl<AssetEntry>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(AssetEntryModelImpl.ENTITY_CACHE_ENABLED,
+				AssetEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			AssetEntry assetEntry = (AssetEntry)EntityCacheUtil.getResult(AssetEntryModelImpl.ENTITY_CACHE_ENABLED,
-					AssetEntryImpl.class, primaryKey);
+			AssetEntry assetEntry = (AssetEntry)cachedResults.get(primaryKey);
 
 			if (assetEntry == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3361,9 +3361,11 @@ public class AssetLinkPersistenceImpl extends BasePersistenceImpl<AssetLink>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(AssetLinkModelImpl.ENTITY_CACHE_ENABLED,
+				AssetLinkImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			AssetLink assetLink = (AssetLink)EntityCacheUtil.getResult(AssetLinkModelImpl.ENTITY_CACHE_ENABLED,
-					AssetLinkImpl.class, primaryKey);
+			AssetLink assetLink = (AssetLink)cachedResults.get(primaryKey);
 
 			if (assetLink == null) {
 				if (uncachedPrimaryKeys == null) {
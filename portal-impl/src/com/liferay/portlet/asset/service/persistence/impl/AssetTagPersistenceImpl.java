@@ -1630,9 +1630,11 @@ public class AssetTagPersistenceImpl extends BasePersistenceImpl<AssetTag>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(AssetTagModelImpl.ENTITY_CACHE_ENABLED,
+				AssetTagImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			AssetTag assetTag = (AssetTag)EntityCacheUtil.getResult(AssetTagModelImpl.ENTITY_CACHE_ENABLED,
-					AssetTagImpl.class, primaryKey);
+			AssetTag assetTag = (AssetTag)cachedResults.get(primaryKey);
 
 			if (assetTag == null) {
 				if (uncachedPrimaryKeys == null) {
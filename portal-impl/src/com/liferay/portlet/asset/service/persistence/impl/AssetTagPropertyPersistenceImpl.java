@@ -2363,9 +2363,11 @@ public class AssetTagPropertyPersistenceImpl extends BasePersistenceImpl<AssetTa
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(AssetTagPropertyModelImpl.ENTITY_CACHE_ENABLED,
+				AssetTagPropertyImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			AssetTagProperty assetTagProperty = (AssetTagProperty)EntityCacheUtil.getResult(AssetTagPropertyModelImpl.ENTITY_CACHE_ENABLED,
-					AssetTagPropertyImpl.class, primaryKey);
+			AssetTagProperty assetTagProperty = (AssetTagProperty)cachedResults.get(primaryKey);
 
 			if (assetTagProperty == null) {
 				if (uncachedPrimaryKeys == null) {
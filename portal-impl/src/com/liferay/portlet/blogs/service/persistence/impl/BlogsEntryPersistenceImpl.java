@@ -18274,9 +18274,11 @@ public class BlogsEntryPersistenceImpl extends BasePersistenceImpl<BlogsEntry>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(BlogsEntryModelImpl.ENTITY_CACHE_ENABLED,
+				BlogsEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			BlogsEntry blogsEntry = (BlogsEntry)EntityCacheUtil.getResult(BlogsEntryModelImpl.ENTITY_CACHE_ENABLED,
-					BlogsEntryImpl.class, primaryKey);
+			BlogsEntry blogsEntry = (BlogsEntry)cachedResults.get(primaryKey);
 
 			if (blogsEntry == null) {
 				if (uncachedPrimaryKeys == null) {
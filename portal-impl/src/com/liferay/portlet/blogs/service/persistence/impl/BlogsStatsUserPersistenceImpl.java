@@ -3323,9 +3323,11 @@ public class BlogsStatsUserPersistenceImpl extends BasePersistenceImpl<BlogsStat
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(BlogsStatsUserModelImpl.ENTITY_CACHE_ENABLED,
+				BlogsStatsUserImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			BlogsStatsUser blogsStatsUser = (BlogsStatsUser)EntityCacheUtil.getResult(BlogsStatsUserModelImpl.ENTITY_CACHE_ENABLED,
-					BlogsStatsUserImpl.class, primaryKey);
+			BlogsStatsUser blogsStatsUser = (BlogsStatsUser)cachedResults.get(primaryKey);
 
 			if (blogsStatsUser == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -12435,9 +12435,11 @@ public class BookmarksEntryPersistenceImpl extends BasePersistenceImpl<Bookmarks
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(BookmarksEntryModelImpl.ENTITY_CACHE_ENABLED,
+				BookmarksEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			BookmarksEntry bookmarksEntry = (BookmarksEntry)EntityCacheUtil.getResult(BookmarksEntryModelImpl.ENTITY_CACHE_ENABLED,
-					BookmarksEntryImpl.class, primaryKey);
+			BookmarksEntry bookmarksEntry = (BookmarksEntry)cachedResults.get(primaryKey);
 
 			if (bookmarksEntry == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -7327,9 +7327,11 @@ public class BookmarksFolderPersistenceImpl extends BasePersistenceImpl<Bookmark
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(BookmarksFolderModelImpl.ENTITY_CACHE_ENABLED,
+				BookmarksFolderImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			BookmarksFolder bookmarksFolder = (BookmarksFolder)EntityCacheUtil.getResult(BookmarksFolderModelImpl.ENTITY_CACHE_ENABLED,
-					BookmarksFolderImpl.class, primaryKey);
+			BookmarksFolder bookmarksFolder = (BookmarksFolder)cachedResults.get(primaryKey);
 
 			if (bookmarksFolder == null) {
 				if (uncachedPrimaryKeys == null) {
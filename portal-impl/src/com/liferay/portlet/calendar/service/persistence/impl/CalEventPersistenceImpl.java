@@ -7860,9 +7860,11 @@ public class CalEventPersistenceImpl extends BasePersistenceImpl<CalEvent>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(CalEventModelImpl.ENTITY_CACHE_ENABLED,
+				CalEventImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			CalEvent calEvent = (CalEvent)EntityCacheUtil.getResult(CalEventModelImpl.ENTITY_CACHE_ENABLED,
-					CalEventImpl.class, primaryKey);
+			CalEvent calEvent = (CalEvent)cachedResults.get(primaryKey);
 
 			if (calEvent == null) {
 				if (uncachedPrimaryKeys == null) {
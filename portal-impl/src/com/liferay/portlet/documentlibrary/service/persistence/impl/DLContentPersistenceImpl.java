@@ -2614,9 +2614,11 @@ public class DLContentPersistenceImpl extends BasePersistenceImpl<DLContent>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DLContentModelImpl.ENTITY_CACHE_ENABLED,
+				DLContentImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DLContent dlContent = (DLContent)EntityCacheUtil.getResult(DLContentModelImpl.ENTITY_CACHE_ENABLED,
-					DLContentImpl.class, primaryKey);
+			DLContent dlContent = (DLContent)cachedResults.get(primaryKey);
 
 			if (dlContent == null) {
 				if (uncachedPrimaryKeys == null) {
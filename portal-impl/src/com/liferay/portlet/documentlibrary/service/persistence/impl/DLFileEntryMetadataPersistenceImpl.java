@@ -2853,9 +2853,11 @@ public class DLFileEntryMetadataPersistenceImpl extends BasePersistenceImpl<DLFi
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DLFileEntryMetadataModelImpl.ENTITY_CACHE_ENABLED,
+				DLFileEntryMetadataImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DLFileEntryMetadata dlFileEntryMetadata = (DLFileEntryMetadata)EntityCacheUtil.getResult(DLFileEntryMetadataModelImpl.ENTITY_CACHE_ENABLED,
-					DLFileEntryMetadataImpl.class, primaryKey);
+			DLFileEntryMetadata dlFileEntryMetadata = (DLFileEntryMetadata)cachedResults.get(primaryKey);
 
 			if (dlFileEntryMetadata == null) {
 				if (uncachedPrimaryKeys == null) {
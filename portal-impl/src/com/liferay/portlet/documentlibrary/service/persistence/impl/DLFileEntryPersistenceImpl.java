@@ -11650,9 +11650,11 @@ public class DLFileEntryPersistenceImpl extends BasePersistenceImpl<DLFileEntry>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DLFileEntryModelImpl.ENTITY_CACHE_ENABLED,
+				DLFileEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DLFileEntry dlFileEntry = (DLFileEntry)EntityCacheUtil.getResult(DLFileEntryModelImpl.ENTITY_CACHE_ENABLED,
-					DLFileEntryImpl.class, primaryKey);
+			DLFileEntry dlFileEntry = (DLFileEntry)cachedResults.get(primaryKey);
 
 			if (dlFileEntry == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3521,9 +3521,11 @@ public class DLFileEntryTypePersistenceImpl extends BasePersistenceImpl<DLFileEn
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DLFileEntryTypeModelImpl.ENTITY_CACHE_ENABLED,
+				DLFileEntryTypeImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DLFileEntryType dlFileEntryType = (DLFileEntryType)EntityCacheUtil.getResult(DLFileEntryTypeModelImpl.ENTITY_CACHE_ENABLED,
-					DLFileEntryTypeImpl.class, primaryKey);
+			DLFileEntryType dlFileEntryType = (DLFileEntryType)cachedResults.get(primaryKey);
 
 			if (dlFileEntryType == null) {
 				if (uncachedPrimaryKeys == null) {
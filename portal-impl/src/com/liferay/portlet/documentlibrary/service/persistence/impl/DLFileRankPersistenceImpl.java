@@ -2886,9 +2886,11 @@ public class DLFileRankPersistenceImpl extends BasePersistenceImpl<DLFileRank>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DLFileRankModelImpl.ENTITY_CACHE_ENABLED,
+				DLFileRankImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DLFileRank dlFileRank = (DLFileRank)EntityCacheUtil.getResult(DLFileRankModelImpl.ENTITY_CACHE_ENABLED,
-					DLFileRankImpl.class, primaryKey);
+			DLFileRank dlFileRank = (DLFileRank)cachedResults.get(primaryKey);
 
 			if (dlFileRank == null) {
 				if (uncachedPrimaryKeys == null) {
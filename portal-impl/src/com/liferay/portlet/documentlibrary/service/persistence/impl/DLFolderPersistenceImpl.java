@@ -10955,9 +10955,11 @@ public class DLFolderPersistenceImpl extends BasePersistenceImpl<DLFolder>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DLFolderModelImpl.ENTITY_CACHE_ENABLED,
+				DLFolderImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DLFolder dlFolder = (DLFolder)EntityCacheUtil.getResult(DLFolderModelImpl.ENTITY_CACHE_ENABLED,
-					DLFolderImpl.class, primaryKey);
+			DLFolder dlFolder = (DLFolder)cachedResults.get(primaryKey);
 
 			if (dlFolder == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1171,9 +1171,11 @@ public class DLSyncEventPersistenceImpl extends BasePersistenceImpl<DLSyncEvent>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DLSyncEventModelImpl.ENTITY_CACHE_ENABLED,
+				DLSyncEventImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DLSyncEvent dlSyncEvent = (DLSyncEvent)EntityCacheUtil.getResult(DLSyncEventModelImpl.ENTITY_CACHE_ENABLED,
-					DLSyncEventImpl.class, primaryKey);
+			DLSyncEvent dlSyncEvent = (DLSyncEvent)cachedResults.get(primaryKey);
 
 			if (dlSyncEvent == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3435,9 +3435,11 @@ public class DDLRecordPersistenceImpl extends BasePersistenceImpl<DDLRecord>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DDLRecordModelImpl.ENTITY_CACHE_ENABLED,
+				DDLRecordImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DDLRecord ddlRecord = (DDLRecord)EntityCacheUtil.getResult(DDLRecordModelImpl.ENTITY_CACHE_ENABLED,
-					DDLRecordImpl.class, primaryKey);
+			DDLRecord ddlRecord = (DDLRecord)cachedResults.get(primaryKey);
 
 			if (ddlRecord == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1827,9 +1827,11 @@ public class DDLRecordVersionPersistenceImpl extends BasePersistenceImpl<DDLReco
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DDLRecordVersionModelImpl.ENTITY_CACHE_ENABLED,
+				DDLRecordVersionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DDLRecordVersion ddlRecordVersion = (DDLRecordVersion)EntityCacheUtil.getResult(DDLRecordVersionModelImpl.ENTITY_CACHE_ENABLED,
-					DDLRecordVersionImpl.class, primaryKey);
+			DDLRecordVersion ddlRecordVersion = (DDLRecordVersion)cachedResults.get(primaryKey);
 
 			if (ddlRecordVersion == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2892,9 +2892,11 @@ public class DDMContentPersistenceImpl extends BasePersistenceImpl<DDMContent>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DDMContentModelImpl.ENTITY_CACHE_ENABLED,
+				DDMContentImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DDMContent ddmContent = (DDMContent)EntityCacheUtil.getResult(DDMContentModelImpl.ENTITY_CACHE_ENABLED,
-					DDMContentImpl.class, primaryKey);
+			DDMContent ddmContent = (DDMContent)cachedResults.get(primaryKey);
 
 			if (ddmContent == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1764,9 +1764,11 @@ public class DDMStorageLinkPersistenceImpl extends BasePersistenceImpl<DDMStorag
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DDMStorageLinkModelImpl.ENTITY_CACHE_ENABLED,
+				DDMStorageLinkImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DDMStorageLink ddmStorageLink = (DDMStorageLink)EntityCacheUtil.getResult(DDMStorageLinkModelImpl.ENTITY_CACHE_ENABLED,
-					DDMStorageLinkImpl.class, primaryKey);
+			DDMStorageLink ddmStorageLink = (DDMStorageLink)cachedResults.get(primaryKey);
 
 			if (ddmStorageLink == null) {
 				if (uncachedPrimaryKeys == null) {
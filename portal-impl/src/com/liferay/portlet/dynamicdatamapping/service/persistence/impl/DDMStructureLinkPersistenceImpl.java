@@ -1721,9 +1721,11 @@ public class DDMStructureLinkPersistenceImpl extends BasePersistenceImpl<DDMStru
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DDMStructureLinkModelImpl.ENTITY_CACHE_ENABLED,
+				DDMStructureLinkImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DDMStructureLink ddmStructureLink = (DDMStructureLink)EntityCacheUtil.getResult(DDMStructureLinkModelImpl.ENTITY_CACHE_ENABLED,
-					DDMStructureLinkImpl.class, primaryKey);
+			DDMStructureLink ddmStructureLink = (DDMStructureLink)cachedResults.get(primaryKey);
 
 			if (ddmStructureLink == null) {
 				if (uncachedPrimaryKeys == null) {
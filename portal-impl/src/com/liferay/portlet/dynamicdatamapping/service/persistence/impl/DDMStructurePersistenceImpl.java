@@ -9080,9 +9080,11 @@ public class DDMStructurePersistenceImpl extends BasePersistenceImpl<DDMStructur
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DDMStructureModelImpl.ENTITY_CACHE_ENABLED,
+				DDMStructureImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DDMStructure ddmStructure = (DDMStructure)EntityCacheUtil.getResult(DDMStructureModelImpl.ENTITY_CACHE_ENABLED,
-					DDMStructureImpl.class, primaryKey);
+			DDMStructure ddmStructure = (DDMStructure)cachedResults.get(primaryKey);
 
 			if (ddmStructure == null) {
 				if (uncachedPrimaryKeys == null) {
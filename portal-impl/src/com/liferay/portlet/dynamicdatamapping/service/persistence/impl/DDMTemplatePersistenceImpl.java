@@ -12245,9 +12245,11 @@ public class DDMTemplatePersistenceImpl extends BasePersistenceImpl<DDMTemplate>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(DDMTemplateModelImpl.ENTITY_CACHE_ENABLED,
+				DDMTemplateImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			DDMTemplate ddmTemplate = (DDMTemplate)EntityCacheUtil.getResult(DDMTemplateModelImpl.ENTITY_CACHE_ENABLED,
-					DDMTemplateImpl.class, primaryKey);
+			DDMTemplate ddmTemplate = (DDMTemplate)cachedResults.get(primaryKey);
 
 			if (ddmTemplate == null) {
 				if (uncachedPrimaryKeys == null) {
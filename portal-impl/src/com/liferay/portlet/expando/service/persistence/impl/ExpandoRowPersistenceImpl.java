@@ -1718,9 +1718,11 @@ public class ExpandoRowPersistenceImpl extends BasePersistenceImpl<ExpandoRow>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ExpandoRowModelImpl.ENTITY_CACHE_ENABLED,
+				ExpandoRowImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ExpandoRow expandoRow = (ExpandoRow)EntityCacheUtil.getResult(ExpandoRowModelImpl.ENTITY_CACHE_ENABLED,
-					ExpandoRowImpl.class, primaryKey);
+			ExpandoRow expandoRow = (ExpandoRow)cachedResults.get(primaryKey);
 
 			if (expandoRow == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1336,9 +1336,11 @@ public class ExpandoTablePersistenceImpl extends BasePersistenceImpl<ExpandoTabl
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ExpandoTableModelImpl.ENTITY_CACHE_ENABLED,
+				ExpandoTableImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ExpandoTable expandoTable = (ExpandoTable)EntityCacheUtil.getResult(ExpandoTableModelImpl.ENTITY_CACHE_ENABLED,
-					ExpandoTableImpl.class, primaryKey);
+			ExpandoTable expandoTable = (ExpandoTable)cachedResults.get(primaryKey);
 
 			if (expandoTable == null) {
 				if (uncachedPrimaryKeys == null) {
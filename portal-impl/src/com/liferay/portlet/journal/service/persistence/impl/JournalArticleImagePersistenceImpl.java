@@ -2643,9 +2643,11 @@ public class JournalArticleImagePersistenceImpl extends BasePersistenceImpl<Jour
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(JournalArticleImageModelImpl.ENTITY_CACHE_ENABLED,
+				JournalArticleImageImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			JournalArticleImage journalArticleImage = (JournalArticleImage)EntityCacheUtil.getResult(JournalArticleImageModelImpl.ENTITY_CACHE_ENABLED,
-					JournalArticleImageImpl.class, primaryKey);
+			JournalArticleImage journalArticleImage = (JournalArticleImage)cachedResults.get(primaryKey);
 
 			if (journalArticleImage == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -29909,9 +29909,11 @@ public class JournalArticlePersistenceImpl extends BasePersistenceImpl<JournalAr
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(JournalArticleModelImpl.ENTITY_CACHE_ENABLED,
+				JournalArticleImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			JournalArticle journalArticle = (JournalArticle)EntityCacheUtil.getResult(JournalArticleModelImpl.ENTITY_CACHE_ENABLED,
-					JournalArticleImpl.class, primaryKey);
+			JournalArticle journalArticle = (JournalArticle)cachedResults.get(primaryKey);
 
 			if (journalArticle == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2154,9 +2154,11 @@ public class JournalArticleResourcePersistenceImpl extends BasePersistenceImpl<J
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(JournalArticleResourceModelImpl.ENTITY_CACHE_ENABLED,
+				JournalArticleResourceImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			JournalArticleResource journalArticleResource = (JournalArticleResource)EntityCacheUtil.getResult(JournalArticleResourceModelImpl.ENTITY_CACHE_ENABLED,
-					JournalArticleResourceImpl.class, primaryKey);
+			JournalArticleResource journalArticleResource = (JournalArticleResource)cachedResults.get(primaryKey);
 
 			if (journalArticleResource == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -5050,9 +5050,11 @@ public class JournalContentSearchPersistenceImpl extends BasePersistenceImpl<Jou
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(JournalContentSearchModelImpl.ENTITY_CACHE_ENABLED,
+				JournalContentSearchImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			JournalContentSearch journalContentSearch = (JournalContentSearch)EntityCacheUtil.getResult(JournalContentSearchModelImpl.ENTITY_CACHE_ENABLED,
-					JournalContentSearchImpl.class, primaryKey);
+			JournalContentSearch journalContentSearch = (JournalContentSearch)cachedResults.get(primaryKey);
 
 			if (journalContentSearch == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -7684,9 +7684,11 @@ public class JournalFolderPersistenceImpl extends BasePersistenceImpl<JournalFol
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(JournalFolderModelImpl.ENTITY_CACHE_ENABLED,
+				JournalFolderImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			JournalFolder journalFolder = (JournalFolder)EntityCacheUtil.getResult(JournalFolderModelImpl.ENTITY_CACHE_ENABLED,
-					JournalFolderImpl.class, primaryKey);
+			JournalFolder journalFolder = (JournalFolder)cachedResults.get(primaryKey);
 
 			if (journalFolder == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3601,9 +3601,11 @@ public class MBBanPersistenceImpl extends BasePersistenceImpl<MBBan>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MBBanModelImpl.ENTITY_CACHE_ENABLED,
+				MBBanImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MBBan mbBan = (MBBan)EntityCacheUtil.getResult(MBBanModelImpl.ENTITY_CACHE_ENABLED,
-					MBBanImpl.class, primaryKey);
+			MBBan mbBan = (MBBan)cachedResults.get(primaryKey);
 
 			if (mbBan == null) {
 				if (uncachedPrimaryKeys == null) {
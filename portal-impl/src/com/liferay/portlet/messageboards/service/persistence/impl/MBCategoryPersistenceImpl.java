@@ -9979,9 +9979,11 @@ public class MBCategoryPersistenceImpl extends BasePersistenceImpl<MBCategory>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MBCategoryModelImpl.ENTITY_CACHE_ENABLED,
+				MBCategoryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MBCategory mbCategory = (MBCategory)EntityCacheUtil.getResult(MBCategoryModelImpl.ENTITY_CACHE_ENABLED,
-					MBCategoryImpl.class, primaryKey);
+			MBCategory mbCategory = (MBCategory)cachedResults.get(primaryKey);
 
 			if (mbCategory == null) {
 				if (uncachedPrimaryKeys == null) {
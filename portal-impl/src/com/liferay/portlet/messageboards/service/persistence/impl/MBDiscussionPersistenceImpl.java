@@ -2910,9 +2910,11 @@ public class MBDiscussionPersistenceImpl extends BasePersistenceImpl<MBDiscussio
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MBDiscussionModelImpl.ENTITY_CACHE_ENABLED,
+				MBDiscussionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MBDiscussion mbDiscussion = (MBDiscussion)EntityCacheUtil.getResult(MBDiscussionModelImpl.ENTITY_CACHE_ENABLED,
-					MBDiscussionImpl.class, primaryKey);
+			MBDiscussion mbDiscussion = (MBDiscussion)cachedResults.get(primaryKey);
 
 			if (mbDiscussion == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2690,9 +2690,11 @@ public class MBMailingListPersistenceImpl extends BasePersistenceImpl<MBMailingL
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MBMailingListModelImpl.ENTITY_CACHE_ENABLED,
+				MBMailingListImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MBMailingList mbMailingList = (MBMailingList)EntityCacheUtil.getResult(MBMailingListModelImpl.ENTITY_CACHE_ENABLED,
-					MBMailingListImpl.class, primaryKey);
+			MBMailingList mbMailingList = (MBMailingList)cachedResults.get(primaryKey);
 
 			if (mbMailingList == null) {
 				if (uncachedPrimaryKeys == null) {
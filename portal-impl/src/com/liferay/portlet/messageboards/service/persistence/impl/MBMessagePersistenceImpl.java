@@ -19141,9 +19141,11 @@ public class MBMessagePersistenceImpl extends BasePersistenceImpl<MBMessage>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MBMessageModelImpl.ENTITY_CACHE_ENABLED,
+				MBMessageImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MBMessage mbMessage = (MBMessage)EntityCacheUtil.getResult(MBMessageModelImpl.ENTITY_CACHE_ENABLED,
-					MBMessageImpl.class, primaryKey);
+			MBMessage mbMessage = (MBMessage)cachedResults.get(primaryKey);
 
 			if (mbMessage == null) {
 				if (uncachedPrimaryKeys == null) {
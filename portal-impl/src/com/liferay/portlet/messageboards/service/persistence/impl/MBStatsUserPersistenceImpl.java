@@ -2263,9 +2263,11 @@ public class MBStatsUserPersistenceImpl extends BasePersistenceImpl<MBStatsUser>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MBStatsUserModelImpl.ENTITY_CACHE_ENABLED,
+				MBStatsUserImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MBStatsUser mbStatsUser = (MBStatsUser)EntityCacheUtil.getResult(MBStatsUserModelImpl.ENTITY_CACHE_ENABLED,
-					MBStatsUserImpl.class, primaryKey);
+			MBStatsUser mbStatsUser = (MBStatsUser)cachedResults.get(primaryKey);
 
 			if (mbStatsUser == null) {
 				if (uncachedPrimaryKeys == null) {
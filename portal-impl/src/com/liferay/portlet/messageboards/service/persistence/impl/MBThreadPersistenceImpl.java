@@ -13110,9 +13110,11 @@ public class MBThreadPersistenceImpl extends BasePersistenceImpl<MBThread>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MBThreadModelImpl.ENTITY_CACHE_ENABLED,
+				MBThreadImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MBThread mbThread = (MBThread)EntityCacheUtil.getResult(MBThreadModelImpl.ENTITY_CACHE_ENABLED,
-					MBThreadImpl.class, primaryKey);
+			MBThread mbThread = (MBThread)cachedResults.get(primaryKey);
 
 			if (mbThread == null) {
 				if (uncachedPrimaryKeys == null) {
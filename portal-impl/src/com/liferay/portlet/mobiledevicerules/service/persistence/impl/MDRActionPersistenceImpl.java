@@ -2409,9 +2409,11 @@ public class MDRActionPersistenceImpl extends BasePersistenceImpl<MDRAction>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MDRActionModelImpl.ENTITY_CACHE_ENABLED,
+				MDRActionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MDRAction mdrAction = (MDRAction)EntityCacheUtil.getResult(MDRActionModelImpl.ENTITY_CACHE_ENABLED,
-					MDRActionImpl.class, primaryKey);
+			MDRAction mdrAction = (MDRAction)cachedResults.get(primaryKey);
 
 			if (mdrAction == null) {
 				if (uncachedPrimaryKeys == null) {
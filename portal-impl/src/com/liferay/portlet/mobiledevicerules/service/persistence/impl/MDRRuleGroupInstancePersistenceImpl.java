@@ -5135,9 +5135,11 @@ public class MDRRuleGroupInstancePersistenceImpl extends BasePersistenceImpl<MDR
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MDRRuleGroupInstanceModelImpl.ENTITY_CACHE_ENABLED,
+				MDRRuleGroupInstanceImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MDRRuleGroupInstance mdrRuleGroupInstance = (MDRRuleGroupInstance)EntityCacheUtil.getResult(MDRRuleGroupInstanceModelImpl.ENTITY_CACHE_ENABLED,
-					MDRRuleGroupInstanceImpl.class, primaryKey);
+			MDRRuleGroupInstance mdrRuleGroupInstance = (MDRRuleGroupInstance)cachedResults.get(primaryKey);
 
 			if (mdrRuleGroupInstance == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2757,9 +2757,11 @@ public class MDRRuleGroupPersistenceImpl extends BasePersistenceImpl<MDRRuleGrou
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MDRRuleGroupModelImpl.ENTITY_CACHE_ENABLED,
+				MDRRuleGroupImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MDRRuleGroup mdrRuleGroup = (MDRRuleGroup)EntityCacheUtil.getResult(MDRRuleGroupModelImpl.ENTITY_CACHE_ENABLED,
-					MDRRuleGroupImpl.class, primaryKey);
+			MDRRuleGroup mdrRuleGroup = (MDRRuleGroup)cachedResults.get(primaryKey);
 
 			if (mdrRuleGroup == null) {
 				if (uncachedPrimaryKeys == null) {
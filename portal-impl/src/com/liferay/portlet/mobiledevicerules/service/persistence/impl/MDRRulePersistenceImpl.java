@@ -2387,9 +2387,11 @@ public class MDRRulePersistenceImpl extends BasePersistenceImpl<MDRRule>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(MDRRuleModelImpl.ENTITY_CACHE_ENABLED,
+				MDRRuleImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			MDRRule mdrRule = (MDRRule)EntityCacheUtil.getResult(MDRRuleModelImpl.ENTITY_CACHE_ENABLED,
-					MDRRuleImpl.class, primaryKey);
+			MDRRule mdrRule = (MDRRule)cachedResults.get(primaryKey);
 
 			if (mdrRule == null) {
 				if (uncachedPrimaryKeys == null) {
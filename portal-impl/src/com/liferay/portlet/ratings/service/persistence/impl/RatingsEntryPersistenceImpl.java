@@ -3014,9 +3014,11 @@ public class RatingsEntryPersistenceImpl extends BasePersistenceImpl<RatingsEntr
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(RatingsEntryModelImpl.ENTITY_CACHE_ENABLED,
+				RatingsEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			RatingsEntry ratingsEntry = (RatingsEntry)EntityCacheUtil.getResult(RatingsEntryModelImpl.ENTITY_CACHE_ENABLED,
-					RatingsEntryImpl.class, primaryKey);
+			RatingsEntry ratingsEntry = (RatingsEntry)cachedResults.get(primaryKey);
 
 			if (ratingsEntry == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -735,9 +735,11 @@ public class RatingsStatsPersistenceImpl extends BasePersistenceImpl<RatingsStat
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(RatingsStatsModelImpl.ENTITY_CACHE_ENABLED,
+				RatingsStatsImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			RatingsStats ratingsStats = (RatingsStats)EntityCacheUtil.getResult(RatingsStatsModelImpl.ENTITY_CACHE_ENABLED,
-					RatingsStatsImpl.class, primaryKey);
+			RatingsStats ratingsStats = (RatingsStats)cachedResults.get(primaryKey);
 
 			if (ratingsStats == null) {
 				if (uncachedPrimaryKeys == null) {
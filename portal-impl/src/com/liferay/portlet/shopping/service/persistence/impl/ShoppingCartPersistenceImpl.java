@@ -1730,9 +1730,11 @@ public class ShoppingCartPersistenceImpl extends BasePersistenceImpl<ShoppingCar
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ShoppingCartModelImpl.ENTITY_CACHE_ENABLED,
+				ShoppingCartImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ShoppingCart shoppingCart = (ShoppingCart)EntityCacheUtil.getResult(ShoppingCartModelImpl.ENTITY_CACHE_ENABLED,
-					ShoppingCartImpl.class, primaryKey);
+			ShoppingCart shoppingCart = (ShoppingCart)cachedResults.get(primaryKey);
 
 			if (shoppingCart == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2572,9 +2572,11 @@ public class ShoppingCategoryPersistenceImpl extends BasePersistenceImpl<Shoppin
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ShoppingCategoryModelImpl.ENTITY_CACHE_ENABLED,
+				ShoppingCategoryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ShoppingCategory shoppingCategory = (ShoppingCategory)EntityCacheUtil.getResult(ShoppingCategoryModelImpl.ENTITY_CACHE_ENABLED,
-					ShoppingCategoryImpl.class, primaryKey);
+			ShoppingCategory shoppingCategory = (ShoppingCategory)cachedResults.get(primaryKey);
 
 			if (shoppingCategory == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1253,9 +1253,11 @@ public class ShoppingCouponPersistenceImpl extends BasePersistenceImpl<ShoppingC
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ShoppingCouponModelImpl.ENTITY_CACHE_ENABLED,
+				ShoppingCouponImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ShoppingCoupon shoppingCoupon = (ShoppingCoupon)EntityCacheUtil.getResult(ShoppingCouponModelImpl.ENTITY_CACHE_ENABLED,
-					ShoppingCouponImpl.class, primaryKey);
+			ShoppingCoupon shoppingCoupon = (ShoppingCoupon)cachedResults.get(primaryKey);
 
 			if (shoppingCoupon == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -957,9 +957,11 @@ public class ShoppingItemFieldPersistenceImpl extends BasePersistenceImpl<Shoppi
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ShoppingItemFieldModelImpl.ENTITY_CACHE_ENABLED,
+				ShoppingItemFieldImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ShoppingItemField shoppingItemField = (ShoppingItemField)EntityCacheUtil.getResult(ShoppingItemFieldModelImpl.ENTITY_CACHE_ENABLED,
-					ShoppingItemFieldImpl.class, primaryKey);
+			ShoppingItemField shoppingItemField = (ShoppingItemField)cachedResults.get(primaryKey);
 
 			if (shoppingItemField == null) {
 				if (uncachedPrimaryKeys == null) {
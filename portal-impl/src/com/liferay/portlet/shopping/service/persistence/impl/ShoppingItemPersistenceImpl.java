@@ -2448,9 +2448,11 @@ public class ShoppingItemPersistenceImpl extends BasePersistenceImpl<ShoppingIte
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(ShoppingItemModelImpl.ENTITY_CACHE_ENABLED,
+				ShoppingItemImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			ShoppingItem shoppingItem = (ShoppingItem)EntityCacheUtil.getResult(ShoppingItemModelImpl.ENTITY_CACHE_ENABLED,
-					ShoppingItemImpl.class, primaryKey);
+			ShoppingItem shoppingItem = (ShoppingItem)cachedResults.get(primaryKey);
 
 			if (shoppingItem == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3606,9 +3606,11 @@ public class SocialActivityAchievementPersistenceImpl
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SocialActivityAchievementModelImpl.ENTITY_CACHE_ENABLED,
+				SocialActivityAchievementImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SocialActivityAchievement socialActivityAchievement = (SocialActivityAchievement)EntityCacheUtil.getResult(SocialActivityAchievementModelImpl.ENTITY_CACHE_ENABLED,
-					SocialActivityAchievementImpl.class, primaryKey);
+			SocialActivityAchievement socialActivityAchievement = (SocialActivityAchievement)cachedResults.get(primaryKey);
 
 			if (socialActivityAchievement == null) {
 				if (uncachedPrimaryKeys == null) {
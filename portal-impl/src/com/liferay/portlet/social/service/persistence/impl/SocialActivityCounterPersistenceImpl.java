@@ -3013,9 +3013,11 @@ public class SocialActivityCounterPersistenceImpl extends BasePersistenceImpl<So
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SocialActivityCounterModelImpl.ENTITY_CACHE_ENABLED,
+				SocialActivityCounterImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SocialActivityCounter socialActivityCounter = (SocialActivityCounter)EntityCacheUtil.getResult(SocialActivityCounterModelImpl.ENTITY_CACHE_ENABLED,
-					SocialActivityCounterImpl.class, primaryKey);
+			SocialActivityCounter socialActivityCounter = (SocialActivityCounter)cachedResults.get(primaryKey);
 
 			if (socialActivityCounter == null) {
 				if (uncachedPrimaryKeys == null) {
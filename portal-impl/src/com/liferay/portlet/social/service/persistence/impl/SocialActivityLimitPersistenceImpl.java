@@ -2458,9 +2458,11 @@ public class SocialActivityLimitPersistenceImpl extends BasePersistenceImpl<Soci
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SocialActivityLimitModelImpl.ENTITY_CACHE_ENABLED,
+				SocialActivityLimitImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SocialActivityLimit socialActivityLimit = (SocialActivityLimit)EntityCacheUtil.getResult(SocialActivityLimitModelImpl.ENTITY_CACHE_ENABLED,
-					SocialActivityLimitImpl.class, primaryKey);
+			SocialActivityLimit socialActivityLimit = (SocialActivityLimit)cachedResults.get(primaryKey);
 
 			if (socialActivityLimit == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -6586,9 +6586,11 @@ public class SocialActivityPersistenceImpl extends BasePersistenceImpl<SocialAct
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SocialActivityModelImpl.ENTITY_CACHE_ENABLED,
+				SocialActivityImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SocialActivity socialActivity = (SocialActivity)EntityCacheUtil.getResult(SocialActivityModelImpl.ENTITY_CACHE_ENABLED,
-					SocialActivityImpl.class, primaryKey);
+			SocialActivity socialActivity = (SocialActivity)cachedResults.get(primaryKey);
 
 			if (socialActivity == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3874,9 +3874,11 @@ public class SocialActivitySetPersistenceImpl extends BasePersistenceImpl<Social
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SocialActivitySetModelImpl.ENTITY_CACHE_ENABLED,
+				SocialActivitySetImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SocialActivitySet socialActivitySet = (SocialActivitySet)EntityCacheUtil.getResult(SocialActivitySetModelImpl.ENTITY_CACHE_ENABLED,
-					SocialActivitySetImpl.class, primaryKey);
+			SocialActivitySet socialActivitySet = (SocialActivitySet)cachedResults.get(primaryKey);
 
 			if (socialActivitySet == null) {
 				if (uncachedPrimaryKeys == null) {
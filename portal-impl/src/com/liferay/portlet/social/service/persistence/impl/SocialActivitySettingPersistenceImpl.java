@@ -3038,9 +3038,11 @@ public class SocialActivitySettingPersistenceImpl extends BasePersistenceImpl<So
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SocialActivitySettingModelImpl.ENTITY_CACHE_ENABLED,
+				SocialActivitySettingImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SocialActivitySetting socialActivitySetting = (SocialActivitySetting)EntityCacheUtil.getResult(SocialActivitySettingModelImpl.ENTITY_CACHE_ENABLED,
-					SocialActivitySettingImpl.class, primaryKey);
+			SocialActivitySetting socialActivitySetting = (SocialActivitySetting)cachedResults.get(primaryKey);
 
 			if (socialActivitySetting == null) {
 				if (uncachedPrimaryKeys == null) {
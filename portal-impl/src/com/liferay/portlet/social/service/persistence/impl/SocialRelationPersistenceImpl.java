@@ -6053,9 +6053,11 @@ public class SocialRelationPersistenceImpl extends BasePersistenceImpl<SocialRel
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SocialRelationModelImpl.ENTITY_CACHE_ENABLED,
+				SocialRelationImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SocialRelation socialRelation = (SocialRelation)EntityCacheUtil.getResult(SocialRelationModelImpl.ENTITY_CACHE_ENABLED,
-					SocialRelationImpl.class, primaryKey);
+			SocialRelation socialRelation = (SocialRelation)cachedResults.get(primaryKey);
 
 			if (socialRelation == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -6716,9 +6716,11 @@ public class SocialRequestPersistenceImpl extends BasePersistenceImpl<SocialRequ
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SocialRequestModelImpl.ENTITY_CACHE_ENABLED,
+				SocialRequestImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SocialRequest socialRequest = (SocialRequest)EntityCacheUtil.getResult(SocialRequestModelImpl.ENTITY_CACHE_ENABLED,
-					SocialRequestImpl.class, primaryKey);
+			SocialRequest socialRequest = (SocialRequest)cachedResults.get(primaryKey);
 
 			if (socialRequest == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2761,9 +2761,11 @@ public class SCFrameworkVersionPersistenceImpl extends BasePersistenceImpl<SCFra
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SCFrameworkVersionModelImpl.ENTITY_CACHE_ENABLED,
+				SCFrameworkVersionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SCFrameworkVersion scFrameworkVersion = (SCFrameworkVersion)EntityCacheUtil.getResult(SCFrameworkVersionModelImpl.ENTITY_CACHE_ENABLED,
-					SCFrameworkVersionImpl.class, primaryKey);
+			SCFrameworkVersion scFrameworkVersion = (SCFrameworkVersion)cachedResults.get(primaryKey);
 
 			if (scFrameworkVersion == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -2215,9 +2215,11 @@ public class SCLicensePersistenceImpl extends BasePersistenceImpl<SCLicense>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SCLicenseModelImpl.ENTITY_CACHE_ENABLED,
+				SCLicenseImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SCLicense scLicense = (SCLicense)EntityCacheUtil.getResult(SCLicenseModelImpl.ENTITY_CACHE_ENABLED,
-					SCLicenseImpl.class, primaryKey);
+			SCLicense scLicense = (SCLicense)cachedResults.get(primaryKey);
 
 			if (scLicense == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -3118,9 +3118,11 @@ public class SCProductEntryPersistenceImpl extends BasePersistenceImpl<SCProduct
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SCProductEntryModelImpl.ENTITY_CACHE_ENABLED,
+				SCProductEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SCProductEntry scProductEntry = (SCProductEntry)EntityCacheUtil.getResult(SCProductEntryModelImpl.ENTITY_CACHE_ENABLED,
-					SCProductEntryImpl.class, primaryKey);
+			SCProductEntry scProductEntry = (SCProductEntry)cachedResults.get(primaryKey);
 
 			if (scProductEntry == null) {
 				if (uncachedPrimaryKeys == null) {
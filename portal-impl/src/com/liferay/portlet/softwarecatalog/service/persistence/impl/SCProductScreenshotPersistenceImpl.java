@@ -1781,9 +1781,11 @@ public class SCProductScreenshotPersistenceImpl extends BasePersistenceImpl<SCPr
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SCProductScreenshotModelImpl.ENTITY_CACHE_ENABLED,
+				SCProductScreenshotImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SCProductScreenshot scProductScreenshot = (SCProductScreenshot)EntityCacheUtil.getResult(SCProductScreenshotModelImpl.ENTITY_CACHE_ENABLED,
-					SCProductScreenshotImpl.class, primaryKey);
+			SCProductScreenshot scProductScreenshot = (SCProductScreenshot)cachedResults.get(primaryKey);
 
 			if (scProductScreenshot == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1295,9 +1295,11 @@ public class SCProductVersionPersistenceImpl extends BasePersistenceImpl<SCProdu
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(SCProductVersionModelImpl.ENTITY_CACHE_ENABLED,
+				SCProductVersionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			SCProductVersion scProductVersion = (SCProductVersion)EntityCacheUtil.getResult(SCProductVersionModelImpl.ENTITY_CACHE_ENABLED,
-					SCProductVersionImpl.class, primaryKey);
+			SCProductVersion scProductVersion = (SCProductVersion)cachedResults.get(primaryKey);
 
 			if (scProductVersion == null) {
 				if (uncachedPrimaryKeys == null) {
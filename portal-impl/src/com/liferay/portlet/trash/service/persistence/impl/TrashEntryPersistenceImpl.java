@@ -2808,9 +2808,11 @@ public class TrashEntryPersistenceImpl extends BasePersistenceImpl<TrashEntry>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(TrashEntryModelImpl.ENTITY_CACHE_ENABLED,
+				TrashEntryImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			TrashEntry trashEntry = (TrashEntry)EntityCacheUtil.getResult(TrashEntryModelImpl.ENTITY_CACHE_ENABLED,
-					TrashEntryImpl.class, primaryKey);
+			TrashEntry trashEntry = (TrashEntry)cachedResults.get(primaryKey);
 
 			if (trashEntry == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -1768,9 +1768,11 @@ public class TrashVersionPersistenceImpl extends BasePersistenceImpl<TrashVersio
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(TrashVersionModelImpl.ENTITY_CACHE_ENABLED,
+				TrashVersionImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			TrashVersion trashVersion = (TrashVersion)EntityCacheUtil.getResult(TrashVersionModelImpl.ENTITY_CACHE_ENABLED,
-					TrashVersionImpl.class, primaryKey);
+			TrashVersion trashVersion = (TrashVersion)cachedResults.get(primaryKey);
 
 			if (trashVersion == null) {
 				if (uncachedPrimaryKeys == null) {
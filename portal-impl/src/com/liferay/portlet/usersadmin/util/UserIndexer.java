@@ -70,6 +70,7 @@ public class UserIndexer extends BaseIndexer {
 		setDefaultSelectedFieldNames(
 			Field.COMPANY_ID, Field.UID, Field.USER_ID);
 		setIndexerEnabled(PropsValues.USERS_INDEXER_ENABLED);
+		setParallelReindex(true);
 		setPermissionAware(true);
 		setStagingAware(false);
 	}
@@ -4979,9 +4979,11 @@ public class WikiNodePersistenceImpl extends BasePersistenceImpl<WikiNode>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(WikiNodeModelImpl.ENTITY_CACHE_ENABLED,
+				WikiNodeImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			WikiNode wikiNode = (WikiNode)EntityCacheUtil.getResult(WikiNodeModelImpl.ENTITY_CACHE_ENABLED,
-					WikiNodeImpl.class, primaryKey);
+			WikiNode wikiNode = (WikiNode)cachedResults.get(primaryKey);
 
 			if (wikiNode == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -22214,9 +22214,11 @@ public class WikiPagePersistenceImpl extends BasePersistenceImpl<WikiPage>
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(WikiPageModelImpl.ENTITY_CACHE_ENABLED,
+				WikiPageImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			WikiPage wikiPage = (WikiPage)EntityCacheUtil.getResult(WikiPageModelImpl.ENTITY_CACHE_ENABLED,
-					WikiPageImpl.class, primaryKey);
+			WikiPage wikiPage = (WikiPage)cachedResults.get(primaryKey);
 
 			if (wikiPage == null) {
 				if (uncachedPrimaryKeys == null) {
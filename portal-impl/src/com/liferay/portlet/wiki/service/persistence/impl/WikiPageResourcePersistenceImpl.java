@@ -1328,9 +1328,11 @@ public class WikiPageResourcePersistenceImpl extends BasePersistenceImpl<WikiPag
 
 		Set<Serializable> uncachedPrimaryKeys = null;
 
+		Map<Serializable, Serializable> cachedResults = EntityCacheUtil.getResults(WikiPageResourceModelImpl.ENTITY_CACHE_ENABLED,
+				WikiPageResourceImpl.class, primaryKeys);
+
 		for (Serializable primaryKey : primaryKeys) {
-			WikiPageResource wikiPageResource = (WikiPageResource)EntityCacheUtil.getResult(WikiPageResourceModelImpl.ENTITY_CACHE_ENABLED,
-					WikiPageResourceImpl.class, primaryKey);
+			WikiPageResource wikiPageResource = (WikiPageResource)cachedResults.get(primaryKey);
 
 			if (wikiPageResource == null) {
 				if (uncachedPrimaryKeys == null) {
@@ -26,6 +26,7 @@ import com.liferay.portal.kernel.process.ProcessExecutorUtil;
 import com.liferay.portal.kernel.scheduler.SchedulerEngineHelperUtil;
 import com.liferay.portal.kernel.test.ExecutionTestListeners;
 import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
+import com.liferay.portal.kernel.util.PropsKeys;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.test.listeners.MainServletExecutionTestListener;
 import com.liferay.portal.test.runners.LiferayIntegrationJUnitTestRunner;
@@ -37,6 +38,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.junit.AfterClass;
@@ -117,12 +121,130 @@ public class CounterLocalServiceTest {
 		}
 	}
 
+	@Test
+	public void testConcurrentPrefetchedIncrement() throws Exception {
+		final String name = _createPrefetchedCounterName();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(
+			_THREAD_COUNT);
+
+		try {
+			List<Future<Long[]>> futuresList = new ArrayList<Future<Long[]>>();
+
+			for (int i = 0; i < _THREAD_COUNT; i++) {
+				futuresList.add(
+					executorService.submit(
+						new Callable<Long[]>() {
+
+							@Override
+							public Long[] call() throws Exception {
+								Long[] ids = new Long[_INCREMENT_COUNT];
+
+								for (int j = 0; j < _INCREMENT_COUNT; j++) {
+									ids[j] = CounterLocalServiceUtil.increment(
+										name);
+								}
+
+								return ids;
+							}
+
+						}));
+			}
+
+			int total = _THREAD_COUNT * _INCREMENT_COUNT;
+
+			List<Long> ids = new ArrayList<Long>(total);
+
+			for (Future<Long[]> futures : futuresList) {
+				ids.addAll(Arrays.asList(futures.get()));
+			}
+
+			Collections.sort(ids);
+
+			// Prefetched ranges are used in order, so no ID is skipped
+
+			for (int i = 0; i < total; i++) {
+				Long id = ids.get(i);
+
+				Assert.assertEquals(i + 1, id.intValue());
+			}
+		}
+		finally {
+			executorService.shutdown();
+
+			CounterLocalServiceUtil.reset(name);
+		}
+	}
+
+	@Test
+	public void testRenamePrefetchedCounter() throws Exception {
+		String oldName = _createPrefetchedCounterName();
+		String newName = _createPrefetchedCounterName();
+
+		try {
+			for (int i = 0; i < (_RANGE_SIZE + _RANGE_SIZE / 2); i++) {
+				CounterLocalServiceUtil.increment(oldName);
+			}
+
+			CounterLocalServiceUtil.rename(oldName, newName);
+
+			Assert.assertEquals(
+				_RANGE_SIZE + _RANGE_SIZE / 2 + 1,
+				CounterLocalServiceUtil.increment(newName));
+			Assert.assertEquals(1, CounterLocalServiceUtil.increment(oldName));
+		}
+		finally {
+			CounterLocalServiceUtil.reset(oldName);
+			CounterLocalServiceUtil.reset(newName);
+		}
+	}
+
+	@Test
+	public void testResetPrefetchedCounter() throws Exception {
+		String name = _createPrefetchedCounterName();
+
+		try {
+			for (int i = 0; i < (_RANGE_SIZE + _RANGE_SIZE / 2); i++) {
+				CounterLocalServiceUtil.increment(name);
+			}
+
+			CounterLocalServiceUtil.reset(name);
+
+			Assert.assertEquals(1, CounterLocalServiceUtil.increment(name));
+
+			for (int i = 0; i < _RANGE_SIZE; i++) {
+				CounterLocalServiceUtil.increment(name);
+			}
+
+			CounterLocalServiceUtil.reset(name, 100);
+
+			Assert.assertEquals(101, CounterLocalServiceUtil.increment(name));
+		}
+		finally {
+			CounterLocalServiceUtil.reset(name);
+		}
+	}
+
+	private String _createPrefetchedCounterName() {
+		String name = StringUtil.randomString();
+
+		PropsUtil.set(
+			PropsKeys.COUNTER_INCREMENT_PREFIX + name,
+			String.valueOf(_RANGE_SIZE));
+
+		return name;
+	}
+
 	private static String _COUNTER_NAME;
 
 	private static final int _INCREMENT_COUNT = 10000;
 
 	private static final int _PROCESS_COUNT = 4;
 
+	private static final int _RANGE_SIZE = 10;
+
+	private static final int _THREAD_COUNT = 8;
+
 	private static class IncrementProcessCallable
 		implements ProcessCallable<Long[]> {
 
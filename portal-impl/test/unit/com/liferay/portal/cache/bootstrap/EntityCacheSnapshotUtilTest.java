@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.bootstrap;
+
+import com.liferay.portal.kernel.dao.orm.EntityCache;
+import com.liferay.portal.executor.PortalExecutorManagerImpl;
+import com.liferay.portal.kernel.dao.orm.EntityCacheUtil;
+import com.liferay.portal.kernel.executor.PortalExecutorManager;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.util.SystemProperties;
+import com.liferay.portal.service.persistence.BasePersistence;
+
+import java.io.File;
+import java.io.Serializable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class EntityCacheSnapshotUtilTest {
+
+	@Before
+	public void setUp() {
+		_snapshotFile = new File(
+			SystemProperties.get(SystemProperties.TMP_DIR),
+			"EntityCacheSnapshotUtilTest.snapshot");
+	}
+
+	@After
+	public void tearDown() {
+		_snapshotFile.delete();
+	}
+
+	@Test
+	public void testLoad() throws Exception {
+		PortalExecutorManager portalExecutorManager =
+			PortalExecutorManagerUtil.getPortalExecutorManager();
+
+		PortalExecutorManagerUtil portalExecutorManagerUtil =
+			new PortalExecutorManagerUtil();
+
+		portalExecutorManagerUtil.setPortalExecutorManager(
+			new PortalExecutorManagerImpl());
+
+		try {
+			EntityCacheSnapshotUtil.writeSnapshot(
+				_snapshotFile, Arrays.<Serializable>asList(1L, 2L, 3L));
+
+			BasePersistence<?> basePersistence = Mockito.mock(
+				BasePersistence.class);
+
+			EntityCacheSnapshotUtil.load(
+				_snapshotFile.getParentFile(),
+				Collections.<String, BasePersistence<?>>singletonMap(
+					"EntityCacheSnapshotUtilTest", basePersistence),
+				2, 2, 10000);
+
+			Mockito.verify(
+				basePersistence
+			).fetchByPrimaryKeys(
+				new HashSet<Serializable>(Arrays.<Serializable>asList(1L, 2L))
+			);
+			Mockito.verify(
+				basePersistence
+			).fetchByPrimaryKeys(
+				new HashSet<Serializable>(Arrays.<Serializable>asList(3L))
+			);
+		}
+		finally {
+			portalExecutorManagerUtil.setPortalExecutorManager(
+				portalExecutorManager);
+		}
+	}
+
+	@Test
+	public void testLoadWithInvalidSizes() throws Exception {
+		EntityCacheSnapshotUtil.writeSnapshot(
+			_snapshotFile, Arrays.<Serializable>asList(1L, 2L, 3L));
+
+		BasePersistence<?> basePersistence = Mockito.mock(
+			BasePersistence.class);
+
+		Map<String, BasePersistence<?>> persistences =
+			Collections.<String, BasePersistence<?>>singletonMap(
+				"EntityCacheSnapshotUtilTest", basePersistence);
+
+		EntityCacheSnapshotUtil.load(
+			_snapshotFile.getParentFile(), persistences, 1, 0, 1000);
+		EntityCacheSnapshotUtil.load(
+			_snapshotFile.getParentFile(), persistences, 0, 1, 1000);
+
+		Mockito.verify(
+			basePersistence, Mockito.never()
+		).fetchByPrimaryKeys(
+			Matchers.<Set<Serializable>>any()
+		);
+	}
+
+	@Test
+	public void testOverwriteSnapshot() throws Exception {
+		EntityCacheSnapshotUtil.writeSnapshot(
+			_snapshotFile, Arrays.<Serializable>asList(1L, 2L, 3L));
+		EntityCacheSnapshotUtil.writeSnapshot(
+			_snapshotFile, Arrays.<Serializable>asList(4L));
+
+		List<Serializable> primaryKeys = EntityCacheSnapshotUtil.readSnapshot(
+			_snapshotFile);
+
+		Assert.assertEquals(Arrays.<Serializable>asList(4L), primaryKeys);
+
+		File tempFile = new File(
+			_snapshotFile.getParentFile(), _snapshotFile.getName() + "~");
+
+		Assert.assertFalse(tempFile.exists());
+	}
+
+	@Test
+	public void testStoreSkipsMissingCaches() throws Exception {
+		EntityCache entityCache = Mockito.mock(EntityCache.class);
+
+		EntityCacheUtil entityCacheUtil = new EntityCacheUtil();
+
+		entityCacheUtil.setEntityCache(entityCache);
+
+		File snapshotDir = _snapshotFile.getParentFile();
+
+		File snapshotFile = new File(snapshotDir, "java.lang.String.snapshot");
+
+		EntityCacheSnapshotUtil.writeSnapshot(
+			snapshotFile, Arrays.<Serializable>asList(1L));
+
+		EntityCacheSnapshotUtil.store(
+			snapshotDir,
+			Collections.<String, BasePersistence<?>>singletonMap(
+				"java.lang.String", Mockito.mock(BasePersistence.class)),
+			100);
+
+		Assert.assertFalse(snapshotFile.exists());
+
+		Mockito.verify(
+			entityCache
+		).getPortalCache(
+			String.class, false
+		);
+		Mockito.verify(
+			entityCache, Mockito.never()
+		).getPortalCache(
+			String.class
+		);
+		Mockito.verify(
+			entityCache, Mockito.never()
+		).getPortalCache(
+			String.class, true
+		);
+	}
+
+	@Test
+	public void testWriteAndReadSnapshot() throws Exception {
+		List<Serializable> primaryKeys = new ArrayList<Serializable>();
+
+		for (long i = 0; i < 1000; i++) {
+			primaryKeys.add(i);
+		}
+
+		primaryKeys.add("key");
+
+		EntityCacheSnapshotUtil.writeSnapshot(_snapshotFile, primaryKeys);
+
+		Assert.assertEquals(
+			primaryKeys, EntityCacheSnapshotUtil.readSnapshot(_snapshotFile));
+	}
+
+	private File _snapshotFile;
+
+}
\ No newline at end of file
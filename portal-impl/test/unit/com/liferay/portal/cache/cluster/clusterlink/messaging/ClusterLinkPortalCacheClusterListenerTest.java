@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.cluster.clusterlink.messaging;
+
+import com.liferay.portal.cache.memory.MemoryPortalCacheManager;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.cache.PortalCacheWrapper;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterBatchEvent;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEvent;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEventType;
+import com.liferay.portal.model.MVCCModel;
+
+import java.io.Serializable;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class ClusterLinkPortalCacheClusterListenerTest {
+
+	@Before
+	public void setUp() {
+		_memoryPortalCacheManager =
+			new MemoryPortalCacheManager<String, Serializable>();
+
+		_memoryPortalCacheManager.setName(_CACHE_MANAGER_NAME);
+
+		_memoryPortalCacheManager.afterPropertiesSet();
+
+		_portalCache = _memoryPortalCacheManager.getCache(_CACHE_NAME);
+	}
+
+	@After
+	public void tearDown() {
+		_memoryPortalCacheManager.destroy();
+	}
+
+	@Test
+	public void testHandleMVCCVersionEvent() {
+		_portalCache.put(_KEY_1, new TestMVCCModel(5));
+
+		_clusterLinkPortalCacheClusterListener.handlePortalCacheClusterEvent(
+			_createMVCCVersionEvent(_KEY_1, 4));
+
+		Assert.assertNotNull(_portalCache.get(_KEY_1));
+
+		_clusterLinkPortalCacheClusterListener.handlePortalCacheClusterEvent(
+			_createMVCCVersionEvent(_KEY_1, 5));
+
+		Assert.assertNotNull(_portalCache.get(_KEY_1));
+
+		_clusterLinkPortalCacheClusterListener.handlePortalCacheClusterEvent(
+			_createMVCCVersionEvent(_KEY_1, 6));
+
+		Assert.assertNull(_portalCache.get(_KEY_1));
+	}
+
+	@Test
+	public void testHandleMVCCVersionEventQuietly() {
+		_portalCache.put(_KEY_1, new TestMVCCModel(5));
+
+		PortalCache<Serializable, Serializable> portalCache =
+			new PortalCacheWrapper<Serializable, Serializable>(
+				(PortalCache<Serializable, Serializable>)
+					(PortalCache<?, ?>)_portalCache) {
+
+				@Override
+				public Serializable get(Serializable key) {
+					throw new UnsupportedOperationException();
+				}
+
+			};
+
+		_clusterLinkPortalCacheClusterListener.handleMVCCVersion(
+			portalCache, _KEY_1, 5);
+
+		Assert.assertNotNull(_portalCache.get(_KEY_1));
+
+		_clusterLinkPortalCacheClusterListener.handleMVCCVersion(
+			portalCache, _KEY_1, 6);
+
+		Assert.assertNull(_portalCache.get(_KEY_1));
+	}
+
+	@Test
+	public void testHandlePortalCacheClusterBatchEvent() {
+		_portalCache.put(_KEY_1, new TestMVCCModel(1));
+		_portalCache.put(_KEY_2, new TestMVCCModel(1));
+
+		_clusterLinkPortalCacheClusterListener.
+			handlePortalCacheClusterBatchEvent(
+				new PortalCacheClusterBatchEvent(
+					_CACHE_MANAGER_NAME, _CACHE_NAME,
+					new Serializable[] {_KEY_1, _KEY_2}));
+
+		Assert.assertNull(_portalCache.get(_KEY_1));
+		Assert.assertNull(_portalCache.get(_KEY_2));
+	}
+
+	@Test
+	public void testHandleRemoveEvent() {
+		_portalCache.put(_KEY_1, new TestMVCCModel(5));
+
+		_clusterLinkPortalCacheClusterListener.handlePortalCacheClusterEvent(
+			new PortalCacheClusterEvent(
+				_CACHE_MANAGER_NAME, _CACHE_NAME, _KEY_1,
+				PortalCacheClusterEventType.REMOVE));
+
+		Assert.assertNull(_portalCache.get(_KEY_1));
+	}
+
+	private PortalCacheClusterEvent _createMVCCVersionEvent(
+		String key, long mvccVersion) {
+
+		return new PortalCacheClusterEvent(
+			_CACHE_MANAGER_NAME, _CACHE_NAME, key, mvccVersion,
+			PortalCache.DEFAULT_TIME_TO_LIVE,
+			PortalCacheClusterEventType.REMOVE);
+	}
+
+	private static final String _CACHE_MANAGER_NAME = "cacheManager";
+
+	private static final String _CACHE_NAME = "cache";
+
+	private static final String _KEY_1 = "key1";
+
+	private static final String _KEY_2 = "key2";
+
+	private final ClusterLinkPortalCacheClusterListener
+		_clusterLinkPortalCacheClusterListener =
+			new ClusterLinkPortalCacheClusterListener();
+	private MemoryPortalCacheManager<String, Serializable>
+		_memoryPortalCacheManager;
+	private PortalCache<String, Serializable> _portalCache;
+
+	private static class TestMVCCModel implements MVCCModel, Serializable {
+
+		public TestMVCCModel(long mvccVersion) {
+			_mvccVersion = mvccVersion;
+		}
+
+		@Override
+		public long getMvccVersion() {
+			return _mvccVersion;
+		}
+
+		@Override
+		public void setMvccVersion(long mvccVersion) {
+			_mvccVersion = mvccVersion;
+		}
+
+		private long _mvccVersion;
+
+	}
+
+}
\ No newline at end of file
@@ -285,6 +285,12 @@ public class EhcachePortalCacheTest {
 			_PORTAL_CACHE_MANAGER_NAME, portalCacheManager.getName());
 	}
 
+	@Test
+	public void testGetQuiet() {
+		Assert.assertEquals(_VALUE_1, _ehcachePortalCache.getQuiet(_KEY_1));
+		Assert.assertNull(_ehcachePortalCache.getQuiet(_KEY_2));
+	}
+
 	@Test
 	public void testPut() {
 		Assert.assertEquals(_VALUE_1, _ehcachePortalCache.get(_KEY_1));
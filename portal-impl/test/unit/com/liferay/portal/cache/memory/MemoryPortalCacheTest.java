@@ -21,7 +21,9 @@ import com.liferay.portal.kernel.cache.CacheListenerScope;
 import com.liferay.portal.kernel.cache.PortalCacheManager;
 import com.liferay.portal.kernel.test.CodeCoverageAssertor;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -131,6 +133,41 @@ public class MemoryPortalCacheTest {
 		}
 	}
 
+	@Test
+	public void testGetAll() {
+		Map<String, String> values = _memoryPortalCache.getAll(
+			Arrays.asList(_KEY_1, _KEY_2));
+
+		Assert.assertEquals(1, values.size());
+		Assert.assertEquals(_VALUE_1, values.get(_KEY_1));
+
+		_memoryPortalCache.put(_KEY_2, _VALUE_2);
+
+		values = _memoryPortalCache.getAll(Arrays.asList(_KEY_1, _KEY_2));
+
+		Assert.assertEquals(2, values.size());
+		Assert.assertEquals(_VALUE_1, values.get(_KEY_1));
+		Assert.assertEquals(_VALUE_2, values.get(_KEY_2));
+
+		try {
+			_memoryPortalCache.getAll(null);
+
+			Assert.fail();
+		}
+		catch (NullPointerException npe) {
+			Assert.assertEquals("Keys is null", npe.getMessage());
+		}
+
+		try {
+			_memoryPortalCache.getAll(Arrays.asList(_KEY_1, null));
+
+			Assert.fail();
+		}
+		catch (NullPointerException npe) {
+			Assert.assertEquals("Key is null", npe.getMessage());
+		}
+	}
+
 	@Test
 	public void testGetKeys() {
 		_memoryPortalCache.put(_KEY_2, _VALUE_2);
@@ -155,6 +192,21 @@ public class MemoryPortalCacheTest {
 		Assert.assertEquals(_CACHE_MANAGER_NAME, portalCacheManager.getName());
 	}
 
+	@Test
+	public void testGetQuiet() {
+		Assert.assertEquals(_VALUE_1, _memoryPortalCache.getQuiet(_KEY_1));
+		Assert.assertNull(_memoryPortalCache.getQuiet(_KEY_2));
+
+		try {
+			_memoryPortalCache.getQuiet(null);
+
+			Assert.fail();
+		}
+		catch (NullPointerException npe) {
+			Assert.assertEquals("Key is null", npe.getMessage());
+		}
+	}
+
 	@Test
 	public void testPut() {
 		Assert.assertEquals(_VALUE_1, _memoryPortalCache.get(_KEY_1));
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+
+package com.liferay.portal.cache.offheap;
+
+import com.liferay.portal.cache.memory.MemoryPortalCache;
+import com.liferay.portal.kernel.cache.CacheListener;
+import com.liferay.portal.kernel.cache.PortalCache;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class OffHeapPortalCacheTest {
+
+	@Before
+	public void setUp() {
+		_evictingPortalCache = new EvictingPortalCache<String, String>();
+		_offHeapStore = new OffHeapStore<String>(1024, 2);
+
+		_offHeapPortalCache = new OffHeapPortalCache<String, String>(
+			_evictingPortalCache, _offHeapStore);
+	}
+
+	@Test
+	public void testEvictAndPromote() {
+		_offHeapPortalCache.put(_KEY_1, _VALUE_1);
+
+		_evictingPortalCache.evict(_KEY_1);
+
+		Assert.assertNull(_evictingPortalCache.get(_KEY_1));
+		Assert.assertNotNull(_offHeapStore.get(_KEY_1));
+
+		Assert.assertEquals(_VALUE_1, _offHeapPortalCache.get(_KEY_1));
+
+		Assert.assertEquals(_VALUE_1, _evictingPortalCache.get(_KEY_1));
+		Assert.assertNull(_offHeapStore.get(_KEY_1));
+	}
+
+	@Test
+	public void testGetAll() {
+		_offHeapPortalCache.put(_KEY_1, _VALUE_1);
+		_offHeapPortalCache.put(_KEY_2, _VALUE_2);
+
+		_evictingPortalCache.evict(_KEY_2);
+
+		Map<String, String> values = _offHeapPortalCache.getAll(
+			Arrays.asList(_KEY_1, _KEY_2, "key3"));
+
+		Assert.assertEquals(2, values.size());
+		Assert.assertEquals(_VALUE_1, values.get(_KEY_1));
+		Assert.assertEquals(_VALUE_2, values.get(_KEY_2));
+	}
+
+	@Test
+	public void testGetKeys() {
+		_offHeapPortalCache.put(_KEY_1, _VALUE_1);
+		_offHeapPortalCache.put(_KEY_2, _VALUE_2);
+
+		_evictingPortalCache.evict(_KEY_2);
+
+		List<String> keys = _offHeapPortalCache.getKeys();
+
+		Assert.assertEquals(2, keys.size());
+		Assert.assertTrue(keys.contains(_KEY_1));
+		Assert.assertTrue(keys.contains(_KEY_2));
+	}
+
+	@Test
+	public void testInvalidate() {
+		_offHeapPortalCache.put(_KEY_1, _VALUE_1);
+
+		_evictingPortalCache.evict(_KEY_1);
+
+		_offHeapPortalCache.putQuiet(_KEY_1, _VALUE_2);
+
+		Assert.assertNull(_offHeapStore.get(_KEY_1));
+		Assert.assertEquals(_VALUE_2, _offHeapPortalCache.get(_KEY_1));
+
+		_evictingPortalCache.evict(_KEY_1);
+
+		_offHeapPortalCache.remove(_KEY_1);
+
+		Assert.assertNull(_offHeapStore.get(_KEY_1));
+		Assert.assertNull(_offHeapPortalCache.get(_KEY_1));
+
+		_offHeapPortalCache.put(_KEY_1, _VALUE_1);
+
+		_evictingPortalCache.evict(_KEY_1);
+
+		_evictingPortalCache.put(_KEY_1, _VALUE_2);
+
+		Assert.assertNull(_offHeapStore.get(_KEY_1));
+
+		_evictingPortalCache.evict(_KEY_1);
+
+		_offHeapPortalCache.removeAll();
+
+		Assert.assertEquals(0, _offHeapStore.getSize());
+		Assert.assertNull(_offHeapPortalCache.get(_KEY_1));
+	}
+
+	@Test
+	public void testRemoveDuringEviction() {
+		EvictingPortalCache<String, Serializable> evictingPortalCache =
+			new EvictingPortalCache<String, Serializable>();
+
+		OffHeapPortalCache<String, Serializable> offHeapPortalCache =
+			new OffHeapPortalCache<String, Serializable>(
+				evictingPortalCache, _offHeapStore);
+
+		offHeapPortalCache.put(_KEY_1, new RacingValue(offHeapPortalCache));
+
+		evictingPortalCache.evict(_KEY_1);
+
+		Assert.assertNull(_offHeapStore.get(_KEY_1));
+		Assert.assertNull(offHeapPortalCache.get(_KEY_1));
+	}
+
+	@Test
+	public void testUnregisterCacheListeners() {
+		_offHeapPortalCache.unregisterCacheListeners();
+
+		_offHeapPortalCache.put(_KEY_1, _VALUE_1);
+
+		_evictingPortalCache.evict(_KEY_1);
+
+		Assert.assertEquals(_VALUE_1, _offHeapPortalCache.get(_KEY_1));
+	}
+
+	private static final String _KEY_1 = "key1";
+
+	private static final String _KEY_2 = "key2";
+
+	private static final String _VALUE_1 = "value1";
+
+	private static final String _VALUE_2 = "value2";
+
+	private EvictingPortalCache<String, String> _evictingPortalCache;
+	private OffHeapPortalCache<String, String> _offHeapPortalCache;
+	private OffHeapStore<String> _offHeapStore;
+
+	private static class EvictingPortalCache<K extends Serializable, V>
+		extends MemoryPortalCache<K, V> {
+
+		public EvictingPortalCache() {
+			super(null, "test", 16);
+		}
+
+		public void evict(K key) {
+			V value = get(key);
+
+			removeQuietly(key);
+
+			for (CacheListener<K, V> cacheListener : _cacheListeners) {
+				cacheListener.notifyEntryEvicted(
+					this, key, value, PortalCache.DEFAULT_TIME_TO_LIVE);
+			}
+		}
+
+		@Override
+		public void registerCacheListener(CacheListener<K, V> cacheListener) {
+			super.registerCacheListener(cacheListener);
+
+			_cacheListeners.add(cacheListener);
+		}
+
+		@Override
+		public void unregisterCacheListeners() {
+			super.unregisterCacheListeners();
+
+			_cacheListeners.clear();
+		}
+
+		protected void removeQuietly(K key) {
+			Set<CacheListener<K, V>> cacheListeners =
+				new CopyOnWriteArraySet<CacheListener<K, V>>(_cacheListeners);
+
+			unregisterCacheListeners();
+
+			remove(key);
+
+			for (CacheListener<K, V> cacheListener : cacheListeners) {
+				registerCacheListener(cacheListener);
+			}
+		}
+
+		private final Set<CacheListener<K, V>> _cacheListeners =
+			new CopyOnWriteArraySet<CacheListener<K, V>>();
+
+	}
+
+	private static class RacingValue implements Serializable {
+
+		public RacingValue(
+			OffHeapPortalCache<String, Serializable> offHeapPortalCache) {
+
+			_offHeapPortalCache = offHeapPortalCache;
+		}
+
+		private void writeObject(ObjectOutputStream objectOutputStream)
+			throws IOException {
+
+			// Put and remove the key while the evicted value is serialized
+
+			_offHeapPortalCache.put(_KEY_1, _VALUE_2);
+
+			_offHeapPortalCache.remove(_KEY_1);
+
+			objectOutputStream.defaultWriteObject();
+		}
+
+		private final transient OffHeapPortalCache<String, Serializable>
+			_offHeapPortalCache;
+
+	}
+
+}
\ No newline at end of file
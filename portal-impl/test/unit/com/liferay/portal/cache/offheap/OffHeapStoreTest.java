@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.offheap;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class OffHeapStoreTest {
+
+	@Test
+	public void testClear() {
+		OffHeapStore<String> offHeapStore = new OffHeapStore<String>(64, 2);
+
+		offHeapStore.put(_KEY_1, new byte[] {1, 2, 3});
+		offHeapStore.put(_KEY_2, new byte[] {4, 5});
+
+		offHeapStore.clear();
+
+		Assert.assertNull(offHeapStore.get(_KEY_1));
+		Assert.assertNull(offHeapStore.get(_KEY_2));
+		Assert.assertEquals(0, offHeapStore.getSize());
+		Assert.assertTrue(offHeapStore.getKeys().isEmpty());
+
+		offHeapStore.put(_KEY_1, new byte[] {6});
+
+		Assert.assertArrayEquals(new byte[] {6}, offHeapStore.get(_KEY_1));
+	}
+
+	@Test
+	public void testConstructor() {
+		try {
+			new OffHeapStore<String>(0, 1);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+			Assert.assertEquals(
+				"Max size 0 is not greater than 0", iae.getMessage());
+		}
+
+		try {
+			new OffHeapStore<String>(10, 0);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+			Assert.assertEquals(
+				"Segments count 0 is not greater than 0", iae.getMessage());
+		}
+
+		try {
+			new OffHeapStore<String>(1, 2);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+			Assert.assertEquals(
+				"Segment size 0 is out of range", iae.getMessage());
+		}
+
+		OffHeapStore<String> offHeapStore = new OffHeapStore<String>(10, 3);
+
+		Assert.assertEquals(9, offHeapStore.getMaxSize());
+	}
+
+	@Test
+	public void testEviction() {
+		OffHeapStore<String> offHeapStore = new OffHeapStore<String>(8, 1);
+
+		offHeapStore.put(_KEY_1, new byte[] {1, 2, 3});
+		offHeapStore.put(_KEY_2, new byte[] {4, 5, 6});
+
+		Assert.assertEquals(0, offHeapStore.getEvictionCount());
+
+		// Wraps around to the ring start and evicts the oldest entry
+
+		offHeapStore.put("key3", new byte[] {7, 8, 9});
+
+		Assert.assertNull(offHeapStore.get(_KEY_1));
+		Assert.assertArrayEquals(
+			new byte[] {4, 5, 6}, offHeapStore.get(_KEY_2));
+		Assert.assertArrayEquals(
+			new byte[] {7, 8, 9}, offHeapStore.get("key3"));
+		Assert.assertEquals(1, offHeapStore.getEvictionCount());
+		Assert.assertEquals(6, offHeapStore.getSize());
+
+		// Entries larger than a segment are not stored
+
+		offHeapStore.put("key4", new byte[9]);
+
+		Assert.assertNull(offHeapStore.get("key4"));
+		Assert.assertEquals(6, offHeapStore.getSize());
+	}
+
+	@Test
+	public void testPutGetRemove() {
+		OffHeapStore<String> offHeapStore = new OffHeapStore<String>(1024, 4);
+
+		Assert.assertNull(offHeapStore.get(_KEY_1));
+
+		offHeapStore.put(_KEY_1, new byte[] {1, 2, 3});
+		offHeapStore.put(_KEY_2, new byte[] {4, 5});
+
+		Assert.assertArrayEquals(
+			new byte[] {1, 2, 3}, offHeapStore.get(_KEY_1));
+		Assert.assertArrayEquals(new byte[] {4, 5}, offHeapStore.get(_KEY_2));
+		Assert.assertEquals(5, offHeapStore.getSize());
+
+		List<String> keys = offHeapStore.getKeys();
+
+		Assert.assertEquals(2, keys.size());
+		Assert.assertTrue(keys.contains(_KEY_1));
+		Assert.assertTrue(keys.contains(_KEY_2));
+
+		offHeapStore.put(_KEY_1, new byte[] {7});
+
+		Assert.assertArrayEquals(new byte[] {7}, offHeapStore.get(_KEY_1));
+		Assert.assertEquals(3, offHeapStore.getSize());
+
+		offHeapStore.remove(_KEY_1);
+
+		Assert.assertNull(offHeapStore.get(_KEY_1));
+		Assert.assertEquals(2, offHeapStore.getSize());
+	}
+
+	@Test
+	public void testPutWithVersion() {
+		OffHeapStore<String> offHeapStore = new OffHeapStore<String>(1024, 4);
+
+		long version = offHeapStore.getVersion(_KEY_1);
+
+		Assert.assertTrue(
+			offHeapStore.put(_KEY_1, new byte[] {1, 2, 3}, version));
+		Assert.assertArrayEquals(
+			new byte[] {1, 2, 3}, offHeapStore.get(_KEY_1));
+
+		offHeapStore.remove(_KEY_1);
+
+		Assert.assertFalse(
+			offHeapStore.put(_KEY_1, new byte[] {1, 2, 3}, version));
+		Assert.assertNull(offHeapStore.get(_KEY_1));
+
+		version = offHeapStore.getVersion(_KEY_1);
+
+		offHeapStore.clear();
+
+		Assert.assertFalse(
+			offHeapStore.put(_KEY_1, new byte[] {1, 2, 3}, version));
+		Assert.assertNull(offHeapStore.get(_KEY_1));
+	}
+
+	private static final String _KEY_1 = "key1";
+
+	private static final String _KEY_2 = "key2";
+
+}
\ No newline at end of file
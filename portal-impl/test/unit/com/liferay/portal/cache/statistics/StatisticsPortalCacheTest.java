@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.statistics;
+
+import com.liferay.portal.cache.memory.MemoryPortalCache;
+import com.liferay.portal.kernel.cache.PortalCache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class StatisticsPortalCacheTest {
+
+	@Before
+	public void setUp() {
+		PortalCache<String, String> portalCache =
+			new MemoryPortalCache<String, String>(null, "test", 16);
+
+		_statisticsPortalCache = new StatisticsPortalCache<String, String>(
+			portalCache, 1);
+
+		_portalCacheStatistics =
+			_statisticsPortalCache.getPortalCacheStatistics();
+	}
+
+	@Test
+	public void testEntryCount() {
+		_statisticsPortalCache.put(_KEY_1, _VALUE_1);
+		_statisticsPortalCache.put(_KEY_1, _VALUE_2);
+		_statisticsPortalCache.putQuiet(_KEY_2, _VALUE_2);
+
+		Assert.assertEquals(2, _portalCacheStatistics.getEntryCount());
+
+		_statisticsPortalCache.remove(_KEY_1);
+		_statisticsPortalCache.remove(_KEY_1);
+
+		Assert.assertEquals(1, _portalCacheStatistics.getEntryCount());
+
+		_statisticsPortalCache.putQuiet(_KEY_2, _VALUE_1);
+
+		Assert.assertEquals(1, _portalCacheStatistics.getEntryCount());
+
+		_statisticsPortalCache.removeAll();
+
+		Assert.assertEquals(0, _portalCacheStatistics.getEntryCount());
+		Assert.assertEquals(0, _portalCacheStatistics.getApproximateSize());
+	}
+
+	@Test
+	public void testGetAndPut() {
+		Assert.assertNull(_statisticsPortalCache.get(_KEY_1));
+
+		_statisticsPortalCache.put(_KEY_1, _VALUE_1);
+
+		Assert.assertEquals(_VALUE_1, _statisticsPortalCache.get(_KEY_1));
+		Assert.assertEquals(_VALUE_1, _statisticsPortalCache.get(_KEY_1));
+
+		_statisticsPortalCache.putQuiet(_KEY_2, _VALUE_2);
+
+		Map<String, String> values = _statisticsPortalCache.getAll(
+			Arrays.asList(_KEY_1, _KEY_2, "key3"));
+
+		Assert.assertEquals(2, values.size());
+
+		Assert.assertEquals(4, _portalCacheStatistics.getHitCount());
+		Assert.assertEquals(2, _portalCacheStatistics.getMissCount());
+		Assert.assertEquals(2, _portalCacheStatistics.getPutCount());
+		Assert.assertEquals(4.0 / 6, _portalCacheStatistics.getHitRatio(), 0);
+		Assert.assertTrue(_portalCacheStatistics.getAverageValueSize() > 0);
+		Assert.assertTrue(_portalCacheStatistics.getApproximateSize() > 0);
+
+		List<Map.Entry<String, Integer>> hotKeys =
+			_portalCacheStatistics.getHotKeys(1);
+
+		Assert.assertEquals(1, hotKeys.size());
+
+		Map.Entry<String, Integer> hotKey = hotKeys.get(0);
+
+		Assert.assertEquals(_KEY_1, hotKey.getKey());
+		Assert.assertEquals(4, (int)hotKey.getValue());
+	}
+
+	@Test
+	public void testLoadTime() {
+		_statisticsPortalCache.put(_KEY_1, _VALUE_1);
+
+		Assert.assertEquals(0, _portalCacheStatistics.getAverageLoadTime(), 0);
+
+		Assert.assertNull(_statisticsPortalCache.get(_KEY_2));
+
+		_statisticsPortalCache.put(_KEY_1, _VALUE_1);
+
+		Assert.assertEquals(0, _portalCacheStatistics.getAverageLoadTime(), 0);
+
+		_statisticsPortalCache.put(_KEY_2, _VALUE_2);
+
+		double averageLoadTime = _portalCacheStatistics.getAverageLoadTime();
+
+		Assert.assertTrue(averageLoadTime > 0);
+
+		_statisticsPortalCache.put(_KEY_2, _VALUE_2);
+
+		Assert.assertEquals(
+			averageLoadTime, _portalCacheStatistics.getAverageLoadTime(), 0);
+	}
+
+	@Test
+	public void testRemoveAndReset() {
+		_statisticsPortalCache.put(_KEY_1, _VALUE_1);
+
+		_statisticsPortalCache.remove(_KEY_1);
+
+		Assert.assertNull(_statisticsPortalCache.get(_KEY_1));
+
+		Assert.assertEquals(1, _portalCacheStatistics.getRemoveCount());
+		Assert.assertEquals(1, _portalCacheStatistics.getMissCount());
+
+		_portalCacheStatistics.reset();
+
+		Assert.assertEquals(0, _portalCacheStatistics.getMissCount());
+		Assert.assertEquals(0, _portalCacheStatistics.getPutCount());
+		Assert.assertEquals(0, _portalCacheStatistics.getRemoveCount());
+		Assert.assertTrue(_portalCacheStatistics.getHotKeys(10).isEmpty());
+	}
+
+	private static final String _KEY_1 = "key1";
+
+	private static final String _KEY_2 = "key2";
+
+	private static final String _VALUE_1 = "value1";
+
+	private static final String _VALUE_2 = "value2";
+
+	private PortalCacheStatistics _portalCacheStatistics;
+	private StatisticsPortalCache<String, String> _statisticsPortalCache;
+
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common;
+
+import com.liferay.portal.cache.MockPortalCacheManager;
+import com.liferay.portal.cache.key.HashCodeCacheKeyGenerator;
+import com.liferay.portal.cache.memory.MemoryPortalCache;
+import com.liferay.portal.kernel.cache.MultiVMPool;
+import com.liferay.portal.kernel.cache.PortalCacheManager;
+import com.liferay.portal.kernel.cache.key.CacheKeyGeneratorUtil;
+import com.liferay.portal.kernel.dao.orm.FinderCacheStatistics;
+import com.liferay.portal.kernel.dao.orm.FinderPath;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsUtil;
+import com.liferay.portal.util.PropsImpl;
+
+import java.io.Serializable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class FinderCacheImplTest {
+
+	@BeforeClass
+	public static void setUpClass() {
+		_props = PropsUtil.getProps();
+
+		PropsUtil.setProps(new PropsImpl());
+
+		CacheKeyGeneratorUtil cacheKeyGeneratorUtil =
+			new CacheKeyGeneratorUtil();
+
+		cacheKeyGeneratorUtil.setDefaultCacheKeyGenerator(
+			new HashCodeCacheKeyGenerator());
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		PropsUtil.setProps(_props);
+	}
+
+	@Before
+	public void setUp() {
+		MultiVMPool multiVMPool = Mockito.mock(MultiVMPool.class);
+
+		Mockito.doReturn(
+			Mockito.mock(PortalCacheManager.class)
+		).when(
+			multiVMPool
+		).getCacheManager();
+
+		Mockito.doReturn(
+			new MemoryPortalCache<Serializable, Serializable>(
+				new MockPortalCacheManager<Serializable, Serializable>(
+					FinderCacheImpl.CACHE_NAME),
+				FinderCacheImpl.CACHE_NAME, 16)
+		).when(
+			multiVMPool
+		).getCache(
+			Mockito.anyString(), Mockito.anyBoolean()
+		);
+
+		_finderCacheImpl.setMultiVMPool(multiVMPool);
+
+		_finderPath1 = new FinderPath(
+			true, true, Object.class, "com.liferay.test.model.impl.Test1Impl",
+			"fetchByName", new String[] {String.class.getName()});
+		_finderPath2 = new FinderPath(
+			true, true, Object.class, "com.liferay.test.model.impl.Test2Impl",
+			"fetchByName", new String[] {String.class.getName()});
+	}
+
+	@Test
+	public void testClearCache() {
+		FinderCacheStatistics finderCacheStatistics1 =
+			_finderCacheImpl.getFinderCacheStatistics(_finderPath1);
+		FinderCacheStatistics finderCacheStatistics2 =
+			_finderCacheImpl.getFinderCacheStatistics(_finderPath2);
+
+		assertFinderCacheStatistics(
+			finderCacheStatistics1, finderCacheStatistics2);
+
+		_finderCacheImpl.clearCache(_finderPath1.getCacheName());
+
+		assertFinderCacheStatistics(finderCacheStatistics2);
+
+		_finderCacheImpl.clearCache();
+
+		assertFinderCacheStatistics();
+	}
+
+	@Test
+	public void testRemoveCache() {
+		FinderCacheStatistics finderCacheStatistics1 =
+			_finderCacheImpl.getFinderCacheStatistics(_finderPath1);
+		FinderCacheStatistics finderCacheStatistics2 =
+			_finderCacheImpl.getFinderCacheStatistics(_finderPath2);
+
+		Assert.assertSame(
+			finderCacheStatistics1,
+			_finderCacheImpl.getFinderCacheStatistics(_finderPath1));
+
+		_finderCacheImpl.removeCache(_finderPath2.getCacheName());
+
+		assertFinderCacheStatistics(finderCacheStatistics1);
+
+		Assert.assertNotSame(
+			finderCacheStatistics2,
+			_finderCacheImpl.getFinderCacheStatistics(_finderPath2));
+	}
+
+	protected void assertFinderCacheStatistics(
+		FinderCacheStatistics... expectedFinderCacheStatistics) {
+
+		Collection<FinderCacheStatistics> finderCacheStatistics =
+			_finderCacheImpl.getFinderCacheStatistics();
+
+		Assert.assertEquals(
+			expectedFinderCacheStatistics.length, finderCacheStatistics.size());
+		Assert.assertTrue(
+			finderCacheStatistics.containsAll(
+				Arrays.asList(expectedFinderCacheStatistics)));
+	}
+
+	private static Props _props;
+
+	private final FinderCacheImpl _finderCacheImpl = new FinderCacheImpl();
+	private FinderPath _finderPath1;
+	private FinderPath _finderPath2;
+
+}
\ No newline at end of file
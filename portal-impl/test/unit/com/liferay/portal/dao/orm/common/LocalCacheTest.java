@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common;
+
+import com.liferay.portal.kernel.test.ReflectionTestUtil;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class LocalCacheTest {
+
+	@Test
+	public void testClear() {
+		LocalCache localCache = new LocalCache(16);
+
+		localCache.put(_OWNER_1, 1L, "value1");
+
+		localCache.clear();
+
+		Assert.assertNull(localCache.get(_OWNER_1, 1L));
+
+		localCache.put(_OWNER_1, 1L, "value2");
+
+		Assert.assertEquals("value2", localCache.get(_OWNER_1, 1L));
+	}
+
+	@Test
+	public void testClearReleasesReferences() {
+		LocalCache localCache = new LocalCache(4);
+
+		for (long i = 0; i < 100; i++) {
+			localCache.put(_OWNER_1, i, i);
+		}
+
+		localCache.remove(_OWNER_1, 99L);
+
+		localCache.put(_OWNER_2, 99L, 99L);
+
+		localCache.clear();
+
+		for (String fieldName : new String[] {"_keys", "_owners", "_values"}) {
+			Object[] objects = ReflectionTestUtil.getFieldValue(
+				localCache, fieldName);
+
+			for (Object object : objects) {
+				Assert.assertNull(object);
+			}
+		}
+	}
+
+	@Test
+	public void testEviction() {
+		LocalCache localCache = new LocalCache(4);
+
+		for (long i = 0; i < 1000; i++) {
+			localCache.put(_OWNER_1, i, i);
+		}
+
+		Assert.assertEquals(999L, localCache.get(_OWNER_1, 999L));
+
+		int count = 0;
+
+		for (long i = 0; i < 1000; i++) {
+			if (localCache.get(_OWNER_1, i) != null) {
+				count++;
+			}
+		}
+
+		Assert.assertTrue(count <= 8);
+	}
+
+	@Test
+	public void testGetAndPut() {
+		LocalCache localCache = new LocalCache(16);
+
+		localCache.put(_OWNER_1, 1L, "value1");
+		localCache.put(_OWNER_2, 1L, "value2");
+		localCache.put(_OWNER_1, new Object[] {1L, "name"}, "value3");
+
+		Assert.assertEquals("value1", localCache.get(_OWNER_1, 1L));
+		Assert.assertEquals("value2", localCache.get(_OWNER_2, 1L));
+		Assert.assertEquals(
+			"value3", localCache.get(_OWNER_1, new Object[] {1L, "name"}));
+		Assert.assertNull(localCache.get(_OWNER_1, 2L));
+		Assert.assertNull(
+			localCache.get(_OWNER_2, new Object[] {1L, "name"}));
+
+		Assert.assertEquals(3, localCache.getHitCount());
+		Assert.assertEquals(2, localCache.getMissCount());
+
+		localCache.put(_OWNER_1, 1L, "value4");
+
+		Assert.assertEquals("value4", localCache.get(_OWNER_1, 1L));
+
+		localCache.remove(_OWNER_1, 1L);
+
+		Assert.assertNull(localCache.get(_OWNER_1, 1L));
+		Assert.assertEquals("value2", localCache.get(_OWNER_2, 1L));
+	}
+
+	@Test
+	public void testThreadLocalReset() {
+		LocalCacheThreadLocal localCacheThreadLocal = new LocalCacheThreadLocal(
+			"test", 16);
+
+		LocalCache localCache = localCacheThreadLocal.get();
+
+		localCache.put(_OWNER_1, 1L, "value1");
+
+		Assert.assertEquals("value1", localCache.get(_OWNER_1, 1L));
+
+		localCacheThreadLocal.remove();
+
+		Object[] values = ReflectionTestUtil.getFieldValue(
+			localCache, "_values");
+
+		for (Object value : values) {
+			Assert.assertNull(value);
+		}
+
+		Assert.assertSame(localCache, localCacheThreadLocal.get());
+		Assert.assertNull(localCache.get(_OWNER_1, 1L));
+		Assert.assertEquals(1, localCacheThreadLocal.getHitCount());
+		Assert.assertEquals(0, localCacheThreadLocal.getMissCount());
+	}
+
+	private static final Object _OWNER_1 = new Object();
+
+	private static final Object _OWNER_2 = new Object();
+
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+
+package com.liferay.portal.kernel.dao.orm;
+
+import com.liferay.portal.cache.key.HashCodeCacheKeyGenerator;
+import com.liferay.portal.kernel.cache.key.CacheKeyGeneratorUtil;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class FinderCacheStatisticsTest {
+
+	@BeforeClass
+	public static void setUpClass() {
+		CacheKeyGeneratorUtil cacheKeyGeneratorUtil =
+			new CacheKeyGeneratorUtil();
+
+		cacheKeyGeneratorUtil.setDefaultCacheKeyGenerator(
+			new HashCodeCacheKeyGenerator());
+	}
+
+	@Test
+	public void testCollectionFinderPath() {
+		FinderCacheStatistics finderCacheStatistics =
+			new FinderCacheStatistics(
+				new FinderPath(
+					true, true, TestModelImpl.class,
+					TestModelImpl.class.getName() + ".List1", "findByName",
+					new String[] {String.class.getName()}));
+
+		finderCacheStatistics.recordPut(Collections.emptyList());
+
+		finderCacheStatistics.recordGet(null);
+		finderCacheStatistics.recordGet(Collections.emptyList());
+		finderCacheStatistics.recordGet(Arrays.asList(new TestModelImpl()));
+
+		Assert.assertEquals(2, finderCacheStatistics.getHitCount());
+		Assert.assertEquals(1, finderCacheStatistics.getMissCount());
+		Assert.assertEquals(0, finderCacheStatistics.getNegativeHitCount());
+		Assert.assertEquals(0, finderCacheStatistics.getNegativePutCount());
+	}
+
+	@Test
+	public void testCountFinderPath() {
+		FinderCacheStatistics finderCacheStatistics =
+			new FinderCacheStatistics(
+				new FinderPath(
+					true, true, Long.class,
+					TestModelImpl.class.getName() + ".List2", "countByName",
+					new String[] {String.class.getName()}));
+
+		finderCacheStatistics.recordPut(0L);
+
+		finderCacheStatistics.recordGet(0L);
+
+		Assert.assertEquals(1, finderCacheStatistics.getHitCount());
+		Assert.assertEquals(0, finderCacheStatistics.getNegativeHitCount());
+		Assert.assertEquals(0, finderCacheStatistics.getNegativePutCount());
+	}
+
+	@Test
+	public void testReset() {
+		FinderCacheStatistics finderCacheStatistics =
+			new FinderCacheStatistics(
+				new FinderPath(
+					true, true, TestModelImpl.class,
+					TestModelImpl.class.getName(), "fetchByName",
+					new String[] {String.class.getName()}));
+
+		finderCacheStatistics.recordPut(Collections.emptyList());
+
+		finderCacheStatistics.recordGet(null);
+		finderCacheStatistics.recordGet(Collections.emptyList());
+		finderCacheStatistics.recordGet(new TestModelImpl());
+
+		finderCacheStatistics.reset();
+
+		Assert.assertEquals(0, finderCacheStatistics.getHitCount());
+		Assert.assertEquals(0, finderCacheStatistics.getMissCount());
+		Assert.assertEquals(0, finderCacheStatistics.getNegativeHitCount());
+		Assert.assertEquals(0, finderCacheStatistics.getNegativePutCount());
+	}
+
+	@Test
+	public void testUniqueFinderPath() {
+		FinderCacheStatistics finderCacheStatistics =
+			new FinderCacheStatistics(
+				new FinderPath(
+					true, true, TestModelImpl.class,
+					TestModelImpl.class.getName(), "fetchByName",
+					new String[] {String.class.getName()}));
+
+		finderCacheStatistics.recordPut(Collections.emptyList());
+		finderCacheStatistics.recordPut(new TestModelImpl());
+
+		finderCacheStatistics.recordGet(null);
+		finderCacheStatistics.recordGet(Collections.emptyList());
+		finderCacheStatistics.recordGet(Collections.emptyList());
+		finderCacheStatistics.recordGet(new TestModelImpl());
+
+		Assert.assertEquals(1, finderCacheStatistics.getHitCount());
+		Assert.assertEquals(1, finderCacheStatistics.getMissCount());
+		Assert.assertEquals(2, finderCacheStatistics.getNegativeHitCount());
+		Assert.assertEquals(1, finderCacheStatistics.getNegativePutCount());
+	}
+
+	private static class TestModelImpl {
+	}
+
+}
\ No newline at end of file
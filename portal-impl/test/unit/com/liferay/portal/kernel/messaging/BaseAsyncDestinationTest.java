@@ -0,0 +1,312 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import com.liferay.portal.executor.PortalExecutorManagerImpl;
+import com.liferay.portal.kernel.concurrent.RejectedExecutionHandler;
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+
+import java.io.File;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Michael C. Han
+ */
+public class BaseAsyncDestinationTest {
+
+	@Before
+	public void setUp() throws Exception {
+		PortalExecutorManagerUtil portalExecutorManagerUtil =
+			new PortalExecutorManagerUtil();
+
+		portalExecutorManagerUtil.setPortalExecutorManager(
+			new PortalExecutorManagerImpl());
+
+		_overflowDir = File.createTempFile("overflow", null);
+
+		_overflowDir.delete();
+
+		_overflowDir.mkdirs();
+	}
+
+	@After
+	public void tearDown() {
+		for (File file : _overflowDir.listFiles()) {
+			file.delete();
+		}
+
+		_overflowDir.delete();
+	}
+
+	@Test
+	public void testOverflow() throws Exception {
+		SerialDestination serialDestination = createSerialDestination();
+
+		serialDestination.setMaximumQueueSize(1);
+
+		serialDestination.open();
+
+		final CountDownLatch blockingCountDownLatch = new CountDownLatch(1);
+		final CountDownLatch receivedCountDownLatch = new CountDownLatch(10);
+		final List<Object> payloads = new CopyOnWriteArrayList<Object>();
+
+		serialDestination.register(
+			new MessageListener() {
+
+				@Override
+				public void receive(Message message) {
+					try {
+						blockingCountDownLatch.await();
+					}
+					catch (InterruptedException ie) {
+					}
+
+					payloads.add(message.getPayload());
+
+					receivedCountDownLatch.countDown();
+				}
+
+			});
+
+		try {
+			for (int i = 0; i < 10; i++) {
+				Message message = new Message();
+
+				message.setPayload(i);
+
+				serialDestination.send(message);
+			}
+
+			DestinationStatistics destinationStatistics =
+				serialDestination.getDestinationStatistics();
+
+			Assert.assertTrue(
+				destinationStatistics.getOverflowMessageCount() >= 8);
+
+			blockingCountDownLatch.countDown();
+
+			Assert.assertTrue(
+				receivedCountDownLatch.await(10, TimeUnit.SECONDS));
+
+			for (int i = 0; i < 10; i++) {
+				Assert.assertEquals(i, payloads.get(i));
+			}
+
+			destinationStatistics =
+				serialDestination.getDestinationStatistics();
+
+			Assert.assertEquals(
+				0, destinationStatistics.getOverflowMessageCount());
+		}
+		finally {
+			serialDestination.close(true);
+		}
+	}
+
+	@Test
+	public void testOverflowRejectsUnserializableMessage() throws Exception {
+		final AtomicBoolean replayEnabled = new AtomicBoolean();
+
+		SerialDestination serialDestination = new SerialDestination() {
+
+			@Override
+			protected void replayOverflowMessages() {
+				if (replayEnabled.get()) {
+					super.replayOverflowMessages();
+				}
+			}
+
+		};
+
+		serialDestination.setMaximumQueueSize(1);
+		serialDestination.setName(BaseAsyncDestinationTest.class.getName());
+		serialDestination.setOverflowDir(_overflowDir.getPath());
+		serialDestination.setOverflowEnabled(true);
+
+		final List<Object> rejectedPayloads =
+			new CopyOnWriteArrayList<Object>();
+
+		serialDestination.setRejectedExecutionHandler(
+			new RejectedExecutionHandler() {
+
+				@Override
+				public void rejectedExecution(
+					Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
+
+					MessageRunnable messageRunnable = (MessageRunnable)runnable;
+
+					Message message = messageRunnable.getMessage();
+
+					rejectedPayloads.add(message.getPayload());
+				}
+
+			});
+
+		serialDestination.open();
+
+		final CountDownLatch blockingCountDownLatch = new CountDownLatch(1);
+		final CountDownLatch receivedCountDownLatch = new CountDownLatch(4);
+		final List<Object> payloads = new CopyOnWriteArrayList<Object>();
+
+		serialDestination.register(
+			new MessageListener() {
+
+				@Override
+				public void receive(Message message) {
+					try {
+						blockingCountDownLatch.await();
+					}
+					catch (InterruptedException ie) {
+					}
+
+					payloads.add(message.getPayload());
+
+					receivedCountDownLatch.countDown();
+				}
+
+			});
+
+		try {
+			for (int i = 0; i < 3; i++) {
+				Message message = new Message();
+
+				message.setPayload(i);
+
+				serialDestination.send(message);
+			}
+
+			blockingCountDownLatch.countDown();
+
+			DestinationStatistics destinationStatistics =
+				serialDestination.getDestinationStatistics();
+
+			while (destinationStatistics.getPendingMessageCount() > 0) {
+				Thread.sleep(10);
+
+				destinationStatistics =
+					serialDestination.getDestinationStatistics();
+			}
+
+			Assert.assertTrue(
+				destinationStatistics.getOverflowMessageCount() > 0);
+
+			// The queue has room, but older messages wait in the journal
+
+			Message message = new Message();
+
+			Object payload = new Object();
+
+			message.setPayload(payload);
+
+			serialDestination.send(message);
+
+			Assert.assertEquals(1, rejectedPayloads.size());
+			Assert.assertSame(payload, rejectedPayloads.get(0));
+
+			replayEnabled.set(true);
+
+			message = new Message();
+
+			message.setPayload(3);
+
+			serialDestination.send(message);
+
+			Assert.assertTrue(
+				receivedCountDownLatch.await(10, TimeUnit.SECONDS));
+
+			for (int i = 0; i < 4; i++) {
+				Assert.assertEquals(i, payloads.get(i));
+			}
+		}
+		finally {
+			serialDestination.close(true);
+		}
+	}
+
+	@Test
+	public void testReplayAfterRestart() throws Exception {
+		MessageOverflowJournal messageOverflowJournal =
+			new MessageOverflowJournal(
+				new File(
+					_overflowDir,
+					BaseAsyncDestinationTest.class.getName() + ".journal"),
+				1024 * 1024, 0);
+
+		for (int i = 0; i < 3; i++) {
+			Message message = new Message();
+
+			message.setPayload(i);
+
+			messageOverflowJournal.append(message.toByteArray());
+		}
+
+		messageOverflowJournal.close();
+
+		SerialDestination serialDestination = createSerialDestination();
+
+		serialDestination.open();
+
+		final CountDownLatch receivedCountDownLatch = new CountDownLatch(3);
+		final List<Object> payloads = new CopyOnWriteArrayList<Object>();
+
+		serialDestination.register(
+			new MessageListener() {
+
+				@Override
+				public void receive(Message message) {
+					payloads.add(message.getPayload());
+
+					receivedCountDownLatch.countDown();
+				}
+
+			});
+
+		try {
+			Assert.assertTrue(
+				receivedCountDownLatch.await(10, TimeUnit.SECONDS));
+
+			for (int i = 0; i < 3; i++) {
+				Assert.assertEquals(i, payloads.get(i));
+			}
+		}
+		finally {
+			serialDestination.close(true);
+		}
+	}
+
+	protected SerialDestination createSerialDestination() {
+		SerialDestination serialDestination = new SerialDestination();
+
+		serialDestination.setName(BaseAsyncDestinationTest.class.getName());
+		serialDestination.setOverflowDir(_overflowDir.getPath());
+		serialDestination.setOverflowEnabled(true);
+
+		return serialDestination;
+	}
+
+	private File _overflowDir;
+
+}
\ No newline at end of file
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import com.liferay.portal.executor.PortalExecutorManagerImpl;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.util.LocaleThreadLocal;
+import com.liferay.portal.security.permission.PermissionChecker;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+/**
+ * @author Michael C. Han
+ */
+public class BatchingDestinationTest {
+
+	@Before
+	public void setUp() {
+		PortalExecutorManagerUtil portalExecutorManagerUtil =
+			new PortalExecutorManagerUtil();
+
+		portalExecutorManagerUtil.setPortalExecutorManager(
+			new PortalExecutorManagerImpl());
+
+		_batchingDestination = new BatchingDestination();
+
+		_batchingDestination.setBatchInterval(100);
+		_batchingDestination.setBatchSize(3);
+		_batchingDestination.setName(BatchingDestinationTest.class.getName());
+
+		_batchingDestination.open();
+	}
+
+	@After
+	public void tearDown() {
+		_batchingDestination.close(true);
+	}
+
+	@Test
+	public void testBatchInterval() throws Exception {
+		MockBatchMessageListener mockBatchMessageListener =
+			new MockBatchMessageListener();
+
+		_batchingDestination.register(mockBatchMessageListener);
+
+		_batchingDestination.send(new Message());
+
+		MessageBatch messageBatch = mockBatchMessageListener.takeMessageBatch();
+
+		List<Message> messages = messageBatch.getMessages();
+
+		Assert.assertEquals(1, messages.size());
+	}
+
+	@Test
+	public void testBatchSize() throws Exception {
+		_batchingDestination.setBatchInterval(0);
+
+		MockBatchMessageListener mockBatchMessageListener =
+			new MockBatchMessageListener();
+
+		_batchingDestination.register(mockBatchMessageListener);
+
+		for (int i = 0; i < 6; i++) {
+			_batchingDestination.send(new Message());
+		}
+
+		for (int i = 0; i < 2; i++) {
+			MessageBatch messageBatch =
+				mockBatchMessageListener.takeMessageBatch();
+
+			List<Message> messages = messageBatch.getMessages();
+
+			Assert.assertEquals(3, messages.size());
+		}
+
+		Assert.assertEquals(0, mockBatchMessageListener.getMessageCount());
+	}
+
+	@Test
+	public void testCompanyChangeFlushesBatch() throws Exception {
+		MockBatchMessageListener mockBatchMessageListener =
+			new MockBatchMessageListener();
+
+		_batchingDestination.register(mockBatchMessageListener);
+
+		_batchingDestination.send(createMessage(1));
+		_batchingDestination.send(createMessage(2));
+
+		MessageBatch messageBatch = mockBatchMessageListener.takeMessageBatch();
+
+		List<Message> messages = messageBatch.getMessages();
+
+		Assert.assertEquals(1, messages.size());
+
+		Message message = messages.get(0);
+
+		Assert.assertEquals(1, message.getLong("companyId"));
+	}
+
+	@Test
+	public void testLegacyMessageListener() throws Exception {
+		final BlockingQueue<Message> messages =
+			new LinkedBlockingQueue<Message>();
+
+		_batchingDestination.register(
+			new MessageListener() {
+
+				@Override
+				public void receive(Message message) {
+					messages.add(message);
+				}
+
+			});
+
+		for (int i = 0; i < 3; i++) {
+			_batchingDestination.send(new Message());
+		}
+
+		for (int i = 0; i < 3; i++) {
+			Assert.assertNotNull(messages.poll(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void testLegacyMessageListenerResetsThreadLocals()
+		throws Exception {
+
+		final BlockingQueue<String> defaultLocales =
+			new LinkedBlockingQueue<String>();
+
+		_batchingDestination.register(
+			new MessageListener() {
+
+				@Override
+				public void receive(Message message) {
+					defaultLocales.add(
+						String.valueOf(LocaleThreadLocal.getDefaultLocale()));
+				}
+
+			});
+
+		Message message = createMessage(0);
+
+		message.put("defaultLocale", Locale.GERMAN);
+
+		_batchingDestination.send(message);
+		_batchingDestination.send(createMessage(0));
+
+		Assert.assertEquals(
+			String.valueOf(Locale.GERMAN),
+			defaultLocales.poll(10, TimeUnit.SECONDS));
+		Assert.assertEquals(
+			String.valueOf((Object)null),
+			defaultLocales.poll(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testPrincipalChangeFlushesBatch() throws Exception {
+		MockBatchMessageListener mockBatchMessageListener =
+			new MockBatchMessageListener();
+
+		_batchingDestination.register(mockBatchMessageListener);
+
+		PermissionChecker permissionChecker = Mockito.mock(
+			PermissionChecker.class);
+
+		_batchingDestination.send(
+			createMessage(0, "user1", permissionChecker));
+		_batchingDestination.send(
+			createMessage(0, "user2", permissionChecker));
+
+		for (String principalName : new String[] {"user1", "user2"}) {
+			MessageBatch messageBatch =
+				mockBatchMessageListener.takeMessageBatch();
+
+			List<Message> messages = messageBatch.getMessages();
+
+			Assert.assertEquals(1, messages.size());
+
+			Message message = messages.get(0);
+
+			Assert.assertEquals(
+				principalName, message.getString("principalName"));
+		}
+	}
+
+	protected Message createMessage(long companyId) {
+		Message message = new Message();
+
+		message.put("companyId", companyId);
+
+		return message;
+	}
+
+	protected Message createMessage(
+		long companyId, String principalName,
+		PermissionChecker permissionChecker) {
+
+		Message message = createMessage(companyId);
+
+		message.put("permissionChecker", permissionChecker);
+		message.put("principalName", principalName);
+
+		return message;
+	}
+
+	private BatchingDestination _batchingDestination;
+
+	private static class MockBatchMessageListener
+		implements BatchMessageListener {
+
+		public int getMessageCount() {
+			return _messageCount;
+		}
+
+		@Override
+		public void receive(Message message) {
+			_messageCount++;
+		}
+
+		@Override
+		public void receive(MessageBatch messageBatch) {
+			_messageBatches.add(messageBatch);
+		}
+
+		public MessageBatch takeMessageBatch() throws InterruptedException {
+			MessageBatch messageBatch = _messageBatches.poll(
+				10, TimeUnit.SECONDS);
+
+			Assert.assertNotNull(messageBatch);
+
+			return messageBatch;
+		}
+
+		private final BlockingQueue<MessageBatch> _messageBatches =
+			new LinkedBlockingQueue<MessageBatch>();
+		private volatile int _messageCount;
+
+	}
+
+}
\ No newline at end of file
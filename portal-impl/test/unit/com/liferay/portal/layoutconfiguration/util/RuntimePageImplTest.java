@@ -0,0 +1,328 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.layoutconfiguration.util;
+
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.executor.PortalExecutorManager;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.layoutconfiguration.util.velocity.TemplateProcessor;
+import com.liferay.portal.model.Portlet;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class RuntimePageImplTest {
+
+	@Before
+	public void setUp() throws Exception {
+		_props = PropsUtil.getProps();
+
+		PropsUtil.setProps(Mockito.mock(Props.class));
+
+		_portalExecutorManager =
+			PortalExecutorManagerUtil.getPortalExecutorManager();
+
+		_threadPoolExecutor = new ThreadPoolExecutor(4, 4);
+
+		PortalExecutorManager portalExecutorManager = Mockito.mock(
+			PortalExecutorManager.class);
+
+		Mockito.when(
+			portalExecutorManager.getPortalExecutor(
+				RuntimePageImpl.class.getName())
+		).thenReturn(
+			_threadPoolExecutor
+		);
+
+		PortalExecutorManagerUtil portalExecutorManagerUtil =
+			new PortalExecutorManagerUtil();
+
+		portalExecutorManagerUtil.setPortalExecutorManager(
+			portalExecutorManager);
+
+		_response = Mockito.mock(HttpServletResponse.class);
+
+		_printWriter = Mockito.spy(new PrintWriter(_stringWriter));
+
+		Mockito.when(
+			_response.getWriter()
+		).thenReturn(
+			_printWriter
+		);
+	}
+
+	@After
+	public void tearDown() {
+		_threadPoolExecutor.shutdownNow();
+
+		PortalExecutorManagerUtil portalExecutorManagerUtil =
+			new PortalExecutorManagerUtil();
+
+		portalExecutorManagerUtil.setPortalExecutorManager(
+			_portalExecutorManager);
+
+		PropsUtil.setProps(_props);
+	}
+
+	@Test
+	public void testRenderWeightIsRenderedBeforeNextRenderWeight()
+		throws Exception {
+
+		final CountDownLatch countDownLatch = new CountDownLatch(1);
+
+		PortletRenderer slowPortletRenderer = _mockPortletRenderer(
+			"slow",
+			new Callable<StringBundler>() {
+
+				@Override
+				public StringBundler call() throws Exception {
+					Thread.sleep(100);
+
+					countDownLatch.countDown();
+
+					return new StringBundler("slow content");
+				}
+
+			});
+
+		PortletRenderer fastPortletRenderer = _mockPortletRenderer(
+			"fast", _toCallable("fast content"));
+
+		final AtomicBoolean slowRendered = new AtomicBoolean();
+
+		PortletRenderer lastPortletRenderer = _mockPortletRenderer(
+			"last", null);
+
+		Mockito.when(
+			lastPortletRenderer.render(_request, _response)
+		).thenAnswer(
+			new Answer<StringBundler>() {
+
+				@Override
+				public StringBundler answer(InvocationOnMock invocationOnMock) {
+					slowRendered.set(countDownLatch.getCount() == 0);
+
+					return new StringBundler("last content");
+				}
+
+			}
+		);
+
+		_streamPortlets(
+			"[$TEMPLATE_PORTLET_slow$][$TEMPLATE_PORTLET_fast$]" +
+				"[$TEMPLATE_PORTLET_last$]",
+			Arrays.asList(slowPortletRenderer, fastPortletRenderer),
+			Arrays.asList(lastPortletRenderer));
+
+		Assert.assertTrue(slowRendered.get());
+		Assert.assertEquals(
+			"slow contentfast contentlast content", _stringWriter.toString());
+
+		Mockito.verify(
+			slowPortletRenderer, Mockito.never()
+		).renderError(
+			_request, _response
+		);
+	}
+
+	@Test
+	public void testStreamedPortletIsFlushedBeforeResponseBuffer()
+		throws Exception {
+
+		final CountDownLatch countDownLatch = new CountDownLatch(1);
+
+		Mockito.doAnswer(
+			new Answer<Void>() {
+
+				@Override
+				public Void answer(InvocationOnMock invocationOnMock) {
+					countDownLatch.countDown();
+
+					return null;
+				}
+
+			}
+		).when(
+			_response
+		).flushBuffer();
+
+		PortletRenderer pendingPortletRenderer = _mockPortletRenderer(
+			"pending",
+			new Callable<StringBundler>() {
+
+				@Override
+				public StringBundler call() throws Exception {
+					countDownLatch.await();
+
+					return new StringBundler("pending content");
+				}
+
+			});
+
+		PortletRenderer otherPortletRenderer = _mockPortletRenderer(
+			"other", _toCallable("other content"));
+
+		_streamPortlets(
+			"[$TEMPLATE_PORTLET_pending$]",
+			Arrays.asList(pendingPortletRenderer, otherPortletRenderer));
+
+		String output = _stringWriter.toString();
+
+		Assert.assertTrue(
+			output,
+			output.startsWith(
+				"<div class=\"loading-animation\" " +
+					"id=\"p_p_streaming_pending\"></div>"));
+		Assert.assertTrue(
+			output,
+			output.contains(
+				"<div hidden id=\"p_p_streaming_content_pending\">" +
+					"pending content</div>"));
+
+		InOrder inOrder = Mockito.inOrder(_printWriter, _response);
+
+		inOrder.verify(
+			_printWriter
+		).flush();
+
+		inOrder.verify(
+			_response
+		).flushBuffer();
+
+		inOrder.verify(
+			_printWriter
+		).flush();
+
+		inOrder.verify(
+			_response
+		).flushBuffer();
+
+		Mockito.verify(
+			pendingPortletRenderer
+		).finishParallelRender();
+	}
+
+	private PortletRenderer _mockPortletRenderer(
+			String portletId, Callable<StringBundler> callable)
+		throws Exception {
+
+		Portlet portlet = Mockito.mock(Portlet.class);
+
+		Mockito.when(
+			portlet.getPortletId()
+		).thenReturn(
+			portletId
+		);
+
+		PortletRenderer portletRenderer = Mockito.mock(PortletRenderer.class);
+
+		Mockito.when(
+			portletRenderer.getCallable(_request, _response)
+		).thenReturn(
+			callable
+		);
+
+		Mockito.when(
+			portletRenderer.getPortlet()
+		).thenReturn(
+			portlet
+		);
+
+		Mockito.when(
+			portletRenderer.renderError(_request, _response)
+		).thenReturn(
+			new StringBundler("error")
+		);
+
+		return portletRenderer;
+	}
+
+	private void _streamPortlets(
+			String content, List<PortletRenderer>... portletRenderersArray)
+		throws Exception {
+
+		Map<Integer, List<PortletRenderer>> portletRenderersMap =
+			new LinkedHashMap<Integer, List<PortletRenderer>>();
+
+		for (int i = 0; i < portletRenderersArray.length; i++) {
+			portletRenderersMap.put(
+				portletRenderersArray.length - i,
+				new ArrayList<PortletRenderer>(portletRenderersArray[i]));
+		}
+
+		TemplateProcessor templateProcessor = Mockito.mock(
+			TemplateProcessor.class);
+
+		Mockito.when(
+			templateProcessor.getPortletRenderers()
+		).thenReturn(
+			portletRenderersMap
+		);
+
+		RuntimePageImpl runtimePageImpl = new RuntimePageImpl();
+
+		runtimePageImpl.streamPortlets(
+			_request, _response, templateProcessor, content);
+	}
+
+	private Callable<StringBundler> _toCallable(final String content) {
+		return new Callable<StringBundler>() {
+
+			@Override
+			public StringBundler call() {
+				return new StringBundler(content);
+			}
+
+		};
+	}
+
+	private PortalExecutorManager _portalExecutorManager;
+	private PrintWriter _printWriter;
+	private Props _props;
+	private final HttpServletRequest _request = Mockito.mock(
+		HttpServletRequest.class);
+	private HttpServletResponse _response;
+	private final StringWriter _stringWriter = new StringWriter();
+	private ThreadPoolExecutor _threadPoolExecutor;
+
+}
\ No newline at end of file
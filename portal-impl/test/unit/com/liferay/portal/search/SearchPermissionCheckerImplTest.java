@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search;
+
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.Field;
+import com.liferay.portal.kernel.search.Indexer;
+import com.liferay.portal.kernel.search.IndexerRegistryUtil;
+import com.liferay.portal.security.permission.ActionKeys;
+import com.liferay.portal.security.permission.PermissionChecker;
+import com.liferay.registry.BasicRegistryImpl;
+import com.liferay.registry.RegistryUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+/**
+ * @author Allen Chiang
+ */
+public class SearchPermissionCheckerImplTest {
+
+	@Before
+	public void setUp() throws Exception {
+		RegistryUtil.setRegistry(new BasicRegistryImpl());
+
+		Indexer indexer = Mockito.mock(Indexer.class);
+
+		Mockito.when(
+			indexer.getClassNames()
+		).thenReturn(
+			new String[] {_ARTICLE_CLASS_NAME}
+		);
+
+		Mockito.when(
+			indexer.getPortletId()
+		).thenReturn(
+			_PORTLET_ID
+		);
+
+		Mockito.when(
+			indexer.isFilterSearch()
+		).thenReturn(
+			true
+		);
+
+		Mockito.when(
+			indexer.isPermissionAware()
+		).thenReturn(
+			true
+		);
+
+		IndexerRegistryUtil.register(indexer);
+
+		_indexer = indexer;
+	}
+
+	@After
+	public void tearDown() {
+		IndexerRegistryUtil.unregister(_indexer);
+	}
+
+	@Test
+	public void testPreloadPermissions() throws Exception {
+		PermissionChecker permissionChecker = Mockito.mock(
+			PermissionChecker.class);
+
+		SearchPermissionCheckerImpl searchPermissionCheckerImpl =
+			new SearchPermissionCheckerImpl();
+
+		searchPermissionCheckerImpl.preloadPermissions(
+			permissionChecker,
+			new Document[] {
+				createDocument(_ARTICLE_CLASS_NAME, _GROUP_ID, 1, "101", false),
+				createDocument(_ARTICLE_CLASS_NAME, _GROUP_ID, 2, null, false),
+				createDocument(_ARTICLE_CLASS_NAME, _GROUP_ID, 3, null, true),
+				createDocument(_ARTICLE_CLASS_NAME, _GROUP_ID, 4, null, false),
+				createDocument(
+					_ARTICLE_CLASS_NAME, _GROUP_ID + 1, 5, null, false),
+				createDocument(_OTHER_CLASS_NAME, _GROUP_ID, 6, null, false),
+				createDocument(_OTHER_CLASS_NAME, _GROUP_ID, 7, null, false)
+			},
+			ActionKeys.VIEW);
+
+		// Related entries and groups or classes with a single hit are left
+		// to the regular checks
+
+		Mockito.verify(
+			permissionChecker
+		).hasPermissions(
+			_GROUP_ID, _ARTICLE_CLASS_NAME, new long[] {101, 2, 4},
+			ActionKeys.VIEW
+		);
+
+		Mockito.verifyNoMoreInteractions(permissionChecker);
+	}
+
+	protected Document createDocument(
+		String entryClassName, long groupId, long entryClassPK,
+		String rootEntryClassPK, boolean relatedEntry) {
+
+		Document document = Mockito.mock(Document.class);
+
+		Mockito.when(
+			document.get(Field.ENTRY_CLASS_NAME)
+		).thenReturn(
+			entryClassName
+		);
+
+		Mockito.when(
+			document.get(Field.ENTRY_CLASS_PK)
+		).thenReturn(
+			String.valueOf(entryClassPK)
+		);
+
+		Mockito.when(
+			document.get(Field.GROUP_ID)
+		).thenReturn(
+			String.valueOf(groupId)
+		);
+
+		Mockito.when(
+			document.get(Field.RELATED_ENTRY)
+		).thenReturn(
+			String.valueOf(relatedEntry)
+		);
+
+		Mockito.when(
+			document.get(Field.ROOT_ENTRY_CLASS_PK)
+		).thenReturn(
+			rootEntryClassPK
+		);
+
+		return document;
+	}
+
+	private static final String _ARTICLE_CLASS_NAME = "TestArticle";
+
+	private static final long _GROUP_ID = 10;
+
+	private static final String _OTHER_CLASS_NAME = "TestOther";
+
+	private static final String _PORTLET_ID = "TestPortlet";
+
+	private Indexer _indexer;
+
+}
\ No newline at end of file
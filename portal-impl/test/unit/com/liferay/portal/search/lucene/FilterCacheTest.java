@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.lucene;
+
+import com.browseengine.bobo.api.BoboBrowser;
+import com.browseengine.bobo.api.BoboIndexReader;
+import com.browseengine.bobo.api.BrowseRequest;
+import com.browseengine.bobo.api.BrowseResult;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.Version;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class FilterCacheTest {
+
+	@Before
+	public void setUp() throws Exception {
+		IndexWriterConfig indexWriterConfig = new IndexWriterConfig(
+			Version.LUCENE_35, new StandardAnalyzer(Version.LUCENE_35));
+
+		_indexWriter = new IndexWriter(new RAMDirectory(), indexWriterConfig);
+
+		for (int i = 0; i < 10; i++) {
+			Document document = new Document();
+
+			document.add(
+				new Field(
+					"groupId", String.valueOf(i % 2), Field.Store.YES,
+					Field.Index.NOT_ANALYZED));
+			document.add(
+				new Field(
+					"status", String.valueOf(i % 3), Field.Store.YES,
+					Field.Index.NOT_ANALYZED));
+
+			_indexWriter.addDocument(document);
+		}
+
+		_indexWriter.commit();
+
+		_indexReader = IndexReader.open(_indexWriter, true);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		_indexReader.close();
+
+		_indexWriter.close();
+	}
+
+	@Test
+	public void testBrowseKeepsUnchangedSegments() throws Exception {
+		FilterCache filterCache = new FilterCache(10, Long.MAX_VALUE);
+
+		Query query = _newTermQuery("groupId", "0");
+
+		Assert.assertEquals(5, _browse(_indexReader, filterCache, query));
+		Assert.assertEquals(0, filterCache.getHitCount());
+		Assert.assertEquals(1, filterCache.getMissCount());
+
+		Document document = new Document();
+
+		document.add(
+			new Field(
+				"groupId", "0", Field.Store.YES, Field.Index.NOT_ANALYZED));
+
+		_indexWriter.addDocument(document);
+
+		_indexWriter.commit();
+
+		IndexReader indexReader = IndexReader.openIfChanged(
+			_indexReader, _indexWriter, true);
+
+		try {
+			Assert.assertEquals(6, _browse(indexReader, filterCache, query));
+			Assert.assertEquals(1, filterCache.getHitCount());
+			Assert.assertEquals(2, filterCache.getMissCount());
+		}
+		finally {
+			indexReader.close();
+		}
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		FilterCache filterCache = new FilterCache(2, Long.MAX_VALUE);
+
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "0"));
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "1"));
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "0"));
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("status", "0"));
+
+		Assert.assertEquals(2, filterCache.getSize());
+
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "0"));
+
+		Assert.assertEquals(2, filterCache.getHitCount());
+
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "1"));
+
+		Assert.assertEquals(4, filterCache.getMissCount());
+	}
+
+	@Test
+	public void testGetDocIdSet() throws Exception {
+		FilterCache filterCache = new FilterCache(10, Long.MAX_VALUE);
+
+		DocIdSet docIdSet = filterCache.getDocIdSet(
+			_indexReader, _newTermQuery("groupId", "0"));
+
+		Assert.assertEquals(5, ((FixedBitSet)docIdSet).cardinality());
+		Assert.assertEquals(0, filterCache.getHitCount());
+		Assert.assertEquals(1, filterCache.getMissCount());
+
+		Assert.assertSame(
+			docIdSet,
+			filterCache.getDocIdSet(
+				_indexReader, _newTermQuery("groupId", "0")));
+		Assert.assertEquals(1, filterCache.getHitCount());
+		Assert.assertEquals(1, filterCache.getMissCount());
+
+		_indexWriter.deleteDocuments(new Term("status", "0"));
+
+		IndexReader indexReader = IndexReader.openIfChanged(
+			_indexReader, _indexWriter, true);
+
+		try {
+			docIdSet = filterCache.getDocIdSet(
+				indexReader, _newTermQuery("groupId", "0"));
+
+			Assert.assertEquals(3, ((FixedBitSet)docIdSet).cardinality());
+			Assert.assertEquals(2, filterCache.getMissCount());
+		}
+		finally {
+			indexReader.close();
+		}
+
+		filterCache.clear();
+
+		Assert.assertEquals(0, filterCache.getMemorySize());
+		Assert.assertEquals(0, filterCache.getSize());
+	}
+
+	@Test
+	public void testGetFilter() throws Exception {
+		FilterCache filterCache = new FilterCache(10, Long.MAX_VALUE);
+
+		Filter filter = filterCache.getFilter(
+			_newTermQuery("groupId", "0"), _newTermQuery("status", "0"));
+
+		IndexSearcher indexSearcher = new IndexSearcher(_indexReader);
+
+		try {
+			TopDocs topDocs = indexSearcher.search(
+				new MatchAllDocsQuery(), filter, 10);
+
+			Assert.assertEquals(2, topDocs.totalHits);
+
+			topDocs = indexSearcher.search(
+				new MatchAllDocsQuery(),
+				filterCache.getFilter(_newTermQuery("groupId", "0")), 10);
+
+			Assert.assertEquals(5, topDocs.totalHits);
+		}
+		finally {
+			indexSearcher.close();
+		}
+
+		Assert.assertEquals(1, filterCache.getHitCount());
+		Assert.assertEquals(2, filterCache.getMissCount());
+		Assert.assertEquals(2, filterCache.getSize());
+	}
+
+	@Test
+	public void testMemorySize() throws Exception {
+		FilterCache filterCache = new FilterCache(10, Long.MAX_VALUE);
+
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "0"));
+
+		long memorySize = filterCache.getMemorySize();
+
+		Assert.assertTrue(memorySize > 0);
+
+		filterCache = new FilterCache(10, memorySize);
+
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "0"));
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "1"));
+
+		Assert.assertEquals(memorySize, filterCache.getMemorySize());
+		Assert.assertEquals(1, filterCache.getSize());
+
+		filterCache = new FilterCache(10, memorySize - 1);
+
+		filterCache.getDocIdSet(_indexReader, _newTermQuery("groupId", "0"));
+
+		Assert.assertEquals(0, filterCache.getMemorySize());
+		Assert.assertEquals(0, filterCache.getSize());
+	}
+
+	private int _browse(
+			IndexReader indexReader, FilterCache filterCache, Query query)
+		throws Exception {
+
+		BoboIndexReader boboIndexReader = BoboIndexReader.getInstance(
+			indexReader);
+
+		BrowseRequest browseRequest = new BrowseRequest();
+
+		browseRequest.setCount(10);
+		browseRequest.setFilter(filterCache.getFilter(query));
+		browseRequest.setOffset(0);
+		browseRequest.setQuery(new MatchAllDocsQuery());
+
+		BoboBrowser boboBrowser = new BoboBrowser(boboIndexReader);
+
+		BrowseResult browseResult = boboBrowser.browse(browseRequest);
+
+		return browseResult.getNumHits();
+	}
+
+	private Query _newTermQuery(String field, String value) {
+		return new TermQuery(new Term(field, value));
+	}
+
+	private IndexReader _indexReader;
+	private IndexWriter _indexWriter;
+
+}
\ No newline at end of file
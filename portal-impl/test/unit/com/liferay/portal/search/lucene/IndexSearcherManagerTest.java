@@ -238,6 +238,42 @@ public class IndexSearcherManagerTest {
 		Assert.assertSame(indexSearcher, _indexSearcherManager.acquire());
 	}
 
+	@Test
+	public void testRefresh() throws Exception {
+		String fieldValue = "test";
+
+		Document document = new Document();
+
+		Field field = new Field(
+			_FIELD_NAME, fieldValue, Field.Store.YES, Field.Index.ANALYZED);
+
+		document.add(field);
+
+		_indexWriter.addDocument(document);
+
+		_assertHits(fieldValue, 0);
+
+		_indexSearcherManager.refresh();
+
+		IndexSearcher indexSearcher = _assertHits(fieldValue, 1);
+
+		_indexSearcherManager.refresh();
+
+		Assert.assertSame(indexSearcher, _indexSearcherManager.acquire());
+
+		_indexSearcherManager.close();
+
+		try {
+			_indexSearcherManager.refresh();
+
+			Assert.fail();
+		}
+		catch (AlreadyClosedException ace) {
+			Assert.assertEquals(
+				"Index searcher manager is closed", ace.getMessage());
+		}
+	}
+
 	@Test
 	public void testRelase() throws Exception {
 		_indexSearcherManager.release(null);
@@ -921,6 +921,16 @@ public class LuceneHelperImplTest {
 		public void dumpIndex(OutputStream outputStream) {
 		}
 
+		@Override
+		public void dumpIndex(
+			OutputStream outputStream, Map<String, String> checksums) {
+		}
+
+		@Override
+		public Map<String, String> getChecksums() {
+			return Collections.emptyMap();
+		}
+
 		@Override
 		public long getCompanyId() {
 			return _COMPANY_ID;
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.lucene;
+
+import com.liferay.portal.kernel.search.BooleanClauseOccur;
+import com.liferay.portal.kernel.search.QueryConfig;
+import com.liferay.portal.kernel.search.QueryTranslatorUtil;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsUtil;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.TermQuery;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class QueryTranslatorImplTest {
+
+	@Before
+	public void setUp() {
+		_props = PropsUtil.getProps();
+
+		PropsUtil.setProps(Mockito.mock(Props.class));
+
+		QueryTranslatorUtil queryTranslatorUtil = new QueryTranslatorUtil();
+
+		queryTranslatorUtil.setQueryTranslator(new QueryTranslatorImpl());
+
+		_luceneHelper = Mockito.mock(LuceneHelper.class);
+
+		Mockito.when(
+			_luceneHelper.getFilterQuery(Mockito.any(Query.class))
+		).thenAnswer(
+			new Answer<Query>() {
+
+				@Override
+				public Query answer(InvocationOnMock invocationOnMock) {
+					Object[] arguments = invocationOnMock.getArguments();
+
+					return new ConstantScoreQuery(
+						new QueryWrapperFilter((Query)arguments[0]));
+				}
+
+			}
+		);
+
+		LuceneHelperUtil luceneHelperUtil = new LuceneHelperUtil();
+
+		luceneHelperUtil.setLuceneHelper(_luceneHelper);
+	}
+
+	@After
+	public void tearDown() {
+		PropsUtil.setProps(_props);
+	}
+
+	@Test
+	public void testTranslateBooleanQuery() throws Exception {
+		BooleanQueryImpl booleanQueryImpl = createBooleanQueryImpl();
+
+		Assert.assertSame(
+			booleanQueryImpl.getBooleanQuery(),
+			QueryTranslatorUtil.translate(booleanQueryImpl));
+
+		Mockito.verifyZeroInteractions(_luceneHelper);
+	}
+
+	@Test
+	public void testTranslateFilterBooleanQuery() throws Exception {
+		BooleanQueryImpl booleanQueryImpl = createBooleanQueryImpl();
+
+		QueryConfig queryConfig = booleanQueryImpl.getQueryConfig();
+
+		queryConfig.setFilter(true);
+
+		Object query = QueryTranslatorUtil.translate(booleanQueryImpl);
+
+		Assert.assertTrue(query instanceof ConstantScoreQuery);
+
+		Mockito.verify(
+			_luceneHelper
+		).getFilterQuery(
+			booleanQueryImpl.getBooleanQuery()
+		);
+	}
+
+	@Test
+	public void testTranslateFilterBooleanQueryClause() throws Exception {
+		BooleanQueryImpl filterBooleanQueryImpl = createBooleanQueryImpl();
+
+		QueryConfig queryConfig = filterBooleanQueryImpl.getQueryConfig();
+
+		queryConfig.setFilter(true);
+
+		BooleanQueryImpl booleanQueryImpl = new BooleanQueryImpl();
+
+		booleanQueryImpl.add(
+			createBooleanQueryImpl(), BooleanClauseOccur.MUST);
+		booleanQueryImpl.add(filterBooleanQueryImpl, BooleanClauseOccur.MUST);
+
+		BooleanQuery booleanQuery = booleanQueryImpl.getBooleanQuery();
+
+		BooleanClause[] booleanClauses = booleanQuery.getClauses();
+
+		Assert.assertEquals(2, booleanClauses.length);
+		Assert.assertTrue(booleanClauses[0].getQuery() instanceof BooleanQuery);
+		Assert.assertTrue(
+			booleanClauses[1].getQuery() instanceof ConstantScoreQuery);
+	}
+
+	protected BooleanQueryImpl createBooleanQueryImpl() {
+		BooleanQueryImpl booleanQueryImpl = new BooleanQueryImpl();
+
+		BooleanQuery booleanQuery = booleanQueryImpl.getBooleanQuery();
+
+		booleanQuery.add(
+			new TermQuery(new Term("groupId", "1")),
+			BooleanClause.Occur.SHOULD);
+		booleanQuery.add(
+			new TermQuery(new Term("roleId", "2")),
+			BooleanClause.Occur.SHOULD);
+
+		return booleanQueryImpl;
+	}
+
+	private LuceneHelper _luceneHelper;
+	private Props _props;
+
+}
\ No newline at end of file
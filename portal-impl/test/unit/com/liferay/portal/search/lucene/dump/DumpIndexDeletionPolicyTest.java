@@ -18,6 +18,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
@@ -67,6 +68,65 @@ public class DumpIndexDeletionPolicyTest {
 		_indexWriter.close();
 	}
 
+	@Test
+	public void testIncrementalDump() throws Exception {
+		_addDocument("name", "test1");
+		_addDocument("name", "test2");
+
+		Directory localDirectory = _dumpToTargetDirectory(_indexWriter);
+
+		DumpIndexDeletionPolicy localDumpIndexDeletionPolicy =
+			new DumpIndexDeletionPolicy();
+
+		IndexWriterConfig indexWriterConfig = new IndexWriterConfig(
+			Version.LUCENE_35, new StandardAnalyzer(Version.LUCENE_35));
+
+		indexWriterConfig.setIndexDeletionPolicy(localDumpIndexDeletionPolicy);
+
+		IndexWriter localIndexWriter = new IndexWriter(
+			localDirectory, indexWriterConfig);
+
+		Map<String, String> checksums =
+			localDumpIndexDeletionPolicy.getChecksums();
+
+		Assert.assertFalse(checksums.isEmpty());
+
+		_addDocument("name", "test3");
+
+		ByteArrayOutputStream byteArrayOutputStream =
+			new ByteArrayOutputStream();
+
+		_dumpIndexDeletionPolicy.dump(
+			byteArrayOutputStream, _indexWriter, new ReentrantLock(),
+			checksums);
+
+		byte[] incrementalBytes = byteArrayOutputStream.toByteArray();
+
+		byteArrayOutputStream.reset();
+
+		_dumpIndexDeletionPolicy.dump(
+			byteArrayOutputStream, _indexWriter, new ReentrantLock());
+
+		Assert.assertTrue(
+			incrementalBytes.length < byteArrayOutputStream.size());
+
+		Directory targetDirectory = new RAMDirectory();
+
+		IndexCommitSerializationUtil.deserializeIndex(
+			new ByteArrayInputStream(incrementalBytes), targetDirectory,
+			localDirectory);
+
+		_assertDirectory(_sourceDirectory, targetDirectory);
+
+		_assertHits(targetDirectory, "name", "test1", 1);
+		_assertHits(targetDirectory, "name", "test2", 1);
+		_assertHits(targetDirectory, "name", "test3", 1);
+
+		localIndexWriter.close();
+
+		_indexWriter.close();
+	}
+
 	@Test
 	public void testOneCommitDump() throws Exception {
 		_addDocument("name", "test1");
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+
+package com.liferay.portal.security.permission;
+
+import com.liferay.portal.cache.MockPortalCacheManager;
+import com.liferay.portal.cache.memory.MemoryPortalCache;
+import com.liferay.portal.kernel.cache.MultiVMPool;
+import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.cache.PortalCache;
+
+import java.io.Serializable;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class PermissionCacheUtilTest {
+
+	@BeforeClass
+	public static void setUpClass() {
+		_multiVMPool = MultiVMPoolUtil.getMultiVMPool();
+
+		MultiVMPool multiVMPool = Mockito.mock(MultiVMPool.class);
+
+		PortalCache<Serializable, Serializable> portalCache =
+			new MemoryPortalCache<Serializable, Serializable>(
+				new MockPortalCacheManager<Serializable, Serializable>(
+					_CACHE_NAME),
+				_CACHE_NAME, 16);
+
+		Mockito.doReturn(
+			portalCache
+		).when(
+			multiVMPool
+		).getCache(
+			Mockito.anyString(), Mockito.anyBoolean()
+		);
+
+		MultiVMPoolUtil multiVMPoolUtil = new MultiVMPoolUtil();
+
+		multiVMPoolUtil.setMultiVMPool(multiVMPool);
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		PermissionCacheUtil.clearCache();
+
+		MultiVMPoolUtil multiVMPoolUtil = new MultiVMPoolUtil();
+
+		multiVMPoolUtil.setMultiVMPool(_multiVMPool);
+	}
+
+	@Test
+	public void testClearCache() {
+		_putPermission("1", true);
+
+		PermissionCacheUtil.clearCache();
+
+		Assert.assertNull(_getPermission("1"));
+	}
+
+	@Test
+	public void testGetPermission() {
+		PermissionCacheUtil.clearCache();
+
+		_putPermission("7", true);
+		_putPermission("007", false);
+		_putPermission("LAYOUT_1", false);
+
+		Assert.assertEquals(Boolean.TRUE, _getPermission("7"));
+		Assert.assertEquals(Boolean.FALSE, _getPermission("007"));
+		Assert.assertEquals(Boolean.FALSE, _getPermission("LAYOUT_1"));
+		Assert.assertNull(_getPermission("8"));
+		Assert.assertNull(
+			PermissionCacheUtil.getPermission(
+				_USER_ID, false, _GROUP_ID, _NAME, "7", ActionKeys.VIEW));
+	}
+
+	@Test
+	public void testGetPermissions() {
+		PermissionCacheUtil.clearCache();
+
+		long[] primKeys = new long[100];
+		boolean[] values = new boolean[100];
+
+		for (int i = 0; i < primKeys.length; i++) {
+			primKeys[i] = i * 1024;
+			values[i] = ((i % 2) == 0);
+		}
+
+		PermissionCacheUtil.putPermissions(
+			_USER_ID, true, _GROUP_ID, _NAME, primKeys, ActionKeys.VIEW,
+			values);
+
+		Boolean[] cachedValues = PermissionCacheUtil.getPermissions(
+			_USER_ID, true, _GROUP_ID, _NAME,
+			new long[] {0, 1024, 1025, 99 * 1024}, ActionKeys.VIEW);
+
+		Assert.assertArrayEquals(
+			new Boolean[] {Boolean.TRUE, Boolean.FALSE, null, Boolean.FALSE},
+			cachedValues);
+
+		Assert.assertEquals(Boolean.TRUE, _getPermission("2048"));
+	}
+
+	@Test
+	public void testPutPermissionBeyondMaxSize() {
+		PermissionCacheUtil.clearCache();
+
+		for (int i = 0; i < 2000; i++) {
+			_putPermission(String.valueOf(i), true);
+		}
+
+		Assert.assertEquals(Boolean.TRUE, _getPermission("1999"));
+	}
+
+	private Boolean _getPermission(String primKey) {
+		return PermissionCacheUtil.getPermission(
+			_USER_ID, true, _GROUP_ID, _NAME, primKey, ActionKeys.VIEW);
+	}
+
+	private void _putPermission(String primKey, boolean value) {
+		PermissionCacheUtil.putPermission(
+			_USER_ID, true, _GROUP_ID, _NAME, primKey, ActionKeys.VIEW,
+			value);
+	}
+
+	private static final String _CACHE_NAME =
+		PermissionCacheUtilTest.class.getName();
+
+	private static final long _GROUP_ID = 20;
+
+	private static final String _NAME = "com.liferay.portal.model.Layout";
+
+	private static final long _USER_ID = 10;
+
+	private static MultiVMPool _multiVMPool;
+
+}
\ No newline at end of file
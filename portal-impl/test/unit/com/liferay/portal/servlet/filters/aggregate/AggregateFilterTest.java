@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.aggregate;
+
+import com.liferay.portal.kernel.servlet.HttpHeaders;
+import com.liferay.portal.kernel.util.JavaConstants;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsUtil;
+import com.liferay.portal.util.PropsImpl;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class AggregateFilterTest {
+
+	@BeforeClass
+	public static void setUpClass() {
+		_props = PropsUtil.getProps();
+
+		PropsUtil.setProps(new PropsImpl());
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		PropsUtil.setProps(_props);
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		_file = File.createTempFile("aggregate", ".js");
+
+		MockServletContext mockServletContext = new MockServletContext();
+
+		mockServletContext.setAttribute(
+			JavaConstants.JAVAX_SERVLET_CONTEXT_TEMPDIR, _file.getParentFile());
+
+		_aggregateFilter.init(new MockFilterConfig(mockServletContext));
+
+		_encodedFile = new File(_file.getPath() + ".gz");
+
+		_encodedFile.createNewFile();
+
+		_encodedFile.setLastModified(_file.lastModified());
+
+		_mockHttpServletRequest.addHeader(
+			HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+	}
+
+	@After
+	public void tearDown() {
+		_file.delete();
+		_encodedFile.delete();
+	}
+
+	@Test
+	public void testGetEncodedFile() {
+		Assert.assertEquals(
+			_encodedFile,
+			_aggregateFilter.getEncodedFile(
+				_mockHttpServletRequest, _mockHttpServletResponse, _file));
+		Assert.assertEquals(
+			"gzip",
+			_mockHttpServletResponse.getHeader(
+				HttpHeaders.CONTENT_ENCODING));
+		Assert.assertEquals(
+			HttpHeaders.ACCEPT_ENCODING,
+			_mockHttpServletResponse.getHeader(HttpHeaders.VARY));
+	}
+
+	@Test
+	public void testGetEncodedFileWithCompressDisabled() {
+		_mockHttpServletRequest.setParameter("compress", "0");
+
+		assertNotEncoded();
+	}
+
+	@Test
+	public void testGetEncodedFileWithInclude() {
+		_mockHttpServletRequest.setAttribute(
+			JavaConstants.JAVAX_SERVLET_INCLUDE_REQUEST_URI, "/include");
+
+		assertNotEncoded();
+	}
+
+	@Test
+	public void testGetEncodedFileWithUnacceptedEncoding() {
+		_mockHttpServletRequest = new MockHttpServletRequest();
+
+		_mockHttpServletRequest.addHeader(
+			HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate");
+
+		assertNotEncoded();
+	}
+
+	@Test
+	public void testIsAcceptedEncoding() {
+		Assert.assertFalse(_aggregateFilter.isAcceptedEncoding(null, "gzip"));
+		Assert.assertFalse(_aggregateFilter.isAcceptedEncoding("", "gzip"));
+		Assert.assertFalse(
+			_aggregateFilter.isAcceptedEncoding("deflate, br", "gzip"));
+		Assert.assertFalse(
+			_aggregateFilter.isAcceptedEncoding("x-gzip", "gzip"));
+		Assert.assertFalse(
+			_aggregateFilter.isAcceptedEncoding("gzip;q=0", "gzip"));
+		Assert.assertFalse(
+			_aggregateFilter.isAcceptedEncoding(
+				"deflate, gzip ; q=0.000", "gzip"));
+		Assert.assertTrue(_aggregateFilter.isAcceptedEncoding("gzip", "gzip"));
+		Assert.assertTrue(_aggregateFilter.isAcceptedEncoding("GZIP", "gzip"));
+		Assert.assertTrue(
+			_aggregateFilter.isAcceptedEncoding("deflate, gzip", "gzip"));
+		Assert.assertTrue(
+			_aggregateFilter.isAcceptedEncoding(
+				"deflate;q=1.0, gzip;q=0.5", "gzip"));
+	}
+
+	protected void assertNotEncoded() {
+		Assert.assertEquals(
+			_file,
+			_aggregateFilter.getEncodedFile(
+				_mockHttpServletRequest, _mockHttpServletResponse, _file));
+		Assert.assertNull(
+			_mockHttpServletResponse.getHeader(
+				HttpHeaders.CONTENT_ENCODING));
+	}
+
+	private static Props _props;
+
+	private final AggregateFilter _aggregateFilter = new AggregateFilter();
+	private File _encodedFile;
+	private File _file;
+	private MockHttpServletRequest _mockHttpServletRequest =
+		new MockHttpServletRequest();
+	private final MockHttpServletResponse _mockHttpServletResponse =
+		new MockHttpServletResponse();
+
+}
\ No newline at end of file
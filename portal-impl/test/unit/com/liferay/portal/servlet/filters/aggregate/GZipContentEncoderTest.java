@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.aggregate;
+
+import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayInputStream;
+import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayOutputStream;
+import com.liferay.portal.kernel.util.StreamUtil;
+
+import java.io.InputStream;
+
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class GZipContentEncoderTest {
+
+	@Test
+	public void testEncode() throws Exception {
+		byte[] bytes = new byte[64 * 1024];
+
+		Arrays.fill(bytes, (byte)'a');
+
+		final boolean[] closed = new boolean[2];
+
+		InputStream inputStream = new UnsyncByteArrayInputStream(bytes) {
+
+			@Override
+			public void close() {
+				closed[0] = true;
+			}
+
+		};
+
+		UnsyncByteArrayOutputStream unsyncByteArrayOutputStream =
+			new UnsyncByteArrayOutputStream() {
+
+				@Override
+				public void close() {
+					closed[1] = true;
+				}
+
+			};
+
+		_gZipContentEncoder.encode(inputStream, unsyncByteArrayOutputStream);
+
+		Assert.assertFalse(closed[0]);
+		Assert.assertFalse(closed[1]);
+
+		byte[] encodedBytes = unsyncByteArrayOutputStream.toByteArray();
+
+		Assert.assertTrue(encodedBytes.length < (bytes.length / 100));
+
+		UnsyncByteArrayOutputStream decodedUnsyncByteArrayOutputStream =
+			new UnsyncByteArrayOutputStream();
+
+		StreamUtil.transfer(
+			new GZIPInputStream(new UnsyncByteArrayInputStream(encodedBytes)),
+			decodedUnsyncByteArrayOutputStream);
+
+		Assert.assertArrayEquals(
+			bytes, decodedUnsyncByteArrayOutputStream.toByteArray());
+	}
+
+	@Test
+	public void testGetContentEncoding() {
+		Assert.assertEquals("gzip", _gZipContentEncoder.getContentEncoding());
+		Assert.assertEquals(".gz", _gZipContentEncoder.getFileExtension());
+	}
+
+	private final GZipContentEncoder _gZipContentEncoder =
+		new GZipContentEncoder();
+
+}
\ No newline at end of file
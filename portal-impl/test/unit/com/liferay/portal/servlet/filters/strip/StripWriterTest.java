@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.strip;
+
+import com.liferay.portal.cache.key.HashCodeCacheKeyGenerator;
+import com.liferay.portal.kernel.cache.key.CacheKeyGeneratorUtil;
+import com.liferay.portal.kernel.concurrent.ConcurrentLFUCache;
+import com.liferay.portal.kernel.test.ReflectionTestUtil;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsUtil;
+import com.liferay.portal.util.PropsImpl;
+
+import java.io.StringWriter;
+import java.io.Writer;
+
+import java.nio.CharBuffer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class StripWriterTest {
+
+	@Before
+	public void setUp() {
+		_props = PropsUtil.getProps();
+
+		PropsUtil.setProps(new PropsImpl());
+
+		CacheKeyGeneratorUtil cacheKeyGeneratorUtil =
+			new CacheKeyGeneratorUtil();
+
+		cacheKeyGeneratorUtil.setDefaultCacheKeyGenerator(
+			new HashCodeCacheKeyGenerator());
+	}
+
+	@After
+	public void tearDown() {
+		PropsUtil.setProps(_props);
+	}
+
+	@Test
+	public void testInlineContent() throws Exception {
+		String css =
+			"<style type=\"text/css\">  a  {  color:  red;  }  </style>";
+
+		assertStrip(css);
+		assertStrip(css + "  <div>  " + css + "  </div>");
+
+		StripFilter stripFilter = new StripFilter();
+
+		ConcurrentLFUCache<String, String> minifierCache =
+			ReflectionTestUtil.getFieldValue(stripFilter, "_minifierCache");
+
+		Assert.assertEquals(
+			"<style type=\"text/css\">a{color:red}</style>",
+			write(stripFilter, css));
+		Assert.assertEquals(1, minifierCache.size());
+		Assert.assertEquals(0, minifierCache.hitCount());
+
+		Assert.assertEquals(
+			"<style type=\"text/css\">a{color:red}</style>",
+			write(stripFilter, css));
+		Assert.assertEquals(1, minifierCache.size());
+		Assert.assertEquals(1, minifierCache.hitCount());
+
+		String javaScript =
+			"<script type=\"text/javascript\">  var  a = 1;  </script>";
+
+		assertStrip(javaScript);
+		assertStrip(javaScript + "  <div>  " + javaScript + "  </div>");
+
+		write(stripFilter, javaScript);
+
+		Assert.assertEquals(2, minifierCache.size());
+
+		// Minified content with session specific values is not cached
+
+		String sessionJavaScript =
+			"<script type=\"text/javascript\">  var  a = " +
+				"Liferay.getSessionId();  </script>";
+
+		assertStrip(sessionJavaScript);
+
+		write(stripFilter, sessionJavaScript);
+
+		Assert.assertEquals(2, minifierCache.size());
+	}
+
+	@Test
+	public void testInput() throws Exception {
+		Assert.assertEquals(
+			"<input  a=\" b \"> <input/> <div> c </div>",
+			write("<input  a=\" b \">  <input/>  <div>  c  </div>"));
+	}
+
+	@Test
+	public void testMissingCloseTag() throws Exception {
+		assertStrip("<script type=\"text/javascript\"  a  b");
+		assertStrip("<scr");
+
+		Assert.assertEquals("<pre>  a  b", write("<pre>  a  b"));
+		Assert.assertEquals("<script> a b", write("<script>  a  b"));
+		Assert.assertEquals(
+			"<style type=\"text/css\"> a b",
+			write("<style type=\"text/css\">  a  b"));
+	}
+
+	@Test
+	public void testStrip() throws Exception {
+		assertStrip("");
+		assertStrip(" \r\n\t");
+		assertStrip(" \r\n\t<html>  \r\n <body>\n\t</body></html> \n ");
+		assertStrip("<div>  a  < b ></div>  <  div></div>");
+		assertStrip("<pre>  a  b  </pre>  <PRE> a  b </PRE>  c");
+		assertStrip("<textarea name=\"a\">  a  b  </textarea>  c");
+		assertStrip("<input  type=\"text\"  />  c");
+		assertStrip("<prefix>  a  </prefix>  <preview>  b  </pre>  c");
+		assertStrip("<script></script>  <style type=\"text/css\"></style>  c");
+		assertStrip("<script type=\"text/template\">  a  b  </script>  c");
+		assertStrip("<script src=\"a.js\" <b>  c  </b>  </script>");
+		assertStrip("<scripts>  a  </scripts>  <stylesheet>  b");
+	}
+
+	@Test
+	public void testWriteThrough() throws Exception {
+		StringWriter stringWriter = new StringWriter();
+
+		StripWriter stripWriter = new StripWriter(
+			new StripFilter(), _mockHttpServletRequest, null, stringWriter);
+
+		// Complete content reaches the response before the writer finishes
+
+		stripWriter.write("<div>  a  b</div>  <pre>  c  d  </pre>  ");
+
+		Assert.assertEquals(
+			"<div> a b</div> <pre>  c  d  </pre>", stringWriter.toString());
+
+		stripWriter.write("<style type=\"text/css\">  a  {  color:  red;  }");
+		stripWriter.write("  </style>  <div>  e");
+
+		Assert.assertEquals(
+			"<div> a b</div> <pre>  c  d  </pre> " +
+				"<style type=\"text/css\">a{color:red}</style> <div> e",
+			stringWriter.toString());
+
+		stripWriter.finish();
+
+		Assert.assertEquals(
+			"<div> a b</div> <pre>  c  d  </pre> " +
+				"<style type=\"text/css\">a{color:red}</style> <div> e",
+			stringWriter.toString());
+	}
+
+	protected void assertStrip(String content) throws Exception {
+		StringWriter stringWriter = new StringWriter();
+
+		new StripFilter().strip(
+			_mockHttpServletRequest, null, CharBuffer.wrap(content),
+			stringWriter);
+
+		String expected = stringWriter.toString();
+
+		// Written at once
+
+		Assert.assertEquals(expected, write(content));
+
+		// Written one character at a time
+
+		stringWriter = new StringWriter();
+
+		StripWriter stripWriter = new StripWriter(
+			new StripFilter(), _mockHttpServletRequest, null, stringWriter);
+
+		for (int i = 0; i < content.length(); i++) {
+			stripWriter.write(content.charAt(i));
+		}
+
+		stripWriter.finish();
+
+		Assert.assertEquals(expected, stringWriter.toString());
+
+		// Written in two parts
+
+		for (int i = 1; i < content.length(); i++) {
+			stringWriter = new StringWriter();
+
+			stripWriter = new StripWriter(
+				new StripFilter(), _mockHttpServletRequest, null,
+				stringWriter);
+
+			stripWriter.write(content, 0, i);
+			stripWriter.write(content, i, content.length() - i);
+
+			stripWriter.finish();
+
+			Assert.assertEquals(expected, stringWriter.toString());
+		}
+	}
+
+	protected String write(String content) throws Exception {
+		return write(new StripFilter(), content);
+	}
+
+	protected String write(StripFilter stripFilter, String content)
+		throws Exception {
+
+		StringWriter stringWriter = new StringWriter();
+
+		StripWriter stripWriter = new StripWriter(
+			stripFilter, _mockHttpServletRequest, null, stringWriter);
+
+		stripWriter.write(content);
+
+		stripWriter.finish();
+
+		return stringWriter.toString();
+	}
+
+	private final MockHttpServletRequest _mockHttpServletRequest =
+		new MockHttpServletRequest();
+	private Props _props;
+
+}
\ No newline at end of file
@@ -0,0 +1,631 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet;
+
+import com.liferay.portal.cache.MockPortalCacheManager;
+import com.liferay.portal.cache.memory.MemoryPortalCache;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.cache.MultiVMPool;
+import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.portlet.LiferayWindowState;
+import com.liferay.portal.kernel.servlet.BufferCacheServletResponse;
+import com.liferay.portal.kernel.servlet.taglib.ui.BreadcrumbEntry;
+import com.liferay.portal.kernel.servlet.taglib.util.OutputData;
+import com.liferay.portal.kernel.util.DigesterUtil;
+import com.liferay.portal.kernel.util.ListMergeable;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.WebKeys;
+import com.liferay.portal.security.auth.AuthToken;
+import com.liferay.portal.security.permission.PermissionChecker;
+import com.liferay.portal.theme.ThemeDisplay;
+import com.liferay.portal.util.DigesterImpl;
+import com.liferay.portal.util.Portal;
+import com.liferay.portal.util.PortalUtil;
+import com.liferay.registry.BasicRegistryImpl;
+import com.liferay.registry.Registry;
+import com.liferay.registry.RegistryUtil;
+import com.liferay.registry.ServiceRegistration;
+
+import java.io.PrintWriter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.portlet.PortletMode;
+import javax.portlet.PortletPreferences;
+import javax.portlet.PortletRequest;
+import javax.portlet.RenderRequest;
+import javax.portlet.WindowState;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class PortletOutputCacheTest {
+
+	@BeforeClass
+	public static void setUpClass() {
+		RegistryUtil.setRegistry(new BasicRegistryImpl());
+	}
+
+	@Before
+	public void setUp() {
+		DigesterUtil digesterUtil = new DigesterUtil();
+
+		digesterUtil.setDigester(new DigesterImpl());
+
+		_multiVMPool = MultiVMPoolUtil.getMultiVMPool();
+
+		MultiVMPool multiVMPool = Mockito.mock(MultiVMPool.class);
+
+		Mockito.doReturn(
+			new MemoryPortalCache<String, String>(
+				new MockPortalCacheManager<String, String>(_PORTLET_ID),
+				_PORTLET_ID, 16)
+		).when(
+			multiVMPool
+		).getCache(
+			Mockito.anyString()
+		);
+
+		MultiVMPoolUtil multiVMPoolUtil = new MultiVMPoolUtil();
+
+		multiVMPoolUtil.setMultiVMPool(multiVMPool);
+
+		_portal = PortalUtil.getPortal();
+
+		Portal portal = Mockito.mock(Portal.class);
+
+		Mockito.when(
+			portal.getHttpServletRequest(Mockito.any(PortletRequest.class))
+		).thenReturn(
+			_request
+		);
+
+		PortalUtil portalUtil = new PortalUtil();
+
+		portalUtil.setPortal(portal);
+
+		PortletPreferencesFactoryUtil portletPreferencesFactoryUtil =
+			new PortletPreferencesFactoryUtil();
+
+		portletPreferencesFactoryUtil.setPortletPreferencesFactory(
+			Mockito.mock(PortletPreferencesFactory.class));
+
+		_portletOutputCache = new PortletOutputCache(_PORTLET_ID, 300);
+	}
+
+	@After
+	public void tearDown() {
+		MultiVMPoolUtil multiVMPoolUtil = new MultiVMPoolUtil();
+
+		multiVMPoolUtil.setMultiVMPool(_multiVMPool);
+
+		PortalUtil portalUtil = new PortalUtil();
+
+		portalUtil.setPortal(_portal);
+	}
+
+	@Test
+	public void testGetKeyWithEditMode() {
+		RenderRequest renderRequest = Mockito.mock(RenderRequest.class);
+
+		Mockito.when(
+			renderRequest.getPortletMode()
+		).thenReturn(
+			PortletMode.EDIT
+		);
+
+		Assert.assertNull(
+			_portletOutputCache.getKey(_PORTLET_ID, renderRequest));
+	}
+
+	@Test
+	public void testGetKeyWithPopUpWindowState() {
+		RenderRequest renderRequest = Mockito.mock(RenderRequest.class);
+
+		Mockito.when(
+			renderRequest.getPortletMode()
+		).thenReturn(
+			PortletMode.VIEW
+		);
+
+		Mockito.when(
+			renderRequest.getWindowState()
+		).thenReturn(
+			LiferayWindowState.POP_UP
+		);
+
+		Assert.assertNull(
+			_portletOutputCache.getKey(_PORTLET_ID, renderRequest));
+	}
+
+	@Test
+	public void testGetKeyWithSignedInUsers() {
+		Assert.assertEquals(
+			_portletOutputCache.getKey(_PORTLET_ID, _mockRenderRequest(1)),
+			_portletOutputCache.getKey(_PORTLET_ID, _mockRenderRequest(1)));
+		Assert.assertNotEquals(
+			_portletOutputCache.getKey(_PORTLET_ID, _mockRenderRequest(1)),
+			_portletOutputCache.getKey(_PORTLET_ID, _mockRenderRequest(2)));
+	}
+
+	@Test
+	public void testPut() throws Exception {
+		_put(
+			_portletOutputCache.getGeneration(), "content",
+			new HashMap<String, Object>());
+
+		RenderResponseImpl renderResponseImpl = _mockRenderResponseImpl();
+
+		Assert.assertTrue(
+			_portletOutputCache.render(
+				_KEY, Mockito.mock(RenderRequest.class), renderResponseImpl));
+
+		Mockito.verify(
+			renderResponseImpl
+		).setTitle(
+			"title"
+		);
+
+		Assert.assertEquals("content", _bufferCacheServletResponse.getString());
+	}
+
+	@Test
+	public void testPutAfterRemoveAll() throws Exception {
+		long generation = _portletOutputCache.getGeneration();
+
+		_portletOutputCache.removeAll();
+
+		_put(generation, "content", new HashMap<String, Object>());
+
+		Assert.assertFalse(
+			_portletOutputCache.render(
+				_KEY, Mockito.mock(RenderRequest.class),
+				_mockRenderResponseImpl()));
+	}
+
+	@Test
+	public void testPutAfterRemoveAllOnOtherNode() throws Exception {
+		long generation = _portletOutputCache.getGeneration();
+
+		// A removal replicated from another node only reaches the portal cache
+
+		PortalCache<?, ?> portalCache = MultiVMPoolUtil.getCache(_PORTLET_ID);
+
+		portalCache.removeAll();
+
+		_put(generation, "content", new HashMap<String, Object>());
+
+		Assert.assertFalse(
+			_portletOutputCache.render(
+				_KEY, Mockito.mock(RenderRequest.class),
+				_mockRenderResponseImpl()));
+	}
+
+	@Test
+	public void testPutWithAuthTokensOfOtherPortlets() throws Exception {
+		_put(
+			_portletOutputCache.getGeneration(),
+			"<a href=\"/web/guest?p_p_id=8&p_p_auth=abcdefgh\">link</a>",
+			new HashMap<String, Object>());
+
+		Assert.assertFalse(
+			_portletOutputCache.render(
+				_KEY, Mockito.mock(RenderRequest.class),
+				_mockRenderResponseImpl()));
+	}
+
+	@Test
+	public void testPutWithBreadcrumbEntries() throws Exception {
+		List<BreadcrumbEntry> breadcrumbEntries =
+			new ArrayList<BreadcrumbEntry>();
+
+		breadcrumbEntries.add(new BreadcrumbEntry());
+
+		_request.setAttribute(WebKeys.PORTLET_BREADCRUMBS, breadcrumbEntries);
+
+		Map<String, Object> sharedAttributes =
+			PortletOutputCache.removeSharedAttributes(_request, _PORTLET_ID);
+
+		Assert.assertNull(_request.getAttribute(WebKeys.PORTLET_BREADCRUMBS));
+
+		List<BreadcrumbEntry> portletBreadcrumbEntries =
+			new ArrayList<BreadcrumbEntry>();
+
+		portletBreadcrumbEntries.add(new BreadcrumbEntry());
+
+		_request.setAttribute(
+			WebKeys.PORTLET_BREADCRUMBS, portletBreadcrumbEntries);
+
+		Map<String, Object> portletSharedAttributes =
+			PortletOutputCache.restoreSharedAttributes(
+				_request, sharedAttributes);
+
+		Assert.assertSame(
+			breadcrumbEntries,
+			_request.getAttribute(WebKeys.PORTLET_BREADCRUMBS));
+		Assert.assertEquals(2, breadcrumbEntries.size());
+
+		_put(
+			_portletOutputCache.getGeneration(), "content",
+			portletSharedAttributes);
+
+		Assert.assertFalse(
+			_portletOutputCache.render(
+				_KEY, Mockito.mock(RenderRequest.class),
+				_mockRenderResponseImpl()));
+	}
+
+	@Test
+	public void testRenderWithHeaders() throws Exception {
+		Map<String, Object> headers = new LinkedHashMap<String, Object>();
+
+		Cookie cookie = new Cookie("name", "value");
+
+		headers.put("cookies", new Cookie[] {cookie});
+		headers.put("Expires", new Long[] {1000L});
+		headers.put("X-Count", new Integer[] {1});
+		headers.put("X-Name", new String[] {"value1", "value2"});
+
+		RenderResponseImpl renderResponseImpl = _mockRenderResponseImpl();
+
+		Mockito.when(
+			renderResponseImpl.getHeaders()
+		).thenReturn(
+			headers
+		);
+
+		_portletOutputCache.put(
+			_KEY, _portletOutputCache.getGeneration(),
+			Mockito.mock(RenderRequest.class), renderResponseImpl,
+			new HashMap<String, Object>());
+
+		renderResponseImpl = _mockRenderResponseImpl();
+
+		Assert.assertTrue(
+			_portletOutputCache.render(
+				_KEY, Mockito.mock(RenderRequest.class), renderResponseImpl));
+
+		Mockito.verify(
+			renderResponseImpl
+		).addProperty(
+			Mockito.any(Cookie.class)
+		);
+
+		Mockito.verify(
+			renderResponseImpl
+		).addDateHeader(
+			"Expires", 1000L
+		);
+
+		Mockito.verify(
+			renderResponseImpl
+		).addIntHeader(
+			"X-Count", 1
+		);
+
+		Mockito.verify(
+			renderResponseImpl
+		).addHeader(
+			"X-Name", "value1"
+		);
+
+		Mockito.verify(
+			renderResponseImpl
+		).addHeader(
+			"X-Name", "value2"
+		);
+	}
+
+	@Test
+	public void testRenderWithSharedAttributes() throws Exception {
+		ListMergeable<String> pageTitleListMergeable =
+			new ListMergeable<String>();
+
+		pageTitleListMergeable.add("page");
+
+		_request.setAttribute(WebKeys.PAGE_TITLE, pageTitleListMergeable);
+
+		Map<String, Object> sharedAttributes =
+			PortletOutputCache.removeSharedAttributes(_request, _PORTLET_ID);
+
+		Assert.assertNull(_request.getAttribute(WebKeys.PAGE_TITLE));
+
+		ListMergeable<String> portletPageTitleListMergeable =
+			new ListMergeable<String>();
+
+		portletPageTitleListMergeable.add("portlet");
+
+		_request.setAttribute(
+			WebKeys.PAGE_TITLE, portletPageTitleListMergeable);
+
+		OutputData outputData = new OutputData();
+
+		outputData.addData(
+			_PORTLET_ID, WebKeys.PAGE_TOP, new StringBundler("top"));
+
+		_request.setAttribute(WebKeys.OUTPUT_DATA, outputData);
+
+		Map<String, Object> portletSharedAttributes =
+			PortletOutputCache.restoreSharedAttributes(
+				_request, sharedAttributes);
+
+		Assert.assertSame(
+			pageTitleListMergeable, _request.getAttribute(WebKeys.PAGE_TITLE));
+		Assert.assertEquals(
+			"page,portlet",
+			pageTitleListMergeable.mergeToString(StringPool.COMMA));
+
+		_put(
+			_portletOutputCache.getGeneration(), "content",
+			portletSharedAttributes);
+
+		_request = new MockHttpServletRequest();
+
+		Portal portal = PortalUtil.getPortal();
+
+		Mockito.when(
+			portal.getHttpServletRequest(Mockito.any(PortletRequest.class))
+		).thenReturn(
+			_request
+		);
+
+		Assert.assertTrue(
+			_portletOutputCache.render(
+				_KEY, Mockito.mock(RenderRequest.class),
+				_mockRenderResponseImpl()));
+
+		ListMergeable<String> cachedPageTitleListMergeable =
+			(ListMergeable<String>)_request.getAttribute(WebKeys.PAGE_TITLE);
+
+		Assert.assertEquals(
+			"portlet",
+			cachedPageTitleListMergeable.mergeToString(StringPool.COMMA));
+
+		OutputData cachedOutputData = (OutputData)_request.getAttribute(
+			WebKeys.OUTPUT_DATA);
+
+		StringBundler sb = cachedOutputData.getMergedData(WebKeys.PAGE_TOP);
+
+		Assert.assertEquals("top", sb.toString());
+	}
+
+	@Test
+	public void testRenderWithTokens() throws Exception {
+		MockHttpServletRequest request1 = new MockHttpServletRequest();
+
+		request1.setSession(new MockHttpSession(null, "session1"));
+
+		MockHttpServletRequest request2 = new MockHttpServletRequest();
+
+		request2.setSession(new MockHttpSession(null, "session2"));
+
+		AuthToken authToken = Mockito.mock(AuthToken.class);
+
+		Mockito.when(
+			authToken.getToken(request1)
+		).thenReturn(
+			"csrf1"
+		);
+
+		Mockito.when(
+			authToken.getToken(request1, _PLID, _PORTLET_ID)
+		).thenReturn(
+			"portlet1"
+		);
+
+		Mockito.when(
+			authToken.getToken(request2)
+		).thenReturn(
+			"csrf2"
+		);
+
+		Mockito.when(
+			authToken.getToken(request2, _PLID, _PORTLET_ID)
+		).thenReturn(
+			"portlet2"
+		);
+
+		Registry registry = RegistryUtil.getRegistry();
+
+		ServiceRegistration<AuthToken> serviceRegistration =
+			registry.registerService(AuthToken.class, authToken);
+
+		try {
+			_request = request1;
+
+			Portal portal = PortalUtil.getPortal();
+
+			Mockito.when(
+				portal.getHttpServletRequest(Mockito.any(PortletRequest.class))
+			).thenReturn(
+				_request
+			);
+
+			_put(
+				_portletOutputCache.getGeneration(),
+				"/web/guest;jsessionid=session1?p_auth=csrf1&p_p_auth=portlet1",
+				new HashMap<String, Object>());
+
+			_request = request2;
+
+			Mockito.when(
+				portal.getHttpServletRequest(Mockito.any(PortletRequest.class))
+			).thenReturn(
+				_request
+			);
+
+			Assert.assertTrue(
+				_portletOutputCache.render(
+					_KEY, Mockito.mock(RenderRequest.class),
+					_mockRenderResponseImpl()));
+
+			Assert.assertEquals(
+				"/web/guest;jsessionid=session2?p_auth=csrf2&p_p_auth=portlet2",
+				_bufferCacheServletResponse.getString());
+		}
+		finally {
+			serviceRegistration.unregister();
+		}
+	}
+
+	private RenderRequest _mockRenderRequest(long userId) {
+		PermissionChecker permissionChecker = Mockito.mock(
+			PermissionChecker.class);
+
+		Mockito.when(
+			permissionChecker.getRoleIds(
+				Mockito.anyLong(), Mockito.anyLong())
+		).thenReturn(
+			new long[] {1}
+		);
+
+		Mockito.when(
+			permissionChecker.isSignedIn()
+		).thenReturn(
+			true
+		);
+
+		ThemeDisplay themeDisplay = Mockito.mock(ThemeDisplay.class);
+
+		Mockito.when(
+			themeDisplay.getPermissionChecker()
+		).thenReturn(
+			permissionChecker
+		);
+
+		Mockito.when(
+			themeDisplay.getPlid()
+		).thenReturn(
+			_PLID
+		);
+
+		Mockito.when(
+			themeDisplay.getUserId()
+		).thenReturn(
+			userId
+		);
+
+		RenderRequest renderRequest = Mockito.mock(RenderRequest.class);
+
+		Mockito.when(
+			renderRequest.getAttribute(WebKeys.THEME_DISPLAY)
+		).thenReturn(
+			themeDisplay
+		);
+
+		Mockito.when(
+			renderRequest.getPortletMode()
+		).thenReturn(
+			PortletMode.VIEW
+		);
+
+		Mockito.when(
+			renderRequest.getPreferences()
+		).thenReturn(
+			Mockito.mock(PortletPreferences.class)
+		);
+
+		Mockito.when(
+			renderRequest.getWindowState()
+		).thenReturn(
+			WindowState.NORMAL
+		);
+
+		return renderRequest;
+	}
+
+	private RenderResponseImpl _mockRenderResponseImpl() {
+		RenderResponseImpl renderResponseImpl = Mockito.mock(
+			RenderResponseImpl.class);
+
+		_bufferCacheServletResponse = new BufferCacheServletResponse(
+			new MockHttpServletResponse());
+
+		Mockito.when(
+			renderResponseImpl.getHttpServletResponse()
+		).thenReturn(
+			_bufferCacheServletResponse
+		);
+
+		Mockito.when(
+			renderResponseImpl.getPlid()
+		).thenReturn(
+			_PLID
+		);
+
+		Mockito.when(
+			renderResponseImpl.getPortletName()
+		).thenReturn(
+			_PORTLET_ID
+		);
+
+		return renderResponseImpl;
+	}
+
+	private void _put(
+			long generation, String content,
+			Map<String, Object> sharedAttributes)
+		throws Exception {
+
+		RenderResponseImpl renderResponseImpl = _mockRenderResponseImpl();
+
+		Mockito.when(
+			renderResponseImpl.getTitle()
+		).thenReturn(
+			"title"
+		);
+
+		PrintWriter printWriter = _bufferCacheServletResponse.getWriter();
+
+		printWriter.print(content);
+
+		_portletOutputCache.put(
+			_KEY, generation, Mockito.mock(RenderRequest.class),
+			renderResponseImpl, sharedAttributes);
+	}
+
+	private static final String _KEY = "key";
+
+	private static final long _PLID = 1;
+
+	private static final String _PORTLET_ID = "71";
+
+	private BufferCacheServletResponse _bufferCacheServletResponse;
+	private MultiVMPool _multiVMPool;
+	private Portal _portal;
+	private PortletOutputCache _portletOutputCache;
+	private HttpServletRequest _request = new MockHttpServletRequest();
+
+}
\ No newline at end of file
@@ -16,6 +16,10 @@ package com.liferay.portal.kernel.cache;
 
 import java.io.Serializable;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @author Tina Tian
  */
@@ -31,6 +35,27 @@ public abstract class AbstractPortalCache<K extends Serializable, V>
 		return doGet(key);
 	}
 
+	@Override
+	public Map<K, V> getAll(Collection<K> keys) {
+		if (keys == null) {
+			throw new NullPointerException("Keys is null");
+		}
+
+		return doGetAll(keys);
+	}
+
+	/**
+	 * Returns the value of the key without updating its access time or
+	 * statistics.
+	 */
+	public V getQuiet(K key) {
+		if (key == null) {
+			throw new NullPointerException("Key is null");
+		}
+
+		return doGetQuiet(key);
+	}
+
 	@Override
 	public void put(K key, V value) {
 		put(key, value, DEFAULT_TIME_TO_LIVE, false);
@@ -145,6 +170,28 @@ public abstract class AbstractPortalCache<K extends Serializable, V>
 
 	protected abstract V doGet(K key);
 
+	protected Map<K, V> doGetAll(Collection<K> keys) {
+		Map<K, V> values = new HashMap<K, V>();
+
+		for (K key : keys) {
+			if (key == null) {
+				throw new NullPointerException("Key is null");
+			}
+
+			V value = doGet(key);
+
+			if (value != null) {
+				values.put(key, value);
+			}
+		}
+
+		return values;
+	}
+
+	protected V doGetQuiet(K key) {
+		return doGet(key);
+	}
+
 	protected abstract void doPut(
 		K key, V value, int timeToLive, boolean quiet);
 
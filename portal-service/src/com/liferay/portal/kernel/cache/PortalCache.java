@@ -19,7 +19,9 @@ import com.liferay.portal.kernel.nio.intraband.proxy.annotation.Proxy;
 
 import java.io.Serializable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Brian Wing Shun Chan
@@ -33,6 +35,13 @@ public interface PortalCache<K extends Serializable, V> {
 	@Proxy
 	public V get(K key);
 
+	/**
+	 * Returns the cached values of the keys in one call. Keys without a cached
+	 * value are absent from the returned map.
+	 */
+	@Proxy
+	public Map<K, V> getAll(Collection<K> keys);
+
 	@Proxy
 	public List<K> getKeys();
 
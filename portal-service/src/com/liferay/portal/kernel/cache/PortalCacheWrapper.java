@@ -16,7 +16,9 @@ package com.liferay.portal.kernel.cache;
 
 import java.io.Serializable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Shuyang Zhou
@@ -33,6 +35,11 @@ public class PortalCacheWrapper<K extends Serializable, V>
 		return portalCache.get(key);
 	}
 
+	@Override
+	public Map<K, V> getAll(Collection<K> keys) {
+		return portalCache.getAll(keys);
+	}
+
 	@Override
 	public List<K> getKeys() {
 		return portalCache.getKeys();
@@ -17,7 +17,18 @@ package com.liferay.portal.kernel.cache.cluster;
 import com.liferay.portal.kernel.concurrent.CoalescedPipe;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.StringPool;
 
+import java.io.Serializable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -43,8 +54,49 @@ public abstract class BasePortalCacheClusterChannel
 		_dispatchThread.interrupt();
 	}
 
+	/**
+	 * Dispatches the invalidation of several keys of one portal cache. The
+	 * default implementation dispatches one remove event per key. Channels that
+	 * can send all keys with one message should override this method.
+	 */
+	public void dispatchBatchEvent(
+		PortalCacheClusterBatchEvent portalCacheClusterBatchEvent) {
+
+		for (Serializable elementKey :
+				portalCacheClusterBatchEvent.getElementKeys()) {
+
+			dispatchEvent(
+				new PortalCacheClusterEvent(
+					portalCacheClusterBatchEvent.getPortalCacheManagerName(),
+					portalCacheClusterBatchEvent.getPortalCacheName(),
+					elementKey, PortalCacheClusterEventType.REMOVE));
+		}
+	}
+
 	public abstract void dispatchEvent(PortalCacheClusterEvent event);
 
+	@Override
+	public double getAverageBatchSendTime() {
+		long sentBatchNumber = _sentBatchCounter.get();
+
+		if (sentBatchNumber == 0) {
+			return 0;
+		}
+
+		return _batchSendTime.get() / (sentBatchNumber * 1000000.0);
+	}
+
+	@Override
+	public double getAverageBatchSize() {
+		long sentBatchNumber = _sentBatchCounter.get();
+
+		if (sentBatchNumber == 0) {
+			return 0;
+		}
+
+		return (double)_batchedEventCounter.get() / sentBatchNumber;
+	}
+
 	@Override
 	public long getCoalescedEventNumber() {
 		return _eventQueue.coalescedCount();
@@ -55,6 +107,11 @@ public abstract class BasePortalCacheClusterChannel
 		return _eventQueue.pendingCount();
 	}
 
+	@Override
+	public long getSentBatchNumber() {
+		return _sentBatchCounter.get();
+	}
+
 	@Override
 	public long getSentEventNumber() {
 		return _sentEventCounter.get();
@@ -67,10 +124,23 @@ public abstract class BasePortalCacheClusterChannel
 				if (_destroy) {
 					Object[] events = _eventQueue.takeSnapshot();
 
-					for (Object event : events) {
-						dispatchEvent((PortalCacheClusterEvent)event);
+					if ((_batchSize > 1) && (events.length > 0)) {
+						List<PortalCacheClusterEvent> snapshotEvents =
+							new ArrayList<PortalCacheClusterEvent>(
+								events.length);
 
-						_sentEventCounter.incrementAndGet();
+						for (Object event : events) {
+							snapshotEvents.add((PortalCacheClusterEvent)event);
+						}
+
+						dispatchEvents(snapshotEvents, System.nanoTime());
+					}
+					else {
+						for (Object event : events) {
+							dispatchEvent((PortalCacheClusterEvent)event);
+
+							_sentEventCounter.incrementAndGet();
+						}
 					}
 
 					break;
@@ -80,6 +150,12 @@ public abstract class BasePortalCacheClusterChannel
 						PortalCacheClusterEvent portalCacheClusterEvent =
 							_eventQueue.take();
 
+						if (_batchSize > 1) {
+							dispatchBatch(portalCacheClusterEvent);
+
+							continue;
+						}
+
 						dispatchEvent(portalCacheClusterEvent);
 
 						_sentEventCounter.incrementAndGet();
@@ -120,14 +196,206 @@ public abstract class BasePortalCacheClusterChannel
 		}
 	}
 
+	/**
+	 * Sets the time in milliseconds the dispatch thread waits for more events
+	 * after the first event of a batch.
+	 */
+	public void setBatchInterval(long batchInterval) {
+		_batchInterval = batchInterval;
+	}
+
+	/**
+	 * Sets the maximum number of events dispatched as one batch. Batching is
+	 * disabled unless the size is greater than 1.
+	 */
+	public void setBatchSize(int batchSize) {
+		_batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the number of keys of one portal cache in a batch at which the keys
+	 * are replaced by a single remove all event. Set it to 0 to never replace
+	 * keys.
+	 */
+	public void setRemoveAllThreshold(int removeAllThreshold) {
+		_removeAllThreshold = removeAllThreshold;
+	}
+
+	protected void dispatchBatch(
+		PortalCacheClusterEvent portalCacheClusterEvent) {
+
+		long startTime = System.nanoTime();
+
+		List<PortalCacheClusterEvent> portalCacheClusterEvents =
+			new ArrayList<PortalCacheClusterEvent>();
+
+		portalCacheClusterEvents.add(portalCacheClusterEvent);
+
+		long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(
+			_batchInterval);
+
+		try {
+			while (portalCacheClusterEvents.size() < _batchSize) {
+				portalCacheClusterEvent = _eventQueue.poll(
+					deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+				if (portalCacheClusterEvent == null) {
+					break;
+				}
+
+				portalCacheClusterEvents.add(portalCacheClusterEvent);
+			}
+		}
+		catch (InterruptedException ie) {
+
+			// Dispatch the events taken so far, the remaining events are
+			// dispatched on destroy
+
+		}
+
+		dispatchEvents(portalCacheClusterEvents, startTime);
+	}
+
+	protected void dispatchElementKeys(
+		String portalCacheManagerName, String portalCacheName,
+		Collection<Serializable> elementKeys) {
+
+		if (elementKeys.isEmpty()) {
+			return;
+		}
+
+		int removeAllThreshold = getRemoveAllThreshold(portalCacheName);
+
+		if ((removeAllThreshold > 0) &&
+			(elementKeys.size() >= removeAllThreshold)) {
+
+			dispatchEvent(
+				new PortalCacheClusterEvent(
+					portalCacheManagerName, portalCacheName, null,
+					PortalCacheClusterEventType.REMOVE_ALL));
+		}
+		else if (elementKeys.size() == 1) {
+			dispatchEvent(
+				new PortalCacheClusterEvent(
+					portalCacheManagerName, portalCacheName,
+					elementKeys.iterator().next(),
+					PortalCacheClusterEventType.REMOVE));
+		}
+		else {
+			dispatchBatchEvent(
+				new PortalCacheClusterBatchEvent(
+					portalCacheManagerName, portalCacheName,
+					elementKeys.toArray(
+						new Serializable[elementKeys.size()])));
+		}
+
+		elementKeys.clear();
+	}
+
+	protected void dispatchEvents(
+		List<PortalCacheClusterEvent> portalCacheClusterEvents,
+		long startTime) {
+
+		Map<String, List<PortalCacheClusterEvent>>
+			portalCacheClusterEventsMap =
+				new LinkedHashMap<String, List<PortalCacheClusterEvent>>();
+
+		for (PortalCacheClusterEvent portalCacheClusterEvent :
+				portalCacheClusterEvents) {
+
+			String key =
+				portalCacheClusterEvent.getPortalCacheManagerName() +
+					StringPool.COLON +
+						portalCacheClusterEvent.getPortalCacheName();
+
+			List<PortalCacheClusterEvent> portalCacheEvents =
+				portalCacheClusterEventsMap.get(key);
+
+			if (portalCacheEvents == null) {
+				portalCacheEvents = new ArrayList<PortalCacheClusterEvent>();
+
+				portalCacheClusterEventsMap.put(key, portalCacheEvents);
+			}
+
+			portalCacheEvents.add(portalCacheClusterEvent);
+		}
+
+		for (List<PortalCacheClusterEvent> portalCacheEvents :
+				portalCacheClusterEventsMap.values()) {
+
+			dispatchPortalCacheEvents(portalCacheEvents);
+		}
+
+		_sentEventCounter.addAndGet(portalCacheClusterEvents.size());
+
+		_batchedEventCounter.addAndGet(portalCacheClusterEvents.size());
+		_batchSendTime.addAndGet(System.nanoTime() - startTime);
+		_sentBatchCounter.incrementAndGet();
+	}
+
+	protected void dispatchPortalCacheEvents(
+		List<PortalCacheClusterEvent> portalCacheEvents) {
+
+		PortalCacheClusterEvent firstPortalCacheClusterEvent =
+			portalCacheEvents.get(0);
+
+		String portalCacheManagerName =
+			firstPortalCacheClusterEvent.getPortalCacheManagerName();
+		String portalCacheName =
+			firstPortalCacheClusterEvent.getPortalCacheName();
+
+		// Keys of invalidating events are collected until an event that
+		// carries a value or removes all entries, so that the order of events
+		// on the same key is kept
+
+		Set<Serializable> elementKeys = new LinkedHashSet<Serializable>();
+
+		for (PortalCacheClusterEvent portalCacheClusterEvent :
+				portalCacheEvents) {
+
+			PortalCacheClusterEventType portalCacheClusterEventType =
+				portalCacheClusterEvent.getEventType();
+
+			if (portalCacheClusterEventType ==
+					PortalCacheClusterEventType.REMOVE_ALL) {
+
+				elementKeys.clear();
+
+				dispatchEvent(portalCacheClusterEvent);
+			}
+			else if (portalCacheClusterEvent.getElementValue() == null) {
+				elementKeys.add(portalCacheClusterEvent.getElementKey());
+			}
+			else {
+				dispatchElementKeys(
+					portalCacheManagerName, portalCacheName, elementKeys);
+
+				dispatchEvent(portalCacheClusterEvent);
+			}
+		}
+
+		dispatchElementKeys(
+			portalCacheManagerName, portalCacheName, elementKeys);
+	}
+
+	protected int getRemoveAllThreshold(String portalCacheName) {
+		return _removeAllThreshold;
+	}
+
 	private static Log _log = LogFactoryUtil.getLog(
 		BasePortalCacheClusterChannel.class);
 
 	private static AtomicInteger _dispatchThreadCounter = new AtomicInteger(0);
 
+	private long _batchInterval;
+	private final AtomicLong _batchedEventCounter = new AtomicLong(0);
+	private final AtomicLong _batchSendTime = new AtomicLong(0);
+	private int _batchSize;
 	private volatile boolean _destroy = false;
 	private final Thread _dispatchThread;
 	private final CoalescedPipe<PortalCacheClusterEvent> _eventQueue;
+	private int _removeAllThreshold;
+	private final AtomicLong _sentBatchCounter = new AtomicLong(0);
 	private final AtomicLong _sentEventCounter = new AtomicLong(0);
 	private volatile boolean _started = false;
 
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.io.Serializable;
+
+import java.util.Arrays;
+
+/**
+ * Invalidates several keys of one portal cache with a single cluster message.
+ * Unlike {@link PortalCacheClusterEvent}, it never carries values.
+ *
+ * @author Shuyang Zhou
+ */
+public class PortalCacheClusterBatchEvent implements Serializable {
+
+	public PortalCacheClusterBatchEvent(
+		String portalCacheManagerName, String portalCacheName,
+		Serializable[] elementKeys) {
+
+		if (portalCacheManagerName == null) {
+			throw new NullPointerException("Portal cache manager name is null");
+		}
+
+		if (portalCacheName == null) {
+			throw new NullPointerException("Portal cache name is null");
+		}
+
+		if (elementKeys == null) {
+			throw new NullPointerException("Element keys are null");
+		}
+
+		_portalCacheManagerName = portalCacheManagerName;
+		_portalCacheName = portalCacheName;
+		_elementKeys = elementKeys;
+	}
+
+	public Serializable[] getElementKeys() {
+		return _elementKeys;
+	}
+
+	public String getPortalCacheManagerName() {
+		return _portalCacheManagerName;
+	}
+
+	public String getPortalCacheName() {
+		return _portalCacheName;
+	}
+
+	@Override
+	public String toString() {
+		StringBundler sb = new StringBundler(5);
+
+		sb.append(_portalCacheManagerName);
+		sb.append(StringPool.COLON);
+		sb.append(_portalCacheName);
+		sb.append(StringPool.COLON);
+		sb.append(Arrays.toString(_elementKeys));
+
+		return sb.toString();
+	}
+
+	private final Serializable[] _elementKeys;
+	private final String _portalCacheManagerName;
+	private final String _portalCacheName;
+
+}
\ No newline at end of file
@@ -21,10 +21,16 @@ public interface PortalCacheClusterChannel {
 
 	public void destroy();
 
+	public double getAverageBatchSendTime();
+
+	public double getAverageBatchSize();
+
 	public long getCoalescedEventNumber();
 
 	public int getPendingEventNumber();
 
+	public long getSentBatchNumber();
+
 	public long getSentEventNumber();
 
 	public void sendEvent(PortalCacheClusterEvent portalCacheClusterEvent);
@@ -14,9 +14,17 @@
 
 package com.liferay.portal.kernel.cache.cluster;
 
+import com.liferay.portal.kernel.cache.cluster.jmx.PortalCacheClusterLinkManager;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 /**
  * @author Shuyang Zhou
  */
@@ -36,9 +44,17 @@ public class PortalCacheClusterLink {
 			_portalCacheClusterChannelSelector =
 				new UniformPortalCacheClusterChannelSelector();
 		}
+
+		if (_mBeanServer != null) {
+			registerPortalCacheClusterLinkManager();
+		}
 	}
 
 	public void destroy() {
+		if (_mBeanServer != null) {
+			unregisterPortalCacheClusterLinkManager();
+		}
+
 		for (PortalCacheClusterChannel portalCacheClusterChannel :
 				_portalCacheClusterChannels) {
 
@@ -46,6 +62,10 @@ public class PortalCacheClusterLink {
 		}
 	}
 
+	public List<PortalCacheClusterChannel> getPortalCacheClusterChannels() {
+		return Collections.unmodifiableList(_portalCacheClusterChannels);
+	}
+
 	public long getSubmittedEventNumber() {
 		return _portalCacheClusterChannelSelector.getSelectedNumber();
 	}
@@ -62,6 +82,10 @@ public class PortalCacheClusterLink {
 		_channelNumber = channelNumber;
 	}
 
+	public void setMBeanServer(MBeanServer mBeanServer) {
+		_mBeanServer = mBeanServer;
+	}
+
 	public void setPortalCacheClusterChannelFactory(
 		PortalCacheClusterChannelFactory portalCacheClusterChannelFactory) {
 
@@ -74,9 +98,42 @@ public class PortalCacheClusterLink {
 		_portalCacheClusterChannelSelector = portalCacheClusterChannelSelector;
 	}
 
+	protected void registerPortalCacheClusterLinkManager() {
+		try {
+			ObjectName objectName =
+				PortalCacheClusterLinkManager.createObjectName();
+
+			if (!_mBeanServer.isRegistered(objectName)) {
+				_mBeanServer.registerMBean(
+					new PortalCacheClusterLinkManager(this), objectName);
+			}
+		}
+		catch (Exception e) {
+			_log.error("Unable to register portal cache cluster link", e);
+		}
+	}
+
+	protected void unregisterPortalCacheClusterLinkManager() {
+		try {
+			ObjectName objectName =
+				PortalCacheClusterLinkManager.createObjectName();
+
+			if (_mBeanServer.isRegistered(objectName)) {
+				_mBeanServer.unregisterMBean(objectName);
+			}
+		}
+		catch (Exception e) {
+			_log.error("Unable to unregister portal cache cluster link", e);
+		}
+	}
+
 	private static final int _DEFAULT_CHANNEL_NUMBER = 10;
 
+	private static Log _log = LogFactoryUtil.getLog(
+		PortalCacheClusterLink.class);
+
 	private int _channelNumber = _DEFAULT_CHANNEL_NUMBER;
+	private MBeanServer _mBeanServer;
 	private PortalCacheClusterChannelFactory _portalCacheClusterChannelFactory;
 	private List<PortalCacheClusterChannel> _portalCacheClusterChannels;
 	private PortalCacheClusterChannelSelector
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster.jmx;
+
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterChannel;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterLink;
+
+import java.util.List;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class PortalCacheClusterLinkManager
+	implements PortalCacheClusterLinkManagerMBean {
+
+	public static ObjectName createObjectName() {
+		try {
+			return new ObjectName(_OBJECT_NAME);
+		}
+		catch (MalformedObjectNameException mone) {
+			throw new IllegalStateException(mone);
+		}
+	}
+
+	public PortalCacheClusterLinkManager(
+		PortalCacheClusterLink portalCacheClusterLink) {
+
+		_portalCacheClusterLink = portalCacheClusterLink;
+	}
+
+	@Override
+	public double getAverageBatchSendTime() {
+		double batchSendTime = 0;
+		long sentBatchNumber = 0;
+
+		for (PortalCacheClusterChannel portalCacheClusterChannel :
+				getPortalCacheClusterChannels()) {
+
+			long channelSentBatchNumber =
+				portalCacheClusterChannel.getSentBatchNumber();
+
+			batchSendTime +=
+				portalCacheClusterChannel.getAverageBatchSendTime() *
+					channelSentBatchNumber;
+			sentBatchNumber += channelSentBatchNumber;
+		}
+
+		if (sentBatchNumber == 0) {
+			return 0;
+		}
+
+		return batchSendTime / sentBatchNumber;
+	}
+
+	@Override
+	public double getAverageBatchSize() {
+		double batchedEventNumber = 0;
+		long sentBatchNumber = 0;
+
+		for (PortalCacheClusterChannel portalCacheClusterChannel :
+				getPortalCacheClusterChannels()) {
+
+			long channelSentBatchNumber =
+				portalCacheClusterChannel.getSentBatchNumber();
+
+			batchedEventNumber +=
+				portalCacheClusterChannel.getAverageBatchSize() *
+					channelSentBatchNumber;
+			sentBatchNumber += channelSentBatchNumber;
+		}
+
+		if (sentBatchNumber == 0) {
+			return 0;
+		}
+
+		return batchedEventNumber / sentBatchNumber;
+	}
+
+	@Override
+	public int getChannelNumber() {
+		List<PortalCacheClusterChannel> portalCacheClusterChannels =
+			getPortalCacheClusterChannels();
+
+		return portalCacheClusterChannels.size();
+	}
+
+	@Override
+	public long getCoalescedEventNumber() {
+		long coalescedEventNumber = 0;
+
+		for (PortalCacheClusterChannel portalCacheClusterChannel :
+				getPortalCacheClusterChannels()) {
+
+			coalescedEventNumber +=
+				portalCacheClusterChannel.getCoalescedEventNumber();
+		}
+
+		return coalescedEventNumber;
+	}
+
+	@Override
+	public int getPendingEventNumber() {
+		int pendingEventNumber = 0;
+
+		for (PortalCacheClusterChannel portalCacheClusterChannel :
+				getPortalCacheClusterChannels()) {
+
+			pendingEventNumber +=
+				portalCacheClusterChannel.getPendingEventNumber();
+		}
+
+		return pendingEventNumber;
+	}
+
+	@Override
+	public long getSentBatchNumber() {
+		long sentBatchNumber = 0;
+
+		for (PortalCacheClusterChannel portalCacheClusterChannel :
+				getPortalCacheClusterChannels()) {
+
+			sentBatchNumber += portalCacheClusterChannel.getSentBatchNumber();
+		}
+
+		return sentBatchNumber;
+	}
+
+	@Override
+	public long getSentEventNumber() {
+		long sentEventNumber = 0;
+
+		for (PortalCacheClusterChannel portalCacheClusterChannel :
+				getPortalCacheClusterChannels()) {
+
+			sentEventNumber += portalCacheClusterChannel.getSentEventNumber();
+		}
+
+		return sentEventNumber;
+	}
+
+	@Override
+	public long getSubmittedEventNumber() {
+		return _portalCacheClusterLink.getSubmittedEventNumber();
+	}
+
+	protected List<PortalCacheClusterChannel> getPortalCacheClusterChannels() {
+		return _portalCacheClusterLink.getPortalCacheClusterChannels();
+	}
+
+	private static final String _OBJECT_NAME =
+		"com.liferay.portal.cache:classification=cache_cluster," +
+			"name=PortalCacheClusterLink";
+
+	private final PortalCacheClusterLink _portalCacheClusterLink;
+
+}
\ No newline at end of file
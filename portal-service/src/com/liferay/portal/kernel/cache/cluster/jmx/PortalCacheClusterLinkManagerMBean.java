@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster.jmx;
+
+/**
+ * Exposes the totals of the channels of a portal cache cluster link.
+ *
+ * @author Shuyang Zhou
+ */
+public interface PortalCacheClusterLinkManagerMBean {
+
+	public double getAverageBatchSendTime();
+
+	public double getAverageBatchSize();
+
+	public int getChannelNumber();
+
+	public long getCoalescedEventNumber();
+
+	public int getPendingEventNumber();
+
+	public long getSentBatchNumber();
+
+	public long getSentEventNumber();
+
+	public long getSubmittedEventNumber();
+
+}
\ No newline at end of file
@@ -15,6 +15,7 @@
 package com.liferay.portal.kernel.concurrent;
 
 import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
@@ -45,6 +46,29 @@ public class CoalescedPipe<E> {
 		return _pendingCount.get();
 	}
 
+	public E poll(long timeout, TimeUnit timeUnit)
+		throws InterruptedException {
+
+		long nanos = timeUnit.toNanos(timeout);
+
+		_takeLock.lockInterruptibly();
+
+		try {
+			while (_pendingCount.get() == 0) {
+				if (nanos <= 0) {
+					return null;
+				}
+
+				nanos = _notEmptyCondition.awaitNanos(nanos);
+			}
+
+			return _dequeueElement();
+		}
+		finally {
+			_takeLock.unlock();
+		}
+	}
+
 	public void put(E e) throws InterruptedException {
 		if (e == null) {
 			throw new NullPointerException();
@@ -82,8 +106,6 @@ public class CoalescedPipe<E> {
 	}
 
 	public E take() throws InterruptedException {
-		E element = null;
-
 		_takeLock.lockInterruptibly();
 
 		try {
@@ -91,27 +113,11 @@ public class CoalescedPipe<E> {
 				_notEmptyCondition.await();
 			}
 
-			ElementLink<E> garbageELementLink = _headElementLink;
-
-			_headElementLink = _headElementLink._nextElementLink;
-
-			garbageELementLink._nextElementLink = null;
-
-			element = _headElementLink._element;
-
-			_headElementLink._element = null;
-
-			int pendingElements = _pendingCount.getAndDecrement();
-
-			if (pendingElements > 1) {
-				_notEmptyCondition.signal();
-			}
+			return _dequeueElement();
 		}
 		finally {
 			_takeLock.unlock();
 		}
-
-		return element;
 	}
 
 	public Object[] takeSnapshot() {
@@ -186,6 +192,26 @@ public class CoalescedPipe<E> {
 		return false;
 	}
 
+	private E _dequeueElement() {
+		ElementLink<E> garbageELementLink = _headElementLink;
+
+		_headElementLink = _headElementLink._nextElementLink;
+
+		garbageELementLink._nextElementLink = null;
+
+		E element = _headElementLink._element;
+
+		_headElementLink._element = null;
+
+		int pendingElements = _pendingCount.getAndDecrement();
+
+		if (pendingElements > 1) {
+			_notEmptyCondition.signal();
+		}
+
+		return element;
+	}
+
 	private final AtomicLong _coalescedCount = new AtomicLong(0);
 	private final Comparator<E> _comparator;
 	private ElementLink<E> _headElementLink;
@@ -467,6 +467,14 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
 		return new DefaultNoticeableFuture<T>(runnable, value);
 	}
 
+	/**
+	 * Removes and returns the oldest task that is waiting to be executed, or
+	 * returns <code>null</code> if no task is waiting.
+	 */
+	protected Runnable pollPendingTask() {
+		return _taskQueue.poll();
+	}
+
 	private void _addWorkerThread() {
 		int runState = _runState;
 		int poolSize = _poolSize;
@@ -0,0 +1,697 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * Thread pool executor that does not share one {@link TaskQueue} between its
+ * workers. Tasks executed from outside the pool go to a lock free submission
+ * queue, tasks executed by a worker go to the worker's own deque, and workers
+ * that run out of tasks steal them from the deques of the other workers. Idle
+ * workers are parked and woken one at a time, so taking a task never waits
+ * for a lock.
+ * </p>
+ *
+ * <p>
+ * The pool sizes, keep alive time, maximum queue size, rejected execution
+ * handler, and thread pool handler behave as they do for {@link
+ * ThreadPoolExecutor}. Unlike {@link ThreadPoolExecutor}, tasks are not
+ * guaranteed to start in the order they were executed. A worker runs the tasks
+ * it executed itself before older tasks, so this executor must not be used
+ * where tasks have to run in order, even with a single worker.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class WorkStealingThreadPoolExecutor extends ThreadPoolExecutor {
+
+	public WorkStealingThreadPoolExecutor(int corePoolSize, int maxPoolSize) {
+		this(
+			corePoolSize, maxPoolSize, 60, TimeUnit.SECONDS, false,
+			Integer.MAX_VALUE, new AbortPolicy(),
+			Executors.defaultThreadFactory(), new ThreadPoolHandlerAdapter());
+	}
+
+	public WorkStealingThreadPoolExecutor(
+		int corePoolSize, int maxPoolSize, long keepAliveTime,
+		TimeUnit timeUnit, boolean allowCoreThreadTimeout, int maxQueueSize) {
+
+		this(
+			corePoolSize, maxPoolSize, keepAliveTime, timeUnit,
+			allowCoreThreadTimeout, maxQueueSize, new AbortPolicy(),
+			Executors.defaultThreadFactory(), new ThreadPoolHandlerAdapter());
+	}
+
+	public WorkStealingThreadPoolExecutor(
+		int corePoolSize, int maxPoolSize, long keepAliveTime,
+		TimeUnit timeUnit, boolean allowCoreThreadTimeout, int maxQueueSize,
+		RejectedExecutionHandler rejectedExecutionHandler,
+		ThreadFactory threadFactory, ThreadPoolHandler threadPoolHandler) {
+
+		super(
+			corePoolSize, maxPoolSize, keepAliveTime, timeUnit,
+			allowCoreThreadTimeout, maxQueueSize, rejectedExecutionHandler,
+			threadFactory, threadPoolHandler);
+
+		_maxQueueSize = maxQueueSize;
+	}
+
+	@Override
+	public void adjustPoolSize(int newCorePoolSize, int newMaxPoolSize) {
+		super.adjustPoolSize(newCorePoolSize, newMaxPoolSize);
+
+		// Wake up the idle workers so that surplus workers retire
+
+		_wakeUpIdleWorkers();
+
+		while ((_pendingTaskCount.get() > 0) && _addWorker()) {
+		}
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit timeUnit)
+		throws InterruptedException {
+
+		long nanos = timeUnit.toNanos(timeout);
+
+		_mainLock.lock();
+
+		try {
+			while (true) {
+				if (_runState == _TERMINATED) {
+					return true;
+				}
+
+				if (nanos <= 0) {
+					return false;
+				}
+
+				nanos = _terminationCondition.awaitNanos(nanos);
+			}
+		}
+		finally {
+			_mainLock.unlock();
+		}
+	}
+
+	@Override
+	public void execute(Runnable runnable) {
+		if (runnable == null) {
+			throw new NullPointerException();
+		}
+
+		RejectedExecutionHandler rejectedExecutionHandler =
+			getRejectedExecutionHandler();
+
+		if (_runState != _RUNNING) {
+			rejectedExecutionHandler.rejectedExecution(runnable, this);
+
+			return;
+		}
+
+		if (_pendingTaskCount.incrementAndGet() > _maxQueueSize) {
+			_pendingTaskCount.decrementAndGet();
+
+			rejectedExecutionHandler.rejectedExecution(runnable, this);
+
+			return;
+		}
+
+		Worker worker = _workerThreadLocal.get();
+
+		if (worker != null) {
+			worker._deque.offerLast(runnable);
+		}
+		else {
+			_submissionQueue.offer(runnable);
+		}
+
+		if (_runState != _RUNNING) {
+			if (_removeTask(runnable)) {
+				rejectedExecutionHandler.rejectedExecution(runnable, this);
+			}
+
+			return;
+		}
+
+		Worker idleWorker = _idleWorkers.pollFirst();
+
+		if (idleWorker != null) {
+			LockSupport.unpark(idleWorker._thread);
+		}
+		else {
+			_addWorker();
+		}
+	}
+
+	@Override
+	public int getActiveCount() {
+		int count = 0;
+
+		for (Worker worker : _workers) {
+			if (worker._active) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	@Override
+	public long getCompletedTaskCount() {
+		long count = _completedTaskCount.get();
+
+		for (Worker worker : _workers) {
+			count += worker._completedTaskCount;
+		}
+
+		return count;
+	}
+
+	@Override
+	public int getLargestPoolSize() {
+		return _largestPoolSize.get();
+	}
+
+	@Override
+	public int getPendingTaskCount() {
+		return _pendingTaskCount.get();
+	}
+
+	@Override
+	public int getPoolSize() {
+		return _poolSize.get();
+	}
+
+	@Override
+	public int getRemainingTaskQueueCapacity() {
+		return _maxQueueSize - _pendingTaskCount.get();
+	}
+
+	@Override
+	public long getTaskCount() {
+		return getCompletedTaskCount() + getActiveCount() +
+			_pendingTaskCount.get();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		if (_runState != _RUNNING) {
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean isTerminated() {
+		if (_runState == _TERMINATED) {
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean isTerminating() {
+		if (_runState == _STOP) {
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		_mainLock.lock();
+
+		try {
+			if (_runState < _SHUTDOWN) {
+				_runState = _SHUTDOWN;
+			}
+		}
+		finally {
+			_mainLock.unlock();
+		}
+
+		_wakeUpIdleWorkers();
+
+		if (_pendingTaskCount.get() > 0) {
+			_addWorker();
+		}
+
+		_tryTerminate();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		_mainLock.lock();
+
+		try {
+			if (_runState < _STOP) {
+				_runState = _STOP;
+			}
+		}
+		finally {
+			_mainLock.unlock();
+		}
+
+		for (Worker worker : _workers) {
+			worker._thread.interrupt();
+		}
+
+		List<Runnable> runnables = new ArrayList<Runnable>();
+
+		_drainTo(_submissionQueue, runnables);
+
+		for (Worker worker : _workers) {
+			_drainTo(worker._deque, runnables);
+		}
+
+		_pendingTaskCount.addAndGet(-runnables.size());
+
+		_tryTerminate();
+
+		return runnables;
+	}
+
+	@Override
+	protected Runnable pollPendingTask() {
+		Runnable runnable = _submissionQueue.poll();
+
+		if (runnable == null) {
+			for (Worker worker : _workers) {
+				runnable = worker._deque.pollFirst();
+
+				if (runnable != null) {
+					break;
+				}
+			}
+		}
+
+		if (runnable != null) {
+			_pendingTaskCount.decrementAndGet();
+		}
+
+		return runnable;
+	}
+
+	private boolean _addWorker() {
+		while (true) {
+			int runState = _runState;
+
+			if ((runState >= _STOP) ||
+				((runState == _SHUTDOWN) && (_pendingTaskCount.get() == 0))) {
+
+				return false;
+			}
+
+			int poolSize = _poolSize.get();
+
+			if (poolSize >= getMaxPoolSize()) {
+				return false;
+			}
+
+			if (_poolSize.compareAndSet(poolSize, poolSize + 1)) {
+				poolSize++;
+
+				int largestPoolSize = _largestPoolSize.get();
+
+				while ((poolSize > largestPoolSize) &&
+					   !_largestPoolSize.compareAndSet(
+						   largestPoolSize, poolSize)) {
+
+					largestPoolSize = _largestPoolSize.get();
+				}
+
+				break;
+			}
+		}
+
+		Worker worker = new Worker();
+
+		ThreadFactory threadFactory = getThreadFactory();
+
+		Thread thread = threadFactory.newThread(worker);
+
+		worker._thread = thread;
+
+		_workers.add(worker);
+
+		ThreadPoolHandler threadPoolHandler = getThreadPoolHandler();
+
+		threadPoolHandler.beforeThreadStart(thread);
+
+		thread.start();
+
+		return true;
+	}
+
+	private void _drainTo(Queue<Runnable> queue, List<Runnable> runnables) {
+		Runnable runnable = null;
+
+		while ((runnable = queue.poll()) != null) {
+			runnables.add(runnable);
+		}
+	}
+
+	private Runnable _getTask(Worker worker) {
+		while (true) {
+			int runState = _runState;
+
+			if (runState >= _STOP) {
+				return null;
+			}
+
+			Runnable runnable = _pollTask(worker);
+
+			if (runnable != null) {
+				return runnable;
+			}
+
+			if (runState == _SHUTDOWN) {
+				return null;
+			}
+
+			int maxPoolSize = getMaxPoolSize();
+
+			if ((_poolSize.get() > maxPoolSize) &&
+				_retireWorker(worker, maxPoolSize)) {
+
+				return null;
+			}
+
+			// Register as idle before checking for tasks once more, so that a
+			// task executed in between either is found here or wakes up this
+			// worker
+
+			_idleWorkers.offerFirst(worker);
+
+			runnable = _pollTask(worker);
+
+			if ((runnable != null) || (_runState != runState)) {
+				_idleWorkers.remove(worker);
+
+				if (runnable != null) {
+					return runnable;
+				}
+
+				continue;
+			}
+
+			boolean timed = false;
+
+			if (isAllowCoreThreadTimeout() ||
+				(_poolSize.get() > getCorePoolSize())) {
+
+				timed = true;
+			}
+
+			long keepAliveTime = getKeepAliveTime(TimeUnit.NANOSECONDS);
+			long startTime = System.nanoTime();
+
+			if (timed) {
+				LockSupport.parkNanos(this, keepAliveTime);
+			}
+			else {
+				LockSupport.park(this);
+			}
+
+			Thread.interrupted();
+
+			if (!_idleWorkers.remove(worker)) {
+
+				// Woken up by an executed task
+
+				continue;
+			}
+
+			if (timed && ((System.nanoTime() - startTime) >= keepAliveTime)) {
+				int minPoolSize = 0;
+
+				if (!isAllowCoreThreadTimeout()) {
+					minPoolSize = getCorePoolSize();
+				}
+
+				if (_retireWorker(worker, minPoolSize)) {
+					return null;
+				}
+			}
+		}
+	}
+
+	private Runnable _pollTask(Worker worker) {
+		Runnable runnable = worker._deque.pollFirst();
+
+		if (runnable == null) {
+			runnable = _submissionQueue.poll();
+		}
+
+		if (runnable == null) {
+			for (Worker victimWorker : _workers) {
+				if (victimWorker == worker) {
+					continue;
+				}
+
+				runnable = victimWorker._deque.pollLast();
+
+				if (runnable != null) {
+					break;
+				}
+			}
+		}
+
+		if (runnable != null) {
+			_pendingTaskCount.decrementAndGet();
+		}
+
+		return runnable;
+	}
+
+	private boolean _removeTask(Runnable runnable) {
+		boolean removed = _submissionQueue.remove(runnable);
+
+		if (!removed) {
+			for (Worker worker : _workers) {
+				if (worker._deque.remove(runnable)) {
+					removed = true;
+
+					break;
+				}
+			}
+		}
+
+		if (removed) {
+			_pendingTaskCount.decrementAndGet();
+		}
+
+		return removed;
+	}
+
+	private boolean _retireWorker(Worker worker, int minPoolSize) {
+		while (true) {
+			int poolSize = _poolSize.get();
+
+			if (poolSize <= minPoolSize) {
+				return false;
+			}
+
+			if (_poolSize.compareAndSet(poolSize, poolSize - 1)) {
+				worker._retired = true;
+
+				return true;
+			}
+		}
+	}
+
+	private void _runTask(Worker worker, Runnable runnable) {
+		worker._active = true;
+
+		try {
+			if ((_runState < _STOP) && Thread.interrupted() &&
+				(_runState >= _STOP)) {
+
+				worker._thread.interrupt();
+			}
+
+			ThreadPoolHandler threadPoolHandler = getThreadPoolHandler();
+
+			Throwable throwable = null;
+
+			threadPoolHandler.beforeExecute(worker._thread, runnable);
+
+			try {
+				runnable.run();
+
+				worker._completedTaskCount++;
+			}
+			catch (RuntimeException re) {
+				throwable = re;
+
+				throw re;
+			}
+			finally {
+				threadPoolHandler.afterExecute(runnable, throwable);
+			}
+		}
+		finally {
+			worker._active = false;
+		}
+	}
+
+	private void _tryTerminate() {
+		if (_poolSize.get() != 0) {
+			return;
+		}
+
+		int runState = _runState;
+
+		if ((runState != _STOP) &&
+			((runState != _SHUTDOWN) || (_pendingTaskCount.get() != 0))) {
+
+			return;
+		}
+
+		_mainLock.lock();
+
+		try {
+			if (_runState == _TERMINATED) {
+				return;
+			}
+
+			_runState = _TERMINATED;
+
+			_terminationCondition.signalAll();
+
+			ThreadPoolHandler threadPoolHandler = getThreadPoolHandler();
+
+			threadPoolHandler.terminated();
+		}
+		finally {
+			_mainLock.unlock();
+		}
+	}
+
+	private void _wakeUpIdleWorkers() {
+		Worker worker = null;
+
+		while ((worker = _idleWorkers.pollFirst()) != null) {
+			LockSupport.unpark(worker._thread);
+		}
+	}
+
+	private void _workerExited(Worker worker) {
+		_idleWorkers.remove(worker);
+
+		_workers.remove(worker);
+
+		// A worker that ends because a task failed may still own tasks
+
+		Runnable runnable = null;
+
+		while ((runnable = worker._deque.pollFirst()) != null) {
+			_submissionQueue.offer(runnable);
+		}
+
+		_completedTaskCount.addAndGet(worker._completedTaskCount);
+
+		if (!worker._retired) {
+			_poolSize.decrementAndGet();
+		}
+
+		if (_pendingTaskCount.get() > 0) {
+			_addWorker();
+		}
+
+		_tryTerminate();
+	}
+
+	private static final int _RUNNING = 0;
+
+	private static final int _SHUTDOWN = 1;
+
+	private static final int _STOP = 2;
+
+	private static final int _TERMINATED = 3;
+
+	private final AtomicLong _completedTaskCount = new AtomicLong();
+	private final Deque<Worker> _idleWorkers =
+		new ConcurrentLinkedDeque<Worker>();
+	private final AtomicInteger _largestPoolSize = new AtomicInteger();
+	private final ReentrantLock _mainLock = new ReentrantLock();
+	private final int _maxQueueSize;
+	private final AtomicInteger _pendingTaskCount = new AtomicInteger();
+	private final AtomicInteger _poolSize = new AtomicInteger();
+	private volatile int _runState;
+	private final Queue<Runnable> _submissionQueue =
+		new ConcurrentLinkedQueue<Runnable>();
+	private final Condition _terminationCondition = _mainLock.newCondition();
+	private final ThreadLocal<Worker> _workerThreadLocal =
+		new ThreadLocal<Worker>();
+	private final Set<Worker> _workers = new ConcurrentHashSet<Worker>();
+
+	private class Worker implements Runnable {
+
+		@Override
+		public void run() {
+			_workerThreadLocal.set(this);
+
+			try {
+				Runnable runnable = null;
+
+				while ((runnable = _getTask(this)) != null) {
+					_runTask(this, runnable);
+				}
+			}
+			finally {
+				_workerThreadLocal.remove();
+
+				_workerExited(this);
+
+				ThreadPoolHandler threadPoolHandler = getThreadPoolHandler();
+
+				threadPoolHandler.beforeThreadEnd(_thread);
+			}
+		}
+
+		private volatile boolean _active;
+		private volatile long _completedTaskCount;
+		private final Deque<Runnable> _deque =
+			new ConcurrentLinkedDeque<Runnable>();
+		private boolean _retired;
+		private volatile Thread _thread;
+
+	}
+
+}
\ No newline at end of file
@@ -14,14 +14,28 @@
 
 package com.liferay.portal.kernel.dao.orm;
 
+import com.liferay.portal.kernel.concurrent.AbortPolicy;
+import com.liferay.portal.kernel.concurrent.CallerRunsPolicy;
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.concurrent.ThreadPoolHandlerAdapter;
+import com.liferay.portal.kernel.dao.shard.ShardUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.executor.CopyThreadLocalCallable;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
 import com.liferay.portal.kernel.search.Document;
 import com.liferay.portal.kernel.search.Indexer;
+import com.liferay.portal.kernel.search.ReindexProgress;
+import com.liferay.portal.kernel.search.ReindexProgressThreadLocal;
 import com.liferay.portal.kernel.search.SearchEngineUtil;
 import com.liferay.portal.kernel.transaction.Propagation;
 import com.liferay.portal.kernel.transaction.TransactionAttribute;
 import com.liferay.portal.kernel.transaction.TransactionInvokerUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.NamedThreadFactory;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
+import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.model.BaseModel;
 import com.liferay.portal.service.BaseLocalService;
@@ -31,8 +45,14 @@ import java.lang.reflect.Method;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Brian Wing Shun Chan
@@ -57,14 +77,24 @@ public abstract class BaseActionableDynamicQuery
 
 	@Override
 	public void addDocument(Document document) throws PortalException {
-		if (_documents == null) {
-			_documents = new ArrayList<Document>();
-		}
+		Collection<Document> documents = null;
 
-		_documents.add(document);
+		synchronized (this) {
+			if (_documents == null) {
+				_documents = new ArrayList<Document>();
+			}
 
-		if (_documents.size() >= _interval) {
-			indexInterval();
+			_documents.add(document);
+
+			if (_documents.size() >= _interval) {
+				documents = _documents;
+
+				_documents = null;
+			}
+		}
+
+		if (documents != null) {
+			indexDocuments(documents);
 		}
 	}
 
@@ -85,19 +115,22 @@ public abstract class BaseActionableDynamicQuery
 
 	@Override
 	public void performActions() throws PortalException {
-		long previousPrimaryKey = -1;
+		_reindexProgress = ReindexProgressThreadLocal.getReindexProgress();
 
-		while (true) {
-			long lastPrimaryKey = doPerformActions(previousPrimaryKey);
+		if ((_reindexProgress != null) &&
+			ReindexProgressThreadLocal.isParallelEnabled()) {
 
-			if (lastPrimaryKey < 0) {
-				return;
-			}
+			int threadPoolSize = GetterUtil.getInteger(
+				PropsUtil.get(PropsKeys.INDEX_REINDEX_THREAD_POOL_SIZE));
 
-			intervalCompleted(previousPrimaryKey, lastPrimaryKey);
+			if (threadPoolSize > 1) {
+				performActionsInParallel(threadPoolSize);
 
-			previousPrimaryKey = lastPrimaryKey;
+				return;
+			}
 		}
+
+		performActions(-1, Long.MAX_VALUE);
 	}
 
 	@Override
@@ -227,20 +260,37 @@ public abstract class BaseActionableDynamicQuery
 	protected void addDocuments(Collection<Document> documents)
 		throws PortalException {
 
-		if (_documents == null) {
-			_documents = new ArrayList<Document>();
-		}
+		Collection<Document> indexDocuments = null;
+
+		synchronized (this) {
+			if (_documents == null) {
+				_documents = new ArrayList<Document>();
+			}
 
-		_documents.addAll(documents);
+			_documents.addAll(documents);
 
-		if (_documents.size() >= _interval) {
-			indexInterval();
+			if (_documents.size() >= _interval) {
+				indexDocuments = _documents;
+
+				_documents = null;
+			}
+		}
+
+		if (indexDocuments != null) {
+			indexDocuments(indexDocuments);
 		}
 	}
 
 	protected long doPerformActions(long previousPrimaryKey)
 		throws PortalException {
 
+		return doPerformActions(previousPrimaryKey, Long.MAX_VALUE);
+	}
+
+	protected long doPerformActions(
+			long previousPrimaryKey, long lastPrimaryKey)
+		throws PortalException {
+
 		final DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(
 			_clazz, _classLoader);
 
@@ -249,6 +299,10 @@ public abstract class BaseActionableDynamicQuery
 
 		dynamicQuery.add(property.gt(previousPrimaryKey));
 
+		if (lastPrimaryKey < Long.MAX_VALUE) {
+			dynamicQuery.add(property.le(lastPrimaryKey));
+		}
+
 		dynamicQuery.addOrder(OrderFactoryUtil.asc(_primaryKeyPropertyName));
 
 		dynamicQuery.setLimit(0, _interval);
@@ -272,6 +326,10 @@ public abstract class BaseActionableDynamicQuery
 					performAction(object);
 				}
 
+				if (_reindexProgress != null) {
+					_reindexProgress.addEntityCount(objects.size());
+				}
+
 				if (objects.size() < _interval) {
 					return -1L;
 				}
@@ -339,6 +397,39 @@ public abstract class BaseActionableDynamicQuery
 		return ProjectionFactoryUtil.rowCount();
 	}
 
+	protected long[] getPrimaryKeyRange() throws PortalException {
+		DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(
+			_clazz, _classLoader);
+
+		ProjectionList projectionList = ProjectionFactoryUtil.projectionList();
+
+		projectionList.add(ProjectionFactoryUtil.min(_primaryKeyPropertyName));
+		projectionList.add(ProjectionFactoryUtil.max(_primaryKeyPropertyName));
+
+		dynamicQuery.setProjection(projectionList);
+
+		addDefaultCriteria(dynamicQuery);
+
+		addCriteria(dynamicQuery);
+
+		List<Object[]> results = (List<Object[]>)executeDynamicQuery(
+			_dynamicQueryMethod, dynamicQuery);
+
+		if (results.isEmpty()) {
+			return null;
+		}
+
+		Object[] values = results.get(0);
+
+		if ((values[0] == null) || (values[1] == null)) {
+			return null;
+		}
+
+		return new long[] {
+			((Number)values[0]).longValue(), ((Number)values[1]).longValue()
+		};
+	}
+
 	protected String getSearchEngineId() {
 		return _searchEngineId;
 	}
@@ -347,20 +438,62 @@ public abstract class BaseActionableDynamicQuery
 		return _transactionAttribute;
 	}
 
-	protected void indexInterval() throws PortalException {
-		if ((_documents == null) || _documents.isEmpty()) {
-			return;
-		}
+	protected void indexDocuments(final Collection<Document> documents)
+		throws PortalException {
 
 		if (Validator.isNull(_searchEngineId)) {
-			_searchEngineId = SearchEngineUtil.getSearchEngineId(_documents);
+			_searchEngineId = SearchEngineUtil.getSearchEngineId(documents);
+		}
+
+		if (_reindexProgress != null) {
+			_reindexProgress.addDocumentCount(documents.size());
+		}
+
+		ThreadPoolExecutor writerThreadPoolExecutor =
+			_writerThreadPoolExecutor;
+
+		if (writerThreadPoolExecutor == null) {
+			SearchEngineUtil.updateDocuments(
+				_searchEngineId, _companyId, documents, _commitImmediately);
+
+			return;
 		}
 
-		SearchEngineUtil.updateDocuments(
-			_searchEngineId, _companyId, new ArrayList<Document>(_documents),
-			_commitImmediately);
+		// The writer queue is bounded and a full queue makes the loading
+		// thread write the documents itself, which throttles loading to the
+		// pace of the search engine
+
+		Future<Void> future = writerThreadPoolExecutor.submit(
+			new CopyThreadLocalCallable<Void>(true, false) {
 
-		_documents.clear();
+				@Override
+				public Void doCall() throws Exception {
+					SearchEngineUtil.updateDocuments(
+						_searchEngineId, _companyId, documents,
+						_commitImmediately);
+
+					return null;
+				}
+
+			});
+
+		_writerFutures.add(future);
+	}
+
+	protected void indexInterval() throws PortalException {
+		Collection<Document> documents = null;
+
+		synchronized (this) {
+			if ((_documents == null) || _documents.isEmpty()) {
+				return;
+			}
+
+			documents = _documents;
+
+			_documents = null;
+		}
+
+		indexDocuments(documents);
 	}
 
 	@SuppressWarnings("unused")
@@ -374,6 +507,216 @@ public abstract class BaseActionableDynamicQuery
 		}
 	}
 
+	protected void performActions(long previousPrimaryKey, long lastPrimaryKey)
+		throws PortalException {
+
+		while (true) {
+			long curPrimaryKey = doPerformActions(
+				previousPrimaryKey, lastPrimaryKey);
+
+			if (curPrimaryKey < 0) {
+				return;
+			}
+
+			intervalCompleted(previousPrimaryKey, curPrimaryKey);
+
+			previousPrimaryKey = curPrimaryKey;
+		}
+	}
+
+	/**
+	 * Splits the primary key space into ranges and performs the actions of
+	 * each range on a pool of threads. Every interval of a range still runs in
+	 * its own transaction. Documents are handed to a separate pool of writer
+	 * threads so that loading and indexing overlap. Both pools are portal
+	 * executors that are shut down when the actions are performed.
+	 */
+	protected void performActionsInParallel(int threadPoolSize)
+		throws PortalException {
+
+		long[] primaryKeyRange = getPrimaryKeyRange();
+
+		if (primaryKeyRange == null) {
+			return;
+		}
+
+		long minPrimaryKey = primaryKeyRange[0];
+		long maxPrimaryKey = primaryKeyRange[1];
+
+		long rangeSize = Math.max(
+			((maxPrimaryKey - minPrimaryKey) /
+				(threadPoolSize * _RANGES_PER_THREAD)) + 1,
+			_interval);
+
+		Thread currentThread = Thread.currentThread();
+
+		ThreadFactory threadFactory = new NamedThreadFactory(
+			_clazz.getSimpleName().concat("Reindexer"), Thread.NORM_PRIORITY,
+			currentThread.getContextClassLoader());
+
+		String executorName =
+			BaseActionableDynamicQuery.class.getName() + StringPool.POUND +
+				_executorCounter.incrementAndGet();
+
+		ThreadPoolExecutor threadPoolExecutor = _registerPortalExecutor(
+			executorName,
+			new ThreadPoolExecutor(
+				threadPoolSize, threadPoolSize, 0, TimeUnit.MILLISECONDS,
+				false, Integer.MAX_VALUE, new AbortPolicy(), threadFactory,
+				new ThreadPoolHandlerAdapter()));
+
+		int writerThreadPoolSize = GetterUtil.getInteger(
+			PropsUtil.get(PropsKeys.INDEX_REINDEX_WRITER_THREAD_POOL_SIZE));
+
+		if (writerThreadPoolSize < 1) {
+			writerThreadPoolSize = 1;
+		}
+
+		String writerExecutorName = executorName.concat("_WRITER");
+
+		_writerThreadPoolExecutor = _registerPortalExecutor(
+			writerExecutorName,
+			new ThreadPoolExecutor(
+				writerThreadPoolSize, writerThreadPoolSize, 0,
+				TimeUnit.MILLISECONDS, false, threadPoolSize,
+				new CallerRunsPolicy(), threadFactory,
+				new ThreadPoolHandlerAdapter()));
+		_writerFutures = Collections.synchronizedList(
+			new ArrayList<Future<Void>>());
+
+		final String shardName;
+
+		if (ShardUtil.isEnabled()) {
+			shardName = ShardUtil.getCurrentShardName();
+		}
+		else {
+			shardName = null;
+		}
+
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+		try {
+			long startPrimaryKey = minPrimaryKey;
+
+			while (true) {
+				final long previousPrimaryKey = startPrimaryKey - 1;
+				final long lastPrimaryKey;
+
+				if ((maxPrimaryKey - startPrimaryKey) < rangeSize) {
+					lastPrimaryKey = maxPrimaryKey;
+				}
+				else {
+					lastPrimaryKey = startPrimaryKey + rangeSize - 1;
+				}
+
+				Future<Void> future = threadPoolExecutor.submit(
+					new CopyThreadLocalCallable<Void>(true, true) {
+
+						@Override
+						public Void doCall() throws Exception {
+							ReindexProgressThreadLocal.setParallelEnabled(
+								false);
+							ReindexProgressThreadLocal.setReindexProgress(
+								_reindexProgress);
+
+							if (shardName != null) {
+								ShardUtil.pushCompanyService(shardName);
+							}
+
+							try {
+								performActions(
+									previousPrimaryKey, lastPrimaryKey);
+							}
+							finally {
+								if (shardName != null) {
+									ShardUtil.popCompanyService();
+								}
+							}
+
+							return null;
+						}
+
+					});
+
+				futures.add(future);
+
+				if (lastPrimaryKey == maxPrimaryKey) {
+					break;
+				}
+
+				startPrimaryKey = lastPrimaryKey + 1;
+			}
+
+			waitFor(futures);
+
+			indexInterval();
+
+			waitFor(_writerFutures);
+		}
+		finally {
+			PortalExecutorManagerUtil.shutdown(executorName, true);
+			PortalExecutorManagerUtil.shutdown(writerExecutorName, true);
+
+			_writerThreadPoolExecutor = null;
+			_writerFutures = null;
+		}
+	}
+
+	protected void waitFor(List<Future<Void>> futures) throws PortalException {
+		Throwable throwable = null;
+
+		synchronized (futures) {
+			for (Future<Void> future : futures) {
+				if (throwable != null) {
+					future.cancel(true);
+
+					continue;
+				}
+
+				try {
+					future.get();
+				}
+				catch (ExecutionException ee) {
+					throwable = ee.getCause();
+				}
+				catch (InterruptedException ie) {
+					Thread currentThread = Thread.currentThread();
+
+					currentThread.interrupt();
+
+					throwable = ie;
+				}
+			}
+		}
+
+		if (throwable == null) {
+			return;
+		}
+
+		if (throwable instanceof PortalException) {
+			throw (PortalException)throwable;
+		}
+
+		if (throwable instanceof SystemException) {
+			throw (SystemException)throwable;
+		}
+
+		throw new SystemException(throwable);
+	}
+
+	private ThreadPoolExecutor _registerPortalExecutor(
+		String name, ThreadPoolExecutor threadPoolExecutor) {
+
+		PortalExecutorManagerUtil.registerPortalExecutor(
+			name, threadPoolExecutor);
+
+		return PortalExecutorManagerUtil.getPortalExecutor(name);
+	}
+
+	private static final int _RANGES_PER_THREAD = 4;
+
+	private static final AtomicInteger _executorCounter = new AtomicInteger();
+
 	private AddCriteriaMethod _addCriteriaMethod;
 	private BaseLocalService _baseLocalService;
 	private ClassLoader _classLoader;
@@ -389,7 +732,10 @@ public abstract class BaseActionableDynamicQuery
 	private PerformActionMethod _performActionMethod;
 	private PerformCountMethod _performCountMethod;
 	private String _primaryKeyPropertyName;
-	private String _searchEngineId;
+	private volatile ReindexProgress _reindexProgress;
+	private volatile String _searchEngineId;
 	private TransactionAttribute _transactionAttribute;
+	private volatile List<Future<Void>> _writerFutures;
+	private volatile ThreadPoolExecutor _writerThreadPoolExecutor;
 
 }
\ No newline at end of file
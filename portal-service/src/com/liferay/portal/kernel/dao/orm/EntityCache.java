@@ -18,6 +18,9 @@ import com.liferay.portal.kernel.cache.PortalCache;
 
 import java.io.Serializable;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author Brian Wing Shun Chan
  */
@@ -32,9 +35,16 @@ public interface EntityCache {
 	public PortalCache<Serializable, Serializable> getPortalCache(
 		Class<?> clazz);
 
+	public PortalCache<Serializable, Serializable> getPortalCache(
+		Class<?> clazz, boolean createIfAbsent);
+
 	public Serializable getResult(
 		boolean entityCacheEnabled, Class<?> clazz, Serializable primaryKey);
 
+	public Map<Serializable, Serializable> getResults(
+		boolean entityCacheEnabled, Class<?> clazz,
+		Collection<Serializable> primaryKeys);
+
 	public void invalidate();
 
 	public Serializable loadResult(
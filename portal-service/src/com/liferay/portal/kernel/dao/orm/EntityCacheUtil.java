@@ -19,6 +19,9 @@ import com.liferay.portal.kernel.security.pacl.permission.PortalRuntimePermissio
 
 import java.io.Serializable;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author Brian Wing Shun Chan
  */
@@ -48,6 +51,12 @@ public class EntityCacheUtil {
 		return getEntityCache().getPortalCache(clazz);
 	}
 
+	public static PortalCache<Serializable, Serializable> getPortalCache(
+		Class<?> clazz, boolean createIfAbsent) {
+
+		return getEntityCache().getPortalCache(clazz, createIfAbsent);
+	}
+
 	public static Serializable getResult(
 		boolean entityCacheEnabled, Class<?> clazz, Serializable primaryKey) {
 
@@ -55,6 +64,14 @@ public class EntityCacheUtil {
 			entityCacheEnabled, clazz, primaryKey);
 	}
 
+	public static Map<Serializable, Serializable> getResults(
+		boolean entityCacheEnabled, Class<?> clazz,
+		Collection<Serializable> primaryKeys) {
+
+		return getEntityCache().getResults(
+			entityCacheEnabled, clazz, primaryKeys);
+	}
+
 	public static void invalidate() {
 		getEntityCache().invalidate();
 	}
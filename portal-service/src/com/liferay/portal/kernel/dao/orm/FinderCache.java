@@ -17,6 +17,8 @@ package com.liferay.portal.kernel.dao.orm;
 import com.liferay.portal.model.BaseModel;
 import com.liferay.portal.service.persistence.impl.BasePersistenceImpl;
 
+import java.util.Collection;
+
 /**
  * @author Brian Wing Shun Chan
  */
@@ -28,6 +30,11 @@ public interface FinderCache {
 
 	public void clearLocalCache();
 
+	public Collection<FinderCacheStatistics> getFinderCacheStatistics();
+
+	public FinderCacheStatistics getFinderCacheStatistics(
+		FinderPath finderPath);
+
 	public Object getResult(
 		FinderPath finderPath, Object[] args,
 		BasePersistenceImpl<? extends BaseModel<?>> basePersistenceImpl);
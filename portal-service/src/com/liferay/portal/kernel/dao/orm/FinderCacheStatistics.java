@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.dao.orm;
+
+import com.liferay.portal.kernel.util.StringBundler;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the hit, miss, and negative result counters of a single {@link
+ * FinderPath}. A negative hit is a lookup of a unique finder, such as
+ * <code>fetchByUUID_G</code>, that is answered from the empty list cached for
+ * a missing row, which would otherwise have gone to the database. Empty
+ * results of collection finders are counted as regular hits.
+ *
+ * @author Shuyang Zhou
+ */
+public class FinderCacheStatistics {
+
+	public FinderCacheStatistics(FinderPath finderPath) {
+		_finderPath = finderPath;
+
+		Class<?> resultClass = finderPath.getResultClass();
+
+		String cacheName = finderPath.getCacheName();
+
+		_uniqueFinderPath = cacheName.equals(resultClass.getName());
+	}
+
+	public FinderPath getFinderPath() {
+		return _finderPath;
+	}
+
+	public long getHitCount() {
+		return _hitCount.get();
+	}
+
+	public long getMissCount() {
+		return _missCount.get();
+	}
+
+	public long getNegativeHitCount() {
+		return _negativeHitCount.get();
+	}
+
+	public long getNegativePutCount() {
+		return _negativePutCount.get();
+	}
+
+	public void recordGet(Object result) {
+		if (result == null) {
+			_missCount.getAndIncrement();
+		}
+		else if (_isNegativeResult(result)) {
+			_negativeHitCount.getAndIncrement();
+		}
+		else {
+			_hitCount.getAndIncrement();
+		}
+	}
+
+	public void recordPut(Object result) {
+		if (_isNegativeResult(result)) {
+			_negativePutCount.getAndIncrement();
+		}
+	}
+
+	public void reset() {
+		_hitCount.set(0);
+		_missCount.set(0);
+		_negativeHitCount.set(0);
+		_negativePutCount.set(0);
+	}
+
+	@Override
+	public String toString() {
+		StringBundler sb = new StringBundler(13);
+
+		sb.append("{finderPath=");
+		sb.append(_finderPath.getCacheName());
+		sb.append("#");
+		sb.append(_finderPath.getMethodName());
+		sb.append(", hitCount=");
+		sb.append(_hitCount.get());
+		sb.append(", missCount=");
+		sb.append(_missCount.get());
+		sb.append(", negativeHitCount=");
+		sb.append(_negativeHitCount.get());
+		sb.append(", negativePutCount=");
+		sb.append(_negativePutCount.get());
+		sb.append("}");
+
+		return sb.toString();
+	}
+
+	private boolean _isNegativeResult(Object result) {
+		if (!_uniqueFinderPath || !(result instanceof List<?>)) {
+			return false;
+		}
+
+		List<?> list = (List<?>)result;
+
+		return list.isEmpty();
+	}
+
+	private final FinderPath _finderPath;
+	private final AtomicLong _hitCount = new AtomicLong();
+	private final AtomicLong _missCount = new AtomicLong();
+	private final AtomicLong _negativeHitCount = new AtomicLong();
+	private final AtomicLong _negativePutCount = new AtomicLong();
+	private final boolean _uniqueFinderPath;
+
+}
\ No newline at end of file
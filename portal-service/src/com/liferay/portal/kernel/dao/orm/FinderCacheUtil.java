@@ -20,6 +20,8 @@ import com.liferay.portal.kernel.security.pacl.permission.PortalRuntimePermissio
 import com.liferay.portal.model.BaseModel;
 import com.liferay.portal.service.persistence.impl.BasePersistenceImpl;
 
+import java.util.Collection;
+
 /**
  * @author Brian Wing Shun Chan
  */
@@ -43,6 +45,18 @@ public class FinderCacheUtil {
 		return _finderCache;
 	}
 
+	public static Collection<FinderCacheStatistics>
+		getFinderCacheStatistics() {
+
+		return getFinderCache().getFinderCacheStatistics();
+	}
+
+	public static FinderCacheStatistics getFinderCacheStatistics(
+		FinderPath finderPath) {
+
+		return getFinderCache().getFinderCacheStatistics(finderPath);
+	}
+
 	public static Object getResult(
 		FinderPath finderPath, Object[] args,
 		BasePersistenceImpl<? extends BaseModel<?>> basePersistenceImpl) {
@@ -52,6 +52,7 @@ public class FinderPath {
 		_finderCacheEnabled = finderCacheEnabled;
 		_resultClass = resultClass;
 		_cacheName = cacheName;
+		_methodName = methodName;
 		_columnBitmask = columnBitmask;
 
 		if (BaseModel.class.isAssignableFrom(_resultClass)) {
@@ -131,6 +132,10 @@ public class FinderPath {
 		return _columnBitmask;
 	}
 
+	public String getMethodName() {
+		return _methodName;
+	}
+
 	public Class<?> getResultClass() {
 		return _resultClass;
 	}
@@ -187,6 +192,7 @@ public class FinderPath {
 	private final boolean _entityCacheEnabled;
 	private final boolean _finderCacheEnabled;
 	private String _localCacheKeyPrefix;
+	private final String _methodName;
 	private final Class<?> _resultClass;
 
 }
\ No newline at end of file
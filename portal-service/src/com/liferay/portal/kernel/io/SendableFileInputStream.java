@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+/**
+ * A file input stream over a file that outlives the stream, so that the
+ * servlet container can send the file directly instead of copying the stream.
+ *
+ * @see com.liferay.portal.kernel.servlet.ServletResponseUtil
+ *
+ * @author Shuyang Zhou
+ */
+public class SendableFileInputStream extends FileInputStream {
+
+	public SendableFileInputStream(File file) throws FileNotFoundException {
+		super(file);
+
+		_file = file;
+	}
+
+	public File getFile() {
+		return _file;
+	}
+
+	private final File _file;
+
+}
\ No newline at end of file
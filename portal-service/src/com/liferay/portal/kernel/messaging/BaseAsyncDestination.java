@@ -14,18 +14,24 @@
 
 package com.liferay.portal.kernel.messaging;
 
+import com.liferay.portal.kernel.cache.Lifecycle;
+import com.liferay.portal.kernel.cache.ThreadLocalCacheManager;
 import com.liferay.portal.kernel.cluster.ClusterLink;
 import com.liferay.portal.kernel.concurrent.RejectedExecutionHandler;
 import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
 import com.liferay.portal.kernel.concurrent.ThreadPoolHandlerAdapter;
+import com.liferay.portal.kernel.concurrent.WorkStealingThreadPoolExecutor;
 import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.messaging.proxy.MessageValuesThreadLocal;
+import com.liferay.portal.kernel.util.CentralizedThreadLocal;
+import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.GroupThreadLocal;
 import com.liferay.portal.kernel.util.LocaleThreadLocal;
 import com.liferay.portal.kernel.util.NamedThreadFactory;
 import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
+import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.model.User;
 import com.liferay.portal.security.auth.CompanyThreadLocal;
@@ -35,9 +41,16 @@ import com.liferay.portal.security.permission.PermissionCheckerFactoryUtil;
 import com.liferay.portal.security.permission.PermissionThreadLocal;
 import com.liferay.portal.service.UserLocalServiceUtil;
 
+import java.io.File;
+import java.io.IOException;
+
 import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * @author Michael C. Han
@@ -73,6 +86,15 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 	@Override
 	public void close(boolean force) {
 		PortalExecutorManagerUtil.shutdown(getName(), force);
+
+		MessageOverflowJournal messageOverflowJournal =
+			_messageOverflowJournal;
+
+		if (messageOverflowJournal != null) {
+			_messageOverflowJournal = null;
+
+			messageOverflowJournal.close();
+		}
 	}
 
 	@Override
@@ -88,10 +110,23 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 			_threadPoolExecutor.getLargestPoolSize());
 		destinationStatistics.setMaxThreadPoolSize(
 			_threadPoolExecutor.getMaxPoolSize());
+		destinationStatistics.setMessageLatencyHistogram(
+			new LatencyHistogram(_messageLatencyHistogram));
 		destinationStatistics.setMinThreadPoolSize(
 			_threadPoolExecutor.getCorePoolSize());
+
+		MessageOverflowJournal messageOverflowJournal =
+			_messageOverflowJournal;
+
+		if (messageOverflowJournal != null) {
+			destinationStatistics.setOverflowMessageCount(
+				messageOverflowJournal.getSize());
+		}
+
 		destinationStatistics.setPendingMessageCount(
 			_threadPoolExecutor.getPendingTaskCount());
+		destinationStatistics.setQueueLatencyHistogram(
+			new LatencyHistogram(_queueLatencyHistogram));
 		destinationStatistics.setSentMessageCount(
 			_threadPoolExecutor.getCompletedTaskCount());
 
@@ -102,6 +137,18 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 		return _maximumQueueSize;
 	}
 
+	public String getOverflowDir() {
+		return _overflowDir;
+	}
+
+	public int getOverflowMaxSize() {
+		return _overflowMaxSize;
+	}
+
+	public int getOverflowSyncCount() {
+		return _overflowSyncCount;
+	}
+
 	public int getWorkersCoreSize() {
 		return _workersCoreSize;
 	}
@@ -110,6 +157,14 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 		return _workersMaxSize;
 	}
 
+	public boolean isOverflowEnabled() {
+		return _overflowEnabled;
+	}
+
+	public boolean isWorkStealing() {
+		return _workStealing;
+	}
+
 	@Override
 	public void open() {
 		if ((_threadPoolExecutor != null) &&
@@ -124,12 +179,23 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 			_rejectedExecutionHandler = createRejectionExecutionHandler();
 		}
 
-		ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
-			_workersCoreSize, _workersMaxSize, 60L, TimeUnit.SECONDS, false,
-			_maximumQueueSize, _rejectedExecutionHandler,
-			new NamedThreadFactory(
-				getName(), Thread.NORM_PRIORITY, classLoader),
-			new ThreadPoolHandlerAdapter());
+		NamedThreadFactory namedThreadFactory = new NamedThreadFactory(
+			getName(), Thread.NORM_PRIORITY, classLoader);
+
+		ThreadPoolExecutor threadPoolExecutor = null;
+
+		if (_workStealing) {
+			threadPoolExecutor = new WorkStealingThreadPoolExecutor(
+				_workersCoreSize, _workersMaxSize, 60L, TimeUnit.SECONDS, false,
+				_maximumQueueSize, _rejectedExecutionHandler,
+				namedThreadFactory, new DestinationThreadPoolHandler());
+		}
+		else {
+			threadPoolExecutor = new ThreadPoolExecutor(
+				_workersCoreSize, _workersMaxSize, 60L, TimeUnit.SECONDS, false,
+				_maximumQueueSize, _rejectedExecutionHandler,
+				namedThreadFactory, new DestinationThreadPoolHandler());
+		}
 
 		ThreadPoolExecutor oldThreadPoolExecutor =
 			PortalExecutorManagerUtil.registerPortalExecutor(
@@ -148,6 +214,14 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 		}
 
 		_threadPoolExecutor = threadPoolExecutor;
+
+		if (_overflowEnabled && (_messageOverflowJournal == null)) {
+			_messageOverflowJournal = createMessageOverflowJournal();
+
+			// Replay the messages that were journaled before a restart
+
+			replayOverflowMessages();
+		}
 	}
 
 	@Override
@@ -170,13 +244,76 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 
 		populateMessageFromThreadLocals(message);
 
-		dispatch(messageListeners, message);
+		MessageOverflowJournal messageOverflowJournal =
+			_messageOverflowJournal;
+
+		if (messageOverflowJournal == null) {
+			dispatch(messageListeners, message);
+
+			return;
+		}
+
+		boolean overflowed = false;
+
+		Lock lock = _overflowReadWriteLock.readLock();
+
+		lock.lock();
+
+		try {
+			overflowed = overflow(messageOverflowJournal, message);
+
+			if (!overflowed) {
+				dispatch(messageListeners, message);
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+
+		if (overflowed) {
+			replayOverflowMessages();
+		}
 	}
 
 	public void setMaximumQueueSize(int maximumQueueSize) {
 		_maximumQueueSize = maximumQueueSize;
 	}
 
+	/**
+	 * Sets whether messages that do not fit in the queue of the destination
+	 * are stored in a {@link MessageOverflowJournal} and dispatched as soon as
+	 * the queue has room again, instead of being handed to the rejected
+	 * execution handler. This has no effect once the destination is open.
+	 */
+	public void setOverflowEnabled(boolean overflowEnabled) {
+		_overflowEnabled = overflowEnabled;
+	}
+
+	/**
+	 * Sets the directory of the overflow journal. The portal sets it to the
+	 * <code>message.bus.overflow.dir</code> portal property for the
+	 * destinations that enable overflow.
+	 */
+	public void setOverflowDir(String overflowDir) {
+		_overflowDir = overflowDir;
+	}
+
+	/**
+	 * Sets the size in bytes of the overflow journal. Messages that do not fit
+	 * in a full journal are handed to the rejected execution handler.
+	 */
+	public void setOverflowMaxSize(int overflowMaxSize) {
+		_overflowMaxSize = overflowMaxSize;
+	}
+
+	/**
+	 * Sets the number of messages after which the overflow journal is forced
+	 * to disk. The default of 0 leaves it to the operating system.
+	 */
+	public void setOverflowSyncCount(int overflowSyncCount) {
+		_overflowSyncCount = overflowSyncCount;
+	}
+
 	public void setRejectedExecutionHandler(
 		RejectedExecutionHandler rejectedExecutionHandler) {
 
@@ -191,6 +328,40 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 		_workersMaxSize = workersMaxSize;
 	}
 
+	/**
+	 * Sets whether the destination runs its message listeners in a {@link
+	 * WorkStealingThreadPoolExecutor} instead of a {@link ThreadPoolExecutor}.
+	 * This has no effect once the destination is open.
+	 */
+	public void setWorkStealing(boolean workStealing) {
+		_workStealing = workStealing;
+	}
+
+	protected MessageOverflowJournal createMessageOverflowJournal() {
+		if (Validator.isNull(_overflowDir)) {
+			_log.error(
+				"Unable to open overflow journal for destination " +
+					getName() + " because no overflow directory is set");
+
+			return null;
+		}
+
+		String fileName = StringUtil.replace(
+			getName(), CharPool.SLASH, CharPool.UNDERLINE);
+
+		File file = new File(_overflowDir, fileName.concat(".journal"));
+
+		try {
+			return new MessageOverflowJournal(
+				file, _overflowMaxSize, _overflowSyncCount);
+		}
+		catch (IOException ioe) {
+			_log.error("Unable to open overflow journal " + file, ioe);
+
+			return null;
+		}
+	}
+
 	protected RejectedExecutionHandler createRejectionExecutionHandler() {
 		return new RejectedExecutionHandler() {
 
@@ -220,6 +391,59 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 		return _threadPoolExecutor;
 	}
 
+	/**
+	 * Stores the message in the overflow journal if the queue of the
+	 * destination is full or if older messages are already waiting in the
+	 * journal, so that messages keep their order. Returns <code>false</code>
+	 * if the message must be dispatched instead. A message that cannot be
+	 * serialized or that does not fit in the journal is handed to the
+	 * rejected execution handler while older messages wait in the journal,
+	 * because dispatching it would overtake them. This is called while
+	 * holding the read lock that {@link #replayOverflowMessages()} acquires as
+	 * a write lock, so a message is never dispatched while an older message is
+	 * being replayed.
+	 */
+	protected boolean overflow(
+		MessageOverflowJournal messageOverflowJournal, Message message) {
+
+		ThreadPoolExecutor threadPoolExecutor = getThreadPoolExecutor();
+
+		boolean empty = messageOverflowJournal.isEmpty();
+
+		if (empty &&
+			(threadPoolExecutor.getRemainingTaskQueueCapacity() >=
+				messageListeners.size())) {
+
+			return false;
+		}
+
+		byte[] bytes = null;
+
+		try {
+			bytes = message.toByteArray();
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to serialize message " + message +
+						" to the overflow journal",
+					e);
+			}
+		}
+
+		if ((bytes != null) && messageOverflowJournal.append(bytes)) {
+			return true;
+		}
+
+		if (empty) {
+			return false;
+		}
+
+		_rejectOverflowMessage(message);
+
+		return true;
+	}
+
 	protected void populateMessageFromThreadLocals(Message message) {
 		if (!message.contains("companyId")) {
 			message.put("companyId", CompanyThreadLocal.getCompanyId());
@@ -331,6 +555,133 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 		}
 	}
 
+	/**
+	 * Replays the journaled messages once a message listener is registered,
+	 * because messages journaled before a restart are only replayed while the
+	 * destination has message listeners.
+	 */
+	@Override
+	protected boolean registerMessageListener(
+		InvokerMessageListener invokerMessageListener) {
+
+		boolean registered = super.registerMessageListener(
+			invokerMessageListener);
+
+		if (registered) {
+			replayOverflowMessages();
+		}
+
+		return registered;
+	}
+
+	/**
+	 * Dispatches the messages of the overflow journal while the queue of the
+	 * destination has room for them. Only one thread replays at a time, and
+	 * the others return immediately. Each message is polled and dispatched
+	 * while holding the write lock, so new messages cannot overtake it.
+	 */
+	protected void replayOverflowMessages() {
+		MessageOverflowJournal messageOverflowJournal =
+			_messageOverflowJournal;
+
+		if (messageOverflowJournal == null) {
+			return;
+		}
+
+		ThreadPoolExecutor threadPoolExecutor = getThreadPoolExecutor();
+
+		while (!messageOverflowJournal.isEmpty() &&
+			   !messageListeners.isEmpty() &&
+			   (threadPoolExecutor.getRemainingTaskQueueCapacity() >=
+				   messageListeners.size()) &&
+			   _replayingOverflowMessages.compareAndSet(false, true)) {
+
+			try {
+				while (!threadPoolExecutor.isShutdown() &&
+					   (threadPoolExecutor.getRemainingTaskQueueCapacity() >=
+						   messageListeners.size())) {
+
+					if (!_replayOverflowMessage(messageOverflowJournal)) {
+						break;
+					}
+				}
+			}
+			finally {
+				_replayingOverflowMessages.set(false);
+			}
+		}
+	}
+
+	private void _rejectOverflowMessage(final Message message) {
+		Runnable runnable = new MessageRunnable(message) {
+
+			@Override
+			public void run() {
+				try {
+					populateThreadLocalsFromMessage(message);
+
+					for (MessageListener messageListener : messageListeners) {
+						try {
+							messageListener.receive(message);
+						}
+						catch (MessageListenerException mle) {
+							_log.error(
+								"Unable to process message " + message, mle);
+						}
+					}
+				}
+				finally {
+					ThreadLocalCacheManager.clearAll(Lifecycle.REQUEST);
+
+					CentralizedThreadLocal.clearShortLivedThreadLocals();
+				}
+			}
+
+		};
+
+		_rejectedExecutionHandler.rejectedExecution(
+			runnable, getThreadPoolExecutor());
+	}
+
+	private boolean _replayOverflowMessage(
+		MessageOverflowJournal messageOverflowJournal) {
+
+		Lock lock = _overflowReadWriteLock.writeLock();
+
+		lock.lock();
+
+		try {
+			byte[] bytes = messageOverflowJournal.poll();
+
+			if (bytes == null) {
+				return false;
+			}
+
+			Message message = null;
+
+			try {
+				message = Message.fromByteArray(bytes);
+			}
+			catch (Exception e) {
+				_log.error(
+					"Unable to deserialize a message from the overflow " +
+						"journal of " + getName(),
+					e);
+
+				return true;
+			}
+
+			dispatch(messageListeners, message);
+
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private static final int _OVERFLOW_MAX_SIZE = 64 * 1024 * 1024;
+
 	private static final int _WORKERS_CORE_SIZE = 2;
 
 	private static final int _WORKERS_MAX_SIZE = 5;
@@ -338,9 +689,55 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 	private static Log _log = LogFactoryUtil.getLog(BaseAsyncDestination.class);
 
 	private int _maximumQueueSize = Integer.MAX_VALUE;
+	private final LatencyHistogram _messageLatencyHistogram =
+		new LatencyHistogram();
+	private volatile MessageOverflowJournal _messageOverflowJournal;
+	private String _overflowDir;
+	private boolean _overflowEnabled;
+	private int _overflowMaxSize = _OVERFLOW_MAX_SIZE;
+	private final ReadWriteLock _overflowReadWriteLock =
+		new ReentrantReadWriteLock();
+	private int _overflowSyncCount;
+	private final LatencyHistogram _queueLatencyHistogram =
+		new LatencyHistogram();
 	private RejectedExecutionHandler _rejectedExecutionHandler;
+	private final AtomicBoolean _replayingOverflowMessages =
+		new AtomicBoolean();
 	private ThreadPoolExecutor _threadPoolExecutor;
 	private int _workersCoreSize = _WORKERS_CORE_SIZE;
 	private int _workersMaxSize = _WORKERS_MAX_SIZE;
+	private boolean _workStealing;
+
+	/**
+	 * Records how long messages wait in the queue of the destination and how
+	 * long they take from being sent until their listeners are done, and
+	 * replays overflowed messages as the queue drains.
+	 */
+	private class DestinationThreadPoolHandler
+		extends ThreadPoolHandlerAdapter {
+
+		@Override
+		public void afterExecute(Runnable runnable, Throwable throwable) {
+			if (runnable instanceof MessageRunnable) {
+				MessageRunnable messageRunnable = (MessageRunnable)runnable;
+
+				_messageLatencyHistogram.record(
+					System.nanoTime() - messageRunnable.getCreateTime());
+			}
+
+			replayOverflowMessages();
+		}
+
+		@Override
+		public void beforeExecute(Thread thread, Runnable runnable) {
+			if (runnable instanceof MessageRunnable) {
+				MessageRunnable messageRunnable = (MessageRunnable)runnable;
+
+				_queueLatencyHistogram.record(
+					System.nanoTime() - messageRunnable.getCreateTime());
+			}
+		}
+
+	}
 
 }
\ No newline at end of file
@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import com.liferay.portal.kernel.cache.Lifecycle;
+import com.liferay.portal.kernel.cache.ThreadLocalCacheManager;
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.CentralizedThreadLocal;
+import com.liferay.portal.kernel.util.NamedThreadFactory;
+import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
+import com.liferay.portal.kernel.util.Validator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Destination that collects messages until the batch size is reached or the
+ * batch interval has passed, and then delivers them to the message listeners
+ * in parallel. A {@link BatchMessageListener} receives the collected messages
+ * as one {@link MessageBatch}, and any other message listener receives them
+ * one at a time.
+ * </p>
+ *
+ * <p>
+ * The messages of a batch always have the same company, group, principal,
+ * and permission checker, so a batch never mixes security contexts. The thread
+ * locals are reset and populated from the first message before a batch is
+ * delivered to each message listener, and from each message before it is
+ * delivered to a message listener one at a time.
+ * </p>
+ *
+ * @author Michael C. Han
+ */
+public class BatchingDestination extends BaseAsyncDestination {
+
+	@Override
+	public void close(boolean force) {
+		synchronized (this) {
+			if (force) {
+				_firstMessage = null;
+				_messageBatch = null;
+			}
+			else {
+				flush();
+			}
+		}
+
+		if (_scheduledThreadPoolExecutor != null) {
+			_scheduledThreadPoolExecutor.shutdownNow();
+		}
+
+		super.close(force);
+	}
+
+	/**
+	 * Returns the time in milliseconds that a message waits at most for its
+	 * batch to fill up.
+	 */
+	public long getBatchInterval() {
+		return _batchInterval;
+	}
+
+	public int getBatchSize() {
+		return _batchSize;
+	}
+
+	@Override
+	public void open() {
+		super.open();
+
+		if ((_scheduledThreadPoolExecutor != null) &&
+			!_scheduledThreadPoolExecutor.isShutdown()) {
+
+			return;
+		}
+
+		ScheduledThreadPoolExecutor scheduledThreadPoolExecutor =
+			new ScheduledThreadPoolExecutor(
+				1,
+				new NamedThreadFactory(
+					getName() + "-batch", Thread.NORM_PRIORITY,
+					PortalClassLoaderUtil.getClassLoader()));
+
+		scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+
+		_scheduledThreadPoolExecutor = scheduledThreadPoolExecutor;
+	}
+
+	public void setBatchInterval(long batchInterval) {
+		_batchInterval = batchInterval;
+	}
+
+	public void setBatchSize(int batchSize) {
+		_batchSize = batchSize;
+	}
+
+	protected void deliver(
+			MessageListener messageListener, MessageBatch messageBatch)
+		throws MessageListenerException {
+
+		if (messageListener instanceof InvokerMessageListener) {
+			InvokerMessageListener invokerMessageListener =
+				(InvokerMessageListener)messageListener;
+
+			if (invokerMessageListener.isBatchMessageListener()) {
+				invokerMessageListener.receive(messageBatch);
+
+				return;
+			}
+		}
+		else if (messageListener instanceof BatchMessageListener) {
+			BatchMessageListener batchMessageListener =
+				(BatchMessageListener)messageListener;
+
+			batchMessageListener.receive(messageBatch);
+
+			return;
+		}
+
+		for (Message message : messageBatch.getMessages()) {
+			try {
+				resetThreadLocalsFromMessage(message);
+
+				messageListener.receive(message);
+			}
+			catch (MessageListenerException mle) {
+				_log.error("Unable to process message " + message, mle);
+			}
+		}
+	}
+
+	@Override
+	protected void dispatch(
+		Set<MessageListener> messageListeners, Message message) {
+
+		synchronized (this) {
+			if ((_messageBatch != null) &&
+				!isSameSecurityContext(_firstMessage, message)) {
+
+				flush();
+			}
+
+			if (_messageBatch == null) {
+				_firstMessage = message;
+				_messageBatch = new MessageBatch(_batchSize);
+
+				if (_batchInterval > 0) {
+					_scheduledFuture = _scheduledThreadPoolExecutor.schedule(
+						new FlushRunnable(_messageBatch), _batchInterval,
+						TimeUnit.MILLISECONDS);
+				}
+			}
+
+			_messageBatch.addMessage(message);
+
+			List<Message> messages = _messageBatch.getMessages();
+
+			if (messages.size() >= _batchSize) {
+				flush();
+			}
+		}
+	}
+
+	protected synchronized void flush() {
+		if (_messageBatch == null) {
+			return;
+		}
+
+		final MessageBatch messageBatch = _messageBatch;
+
+		_firstMessage = null;
+		_messageBatch = null;
+
+		if (_scheduledFuture != null) {
+			_scheduledFuture.cancel(false);
+
+			_scheduledFuture = null;
+		}
+
+		Message message = new Message();
+
+		message.setDestinationName(getName());
+		message.setPayload(messageBatch);
+
+		ThreadPoolExecutor threadPoolExecutor = getThreadPoolExecutor();
+
+		Runnable runnable = new MessageRunnable(message) {
+
+			@Override
+			public void run() {
+				List<Message> messages = messageBatch.getMessages();
+
+				try {
+					for (MessageListener messageListener : messageListeners) {
+						resetThreadLocalsFromMessage(messages.get(0));
+
+						try {
+							deliver(messageListener, messageBatch);
+						}
+						catch (MessageListenerException mle) {
+							_log.error(
+								"Unable to process batch of " +
+									messages.size() + " messages",
+								mle);
+						}
+					}
+				}
+				finally {
+					ThreadLocalCacheManager.clearAll(Lifecycle.REQUEST);
+
+					CentralizedThreadLocal.clearShortLivedThreadLocals();
+				}
+			}
+
+		};
+
+		threadPoolExecutor.execute(runnable);
+	}
+
+	protected boolean isSameSecurityContext(
+		Message message1, Message message2) {
+
+		if ((message1.getLong("companyId") == message2.getLong("companyId")) &&
+			(message1.getLong("groupId") == message2.getLong("groupId")) &&
+			Validator.equals(
+				message1.get("permissionChecker"),
+				message2.get("permissionChecker")) &&
+			Validator.equals(
+				message1.getString("principalName"),
+				message2.getString("principalName")) &&
+			Validator.equals(
+				message1.getString("principalPassword"),
+				message2.getString("principalPassword"))) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Clears the thread locals left by the previous message before populating
+	 * them, because {@link #populateThreadLocalsFromMessage(Message)} only
+	 * sets the values that the message has.
+	 */
+	protected void resetThreadLocalsFromMessage(Message message) {
+		ThreadLocalCacheManager.clearAll(Lifecycle.REQUEST);
+
+		CentralizedThreadLocal.clearShortLivedThreadLocals();
+
+		populateThreadLocalsFromMessage(message);
+	}
+
+	private static final long _BATCH_INTERVAL = 1000;
+
+	private static final int _BATCH_SIZE = 100;
+
+	private static Log _log = LogFactoryUtil.getLog(BatchingDestination.class);
+
+	private long _batchInterval = _BATCH_INTERVAL;
+	private int _batchSize = _BATCH_SIZE;
+	private Message _firstMessage;
+	private MessageBatch _messageBatch;
+	private ScheduledFuture<?> _scheduledFuture;
+	private ScheduledThreadPoolExecutor _scheduledThreadPoolExecutor;
+
+	private class FlushRunnable implements Runnable {
+
+		public FlushRunnable(MessageBatch messageBatch) {
+			_messageBatch = messageBatch;
+		}
+
+		@Override
+		public void run() {
+			synchronized (BatchingDestination.this) {
+				if (BatchingDestination.this._messageBatch == _messageBatch) {
+					flush();
+				}
+			}
+		}
+
+		private final MessageBatch _messageBatch;
+
+	}
+
+}
\ No newline at end of file
@@ -19,18 +19,30 @@ import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 /**
+ * <p>
+ * Keeps the destinations in a copy on write map. Sending messages and
+ * registering message listeners read the current map without locking, and
+ * only adding, removing, and replacing destinations lock the message bus.
+ * </p>
+ *
  * @author Michael C. Han
  */
 public class DefaultMessageBus implements MessageBus {
 
 	@Override
 	public synchronized void addDestination(Destination destination) {
-		_destinations.put(destination.getName(), destination);
+		Map<String, Destination> destinations =
+			new HashMap<String, Destination>(_destinations);
+
+		destinations.put(destination.getName(), destination);
+
+		_destinations = Collections.unmodifiableMap(destinations);
 
 		fireDestinationAddedEvent(destination);
 	}
@@ -92,7 +104,7 @@ public class DefaultMessageBus implements MessageBus {
 	}
 
 	@Override
-	public synchronized boolean registerMessageListener(
+	public boolean registerMessageListener(
 		String destinationName, MessageListener messageListener) {
 
 		Destination destination = _destinations.get(destinationName);
@@ -113,9 +125,16 @@ public class DefaultMessageBus implements MessageBus {
 
 	@Override
 	public synchronized Destination removeDestination(String destinationName) {
-		Destination destinationModel = _destinations.remove(destinationName);
+		Destination destinationModel = _destinations.get(destinationName);
 
 		if (destinationModel != null) {
+			Map<String, Destination> destinations =
+				new HashMap<String, Destination>(_destinations);
+
+			destinations.remove(destinationName);
+
+			_destinations = Collections.unmodifiableMap(destinations);
+
 			destinationModel.removeDestinationEventListeners();
 			destinationModel.unregisterMessageListeners();
 
@@ -146,15 +165,28 @@ public class DefaultMessageBus implements MessageBus {
 	}
 
 	@Override
-	public void replace(Destination destination) {
+	public synchronized void replace(Destination destination) {
 		Destination oldDestination = _destinations.get(destination.getName());
 
 		oldDestination.copyDestinationEventListeners(destination);
 		oldDestination.copyMessageListeners(destination);
 
-		removeDestination(oldDestination.getName());
+		// Swap the destinations at once so that messages sent in between are
+		// not dropped
 
-		addDestination(destination);
+		Map<String, Destination> destinations =
+			new HashMap<String, Destination>(_destinations);
+
+		destinations.put(destination.getName(), destination);
+
+		_destinations = Collections.unmodifiableMap(destinations);
+
+		oldDestination.removeDestinationEventListeners();
+		oldDestination.unregisterMessageListeners();
+
+		fireDestinationRemovedEvent(oldDestination);
+
+		fireDestinationAddedEvent(destination);
 	}
 
 	@Override
@@ -181,14 +213,14 @@ public class DefaultMessageBus implements MessageBus {
 	}
 
 	@Override
-	public synchronized void shutdown(boolean force) {
+	public void shutdown(boolean force) {
 		for (Destination destination : _destinations.values()) {
 			destination.close(force);
 		}
 	}
 
 	@Override
-	public synchronized boolean unregisterMessageListener(
+	public boolean unregisterMessageListener(
 		String destinationName, MessageListener messageListener) {
 
 		Destination destination = _destinations.get(destinationName);
@@ -244,7 +276,7 @@ public class DefaultMessageBus implements MessageBus {
 
 	private Set<DestinationEventListener> _destinationEventListeners =
 		new ConcurrentHashSet<DestinationEventListener>();
-	private Map<String, Destination> _destinations =
-		new HashMap<String, Destination>();
+	private volatile Map<String, Destination> _destinations =
+		Collections.emptyMap();
 
 }
\ No newline at end of file
@@ -36,14 +36,26 @@ public class DestinationStatistics {
 		return _maxThreadPoolSize;
 	}
 
+	public LatencyHistogram getMessageLatencyHistogram() {
+		return _messageLatencyHistogram;
+	}
+
 	public int getMinThreadPoolSize() {
 		return _minThreadPoolSize;
 	}
 
+	public long getOverflowMessageCount() {
+		return _overflowMessageCount;
+	}
+
 	public long getPendingMessageCount() {
 		return _pendingMessageCount;
 	}
 
+	public LatencyHistogram getQueueLatencyHistogram() {
+		return _queueLatencyHistogram;
+	}
+
 	public long getSentMessageCount() {
 		return _sentMessageCount;
 	}
@@ -64,14 +76,30 @@ public class DestinationStatistics {
 		_maxThreadPoolSize = maxThreadPoolSize;
 	}
 
+	public void setMessageLatencyHistogram(
+		LatencyHistogram messageLatencyHistogram) {
+
+		_messageLatencyHistogram = messageLatencyHistogram;
+	}
+
 	public void setMinThreadPoolSize(int minThreadPoolSize) {
 		_minThreadPoolSize = minThreadPoolSize;
 	}
 
+	public void setOverflowMessageCount(long overflowMessageCount) {
+		_overflowMessageCount = overflowMessageCount;
+	}
+
 	public void setPendingMessageCount(long pendingMessageCount) {
 		_pendingMessageCount = pendingMessageCount;
 	}
 
+	public void setQueueLatencyHistogram(
+		LatencyHistogram queueLatencyHistogram) {
+
+		_queueLatencyHistogram = queueLatencyHistogram;
+	}
+
 	public void setSentMessageCount(long sentMessageCount) {
 		_sentMessageCount = sentMessageCount;
 	}
@@ -80,8 +108,11 @@ public class DestinationStatistics {
 	private int _currentThreadCount;
 	private int _largestThreadCount;
 	private int _maxThreadPoolSize;
+	private LatencyHistogram _messageLatencyHistogram = new LatencyHistogram();
 	private int _minThreadPoolSize;
+	private long _overflowMessageCount;
 	private long _pendingMessageCount;
+	private LatencyHistogram _queueLatencyHistogram = new LatencyHistogram();
 	private long _sentMessageCount;
 
 }
\ No newline at end of file
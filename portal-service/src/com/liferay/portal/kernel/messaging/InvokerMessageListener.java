@@ -60,6 +60,10 @@ public class InvokerMessageListener implements MessageListener {
 		return _messageListener.hashCode();
 	}
 
+	public boolean isBatchMessageListener() {
+		return _messageListener instanceof BatchMessageListener;
+	}
+
 	@Override
 	public void receive(Message message) throws MessageListenerException {
 		Thread currentThread = Thread.currentThread();
@@ -76,6 +80,26 @@ public class InvokerMessageListener implements MessageListener {
 		}
 	}
 
+	public void receive(MessageBatch messageBatch)
+		throws MessageListenerException {
+
+		BatchMessageListener batchMessageListener =
+			(BatchMessageListener)_messageListener;
+
+		Thread currentThread = Thread.currentThread();
+
+		ClassLoader contextClassLoader = currentThread.getContextClassLoader();
+
+		currentThread.setContextClassLoader(_classLoader);
+
+		try {
+			batchMessageListener.receive(messageBatch);
+		}
+		finally {
+			currentThread.setContextClassLoader(contextClassLoader);
+		}
+	}
+
 	private ClassLoader _classLoader;
 	private MessageListener _messageListener;
 
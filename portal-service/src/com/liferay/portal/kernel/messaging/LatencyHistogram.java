@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import com.liferay.portal.kernel.util.StringBundler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in buckets whose bounds are powers of two microseconds.
+ * Recording a latency does not lock, so the histogram can be updated by every
+ * worker thread of a destination.
+ *
+ * @author Michael C. Han
+ */
+public class LatencyHistogram {
+
+	public LatencyHistogram() {
+	}
+
+	public LatencyHistogram(LatencyHistogram latencyHistogram) {
+		for (int i = 0; i < _BUCKETS_SIZE; i++) {
+			_buckets.set(i, latencyHistogram._buckets.get(i));
+		}
+
+		_count.set(latencyHistogram._count.get());
+		_maxLatency.set(latencyHistogram._maxLatency.get());
+		_totalLatency.set(latencyHistogram._totalLatency.get());
+	}
+
+	public long getCount() {
+		return _count.get();
+	}
+
+	/**
+	 * Returns the highest recorded latency in microseconds.
+	 */
+	public long getMaxLatency() {
+		return _maxLatency.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded latencies in microseconds.
+	 */
+	public long getMeanLatency() {
+		long count = _count.get();
+
+		if (count == 0) {
+			return 0;
+		}
+
+		return _totalLatency.get() / count;
+	}
+
+	/**
+	 * Returns the latency in microseconds that the given percentage of the
+	 * recorded latencies do not exceed. The latency is rounded up to the
+	 * bound of its bucket, but never exceeds the highest recorded latency.
+	 */
+	public long getPercentileLatency(double percentile) {
+		long count = 0;
+
+		for (int i = 0; i < _BUCKETS_SIZE; i++) {
+			count += _buckets.get(i);
+		}
+
+		if (count == 0) {
+			return 0;
+		}
+
+		long threshold = (long)Math.ceil(count * percentile / 100);
+
+		if (threshold < 1) {
+			threshold = 1;
+		}
+
+		long maxLatency = _maxLatency.get();
+
+		count = 0;
+
+		for (int i = 0; i < _BUCKETS_SIZE; i++) {
+			count += _buckets.get(i);
+
+			if (count >= threshold) {
+				return Math.min((1L << i) - 1, maxLatency);
+			}
+		}
+
+		return maxLatency;
+	}
+
+	/**
+	 * Records a latency given in nanoseconds.
+	 */
+	public void record(long latency) {
+		latency = Math.max(latency / 1000, 0);
+
+		_buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(latency));
+
+		_count.incrementAndGet();
+		_totalLatency.addAndGet(latency);
+
+		long maxLatency = _maxLatency.get();
+
+		while ((latency > maxLatency) &&
+			   !_maxLatency.compareAndSet(maxLatency, latency)) {
+
+			maxLatency = _maxLatency.get();
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBundler sb = new StringBundler(11);
+
+		sb.append("{count=");
+		sb.append(getCount());
+		sb.append(", maxLatency=");
+		sb.append(getMaxLatency());
+		sb.append(", meanLatency=");
+		sb.append(getMeanLatency());
+		sb.append(", 50thPercentileLatency=");
+		sb.append(getPercentileLatency(50));
+		sb.append(", 99thPercentileLatency=");
+		sb.append(getPercentileLatency(99));
+		sb.append("}");
+
+		return sb.toString();
+	}
+
+	private static final int _BUCKETS_SIZE = 65;
+
+	private final AtomicLongArray _buckets = new AtomicLongArray(
+		_BUCKETS_SIZE);
+	private final AtomicLong _count = new AtomicLong();
+	private final AtomicLong _maxLatency = new AtomicLong();
+	private final AtomicLong _totalLatency = new AtomicLong();
+
+}
\ No newline at end of file
@@ -21,6 +21,8 @@ import com.liferay.portal.kernel.util.MapUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.TransientValue;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 import java.nio.ByteBuffer;
@@ -52,9 +54,7 @@ public class Message implements Cloneable, Serializable {
 		message._responseDestinationName = _responseDestinationName;
 		message._responseId = _responseId;
 
-		if (_values != null) {
-			message._values = new HashMap<String, Object>(_values);
-		}
+		_shareValues(message);
 
 		return message;
 	}
@@ -75,9 +75,7 @@ public class Message implements Cloneable, Serializable {
 		_responseDestinationName = message._responseDestinationName;
 		_responseId = message._responseId;
 
-		if (message._values != null) {
-			_values = new HashMap<String, Object>(message._values);
-		}
+		message._shareValues(this);
 	}
 
 	public void copyTo(Message message) {
@@ -87,9 +85,7 @@ public class Message implements Cloneable, Serializable {
 		message._responseDestinationName = _responseDestinationName;
 		message._responseId = _responseId;
 
-		if (_values != null) {
-			message._values = new HashMap<String, Object>(_values);
-		}
+		_shareValues(message);
 	}
 
 	public Object get(String key) {
@@ -193,19 +189,28 @@ public class Message implements Cloneable, Serializable {
 		return GetterUtil.getString(String.valueOf(get(key)));
 	}
 
+	/**
+	 * Returns the values of the message. The caller may change the returned
+	 * map, so from now on clones and copies of the message get their own copy
+	 * of the values instead of sharing them.
+	 */
 	public Map<String, Object> getValues() {
+		_copySharedValues();
+
+		_valuesExposed = true;
+
 		return _values;
 	}
 
 	public void put(String key, Object value) {
 		if (value == null) {
-			if (_values != null) {
-				_values.remove(key);
-			}
+			remove(key);
 
 			return;
 		}
 
+		_copySharedValues();
+
 		if (_values == null) {
 			_values = new HashMap<String, Object>();
 		}
@@ -218,7 +223,9 @@ public class Message implements Cloneable, Serializable {
 	}
 
 	public void remove(String key) {
-		if (_values != null) {
+		if ((_values != null) && _values.containsKey(key)) {
+			_copySharedValues();
+
 			_values.remove(key);
 		}
 	}
@@ -243,8 +250,20 @@ public class Message implements Cloneable, Serializable {
 		_responseId = responseId;
 	}
 
+	/**
+	 * Sets the values of the message to a copy of the map, so that later
+	 * changes to the map are not seen by clones and copies of the message.
+	 */
 	public void setValues(Map<String, Object> values) {
-		_values = values;
+		if (values == null) {
+			_values = null;
+		}
+		else {
+			_values = new HashMap<String, Object>(values);
+		}
+
+		_valuesExposed = false;
+		_valuesShared = false;
 	}
 
 	public byte[] toByteArray() {
@@ -278,11 +297,57 @@ public class Message implements Cloneable, Serializable {
 		return sb.toString();
 	}
 
+	private void _copySharedValues() {
+		if (_valuesShared) {
+			_values = new HashMap<String, Object>(_values);
+			_valuesShared = false;
+		}
+	}
+
+	/**
+	 * Lets the message use the same values as this message until either
+	 * message changes them, so that cloning a message does not copy its
+	 * values. Values that were handed out by {@link #getValues()} may still be
+	 * changed through the returned map, so they are copied instead.
+	 */
+	private void _shareValues(Message message) {
+		if (_values == null) {
+			return;
+		}
+
+		message._valuesExposed = false;
+
+		if (_valuesExposed) {
+			message._values = new HashMap<String, Object>(_values);
+			message._valuesShared = false;
+
+			return;
+		}
+
+		_valuesShared = true;
+
+		message._values = _values;
+		message._valuesShared = true;
+	}
+
+	private void readObject(ObjectInputStream objectInputStream)
+		throws ClassNotFoundException, IOException {
+
+		objectInputStream.defaultReadObject();
+
+		// Messages that shared their values before they were serialized still
+		// share the deserialized values
+
+		_valuesShared = _values != null;
+	}
+
 	private String _destinationName;
 	private Object _payload;
 	private Object _response;
 	private String _responseDestinationName;
 	private String _responseId;
 	private Map<String, Object> _values;
+	private transient volatile boolean _valuesExposed;
+	private transient volatile boolean _valuesShared;
 
 }
\ No newline at end of file
@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * Journal in a memory mapped file that holds the serialized messages an
+ * asynchronous destination could not queue. Messages are polled in the order
+ * they were appended. The file is used as a ring buffer, so the space of
+ * polled messages is reused even while the journal is never empty. A message
+ * that does not fit before the end of the file is written at the beginning of
+ * the file, after a wrap marker.
+ * </p>
+ *
+ * <p>
+ * The read and write positions are kept in the file, so the messages survive
+ * a restart of the portal. Writes to a memory mapped file also survive a
+ * crash of the JVM, and only a crash of the operating system loses the
+ * messages that were appended since the journal was last synchronized.
+ * </p>
+ *
+ * @author Michael C. Han
+ */
+public class MessageOverflowJournal {
+
+	public MessageOverflowJournal(File file, int maxSize, int syncCount)
+		throws IOException {
+
+		if (maxSize <= _HEADER_SIZE) {
+			throw new IllegalArgumentException(
+				"Max size " + maxSize + " is too small");
+		}
+
+		File dir = file.getParentFile();
+
+		if ((dir != null) && !dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Unable to create directory " + dir);
+		}
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+
+		try {
+			FileChannel fileChannel = randomAccessFile.getChannel();
+
+			_mappedByteBuffer = fileChannel.map(
+				FileChannel.MapMode.READ_WRITE, 0, maxSize);
+		}
+		finally {
+			randomAccessFile.close();
+		}
+
+		_file = file;
+		_maxSize = maxSize;
+		_syncCount = syncCount;
+
+		_readPosition = _mappedByteBuffer.getInt(4);
+		_size = _mappedByteBuffer.getInt(12);
+		_writePosition = _mappedByteBuffer.getInt(8);
+
+		if ((_mappedByteBuffer.getInt(0) != _MAGIC) ||
+			(_readPosition < _HEADER_SIZE) || (_readPosition > maxSize) ||
+			(_writePosition < _HEADER_SIZE) || (_writePosition > maxSize) ||
+			(_size < 0)) {
+
+			_mappedByteBuffer.putInt(0, _MAGIC);
+
+			_reset();
+		}
+	}
+
+	/**
+	 * Appends the bytes of a message to the journal. Returns
+	 * <code>false</code> if the journal is closed or does not have enough
+	 * space left.
+	 */
+	public synchronized boolean append(byte[] bytes) {
+		if (_closed) {
+			return false;
+		}
+
+		int length = 4 + bytes.length;
+
+		int position = _writePosition;
+
+		if ((_size > 0) && (_writePosition <= _readPosition)) {
+
+			// The writer wrapped around and must stay behind the reader
+
+			if ((position + length) > _readPosition) {
+				return false;
+			}
+		}
+		else if ((position + length) > _maxSize) {
+			if ((_size == 0) || ((_HEADER_SIZE + length) > _readPosition)) {
+				return false;
+			}
+
+			if ((position + 4) <= _maxSize) {
+				_mappedByteBuffer.putInt(position, _WRAP_MARKER);
+			}
+
+			position = _HEADER_SIZE;
+		}
+
+		_mappedByteBuffer.putInt(position, bytes.length);
+
+		ByteBuffer byteBuffer = _mappedByteBuffer.duplicate();
+
+		byteBuffer.position(position + 4);
+
+		byteBuffer.put(bytes);
+
+		_writePosition = position + length;
+
+		_size++;
+
+		_writeHeader();
+
+		if ((_syncCount > 0) && (++_unsyncedCount >= _syncCount)) {
+			_mappedByteBuffer.force();
+
+			_unsyncedCount = 0;
+		}
+
+		return true;
+	}
+
+	public synchronized void close() {
+		if (_closed) {
+			return;
+		}
+
+		_closed = true;
+
+		_mappedByteBuffer.force();
+	}
+
+	public File getFile() {
+		return _file;
+	}
+
+	public int getSize() {
+		return _size;
+	}
+
+	public boolean isEmpty() {
+		if (_size == 0) {
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+
+	/**
+	 * Removes and returns the bytes of the oldest message in the journal, or
+	 * returns <code>null</code> if the journal is empty or closed. If the
+	 * length of the message is corrupt, the remaining messages cannot be
+	 * located, so they are discarded and <code>null</code> is returned.
+	 */
+	public synchronized byte[] poll() {
+		if (_closed || (_size == 0)) {
+			return null;
+		}
+
+		int position = _readPosition;
+
+		if (((position + 4) > _maxSize) ||
+			(_mappedByteBuffer.getInt(position) == _WRAP_MARKER)) {
+
+			position = _HEADER_SIZE;
+		}
+
+		int length = _mappedByteBuffer.getInt(position);
+
+		// Messages end before the write position unless the writer wrapped
+		// around and the reader did not
+
+		int limit = _writePosition;
+
+		if ((position == _readPosition) && (_writePosition <= _readPosition)) {
+			limit = _maxSize;
+		}
+
+		if ((length < 0) || ((position + 4 + length) > limit)) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Discarding " + _size + " messages from overflow " +
+						"journal " + _file + " because of a corrupt " +
+							"message length " + length);
+			}
+
+			_reset();
+
+			return null;
+		}
+
+		byte[] bytes = new byte[length];
+
+		ByteBuffer byteBuffer = _mappedByteBuffer.duplicate();
+
+		byteBuffer.position(position + 4);
+
+		byteBuffer.get(bytes);
+
+		_size--;
+
+		if (_size == 0) {
+			_readPosition = _HEADER_SIZE;
+			_writePosition = _HEADER_SIZE;
+		}
+		else {
+			_readPosition = position + 4 + length;
+		}
+
+		_writeHeader();
+
+		return bytes;
+	}
+
+	private void _reset() {
+		_readPosition = _HEADER_SIZE;
+		_size = 0;
+		_writePosition = _HEADER_SIZE;
+
+		_writeHeader();
+	}
+
+	private void _writeHeader() {
+		_mappedByteBuffer.putInt(4, _readPosition);
+		_mappedByteBuffer.putInt(8, _writePosition);
+		_mappedByteBuffer.putInt(12, _size);
+	}
+
+	private static final int _HEADER_SIZE = 16;
+
+	private static final int _MAGIC = 0x4D4F4A31;
+
+	private static final int _WRAP_MARKER = -1;
+
+	private static Log _log = LogFactoryUtil.getLog(
+		MessageOverflowJournal.class);
+
+	private boolean _closed;
+	private final File _file;
+	private final MappedByteBuffer _mappedByteBuffer;
+	private final int _maxSize;
+	private int _readPosition;
+	private volatile int _size;
+	private final int _syncCount;
+	private int _unsyncedCount;
+	private int _writePosition;
+
+}
\ No newline at end of file
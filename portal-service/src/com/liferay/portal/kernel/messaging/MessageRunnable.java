@@ -21,12 +21,23 @@ public abstract class MessageRunnable implements Runnable {
 
 	public MessageRunnable(Message message) {
 		_message = message;
+
+		_createTime = System.nanoTime();
+	}
+
+	/**
+	 * Returns the value of {@link System#nanoTime()} when this runnable was
+	 * created.
+	 */
+	public long getCreateTime() {
+		return _createTime;
 	}
 
 	public Message getMessage() {
 		return _message;
 	}
 
+	private long _createTime;
 	private Message _message;
 
 }
\ No newline at end of file
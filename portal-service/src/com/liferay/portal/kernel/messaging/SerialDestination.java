@@ -48,6 +48,22 @@ public class SerialDestination extends BaseAsyncDestination {
 		super(name, _WORKERS_CORE_SIZE, _WORKERS_MAX_SIZE);
 	}
 
+	/**
+	 * Work stealing is not supported. A work stealing thread pool executor
+	 * runs the tasks that its workers execute before older tasks, so messages
+	 * sent by message listeners would overtake messages sent before them.
+	 */
+	@Override
+	public void setWorkStealing(boolean workStealing) {
+		if (workStealing) {
+			throw new IllegalArgumentException(
+				"Serial destinations deliver messages in order and cannot " +
+					"use work stealing");
+		}
+
+		super.setWorkStealing(workStealing);
+	}
+
 	@Override
 	protected void dispatch(
 		final Set<MessageListener> messageListeners, final Message message) {
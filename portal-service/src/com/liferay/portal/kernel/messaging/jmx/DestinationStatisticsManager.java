@@ -16,6 +16,7 @@ package com.liferay.portal.kernel.messaging.jmx;
 
 import com.liferay.portal.kernel.messaging.Destination;
 import com.liferay.portal.kernel.messaging.DestinationStatistics;
+import com.liferay.portal.kernel.messaging.LatencyHistogram;
 
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
@@ -72,6 +73,30 @@ public class DestinationStatisticsManager
 		return String.valueOf(_lastRefresh);
 	}
 
+	@Override
+	public long getMaxMessageLatency() {
+		if (_autoRefresh || (_destinationStatistics == null)) {
+			refresh();
+		}
+
+		LatencyHistogram latencyHistogram =
+			_destinationStatistics.getMessageLatencyHistogram();
+
+		return latencyHistogram.getMaxLatency();
+	}
+
+	@Override
+	public long getMaxQueueLatency() {
+		if (_autoRefresh || (_destinationStatistics == null)) {
+			refresh();
+		}
+
+		LatencyHistogram latencyHistogram =
+			_destinationStatistics.getQueueLatencyHistogram();
+
+		return latencyHistogram.getMaxLatency();
+	}
+
 	@Override
 	public int getMaxThreadPoolSize() {
 		if (_autoRefresh || (_destinationStatistics == null)) {
@@ -81,6 +106,42 @@ public class DestinationStatisticsManager
 		return _destinationStatistics.getMaxThreadPoolSize();
 	}
 
+	@Override
+	public long getMeanMessageLatency() {
+		if (_autoRefresh || (_destinationStatistics == null)) {
+			refresh();
+		}
+
+		LatencyHistogram latencyHistogram =
+			_destinationStatistics.getMessageLatencyHistogram();
+
+		return latencyHistogram.getMeanLatency();
+	}
+
+	@Override
+	public long getMeanQueueLatency() {
+		if (_autoRefresh || (_destinationStatistics == null)) {
+			refresh();
+		}
+
+		LatencyHistogram latencyHistogram =
+			_destinationStatistics.getQueueLatencyHistogram();
+
+		return latencyHistogram.getMeanLatency();
+	}
+
+	@Override
+	public long getMessageLatencyPercentile99() {
+		if (_autoRefresh || (_destinationStatistics == null)) {
+			refresh();
+		}
+
+		LatencyHistogram latencyHistogram =
+			_destinationStatistics.getMessageLatencyHistogram();
+
+		return latencyHistogram.getPercentileLatency(99);
+	}
+
 	@Override
 	public int getMinThreadPoolSize() {
 		if (_autoRefresh || (_destinationStatistics == null)) {
@@ -90,6 +151,15 @@ public class DestinationStatisticsManager
 		return _destinationStatistics.getMinThreadPoolSize();
 	}
 
+	@Override
+	public long getOverflowMessageCount() {
+		if (_autoRefresh || (_destinationStatistics == null)) {
+			refresh();
+		}
+
+		return _destinationStatistics.getOverflowMessageCount();
+	}
+
 	@Override
 	public long getPendingMessageCount() {
 		if (_autoRefresh || (_destinationStatistics == null)) {
@@ -99,6 +169,18 @@ public class DestinationStatisticsManager
 		return _destinationStatistics.getPendingMessageCount();
 	}
 
+	@Override
+	public long getQueueLatencyPercentile99() {
+		if (_autoRefresh || (_destinationStatistics == null)) {
+			refresh();
+		}
+
+		LatencyHistogram latencyHistogram =
+			_destinationStatistics.getQueueLatencyHistogram();
+
+		return latencyHistogram.getPercentileLatency(99);
+	}
+
 	@Override
 	public long getSentMessageCount() {
 		if (_autoRefresh || (_destinationStatistics == null)) {
@@ -28,12 +28,26 @@ public interface DestinationStatisticsManagerMBean {
 
 	public String getLastRefresh();
 
+	public long getMaxMessageLatency();
+
+	public long getMaxQueueLatency();
+
 	public int getMaxThreadPoolSize();
 
+	public long getMeanMessageLatency();
+
+	public long getMeanQueueLatency();
+
+	public long getMessageLatencyPercentile99();
+
 	public int getMinThreadPoolSize();
 
+	public long getOverflowMessageCount();
+
 	public long getPendingMessageCount();
 
+	public long getQueueLatencyPercentile99();
+
 	public long getSentMessageCount();
 
 	public boolean isAutoRefresh();
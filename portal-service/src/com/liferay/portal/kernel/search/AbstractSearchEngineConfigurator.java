@@ -134,6 +134,8 @@ public abstract class AbstractSearchEngineConfigurator
 		if (_INDEX_SEARCH_WRITER_MAX_QUEUE_SIZE > 0) {
 			parallelDestination.setMaximumQueueSize(
 				_INDEX_SEARCH_WRITER_MAX_QUEUE_SIZE);
+			parallelDestination.setOverflowDir(_MESSAGE_BUS_OVERFLOW_DIR);
+			parallelDestination.setOverflowEnabled(true);
 
 			RejectedExecutionHandler rejectedExecutionHandler =
 				new CallerRunsPolicy() {
@@ -391,6 +393,9 @@ public abstract class AbstractSearchEngineConfigurator
 		GetterUtil.getInteger(
 			PropsUtil.get(PropsKeys.INDEX_SEARCH_WRITER_MAX_QUEUE_SIZE));
 
+	private static final String _MESSAGE_BUS_OVERFLOW_DIR = PropsUtil.get(
+		PropsKeys.MESSAGE_BUS_OVERFLOW_DIR);
+
 	private static Log _log = LogFactoryUtil.getLog(
 		AbstractSearchEngineConfigurator.class);
 
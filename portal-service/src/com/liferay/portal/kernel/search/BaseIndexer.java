@@ -374,6 +374,10 @@ public abstract class BaseIndexer implements Indexer {
 		return _indexerEnabled;
 	}
 
+	public boolean isParallelReindex() {
+		return _parallelReindex;
+	}
+
 	@Override
 	public boolean isPermissionAware() {
 		return _permissionAware;
@@ -490,7 +494,30 @@ public abstract class BaseIndexer implements Indexer {
 				return;
 			}
 
-			doReindex(ids);
+			ReindexProgress reindexProgress = new ReindexProgress(
+				getClass().getName());
+
+			boolean previousParallelEnabled =
+				ReindexProgressThreadLocal.isParallelEnabled();
+			ReindexProgress previousReindexProgress =
+				ReindexProgressThreadLocal.getReindexProgress();
+
+			ReindexProgressThreadLocal.setParallelEnabled(_parallelReindex);
+			ReindexProgressThreadLocal.setReindexProgress(reindexProgress);
+
+			try {
+				doReindex(ids);
+			}
+			finally {
+				ReindexProgressThreadLocal.setParallelEnabled(
+					previousParallelEnabled);
+				ReindexProgressThreadLocal.setReindexProgress(
+					previousReindexProgress);
+			}
+
+			if (_log.isInfoEnabled()) {
+				_log.info(reindexProgress.toString());
+			}
 		}
 		catch (SearchException se) {
 			throw se;
@@ -1830,6 +1857,16 @@ public abstract class BaseIndexer implements Indexer {
 		_indexerEnabled = indexerEnabled;
 	}
 
+	/**
+	 * Sets whether a full reindex of this indexer may load and index the
+	 * entities of one actionable dynamic query on several threads. Only
+	 * indexers whose documents do not depend on the order in which entities
+	 * are indexed should enable this.
+	 */
+	protected void setParallelReindex(boolean parallelReindex) {
+		_parallelReindex = parallelReindex;
+	}
+
 	protected void setPermissionAware(boolean permissionAware) {
 		_permissionAware = permissionAware;
 	}
@@ -1852,6 +1889,7 @@ public abstract class BaseIndexer implements Indexer {
 	private boolean _indexerEnabled = true;
 	private IndexerPostProcessor[] _indexerPostProcessors =
 		new IndexerPostProcessor[0];
+	private boolean _parallelReindex;
 	private boolean _permissionAware;
 	private String _searchEngineId;
 	private boolean _selectAllLocales;
@@ -16,6 +16,8 @@ package com.liferay.portal.kernel.search;
 
 import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
 import com.liferay.portal.kernel.util.Time;
 import com.liferay.portal.kernel.workflow.WorkflowConstants;
 import com.liferay.portal.security.permission.ActionKeys;
@@ -44,6 +46,17 @@ public class DefaultSearchResultPermissionFilter
 
 		Document[] documents = hits.getDocs();
 
+		// Check the permissions of all of the hits at once so that the
+		// checks below are served from the permission cache
+
+		if (documents.length > 1) {
+			SearchPermissionChecker searchPermissionChecker =
+				SearchEngineUtil.getSearchPermissionChecker();
+
+			searchPermissionChecker.preloadPermissions(
+				_permissionChecker, documents, ActionKeys.VIEW);
+		}
+
 		int excludeDocsSize = 0;
 
 		int status = GetterUtil.getInteger(
@@ -91,9 +104,40 @@ public class DefaultSearchResultPermissionFilter
 
 	@Override
 	protected Hits getHits(SearchContext searchContext) throws SearchException {
-		return _baseIndexer.doSearch(searchContext);
+		String[] classNames = _baseIndexer.getClassNames();
+
+		if (!_INDEX_PERMISSION_FILTER_SEARCH_QUERY_ENABLED ||
+			(classNames.length != 1) || (searchContext.getUserId() <= 0) ||
+			ArrayUtil.isNotEmpty(searchContext.getFullQueryEntryClassNames())) {
+
+			return _baseIndexer.doSearch(searchContext);
+		}
+
+		// Filter the hits with the indexed permission terms first so that only
+		// the remaining hits are checked in filterHits
+
+		searchContext.setSearchEngineId(_baseIndexer.getSearchEngineId());
+
+		BooleanQuery fullQuery = _baseIndexer.getFullQuery(searchContext);
+
+		SearchPermissionChecker searchPermissionChecker =
+			SearchEngineUtil.getSearchPermissionChecker();
+
+		Query query = searchPermissionChecker.getPermissionQuery(
+			searchContext.getCompanyId(), searchContext.getGroupIds(),
+			searchContext.getUserId(), classNames[0], fullQuery,
+			searchContext);
+
+		query.setQueryConfig(searchContext.getQueryConfig());
+
+		return SearchEngineUtil.search(searchContext, query);
 	}
 
+	private static final boolean _INDEX_PERMISSION_FILTER_SEARCH_QUERY_ENABLED =
+		GetterUtil.getBoolean(
+			PropsUtil.get(
+				PropsKeys.INDEX_PERMISSION_FILTER_SEARCH_QUERY_ENABLED));
+
 	private BaseIndexer _baseIndexer;
 	private PermissionChecker _permissionChecker;
 
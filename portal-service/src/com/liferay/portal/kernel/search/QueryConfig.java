@@ -165,6 +165,21 @@ public class QueryConfig implements Serializable {
 				_INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_ENABLED);
 	}
 
+	/**
+	 * Returns <code>true</code> if the query only restricts the matching
+	 * documents. A filter query matches the same documents as the plain query,
+	 * but it does not affect the relevance of the hits. Search engines that
+	 * support it may cache the documents matched by the query, in which case
+	 * changes made to the query after it is added to another query are not
+	 * seen.
+	 *
+	 * @return <code>true</code> if the query only restricts the matching
+	 *         documents; <code>false</code> otherwise
+	 */
+	public boolean isFilter() {
+		return GetterUtil.getBoolean(_attributes.get(_FILTER));
+	}
+
 	public boolean isHighlightEnabled() {
 		return GetterUtil.getBoolean(
 			_attributes.get(PropsKeys.INDEX_SEARCH_HIGHLIGHT_ENABLED),
@@ -230,6 +245,10 @@ public class QueryConfig implements Serializable {
 			collatedSpellCheckResultScoresThreshold);
 	}
 
+	public void setFilter(boolean filter) {
+		_attributes.put(_FILTER, filter);
+	}
+
 	public void setHighlightEnabled(boolean highlightEnabled) {
 		if (_INDEX_SEARCH_HIGHLIGHT_ENABLED) {
 			_attributes.put(
@@ -319,6 +338,8 @@ public class QueryConfig implements Serializable {
 		_attributes.put(_SELECTED_FIELD_NAMES, selectedFieldNames);
 	}
 
+	private static final String _FILTER = "filter";
+
 	private static final String _HIGHLIGHT_FIELD_NAMES = "highlightFieldNames";
 
 	private static final String _HITS_PROCESSING_ENABLED =
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.search;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.Time;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of a full reindex with one indexer. The counts are
+ * updated concurrently by the threads of a parallel reindex.
+ *
+ * @author Michael C. Han
+ */
+public class ReindexProgress {
+
+	public ReindexProgress(String name) {
+		_name = name;
+
+		_startTime = System.currentTimeMillis();
+
+		_lastLogTime = new AtomicLong(_startTime);
+	}
+
+	public void addDocumentCount(long documentCount) {
+		_documentCount.addAndGet(documentCount);
+	}
+
+	public void addEntityCount(long entityCount) {
+		_entityCount.addAndGet(entityCount);
+
+		if (!_log.isInfoEnabled()) {
+			return;
+		}
+
+		long lastLogTime = _lastLogTime.get();
+
+		long now = System.currentTimeMillis();
+
+		if (((now - lastLogTime) >= _LOG_INTERVAL) &&
+			_lastLogTime.compareAndSet(lastLogTime, now)) {
+
+			_log.info(toString());
+		}
+	}
+
+	public long getDocumentCount() {
+		return _documentCount.get();
+	}
+
+	public long getElapsedTime() {
+		return System.currentTimeMillis() - _startTime;
+	}
+
+	public long getEntityCount() {
+		return _entityCount.get();
+	}
+
+	public String getName() {
+		return _name;
+	}
+
+	/**
+	 * Returns the number of entities reindexed per second.
+	 */
+	public double getThroughput() {
+		long elapsedTime = getElapsedTime();
+
+		if (elapsedTime <= 0) {
+			return 0;
+		}
+
+		return (double)_entityCount.get() * Time.SECOND / elapsedTime;
+	}
+
+	@Override
+	public String toString() {
+		StringBundler sb = new StringBundler(11);
+
+		sb.append("Reindexed ");
+		sb.append(_entityCount.get());
+		sb.append(" entities into ");
+		sb.append(_documentCount.get());
+		sb.append(" documents with ");
+		sb.append(_name);
+		sb.append(" in ");
+		sb.append(getElapsedTime() / Time.SECOND);
+		sb.append(" seconds at ");
+		sb.append(Math.round(getThroughput()));
+		sb.append(" entities per second");
+
+		return sb.toString();
+	}
+
+	private static final long _LOG_INTERVAL = Time.MINUTE;
+
+	private static Log _log = LogFactoryUtil.getLog(ReindexProgress.class);
+
+	private final AtomicLong _documentCount = new AtomicLong();
+	private final AtomicLong _entityCount = new AtomicLong();
+	private final AtomicLong _lastLogTime;
+	private final String _name;
+	private final long _startTime;
+
+}
\ No newline at end of file
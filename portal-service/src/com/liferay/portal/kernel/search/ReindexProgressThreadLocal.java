@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.search;
+
+import com.liferay.portal.kernel.util.AutoResetThreadLocal;
+
+/**
+ * Holds the progress of the full reindex running on the current thread. An
+ * actionable dynamic query that finds a progress reports into it and, if the
+ * reindexing indexer enabled parallel execution, splits its work across
+ * threads. Parallel execution is disabled on those threads, so nested queries
+ * stay serial.
+ *
+ * @author Michael C. Han
+ */
+public class ReindexProgressThreadLocal {
+
+	public static ReindexProgress getReindexProgress() {
+		return _reindexProgress.get();
+	}
+
+	public static boolean isParallelEnabled() {
+		return _parallelEnabled.get();
+	}
+
+	public static void setParallelEnabled(boolean parallelEnabled) {
+		_parallelEnabled.set(parallelEnabled);
+	}
+
+	public static void setReindexProgress(ReindexProgress reindexProgress) {
+		_reindexProgress.set(reindexProgress);
+	}
+
+	private static ThreadLocal<Boolean> _parallelEnabled =
+		new AutoResetThreadLocal<Boolean>(
+			ReindexProgressThreadLocal.class + "._parallelEnabled", false);
+	private static ThreadLocal<ReindexProgress> _reindexProgress =
+		new AutoResetThreadLocal<ReindexProgress>(
+			ReindexProgressThreadLocal.class + "._reindexProgress");
+
+}
\ No newline at end of file
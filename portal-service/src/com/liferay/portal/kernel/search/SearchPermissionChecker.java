@@ -14,6 +14,8 @@
 
 package com.liferay.portal.kernel.search;
 
+import com.liferay.portal.security.permission.PermissionChecker;
+
 /**
  * @author Allen Chiang
  * @author Bruno Farache
@@ -27,6 +29,10 @@ public interface SearchPermissionChecker {
 		long companyId, long[] groupIds, long userId, String className,
 		Query query, SearchContext searchContext);
 
+	public void preloadPermissions(
+		PermissionChecker permissionChecker, Document[] documents,
+		String actionId);
+
 	public void updatePermissionFields(String name, String primKey);
 
 }
\ No newline at end of file
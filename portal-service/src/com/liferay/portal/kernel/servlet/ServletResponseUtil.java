@@ -14,6 +14,7 @@
 
 package com.liferay.portal.kernel.servlet;
 
+import com.liferay.portal.kernel.io.SendableFileInputStream;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.nio.charset.CharsetEncoderUtil;
@@ -33,24 +34,34 @@ import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import java.lang.reflect.Method;
+
 import java.net.SocketException;
 
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
+import javax.servlet.ServletResponse;
+import javax.servlet.ServletResponseWrapper;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -193,7 +204,7 @@ public class ServletResponseUtil {
 		setHeaders(
 			request, response, fileName, contentType, contentDispositionType);
 
-		write(response, inputStream, contentLength);
+		write(request, response, inputStream, contentLength);
 	}
 
 	public static void sendFile(
@@ -264,17 +275,55 @@ public class ServletResponseUtil {
 		sendFile(null, response, fileName, inputStream, contentType);
 	}
 
+	public static void write(
+			HttpServletRequest request, HttpServletResponse response,
+			InputStream inputStream, long contentLength)
+		throws IOException {
+
+		if (response.isCommitted()) {
+			StreamUtil.cleanUp(inputStream);
+
+			return;
+		}
+
+		if (contentLength > 0) {
+			response.setContentLength((int)contentLength);
+		}
+
+		if ((contentLength <= 0) || !(inputStream instanceof FileInputStream)) {
+			response.flushBuffer();
+
+			StreamUtil.transfer(inputStream, response.getOutputStream());
+
+			return;
+		}
+
+		try {
+			if (sendFileWithContainer(
+					request, response, inputStream, 0, contentLength)) {
+
+				return;
+			}
+
+			response.flushBuffer();
+
+			copyRange(
+				inputStream, response.getOutputStream(), 0, contentLength);
+		}
+		finally {
+			StreamUtil.cleanUp(inputStream);
+		}
+	}
+
 	public static void write(
 			HttpServletRequest request, HttpServletResponse response,
 			String fileName, List<Range> ranges, InputStream inputStream,
 			long fullLength, String contentType)
 		throws IOException {
 
-		OutputStream outputStream = null;
+		RandomAccessInputStream randomAccessInputStream = null;
 
 		try {
-			outputStream = response.getOutputStream();
-
 			Range fullRange = new Range(0, fullLength - 1, fullLength);
 
 			Range firstRange = null;
@@ -293,9 +342,16 @@ public class ServletResponseUtil {
 				setHeaders(
 					request, response, fileName, contentType, null, fullRange);
 
+				if (sendFileWithContainer(
+						request, response, inputStream, fullRange.getStart(),
+						fullRange.getLength())) {
+
+					return;
+				}
+
 				copyRange(
-					inputStream, outputStream, fullRange.getStart(),
-					fullRange.getLength());
+					inputStream, response.getOutputStream(),
+					fullRange.getStart(), fullRange.getLength());
 			}
 			else if (ranges.size() == 1) {
 				if (_log.isDebugEnabled()) {
@@ -311,8 +367,15 @@ public class ServletResponseUtil {
 
 				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
+				if (sendFileWithContainer(
+						request, response, inputStream, range.getStart(),
+						range.getLength())) {
+
+					return;
+				}
+
 				copyRange(
-					inputStream, outputStream, range.getStart(),
+					inputStream, response.getOutputStream(), range.getStart(),
 					range.getLength());
 			}
 			else if (ranges.size() > 1 ) {
@@ -321,7 +384,7 @@ public class ServletResponseUtil {
 				}
 
 				ServletOutputStream servletOutputStream =
-					(ServletOutputStream)outputStream;
+					response.getOutputStream();
 
 				String boundary =
 					"liferay-multipart-boundary-" + System.currentTimeMillis();
@@ -336,6 +399,21 @@ public class ServletResponseUtil {
 
 				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
+				// Ranges are streamed as they are read. Only a stream that can
+				// neither seek nor be read in the order of the ranges is
+				// cached in a temporary file.
+
+				InputStream rangesInputStream = inputStream;
+
+				if (!isSeekable(inputStream) && !isSequential(ranges)) {
+					randomAccessInputStream = new RandomAccessInputStream(
+						inputStream);
+
+					rangesInputStream = randomAccessInputStream;
+				}
+
+				long position = 0;
+
 				for (int i = 0; i < ranges.size(); i++) {
 					Range range = ranges.get(i);
 
@@ -349,9 +427,20 @@ public class ServletResponseUtil {
 							range.getContentRange());
 					servletOutputStream.println();
 
-					copyRange(
-						inputStream, outputStream, range.getStart(),
-						range.getLength());
+					if (isSeekable(rangesInputStream)) {
+						copyRange(
+							rangesInputStream, servletOutputStream,
+							range.getStart(), range.getLength());
+					}
+					else {
+						skip(rangesInputStream, range.getStart() - position);
+
+						StreamUtil.transfer(
+							rangesInputStream, servletOutputStream,
+							StreamUtil.BUFFER_SIZE, false, range.getLength());
+
+						position = range.getEnd() + 1;
+					}
 				}
 
 				servletOutputStream.println();
@@ -360,6 +449,10 @@ public class ServletResponseUtil {
 			}
 		}
 		finally {
+			if (randomAccessInputStream != null) {
+				randomAccessInputStream.close();
+			}
+
 			try {
 				inputStream.close();
 			}
@@ -537,9 +630,8 @@ public class ServletResponseUtil {
 
 				response.flushBuffer();
 
-				fileChannel.transferTo(
-					0, contentLength,
-					Channels.newChannel(response.getOutputStream()));
+				transferFileChannel(
+					fileChannel, response.getOutputStream(), 0, contentLength);
 			}
 		}
 	}
@@ -556,19 +648,7 @@ public class ServletResponseUtil {
 			long contentLength)
 		throws IOException {
 
-		if (response.isCommitted()) {
-			StreamUtil.cleanUp(inputStream);
-
-			return;
-		}
-
-		if (contentLength > 0) {
-			response.setContentLength((int)contentLength);
-		}
-
-		response.flushBuffer();
-
-		StreamUtil.transfer(inputStream, response.getOutputStream());
+		write(null, response, inputStream, contentLength);
 	}
 
 	public static void write(HttpServletResponse response, String s)
@@ -596,27 +676,161 @@ public class ServletResponseUtil {
 		if (inputStream instanceof FileInputStream) {
 			FileInputStream fileInputStream = (FileInputStream)inputStream;
 
-			FileChannel fileChannel = fileInputStream.getChannel();
+			transferFileChannel(
+				fileInputStream.getChannel(), outputStream, start, length);
 
-			fileChannel.transferTo(
-				start, length, Channels.newChannel(outputStream));
+			return;
 		}
-		else if (inputStream instanceof ByteArrayInputStream) {
+
+		if (inputStream instanceof ByteArrayInputStream) {
 			ByteArrayInputStream byteArrayInputStream =
 				(ByteArrayInputStream)inputStream;
 
-			byteArrayInputStream.skip(start);
+			byteArrayInputStream.reset();
 
-			StreamUtil.transfer(byteArrayInputStream, outputStream, length);
+			skip(byteArrayInputStream, start);
 		}
-		else {
+		else if (inputStream instanceof RandomAccessInputStream) {
 			RandomAccessInputStream randomAccessInputStream =
-				new RandomAccessInputStream(inputStream);
+				(RandomAccessInputStream)inputStream;
 
 			randomAccessInputStream.seek(start);
+		}
+		else {
+			skip(inputStream, start);
+		}
+
+		StreamUtil.transfer(
+			inputStream, outputStream, StreamUtil.BUFFER_SIZE, false, length);
+	}
+
+	protected static boolean isSeekable(InputStream inputStream) {
+		if ((inputStream instanceof ByteArrayInputStream) ||
+			(inputStream instanceof FileInputStream) ||
+			(inputStream instanceof RandomAccessInputStream)) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	protected static boolean isSequential(List<Range> ranges) {
+		long position = 0;
+
+		for (Range range : ranges) {
+			if (range.getStart() < position) {
+				return false;
+			}
 
-			StreamUtil.transfer(randomAccessInputStream, outputStream, length);
+			position = range.getEnd() + 1;
 		}
+
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> if none of the wrappers of the response
+	 * intercepts its content, so that the content can be sent by the servlet
+	 * container without going through them.
+	 */
+	protected static boolean isTransparent(ServletResponse servletResponse) {
+		while (servletResponse instanceof ServletResponseWrapper) {
+			Class<?> clazz = servletResponse.getClass();
+
+			Boolean transparent = _transparentClasses.get(clazz);
+
+			if (transparent == null) {
+				transparent = Boolean.TRUE;
+
+				for (String methodName : _CONTENT_METHOD_NAMES) {
+					try {
+						Method method = clazz.getMethod(methodName);
+
+						Class<?> declaringClass = method.getDeclaringClass();
+
+						if ((declaringClass !=
+								MetaInfoCacheServletResponse.class) &&
+							(declaringClass != ServletResponseWrapper.class)) {
+
+							transparent = Boolean.FALSE;
+
+							break;
+						}
+					}
+					catch (NoSuchMethodException nsme) {
+						transparent = Boolean.FALSE;
+
+						break;
+					}
+				}
+
+				_transparentClasses.put(clazz, transparent);
+			}
+
+			if (!transparent) {
+				return false;
+			}
+
+			ServletResponseWrapper servletResponseWrapper =
+				(ServletResponseWrapper)servletResponse;
+
+			servletResponse = servletResponseWrapper.getResponse();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Lets the servlet container send the range of the file with its sendfile
+	 * support, so that the content is never copied into the JVM. Returns
+	 * <code>false</code> if the servlet container does not support it, if the
+	 * content must go through a response wrapper, or if the stream is not a
+	 * {@link SendableFileInputStream}.
+	 */
+	protected static boolean sendFileWithContainer(
+			HttpServletRequest request, HttpServletResponse response,
+			InputStream inputStream, long start, long length)
+		throws IOException {
+
+		if ((request == null) ||
+			!(inputStream instanceof SendableFileInputStream) ||
+			response.isCommitted()) {
+
+			return false;
+		}
+
+		ServletRequest servletRequest = request;
+
+		while (servletRequest instanceof ServletRequestWrapper) {
+			ServletRequestWrapper servletRequestWrapper =
+				(ServletRequestWrapper)servletRequest;
+
+			servletRequest = servletRequestWrapper.getRequest();
+		}
+
+		if (!Boolean.TRUE.equals(
+				servletRequest.getAttribute(_SENDFILE_SUPPORT)) ||
+			!isTransparent(response)) {
+
+			return false;
+		}
+
+		SendableFileInputStream sendableFileInputStream =
+			(SendableFileInputStream)inputStream;
+
+		File file = sendableFileInputStream.getFile();
+
+		if (_log.isDebugEnabled()) {
+			_log.debug("Sending " + file + " with the servlet container");
+		}
+
+		servletRequest.setAttribute(
+			_SENDFILE_FILENAME, file.getCanonicalPath());
+		servletRequest.setAttribute(_SENDFILE_START, start);
+		servletRequest.setAttribute(_SENDFILE_END, start + length);
+
+		return true;
 	}
 
 	protected static void setHeaders(
@@ -733,15 +947,88 @@ public class ServletResponseUtil {
 		}
 	}
 
+	protected static void skip(InputStream inputStream, long length)
+		throws IOException {
+
+		while (length > 0) {
+			long skipped = inputStream.skip(length);
+
+			if (skipped <= 0) {
+				if (inputStream.read() == -1) {
+					throw new EOFException();
+				}
+
+				skipped = 1;
+			}
+
+			length -= skipped;
+		}
+	}
+
+	/**
+	 * Transfers the bytes of the file channel in the range to the output
+	 * stream. The output stream is wrapped in a channel, so the file channel
+	 * still copies the bytes through a heap buffer. Only {@link
+	 * #sendFileWithContainer(HttpServletRequest, HttpServletResponse,
+	 * InputStream, long, long)} lets the bytes skip the heap.
+	 *
+	 * @throws EOFException if the file ends before the range does. The content
+	 *         length of the response has already been set by then, so the
+	 *         response is truncated.
+	 */
+	protected static void transferFileChannel(
+			FileChannel fileChannel, OutputStream outputStream, long start,
+			long length)
+		throws IOException {
+
+		WritableByteChannel writableByteChannel = Channels.newChannel(
+			outputStream);
+
+		long end = start + length;
+
+		while (start < end) {
+
+			// A transfer may stop short of the requested length
+
+			long count = fileChannel.transferTo(
+				start, end - start, writableByteChannel);
+
+			if (count <= 0) {
+				throw new EOFException(
+					"Unable to transfer bytes " + start + " to " + end);
+			}
+
+			start += count;
+		}
+	}
+
 	private static final String _CLIENT_ABORT_EXCEPTION =
 		"org.apache.catalina.connector.ClientAbortException";
 
+	private static final String[] _CONTENT_METHOD_NAMES =
+		{"getOutputStream", "getWriter"};
+
 	private static final int _MAX_RANGE_FIELDS = GetterUtil.getInteger(
 		PropsUtil.get(PropsKeys.WEB_SERVER_SERVLET_MAX_RANGE_FIELDS));
 
 	private static final String _RANGE_REGEX =
 		"^bytes=\\d*-\\d*(,\\s?\\d*-\\d*)*$";
 
+	private static final String _SENDFILE_END =
+		"org.apache.tomcat.sendfile.end";
+
+	private static final String _SENDFILE_FILENAME =
+		"org.apache.tomcat.sendfile.filename";
+
+	private static final String _SENDFILE_START =
+		"org.apache.tomcat.sendfile.start";
+
+	private static final String _SENDFILE_SUPPORT =
+		"org.apache.tomcat.sendfile.support";
+
 	private static Log _log = LogFactoryUtil.getLog(ServletResponseUtil.class);
 
+	private static final Map<Class<?>, Boolean> _transparentClasses =
+		new ConcurrentHashMap<Class<?>, Boolean>();
+
 }
\ No newline at end of file
@@ -547,6 +547,8 @@ public interface PropsKeys {
 
 	public static final String COUNTER_INCREMENT_PREFIX = "counter.increment.";
 
+	public static final String COUNTER_PREFETCH_ENABLED = "counter.prefetch.enabled";
+
 	public static final String CUSTOM_SQL_AUTO_ESCAPE_WILDCARDS_ENABLED = "custom.sql.auto.escape.wildcards.enabled";
 
 	public static final String CUSTOM_SQL_FUNCTION_ISNOTNULL = "custom.sql.function.isnotnull";
@@ -899,14 +901,44 @@ public interface PropsKeys {
 
 	public static final String EHCACHE_CACHE_MANAGER_STATISTICS_THREAD_POOL_SIZE = "ehcache.cache.manager.statistics.thread.pool.size";
 
+	public static final String EHCACHE_CLUSTER_LINK_BATCH_INTERVAL = "ehcache.cluster.link.batch.interval";
+
+	public static final String EHCACHE_CLUSTER_LINK_BATCH_REMOVE_ALL_THRESHOLD = "ehcache.cluster.link.batch.remove.all.threshold";
+
+	public static final String EHCACHE_CLUSTER_LINK_BATCH_SIZE = "ehcache.cluster.link.batch.size";
+
 	public static final String EHCACHE_CLUSTER_LINK_REPLICATION_ENABLED = "ehcache.cluster.link.replication.enabled";
 
 	public static final String EHCACHE_MULTI_VM_CONFIG_LOCATION = "ehcache.multi.vm.config.location";
 
+	public static final String EHCACHE_OFF_HEAP_CACHE_MAX_SIZE = "ehcache.off.heap.cache.max.size";
+
+	public static final String EHCACHE_OFF_HEAP_CACHE_NAMES = "ehcache.off.heap.cache.names";
+
+	public static final String EHCACHE_OFF_HEAP_CACHE_SEGMENTS = "ehcache.off.heap.cache.segments";
+
 	public static final String EHCACHE_PORTAL_CACHE_MANAGER_JMX_ENABLED = "ehcache.portal.cache.manager.jmx.enabled";
 
+	public static final String EHCACHE_PORTAL_CACHE_STATISTICS_ENABLED = "ehcache.portal.cache.statistics.enabled";
+
+	public static final String EHCACHE_PORTAL_CACHE_STATISTICS_SAMPLE_RATE = "ehcache.portal.cache.statistics.sample.rate";
+
 	public static final String EHCACHE_SINGLE_VM_CONFIG_LOCATION = "ehcache.single.vm.config.location";
 
+	public static final String EHCACHE_SNAPSHOT_DIR = "ehcache.snapshot.dir";
+
+	public static final String EHCACHE_SNAPSHOT_ENABLED = "ehcache.snapshot.enabled";
+
+	public static final String EHCACHE_SNAPSHOT_INTERVAL = "ehcache.snapshot.interval";
+
+	public static final String EHCACHE_SNAPSHOT_LOAD_BATCH_SIZE = "ehcache.snapshot.load.batch.size";
+
+	public static final String EHCACHE_SNAPSHOT_LOAD_THREAD_POOL_SIZE = "ehcache.snapshot.load.thread.pool.size";
+
+	public static final String EHCACHE_SNAPSHOT_LOAD_TIMEOUT = "ehcache.snapshot.load.timeout";
+
+	public static final String EHCACHE_SNAPSHOT_MAX_KEYS = "ehcache.snapshot.max.keys";
+
 	public static final String EHCACHE_SOCKET_SO_TIMEOUT = "ehcache.socket.so.timeout";
 
 	public static final String EHCACHE_SOCKET_START_PORT = "ehcache.socket.start.port";
@@ -1057,8 +1089,14 @@ public interface PropsKeys {
 
 	public static final String INDEX_PERMISSION_FILTER_SEARCH_AMPLIFICATION_FACTOR = "index.permission.filter.search.amplification.factor";
 
+	public static final String INDEX_PERMISSION_FILTER_SEARCH_QUERY_ENABLED = "index.permission.filter.search.query.enabled";
+
 	public static final String INDEX_READ_ONLY = "index.read.only";
 
+	public static final String INDEX_REINDEX_THREAD_POOL_SIZE = "index.reindex.thread.pool.size";
+
+	public static final String INDEX_REINDEX_WRITER_THREAD_POOL_SIZE = "index.reindex.writer.thread.pool.size";
+
 	public static final String INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_ENABLED = "index.search.collated.spell.check.result.enabled";
 
 	public static final String INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_SCORES_THRESHOLD = "index.search.collated.spell.check.result.scores.threshold";
@@ -1351,6 +1389,10 @@ public interface PropsKeys {
 
 	public static final String LAYOUT_PARALLEL_RENDER_ENABLE = "layout.parallel.render.enable";
 
+	public static final String LAYOUT_PARALLEL_RENDER_STREAMING_ENABLE = "layout.parallel.render.streaming.enable";
+
+	public static final String LAYOUT_PARALLEL_RENDER_STREAMING_TIMEOUT = "layout.parallel.render.streaming.timeout";
+
 	public static final String LAYOUT_PARALLEL_RENDER_THREAD_POOL_ALLOW_CORE_THREAD_TIMEOUT = "layout.parallel.render.thread.pool.allow.core.thread.timeout";
 
 	public static final String LAYOUT_PARALLEL_RENDER_THREAD_POOL_CORE_THREAD_COUNT = "layout.parallel.render.thread.pool.core.thread.count";
@@ -1579,6 +1621,8 @@ public interface PropsKeys {
 
 	public static final String LUCENE_BUFFER_SIZE = "lucene.buffer.size";
 
+	public static final String LUCENE_CLUSTER_INDEX_LOADING_INCREMENTAL_ENABLED = "lucene.cluster.index.loading.incremental.enabled";
+
 	public static final String LUCENE_CLUSTER_INDEX_LOADING_SYNC_TIMEOUT = "lucene.cluster.index.loading.sync.timeout";
 
 	public static final String LUCENE_COMMIT_BATCH_SIZE = "lucene.commit.batch.size";
@@ -1591,12 +1635,22 @@ public interface PropsKeys {
 
 	public static final String LUCENE_FILE_EXTRACTOR_REGEXP_STRIP = "lucene.file.extractor.regexp.strip";
 
+	public static final String LUCENE_FILTER_CACHE_FIELD_NAMES = "lucene.filter.cache.field.names";
+
+	public static final String LUCENE_FILTER_CACHE_MEMORY_SIZE = "lucene.filter.cache.memory.size";
+
+	public static final String LUCENE_FILTER_CACHE_SIZE = "lucene.filter.cache.size";
+
 	public static final String LUCENE_MERGE_FACTOR = "lucene.merge.factor";
 
 	public static final String LUCENE_MERGE_POLICY = "lucene.merge.policy";
 
 	public static final String LUCENE_MERGE_SCHEDULER = "lucene.merge.scheduler";
 
+	public static final String LUCENE_NRT_COMMIT_INTERVAL = "lucene.nrt.commit.interval";
+
+	public static final String LUCENE_NRT_MAX_STALENESS = "lucene.nrt.max.staleness";
+
 	public static final String LUCENE_REPLICATE_WRITE = "lucene.replicate.write";
 
 	public static final String LUCENE_STORE_TYPE = "lucene.store.type";
@@ -1743,6 +1797,8 @@ public interface PropsKeys {
 
 	public static final String MESSAGE_BOARDS_USER_RANKS = "message.boards.user.ranks";
 
+	public static final String MESSAGE_BUS_OVERFLOW_DIR = "message.bus.overflow.dir";
+
 	public static final String MICROSOFT_TRANSLATOR_CLIENT_ID = "microsoft.translator.client.id";
 
 	public static final String MICROSOFT_TRANSLATOR_CLIENT_SECRET = "microsoft.translator.client.secret";
@@ -1751,6 +1807,8 @@ public interface PropsKeys {
 
 	public static final String MIME_TYPES_WEB_IMAGES = "mime.types.web.images";
 
+	public static final String MINIFIER_CONTENT_ENCODERS = "minifier.content.encoders";
+
 	public static final String MINIFIER_ENABLED = "minifier.enabled";
 
 	public static final String MINIFIER_INLINE_CONTENT_CACHE_SIZE = "minifier.inline.content.cache.size";
@@ -2697,6 +2755,8 @@ public interface PropsKeys {
 
 	public static final String VALUE_OBJECT_FINDER_CACHE_ENABLED = "value.object.finder.cache.enabled";
 
+	public static final String VALUE_OBJECT_FINDER_CACHE_STATISTICS_ENABLED = "value.object.finder.cache.statistics.enabled";
+
 	public static final String VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE = "value.object.finder.thread.local.cache.max.size";
 
 	public static final String VALUE_OBJECT_LISTENER = "value.object.listener.";
@@ -135,6 +135,8 @@ public interface WebKeys {
 
 	public static final String PORTLET_ID = "PORTLET_ID";
 
+	public static final String PORTLET_OUTPUT_CACHE_DISABLED = "LIFERAY_SHARED_PORTLET_OUTPUT_CACHE_DISABLED";
+
 	public static final String PORTLET_PREFERENCES_MAP = "PORTLET_PREFERENCES_MAP";
 
 	public static final String PORTLET_QUICK_ACCESS_ENTRIES = "LIFERAY_SHARED_PORTLET_QUICK_ACCESS_ENTRIES";
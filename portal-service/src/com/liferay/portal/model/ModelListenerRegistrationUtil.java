@@ -17,6 +17,7 @@ package com.liferay.portal.model;
 import com.liferay.portal.kernel.bean.ClassLoaderBeanHandler;
 import com.liferay.portal.kernel.util.ProxyUtil;
 import com.liferay.portal.kernel.util.ReflectionUtil;
+import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.registry.Filter;
 import com.liferay.registry.Registry;
 import com.liferay.registry.RegistryUtil;
@@ -28,6 +29,7 @@ import com.liferay.registry.ServiceTrackerCustomizer;
 import java.lang.reflect.InvocationHandler;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -42,8 +44,33 @@ public class ModelListenerRegistrationUtil {
 		return _instance._getModelListeners(clazz);
 	}
 
+	/**
+	 * Registers the model listener for the model class. Unlike {@link
+	 * #register(ModelListener)}, the model class does not have to be the
+	 * generic type of the model listener's class, so one model listener class
+	 * can be registered for several model classes.
+	 */
+	public static void register(
+		Class<?> clazz, ModelListener<?> modelListener) {
+
+		Map<String, Object> properties = new HashMap<String, Object>();
+
+		properties.put("model.class", clazz);
+
+		_instance._register(
+			_instance._getKey(clazz, modelListener), modelListener, properties);
+	}
+
 	public static void register(ModelListener<?> modelListener) {
-		_instance._register(modelListener.getClass().getName(), modelListener);
+		_instance._register(
+			modelListener.getClass().getName(), modelListener,
+			new HashMap<String, Object>());
+	}
+
+	public static void unregister(
+		Class<?> clazz, ModelListener<?> modelListener) {
+
+		_instance._unregister(_instance._getKey(clazz, modelListener));
 	}
 
 	public static void unregister(ModelListener<?> modelListener) {
@@ -62,6 +89,13 @@ public class ModelListenerRegistrationUtil {
 		_serviceTracker.open();
 	}
 
+	private String _getKey(Class<?> clazz, ModelListener<?> modelListener) {
+		Class<?> modelListenerClass = modelListener.getClass();
+
+		return modelListenerClass.getName() + StringPool.POUND +
+			clazz.getName();
+	}
+
 	private <T> ModelListener<T>[] _getModelListeners(Class<T> clazz) {
 		List<ModelListener<?>> modelListeners = _modelListeners.get(clazz);
 
@@ -79,14 +113,15 @@ public class ModelListenerRegistrationUtil {
 		return modelListeners.toArray(new ModelListener[modelListeners.size()]);
 	}
 
-	private <T> void _register(
-		String className, ModelListener<T> modelListener) {
+	private void _register(
+		String className, ModelListener<?> modelListener,
+		Map<String, Object> properties) {
 
 		Registry registry = RegistryUtil.getRegistry();
 
 		ServiceRegistration<?> serviceRegistration =
 			registry.registerService(
-				ModelListener.class.getName(), modelListener);
+				ModelListener.class.getName(), modelListener, properties);
 
 		_serviceRegistrations.put(className, serviceRegistration);
 	}
@@ -122,7 +157,8 @@ public class ModelListenerRegistrationUtil {
 			ModelListener<?> modelListener = registry.getService(
 				serviceReference);
 
-			Class<?> clazz = _getModelListeners(modelListener);
+			Class<?> clazz = _getModelListeners(
+				serviceReference, modelListener);
 
 			if (clazz == null) {
 				return null;
@@ -161,7 +197,8 @@ public class ModelListenerRegistrationUtil {
 
 			registry.ungetService(serviceReference);
 
-			Class<?> clazz = _getModelListeners(modelListener);
+			Class<?> clazz = _getModelListeners(
+				serviceReference, modelListener);
 
 			List<ModelListener<?>> modelListeners = _modelListeners.get(clazz);
 
@@ -170,7 +207,16 @@ public class ModelListenerRegistrationUtil {
 			}
 		}
 
-		private Class<?> _getModelListeners(ModelListener<?> modelListener) {
+		private Class<?> _getModelListeners(
+			ServiceReference<ModelListener<?>> serviceReference,
+			ModelListener<?> modelListener) {
+
+			Object modelClass = serviceReference.getProperty("model.class");
+
+			if (modelClass instanceof Class) {
+				return (Class<?>)modelClass;
+			}
+
 			Class<?> clazz = modelListener.getClass();
 
 			if (ProxyUtil.isProxyClass(clazz)) {
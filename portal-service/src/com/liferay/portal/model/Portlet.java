@@ -511,6 +511,22 @@ public interface Portlet extends PortletModel, PersistedModel {
 	*/
 	public com.liferay.portal.kernel.search.OpenSearch getOpenSearchInstance();
 
+	/**
+	* Returns the names of the model classes whose changes remove the cached
+	* output of the portlet.
+	*
+	* @return the names of the model classes whose changes remove the cached
+	output of the portlet
+	*/
+	public java.util.List<java.lang.String> getOutputCacheModelClasses();
+
+	/**
+	* Returns the number of seconds the output of the portlet is cached.
+	*
+	* @return the number of seconds the output of the portlet is cached
+	*/
+	public int getOutputCacheTime();
+
 	/**
 	* Returns the parent struts path of the portlet.
 	*
@@ -1847,6 +1863,24 @@ public interface Portlet extends PortletModel, PersistedModel {
 	*/
 	public void setOpenSearchClass(java.lang.String openSearchClass);
 
+	/**
+	* Sets the names of the model classes whose changes remove the cached
+	* output of the portlet.
+	*
+	* @param outputCacheModelClasses the names of the model classes whose
+	changes remove the cached output of the portlet
+	*/
+	public void setOutputCacheModelClasses(
+		java.util.List<java.lang.String> outputCacheModelClasses);
+
+	/**
+	* Sets the number of seconds the output of the portlet is cached.
+	*
+	* @param outputCacheTime the number of seconds the output of the portlet
+	is cached
+	*/
+	public void setOutputCacheTime(int outputCacheTime);
+
 	/**
 	* Sets the parent struts path of the portlet.
 	*
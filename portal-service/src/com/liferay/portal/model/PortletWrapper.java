@@ -776,6 +776,28 @@ public class PortletWrapper implements Portlet, ModelWrapper<Portlet> {
 		return _portlet.getOpenSearchInstance();
 	}
 
+	/**
+	* Returns the names of the model classes whose changes remove the cached
+	* output of the portlet.
+	*
+	* @return the names of the model classes whose changes remove the cached
+	output of the portlet
+	*/
+	@Override
+	public java.util.List<java.lang.String> getOutputCacheModelClasses() {
+		return _portlet.getOutputCacheModelClasses();
+	}
+
+	/**
+	* Returns the number of seconds the output of the portlet is cached.
+	*
+	* @return the number of seconds the output of the portlet is cached
+	*/
+	@Override
+	public int getOutputCacheTime() {
+		return _portlet.getOutputCacheTime();
+	}
+
 	/**
 	* Returns the parent struts path of the portlet.
 	*
@@ -2757,6 +2779,30 @@ public class PortletWrapper implements Portlet, ModelWrapper<Portlet> {
 		_portlet.setOpenSearchClass(openSearchClass);
 	}
 
+	/**
+	* Sets the names of the model classes whose changes remove the cached
+	* output of the portlet.
+	*
+	* @param outputCacheModelClasses the names of the model classes whose
+	changes remove the cached output of the portlet
+	*/
+	@Override
+	public void setOutputCacheModelClasses(
+		java.util.List<java.lang.String> outputCacheModelClasses) {
+		_portlet.setOutputCacheModelClasses(outputCacheModelClasses);
+	}
+
+	/**
+	* Sets the number of seconds the output of the portlet is cached.
+	*
+	* @param outputCacheTime the number of seconds the output of the portlet
+	is cached
+	*/
+	@Override
+	public void setOutputCacheTime(int outputCacheTime) {
+		_portlet.setOutputCacheTime(outputCacheTime);
+	}
+
 	/**
 	* Sets the parent struts path of the portlet.
 	*
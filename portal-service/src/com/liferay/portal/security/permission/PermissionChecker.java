@@ -141,6 +141,22 @@ public interface PermissionChecker extends Cloneable {
 	public boolean hasPermission(
 		long groupId, String name, String primKey, String actionId);
 
+	/**
+	 * Returns whether the user has permission to perform the action on each of
+	 * the resources. This is equivalent to calling {@link #hasPermission(long,
+	 * String, long, String)} for each primary key, but lets implementations
+	 * check all of the resources at once.
+	 *
+	 * @param  groupId the primary key of the group containing the resources
+	 * @param  name the resources' name, which can be either a class name or a
+	 *         portlet ID
+	 * @param  primKeys the primary keys of the resources
+	 * @param  actionId the action ID
+	 * @return the permissions, in the order of the primary keys
+	 */
+	public boolean[] hasPermissions(
+		long groupId, String name, long[] primKeys, String actionId);
+
 	/**
 	 * Returns <code>true</code> if the user has permission to perform the
 	 * action on the resource without using guest permissions.
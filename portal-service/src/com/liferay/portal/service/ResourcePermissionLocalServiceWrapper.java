@@ -584,6 +584,37 @@ public class ResourcePermissionLocalServiceWrapper
 			resourceAction);
 	}
 
+	/**
+	* Returns whether the roles have permission to perform the action on each
+	* of the individual resources. Permissions granted on the broader scope
+	* resources apply to every individual resource, like in {@link
+	* #hasResourcePermission(List, long[], String)}. The individual scope
+	* resource permissions of all the primary keys are fetched with a single
+	* query.
+	*
+	* @param companyId the primary key of the company
+	* @param name the resource's name, which can be either a class name or a
+	portlet ID
+	* @param primKeys the primary keys of the individual resources
+	* @param resources the group, group template, and company scope
+	resources shared by the individual resources
+	* @param roleIds the primary keys of the roles
+	* @param actionId the action ID
+	* @return the permissions, in the order of the primary keys
+	* @throws PortalException if any one of the roles with the primary keys
+	could not be found or if a resource action with the name and
+	action ID could not be found
+	*/
+	@Override
+	public boolean[] hasIndividualResourcePermissions(long companyId,
+		java.lang.String name, java.lang.String[] primKeys,
+		java.util.List<com.liferay.portal.model.Resource> resources,
+		long[] roleIds, java.lang.String actionId)
+		throws com.liferay.portal.kernel.exception.PortalException {
+		return _resourcePermissionLocalService.hasIndividualResourcePermissions(companyId,
+			name, primKeys, resources, roleIds, actionId);
+	}
+
 	/**
 	* Returns <code>true</code> if the role has permission at the scope to
 	* perform the action on resources of the type.
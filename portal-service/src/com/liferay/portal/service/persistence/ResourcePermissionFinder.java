@@ -26,6 +26,10 @@ public interface ResourcePermissionFinder {
 	public int countByC_N_S_P_R_A(long companyId, java.lang.String name,
 		int scope, java.lang.String primKey, long[] roleIds, long actionId);
 
+	public java.util.List<com.liferay.portal.model.ResourcePermission> findByC_N_S_P(
+		long companyId, java.lang.String name, int scope,
+		java.lang.String[] primKeys);
+
 	public java.util.List<com.liferay.portal.model.ResourcePermission> findByResource(
 		long companyId, long groupId, java.lang.String name,
 		java.lang.String primKey);
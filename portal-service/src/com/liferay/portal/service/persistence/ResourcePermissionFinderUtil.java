@@ -35,6 +35,12 @@ public class ResourcePermissionFinderUtil {
 			roleIds, actionId);
 	}
 
+	public static java.util.List<com.liferay.portal.model.ResourcePermission> findByC_N_S_P(
+		long companyId, java.lang.String name, int scope,
+		java.lang.String[] primKeys) {
+		return getFinder().findByC_N_S_P(companyId, name, scope, primKeys);
+	}
+
 	public static java.util.List<com.liferay.portal.model.ResourcePermission> findByResource(
 		long companyId, long groupId, java.lang.String name,
 		java.lang.String primKey) {
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import java.io.Serializable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class BasePortalCacheClusterChannelTest {
+
+	@Test
+	public void testDispatchEvents() {
+		RecordPortalCacheClusterChannel recordPortalCacheClusterChannel =
+			new RecordPortalCacheClusterChannel();
+
+		recordPortalCacheClusterChannel.setBatchSize(10);
+
+		List<PortalCacheClusterEvent> portalCacheClusterEvents =
+			new ArrayList<PortalCacheClusterEvent>();
+
+		portalCacheClusterEvents.add(_createEvent(_CACHE_1, "key1", null));
+		portalCacheClusterEvents.add(_createEvent(_CACHE_2, "key1", null));
+		portalCacheClusterEvents.add(_createEvent(_CACHE_1, "key2", null));
+		portalCacheClusterEvents.add(_createEvent(_CACHE_1, "key3", "value"));
+		portalCacheClusterEvents.add(_createEvent(_CACHE_1, "key4", null));
+		portalCacheClusterEvents.add(_createEvent(_CACHE_1, "key5", null));
+
+		recordPortalCacheClusterChannel.dispatchEvents(
+			portalCacheClusterEvents, System.nanoTime());
+
+		List<Object> dispatchedEvents =
+			recordPortalCacheClusterChannel.getDispatchedEvents();
+
+		Assert.assertEquals(4, dispatchedEvents.size());
+
+		PortalCacheClusterBatchEvent portalCacheClusterBatchEvent =
+			(PortalCacheClusterBatchEvent)dispatchedEvents.get(0);
+
+		Assert.assertEquals(
+			_CACHE_1, portalCacheClusterBatchEvent.getPortalCacheName());
+		Assert.assertEquals(
+			Arrays.<Serializable>asList("key1", "key2"),
+			Arrays.asList(portalCacheClusterBatchEvent.getElementKeys()));
+
+		PortalCacheClusterEvent portalCacheClusterEvent =
+			(PortalCacheClusterEvent)dispatchedEvents.get(1);
+
+		Assert.assertEquals("key3", portalCacheClusterEvent.getElementKey());
+		Assert.assertEquals("value", portalCacheClusterEvent.getElementValue());
+
+		portalCacheClusterBatchEvent =
+			(PortalCacheClusterBatchEvent)dispatchedEvents.get(2);
+
+		Assert.assertEquals(
+			Arrays.<Serializable>asList("key4", "key5"),
+			Arrays.asList(portalCacheClusterBatchEvent.getElementKeys()));
+
+		portalCacheClusterEvent =
+			(PortalCacheClusterEvent)dispatchedEvents.get(3);
+
+		Assert.assertEquals(
+			_CACHE_2, portalCacheClusterEvent.getPortalCacheName());
+		Assert.assertEquals("key1", portalCacheClusterEvent.getElementKey());
+		Assert.assertEquals(
+			PortalCacheClusterEventType.REMOVE,
+			portalCacheClusterEvent.getEventType());
+
+		Assert.assertEquals(
+			6, recordPortalCacheClusterChannel.getSentEventNumber());
+		Assert.assertEquals(
+			1, recordPortalCacheClusterChannel.getSentBatchNumber());
+		Assert.assertEquals(
+			6, recordPortalCacheClusterChannel.getAverageBatchSize(), 0);
+	}
+
+	@Test
+	public void testDispatchEventsWithRemoveAll() {
+		RecordPortalCacheClusterChannel recordPortalCacheClusterChannel =
+			new RecordPortalCacheClusterChannel();
+
+		recordPortalCacheClusterChannel.setBatchSize(10);
+		recordPortalCacheClusterChannel.setRemoveAllThreshold(3);
+
+		List<PortalCacheClusterEvent> portalCacheClusterEvents =
+			new ArrayList<PortalCacheClusterEvent>();
+
+		portalCacheClusterEvents.add(_createEvent(_CACHE_1, "key1", null));
+		portalCacheClusterEvents.add(_createEvent(_CACHE_1, "key2", null));
+		portalCacheClusterEvents.add(_createEvent(_CACHE_1, "key3", null));
+		portalCacheClusterEvents.add(_createEvent(_CACHE_2, "key1", null));
+		portalCacheClusterEvents.add(
+			new PortalCacheClusterEvent(
+				_CACHE_MANAGER, _CACHE_2, null,
+				PortalCacheClusterEventType.REMOVE_ALL));
+
+		recordPortalCacheClusterChannel.dispatchEvents(
+			portalCacheClusterEvents, System.nanoTime());
+
+		List<Object> dispatchedEvents =
+			recordPortalCacheClusterChannel.getDispatchedEvents();
+
+		Assert.assertEquals(2, dispatchedEvents.size());
+
+		for (Object dispatchedEvent : dispatchedEvents) {
+			PortalCacheClusterEvent portalCacheClusterEvent =
+				(PortalCacheClusterEvent)dispatchedEvent;
+
+			Assert.assertEquals(
+				PortalCacheClusterEventType.REMOVE_ALL,
+				portalCacheClusterEvent.getEventType());
+		}
+	}
+
+	private PortalCacheClusterEvent _createEvent(
+		String portalCacheName, String key, String value) {
+
+		PortalCacheClusterEvent portalCacheClusterEvent =
+			new PortalCacheClusterEvent(
+				_CACHE_MANAGER, portalCacheName, key,
+				PortalCacheClusterEventType.PUT);
+
+		portalCacheClusterEvent.setElementValue(value);
+
+		return portalCacheClusterEvent;
+	}
+
+	private static final String _CACHE_1 = "cache1";
+
+	private static final String _CACHE_2 = "cache2";
+
+	private static final String _CACHE_MANAGER = "cacheManager";
+
+	private static class RecordPortalCacheClusterChannel
+		extends BasePortalCacheClusterChannel {
+
+		@Override
+		public void dispatchBatchEvent(
+			PortalCacheClusterBatchEvent portalCacheClusterBatchEvent) {
+
+			_dispatchedEvents.add(portalCacheClusterBatchEvent);
+		}
+
+		@Override
+		public void dispatchEvent(
+			PortalCacheClusterEvent portalCacheClusterEvent) {
+
+			_dispatchedEvents.add(portalCacheClusterEvent);
+		}
+
+		public List<Object> getDispatchedEvents() {
+			return _dispatchedEvents;
+		}
+
+		private final List<Object> _dispatchedEvents = new ArrayList<Object>();
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import com.liferay.portal.kernel.cache.cluster.jmx.PortalCacheClusterLinkManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class PortalCacheClusterLinkTest {
+
+	@Test
+	public void testRegisterPortalCacheClusterLinkManager() throws Exception {
+		MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+
+		PortalCacheClusterLink portalCacheClusterLink =
+			new PortalCacheClusterLink();
+
+		portalCacheClusterLink.setChannelNumber(2);
+		portalCacheClusterLink.setMBeanServer(mBeanServer);
+
+		final AtomicInteger counter = new AtomicInteger();
+
+		portalCacheClusterLink.setPortalCacheClusterChannelFactory(
+			new PortalCacheClusterChannelFactory() {
+
+				@Override
+				public PortalCacheClusterChannel
+					createPortalCacheClusterChannel() {
+
+					return new MockPortalCacheClusterChannel(
+						counter.incrementAndGet());
+				}
+
+			});
+
+		portalCacheClusterLink.afterPropertiesSet();
+
+		ObjectName objectName =
+			PortalCacheClusterLinkManager.createObjectName();
+
+		Assert.assertTrue(mBeanServer.isRegistered(objectName));
+
+		Assert.assertEquals(
+			2, mBeanServer.getAttribute(objectName, "ChannelNumber"));
+		Assert.assertEquals(
+			3L, mBeanServer.getAttribute(objectName, "SentBatchNumber"));
+		Assert.assertEquals(
+			30L, mBeanServer.getAttribute(objectName, "SentEventNumber"));
+		Assert.assertEquals(
+			3, mBeanServer.getAttribute(objectName, "PendingEventNumber"));
+
+		// (1 * 10 + 2 * 20) / 3
+
+		Assert.assertEquals(
+			50.0 / 3,
+			(Double)mBeanServer.getAttribute(objectName, "AverageBatchSize"),
+			0.0001);
+
+		portalCacheClusterLink.destroy();
+
+		Assert.assertFalse(mBeanServer.isRegistered(objectName));
+	}
+
+	private static class MockPortalCacheClusterChannel
+		implements PortalCacheClusterChannel {
+
+		public MockPortalCacheClusterChannel(int index) {
+			_index = index;
+		}
+
+		@Override
+		public void destroy() {
+		}
+
+		@Override
+		public double getAverageBatchSendTime() {
+			return _index;
+		}
+
+		@Override
+		public double getAverageBatchSize() {
+			return _index * 10;
+		}
+
+		@Override
+		public long getCoalescedEventNumber() {
+			return _index;
+		}
+
+		@Override
+		public int getPendingEventNumber() {
+			return _index;
+		}
+
+		@Override
+		public long getSentBatchNumber() {
+			return _index;
+		}
+
+		@Override
+		public long getSentEventNumber() {
+			return _index * 10;
+		}
+
+		@Override
+		public void sendEvent(
+			PortalCacheClusterEvent portalCacheClusterEvent) {
+		}
+
+		private final int _index;
+
+	}
+
+}
\ No newline at end of file
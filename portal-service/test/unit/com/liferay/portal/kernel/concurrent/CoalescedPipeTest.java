@@ -78,6 +78,25 @@ public class CoalescedPipeTest {
 		Assert.assertTrue((System.currentTimeMillis() - startTime) < 100);
 	}
 
+	@Test
+	public void testPoll() throws InterruptedException {
+		CoalescedPipe<String> coalescedPipe = new CoalescedPipe<String>();
+
+		long startTime = System.currentTimeMillis();
+
+		Assert.assertNull(coalescedPipe.poll(200, TimeUnit.MILLISECONDS));
+		Assert.assertTrue((System.currentTimeMillis() - startTime) >= 150L);
+
+		coalescedPipe.put("test1");
+		coalescedPipe.put("test2");
+
+		Assert.assertEquals("test1", coalescedPipe.poll(0, TimeUnit.SECONDS));
+		Assert.assertEquals(
+			"test2", coalescedPipe.poll(100, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(0, coalescedPipe.pendingCount());
+		Assert.assertNull(coalescedPipe.poll(0, TimeUnit.SECONDS));
+	}
+
 	@Test
 	public void testPut() throws InterruptedException {
 
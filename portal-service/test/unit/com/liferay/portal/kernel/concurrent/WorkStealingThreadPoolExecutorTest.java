@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class WorkStealingThreadPoolExecutorTest {
+
+	@Test
+	public void testDiscardOldestPolicy() throws Exception {
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				1, 1, 60, TimeUnit.SECONDS, false, 1, new DiscardOldestPolicy(),
+				Executors.defaultThreadFactory(),
+				new ThreadPoolHandlerAdapter());
+
+		CountDownLatch blockingCountDownLatch = new CountDownLatch(1);
+
+		workStealingThreadPoolExecutor.execute(
+			new BlockingRunnable(blockingCountDownLatch));
+
+		waitForActiveCount(workStealingThreadPoolExecutor, 1);
+
+		CountingRunnable countingRunnable1 = new CountingRunnable();
+		CountingRunnable countingRunnable2 = new CountingRunnable();
+
+		workStealingThreadPoolExecutor.execute(countingRunnable1);
+		workStealingThreadPoolExecutor.execute(countingRunnable2);
+
+		Assert.assertEquals(
+			1, workStealingThreadPoolExecutor.getPendingTaskCount());
+
+		blockingCountDownLatch.countDown();
+
+		workStealingThreadPoolExecutor.shutdown();
+
+		Assert.assertTrue(
+			workStealingThreadPoolExecutor.awaitTermination(
+				10, TimeUnit.SECONDS));
+
+		Assert.assertEquals(0, countingRunnable1.getCount());
+		Assert.assertEquals(1, countingRunnable2.getCount());
+	}
+
+	@Test
+	public void testExecute() throws Exception {
+		MarkerThreadPoolHandler markerThreadPoolHandler =
+			new MarkerThreadPoolHandler();
+
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				2, 4, 60, TimeUnit.SECONDS, false, Integer.MAX_VALUE,
+				new AbortPolicy(), Executors.defaultThreadFactory(),
+				markerThreadPoolHandler);
+
+		CountingRunnable countingRunnable = new CountingRunnable();
+
+		for (int i = 0; i < 1000; i++) {
+			workStealingThreadPoolExecutor.execute(countingRunnable);
+		}
+
+		workStealingThreadPoolExecutor.shutdown();
+
+		Assert.assertTrue(
+			workStealingThreadPoolExecutor.awaitTermination(
+				10, TimeUnit.SECONDS));
+
+		Assert.assertEquals(1000, countingRunnable.getCount());
+		Assert.assertEquals(
+			1000, workStealingThreadPoolExecutor.getCompletedTaskCount());
+		Assert.assertEquals(0, workStealingThreadPoolExecutor.getPoolSize());
+		Assert.assertTrue(
+			workStealingThreadPoolExecutor.getLargestPoolSize() <= 4);
+		Assert.assertTrue(workStealingThreadPoolExecutor.isTerminated());
+
+		Assert.assertTrue(markerThreadPoolHandler.isAfterExecuteRan());
+		Assert.assertTrue(markerThreadPoolHandler.isBeforeExecuteRan());
+		Assert.assertTrue(markerThreadPoolHandler.isBeforeThreadEndRan());
+		Assert.assertTrue(markerThreadPoolHandler.isBeforeThreadStartRan());
+		Assert.assertTrue(markerThreadPoolHandler.isTerminatedRan());
+
+		RecordRejectedExecutionHandler recordRejectedExecutionHandler =
+			new RecordRejectedExecutionHandler();
+
+		workStealingThreadPoolExecutor.setRejectedExecutionHandler(
+			recordRejectedExecutionHandler);
+
+		workStealingThreadPoolExecutor.execute(countingRunnable);
+
+		List<Runnable> rejectedList =
+			recordRejectedExecutionHandler.getRejectedList();
+
+		Assert.assertEquals(1, rejectedList.size());
+	}
+
+	@Test
+	public void testKeepAliveTime() throws Exception {
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				1, 2, 10, TimeUnit.MILLISECONDS, true, Integer.MAX_VALUE);
+
+		CountingRunnable countingRunnable = new CountingRunnable();
+
+		workStealingThreadPoolExecutor.execute(countingRunnable);
+
+		long timeout = System.currentTimeMillis() + 10000;
+
+		while ((workStealingThreadPoolExecutor.getPoolSize() > 0) &&
+			   (System.currentTimeMillis() < timeout)) {
+
+			Thread.sleep(10);
+		}
+
+		Assert.assertEquals(1, countingRunnable.getCount());
+		Assert.assertEquals(0, workStealingThreadPoolExecutor.getPoolSize());
+
+		workStealingThreadPoolExecutor.shutdown();
+
+		Assert.assertTrue(workStealingThreadPoolExecutor.isTerminated());
+	}
+
+	@Test
+	public void testMaxQueueSize() throws Exception {
+		RecordRejectedExecutionHandler recordRejectedExecutionHandler =
+			new RecordRejectedExecutionHandler();
+
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				1, 1, 60, TimeUnit.SECONDS, false, 2,
+				recordRejectedExecutionHandler,
+				Executors.defaultThreadFactory(),
+				new ThreadPoolHandlerAdapter());
+
+		CountDownLatch blockingCountDownLatch = new CountDownLatch(1);
+
+		workStealingThreadPoolExecutor.execute(
+			new BlockingRunnable(blockingCountDownLatch));
+
+		waitForActiveCount(workStealingThreadPoolExecutor, 1);
+
+		CountingRunnable countingRunnable = new CountingRunnable();
+
+		for (int i = 0; i < 3; i++) {
+			workStealingThreadPoolExecutor.execute(countingRunnable);
+		}
+
+		Assert.assertEquals(
+			0, workStealingThreadPoolExecutor.getRemainingTaskQueueCapacity());
+
+		List<Runnable> rejectedList =
+			recordRejectedExecutionHandler.getRejectedList();
+
+		Assert.assertEquals(1, rejectedList.size());
+
+		List<Runnable> runnables = workStealingThreadPoolExecutor.shutdownNow();
+
+		Assert.assertEquals(2, runnables.size());
+
+		Assert.assertTrue(
+			workStealingThreadPoolExecutor.awaitTermination(
+				10, TimeUnit.SECONDS));
+
+		Assert.assertEquals(0, countingRunnable.getCount());
+	}
+
+	@Test
+	public void testWorkStealing() throws Exception {
+		final WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(2, 2);
+
+		final CountDownLatch countDownLatch = new CountDownLatch(10);
+
+		// The tasks go to the deque of the worker that executes them, so they
+		// only run while that worker waits if another worker steals them
+
+		workStealingThreadPoolExecutor.execute(
+			new Runnable() {
+
+				@Override
+				public void run() {
+					for (int i = 0; i < 10; i++) {
+						workStealingThreadPoolExecutor.execute(
+							new Runnable() {
+
+								@Override
+								public void run() {
+									countDownLatch.countDown();
+								}
+
+							});
+					}
+
+					try {
+						countDownLatch.await(10, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException ie) {
+					}
+				}
+
+			});
+
+		Assert.assertTrue(countDownLatch.await(10, TimeUnit.SECONDS));
+
+		workStealingThreadPoolExecutor.shutdown();
+
+		Assert.assertTrue(
+			workStealingThreadPoolExecutor.awaitTermination(
+				10, TimeUnit.SECONDS));
+	}
+
+	protected void waitForActiveCount(
+			ThreadPoolExecutor threadPoolExecutor, int activeCount)
+		throws InterruptedException {
+
+		while (threadPoolExecutor.getActiveCount() < activeCount) {
+			Thread.sleep(1);
+		}
+	}
+
+	private static class BlockingRunnable implements Runnable {
+
+		public BlockingRunnable(CountDownLatch countDownLatch) {
+			_countDownLatch = countDownLatch;
+		}
+
+		@Override
+		public void run() {
+			try {
+				_countDownLatch.await();
+			}
+			catch (InterruptedException ie) {
+			}
+		}
+
+		private final CountDownLatch _countDownLatch;
+
+	}
+
+	private static class CountingRunnable implements Runnable {
+
+		public int getCount() {
+			return _count.get();
+		}
+
+		@Override
+		public void run() {
+			_count.incrementAndGet();
+		}
+
+		private final AtomicInteger _count = new AtomicInteger();
+
+	}
+
+}
\ No newline at end of file
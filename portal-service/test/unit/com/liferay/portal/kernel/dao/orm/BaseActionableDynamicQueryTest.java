@@ -0,0 +1,435 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.dao.orm;
+
+import com.liferay.portal.kernel.concurrent.NoticeableFuture;
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.configuration.Filter;
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.executor.PortalExecutorManager;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.search.Document;
+import com.liferay.portal.kernel.search.DocumentImpl;
+import com.liferay.portal.kernel.search.ReindexProgress;
+import com.liferay.portal.kernel.search.ReindexProgressThreadLocal;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class BaseActionableDynamicQueryTest {
+
+	@Before
+	public void setUp() {
+		_props = PropsUtil.getProps();
+
+		Properties properties = new Properties();
+
+		properties.setProperty(PropsKeys.INDEX_REINDEX_THREAD_POOL_SIZE, "4");
+		properties.setProperty(
+			PropsKeys.INDEX_REINDEX_WRITER_THREAD_POOL_SIZE, "2");
+
+		PropsUtil.setProps(new TestProps(properties));
+
+		_portalExecutorManager =
+			PortalExecutorManagerUtil.getPortalExecutorManager();
+
+		PortalExecutorManagerUtil portalExecutorManagerUtil =
+			new PortalExecutorManagerUtil();
+
+		portalExecutorManagerUtil.setPortalExecutorManager(
+			_testPortalExecutorManager);
+	}
+
+	@After
+	public void tearDown() {
+		PropsUtil.setProps(_props);
+
+		PortalExecutorManagerUtil portalExecutorManagerUtil =
+			new PortalExecutorManagerUtil();
+
+		portalExecutorManagerUtil.setPortalExecutorManager(
+			_portalExecutorManager);
+
+		ReindexProgressThreadLocal.setParallelEnabled(false);
+		ReindexProgressThreadLocal.setReindexProgress(null);
+	}
+
+	@Test
+	public void testPerformActions() throws Exception {
+		TestActionableDynamicQuery testActionableDynamicQuery =
+			new TestActionableDynamicQuery(1, 1000);
+
+		testActionableDynamicQuery.performActions();
+
+		testActionableDynamicQuery.assertPerformed(1, 1000);
+
+		Set<String> threadNames =
+			testActionableDynamicQuery.getThreadNames();
+
+		Thread currentThread = Thread.currentThread();
+
+		Assert.assertEquals(
+			Collections.singleton(currentThread.getName()), threadNames);
+	}
+
+	@Test
+	public void testPerformActionsInParallel() throws Exception {
+		ReindexProgress reindexProgress = new ReindexProgress("test");
+
+		ReindexProgressThreadLocal.setParallelEnabled(true);
+		ReindexProgressThreadLocal.setReindexProgress(reindexProgress);
+
+		TestActionableDynamicQuery testActionableDynamicQuery =
+			new TestActionableDynamicQuery(5, 10004);
+
+		testActionableDynamicQuery.performActions();
+
+		testActionableDynamicQuery.assertPerformed(5, 10004);
+
+		Set<String> threadNames =
+			testActionableDynamicQuery.getThreadNames();
+
+		Thread currentThread = Thread.currentThread();
+
+		Assert.assertFalse(threadNames.contains(currentThread.getName()));
+		Assert.assertTrue(threadNames.size() > 1);
+
+		Assert.assertEquals(10000, reindexProgress.getDocumentCount());
+
+		Map<String, ThreadPoolExecutor> threadPoolExecutors =
+			_testPortalExecutorManager.getThreadPoolExecutors();
+
+		Assert.assertTrue(threadPoolExecutors.isEmpty());
+	}
+
+	@Test
+	public void testPerformActionsWithoutParallelReindex() throws Exception {
+		ReindexProgressThreadLocal.setReindexProgress(
+			new ReindexProgress("test"));
+
+		TestActionableDynamicQuery testActionableDynamicQuery =
+			new TestActionableDynamicQuery(1, 1000);
+
+		testActionableDynamicQuery.performActions();
+
+		testActionableDynamicQuery.assertPerformed(1, 1000);
+
+		Set<String> threadNames =
+			testActionableDynamicQuery.getThreadNames();
+
+		Thread currentThread = Thread.currentThread();
+
+		Assert.assertEquals(
+			Collections.singleton(currentThread.getName()), threadNames);
+	}
+
+	@Test
+	public void testWaitForWhenInterrupted() throws Exception {
+		TestActionableDynamicQuery testActionableDynamicQuery =
+			new TestActionableDynamicQuery(1, 1);
+
+		FutureTask<Void> futureTask = new FutureTask<Void>(
+			new Callable<Void>() {
+
+				@Override
+				public Void call() {
+					return null;
+				}
+
+			});
+
+		Thread currentThread = Thread.currentThread();
+
+		currentThread.interrupt();
+
+		try {
+			testActionableDynamicQuery.waitFor(
+				Collections.<Future<Void>>singletonList(futureTask));
+
+			Assert.fail();
+		}
+		catch (SystemException se) {
+			Assert.assertTrue(se.getCause() instanceof InterruptedException);
+		}
+		finally {
+			Assert.assertTrue(Thread.interrupted());
+		}
+	}
+
+	private PortalExecutorManager _portalExecutorManager;
+	private Props _props;
+	private final TestPortalExecutorManager _testPortalExecutorManager =
+		new TestPortalExecutorManager();
+
+	private static class TestActionableDynamicQuery
+		extends BaseActionableDynamicQuery {
+
+		public TestActionableDynamicQuery(
+			long minPrimaryKey, long maxPrimaryKey) {
+
+			_minPrimaryKey = minPrimaryKey;
+			_maxPrimaryKey = maxPrimaryKey;
+
+			setClass(Object.class);
+			setInterval(_INTERVAL);
+		}
+
+		public void assertPerformed(long minPrimaryKey, long maxPrimaryKey) {
+			Assert.assertEquals(
+				maxPrimaryKey - minPrimaryKey + 1,
+				_performedPrimaryKeys.size());
+
+			for (long primaryKey = minPrimaryKey; primaryKey <= maxPrimaryKey;
+					primaryKey++) {
+
+				AtomicInteger count = _performedPrimaryKeys.get(primaryKey);
+
+				Assert.assertEquals(1, count.get());
+			}
+
+			Assert.assertEquals(
+				_performedPrimaryKeys.size(), _indexedDocumentCount.get());
+		}
+
+		public Set<String> getThreadNames() {
+			return new HashSet<String>(_threadNames.keySet());
+		}
+
+		@Override
+		protected long doPerformActions(
+				long previousPrimaryKey, long lastPrimaryKey)
+			throws PortalException {
+
+			long primaryKey = Math.max(previousPrimaryKey, _minPrimaryKey - 1);
+
+			try {
+				for (int i = 0; i < _INTERVAL; i++) {
+					primaryKey++;
+
+					if ((primaryKey > lastPrimaryKey) ||
+						(primaryKey > _maxPrimaryKey)) {
+
+						return -1;
+					}
+
+					_perform(primaryKey);
+				}
+
+				return primaryKey;
+			}
+			finally {
+				indexInterval();
+			}
+		}
+
+		@Override
+		protected long[] getPrimaryKeyRange() {
+			return new long[] {_minPrimaryKey, _maxPrimaryKey};
+		}
+
+		@Override
+		protected void indexDocuments(Collection<Document> documents) {
+			_indexedDocumentCount.addAndGet(documents.size());
+
+			ReindexProgress reindexProgress =
+				ReindexProgressThreadLocal.getReindexProgress();
+
+			if (reindexProgress != null) {
+				reindexProgress.addDocumentCount(documents.size());
+			}
+		}
+
+		private void _perform(long primaryKey) throws PortalException {
+			AtomicInteger count = new AtomicInteger();
+
+			AtomicInteger previousCount = _performedPrimaryKeys.putIfAbsent(
+				primaryKey, count);
+
+			if (previousCount != null) {
+				count = previousCount;
+			}
+
+			count.incrementAndGet();
+
+			Thread currentThread = Thread.currentThread();
+
+			_threadNames.put(currentThread.getName(), currentThread.getName());
+
+			addDocument(new DocumentImpl());
+		}
+
+		private static final int _INTERVAL = 100;
+
+		private final AtomicInteger _indexedDocumentCount =
+			new AtomicInteger();
+		private final long _maxPrimaryKey;
+		private final long _minPrimaryKey;
+		private final ConcurrentMap<Long, AtomicInteger> _performedPrimaryKeys =
+			new ConcurrentHashMap<Long, AtomicInteger>();
+		private final ConcurrentMap<String, String> _threadNames =
+			new ConcurrentHashMap<String, String>();
+
+	}
+
+	private static class TestPortalExecutorManager
+		implements PortalExecutorManager {
+
+		@Override
+		public <T> NoticeableFuture<T> execute(
+			String name, Callable<T> callable) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public <T> T execute(
+			String name, Callable<T> callable, long timeout,
+			TimeUnit timeUnit) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public ThreadPoolExecutor getPortalExecutor(String name) {
+			return getPortalExecutor(name, true);
+		}
+
+		@Override
+		public ThreadPoolExecutor getPortalExecutor(
+			String name, boolean createIfAbsent) {
+
+			return _threadPoolExecutors.get(name);
+		}
+
+		public Map<String, ThreadPoolExecutor> getThreadPoolExecutors() {
+			return _threadPoolExecutors;
+		}
+
+		@Override
+		public ThreadPoolExecutor registerPortalExecutor(
+			String name, ThreadPoolExecutor threadPoolExecutor) {
+
+			return _threadPoolExecutors.putIfAbsent(name, threadPoolExecutor);
+		}
+
+		@Override
+		public void shutdown() {
+			shutdown(false);
+		}
+
+		@Override
+		public void shutdown(boolean interrupt) {
+			for (String name : _threadPoolExecutors.keySet()) {
+				shutdown(name, interrupt);
+			}
+		}
+
+		@Override
+		public void shutdown(String name) {
+			shutdown(name, false);
+		}
+
+		@Override
+		public void shutdown(String name, boolean interrupt) {
+			ThreadPoolExecutor threadPoolExecutor = _threadPoolExecutors.remove(
+				name);
+
+			if (threadPoolExecutor == null) {
+				return;
+			}
+
+			if (interrupt) {
+				threadPoolExecutor.shutdownNow();
+			}
+			else {
+				threadPoolExecutor.shutdown();
+			}
+		}
+
+		private final ConcurrentMap<String, ThreadPoolExecutor>
+			_threadPoolExecutors =
+				new ConcurrentHashMap<String, ThreadPoolExecutor>();
+
+	}
+
+	private static class TestProps implements Props {
+
+		public TestProps(Properties properties) {
+			_properties = properties;
+		}
+
+		@Override
+		public boolean contains(String key) {
+			return _properties.containsKey(key);
+		}
+
+		@Override
+		public String get(String key) {
+			return _properties.getProperty(key);
+		}
+
+		@Override
+		public String get(String key, Filter filter) {
+			return get(key);
+		}
+
+		@Override
+		public String[] getArray(String key) {
+			return new String[] {get(key)};
+		}
+
+		@Override
+		public String[] getArray(String key, Filter filter) {
+			return getArray(key);
+		}
+
+		@Override
+		public Properties getProperties() {
+			return _properties;
+		}
+
+		@Override
+		public Properties getProperties(String prefix, boolean removePrefix) {
+			return _properties;
+		}
+
+		private final Properties _properties;
+
+	}
+
+}
\ No newline at end of file
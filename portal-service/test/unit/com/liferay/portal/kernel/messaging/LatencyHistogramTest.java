@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Michael C. Han
+ */
+public class LatencyHistogramTest {
+
+	@Test
+	public void testCopy() {
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+		latencyHistogram.record(5000);
+
+		LatencyHistogram copyLatencyHistogram = new LatencyHistogram(
+			latencyHistogram);
+
+		latencyHistogram.record(7000);
+
+		Assert.assertEquals(1, copyLatencyHistogram.getCount());
+		Assert.assertEquals(5, copyLatencyHistogram.getMaxLatency());
+		Assert.assertEquals(2, latencyHistogram.getCount());
+		Assert.assertEquals(7, latencyHistogram.getMaxLatency());
+	}
+
+	@Test
+	public void testEmpty() {
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+		Assert.assertEquals(0, latencyHistogram.getCount());
+		Assert.assertEquals(0, latencyHistogram.getMaxLatency());
+		Assert.assertEquals(0, latencyHistogram.getMeanLatency());
+		Assert.assertEquals(0, latencyHistogram.getPercentileLatency(99));
+	}
+
+	@Test
+	public void testRecord() {
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+		for (int i = 0; i < 99; i++) {
+			latencyHistogram.record(10000);
+		}
+
+		latencyHistogram.record(5000000);
+
+		Assert.assertEquals(100, latencyHistogram.getCount());
+		Assert.assertEquals(5000, latencyHistogram.getMaxLatency());
+		Assert.assertEquals(59, latencyHistogram.getMeanLatency());
+		Assert.assertEquals(15, latencyHistogram.getPercentileLatency(50));
+		Assert.assertEquals(15, latencyHistogram.getPercentileLatency(99));
+		Assert.assertEquals(5000, latencyHistogram.getPercentileLatency(100));
+	}
+
+}
\ No newline at end of file
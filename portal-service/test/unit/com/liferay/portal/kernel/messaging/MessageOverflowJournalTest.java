@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Michael C. Han
+ */
+public class MessageOverflowJournalTest {
+
+	@Before
+	public void setUp() throws Exception {
+		_file = File.createTempFile("overflow", ".journal");
+
+		_file.delete();
+	}
+
+	@After
+	public void tearDown() {
+		_file.delete();
+	}
+
+	@Test
+	public void testAppendAndPoll() throws Exception {
+		MessageOverflowJournal messageOverflowJournal =
+			new MessageOverflowJournal(_file, 1024, 1);
+
+		Assert.assertTrue(messageOverflowJournal.isEmpty());
+		Assert.assertNull(messageOverflowJournal.poll());
+
+		Assert.assertTrue(messageOverflowJournal.append(new byte[] {1, 2}));
+		Assert.assertTrue(messageOverflowJournal.append(new byte[] {3}));
+
+		Assert.assertEquals(2, messageOverflowJournal.getSize());
+		Assert.assertArrayEquals(
+			new byte[] {1, 2}, messageOverflowJournal.poll());
+		Assert.assertArrayEquals(new byte[] {3}, messageOverflowJournal.poll());
+		Assert.assertTrue(messageOverflowJournal.isEmpty());
+
+		messageOverflowJournal.close();
+
+		Assert.assertFalse(messageOverflowJournal.append(new byte[] {4}));
+	}
+
+	@Test
+	public void testCorruptLength() throws Exception {
+		MessageOverflowJournal messageOverflowJournal =
+			new MessageOverflowJournal(_file, 1024, 0);
+
+		messageOverflowJournal.append(new byte[] {1});
+		messageOverflowJournal.append(new byte[] {2});
+
+		messageOverflowJournal.close();
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(_file, "rw");
+
+		try {
+			randomAccessFile.seek(16);
+
+			randomAccessFile.writeInt(1000);
+		}
+		finally {
+			randomAccessFile.close();
+		}
+
+		messageOverflowJournal = new MessageOverflowJournal(_file, 1024, 0);
+
+		Assert.assertEquals(2, messageOverflowJournal.getSize());
+		Assert.assertNull(messageOverflowJournal.poll());
+		Assert.assertTrue(messageOverflowJournal.isEmpty());
+		Assert.assertTrue(messageOverflowJournal.append(new byte[] {3}));
+		Assert.assertArrayEquals(new byte[] {3}, messageOverflowJournal.poll());
+
+		messageOverflowJournal.close();
+	}
+
+	@Test
+	public void testMaxSize() throws Exception {
+		MessageOverflowJournal messageOverflowJournal =
+			new MessageOverflowJournal(_file, 40, 0);
+
+		Assert.assertTrue(messageOverflowJournal.append(new byte[8]));
+		Assert.assertTrue(
+			messageOverflowJournal.append(new byte[] {1, 2, 3, 4}));
+		Assert.assertFalse(messageOverflowJournal.append(new byte[1]));
+
+		messageOverflowJournal.poll();
+
+		// The space of the polled message is reused
+
+		Assert.assertTrue(messageOverflowJournal.append(new byte[] {3}));
+		Assert.assertFalse(messageOverflowJournal.append(new byte[4]));
+		Assert.assertTrue(messageOverflowJournal.append(new byte[] {4, 5}));
+		Assert.assertFalse(messageOverflowJournal.append(new byte[0]));
+
+		Assert.assertArrayEquals(
+			new byte[] {1, 2, 3, 4}, messageOverflowJournal.poll());
+		Assert.assertArrayEquals(new byte[] {3}, messageOverflowJournal.poll());
+		Assert.assertArrayEquals(
+			new byte[] {4, 5}, messageOverflowJournal.poll());
+		Assert.assertTrue(messageOverflowJournal.isEmpty());
+
+		Assert.assertTrue(messageOverflowJournal.append(new byte[20]));
+
+		messageOverflowJournal.close();
+	}
+
+	@Test
+	public void testReopen() throws Exception {
+		MessageOverflowJournal messageOverflowJournal =
+			new MessageOverflowJournal(_file, 1024, 0);
+
+		Message message = new Message();
+
+		message.put("key", "value");
+
+		messageOverflowJournal.append(message.toByteArray());
+		messageOverflowJournal.append(new byte[] {1});
+
+		messageOverflowJournal.poll();
+
+		messageOverflowJournal.close();
+
+		messageOverflowJournal = new MessageOverflowJournal(_file, 1024, 0);
+
+		Assert.assertEquals(1, messageOverflowJournal.getSize());
+		Assert.assertArrayEquals(new byte[] {1}, messageOverflowJournal.poll());
+
+		messageOverflowJournal.close();
+	}
+
+	private File _file;
+
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Michael C. Han
+ */
+public class MessageTest {
+
+	@Test
+	public void testCloneAfterGetValuesDoesNotShareChanges() {
+		Message message = new Message();
+
+		message.put("key1", "value1");
+
+		Map<String, Object> values = message.getValues();
+
+		Message clonedMessage = message.clone();
+
+		values.put("key1", "value2");
+
+		Assert.assertEquals("value1", clonedMessage.get("key1"));
+		Assert.assertEquals("value2", message.get("key1"));
+	}
+
+	@Test
+	public void testCloneDoesNotShareChanges() {
+		Message message = new Message();
+
+		message.put("key1", "value1");
+
+		Message clonedMessage = message.clone();
+
+		clonedMessage.put("key2", "value2");
+
+		message.remove("key1");
+
+		Assert.assertEquals("value1", clonedMessage.get("key1"));
+		Assert.assertEquals("value2", clonedMessage.get("key2"));
+		Assert.assertNull(message.get("key1"));
+		Assert.assertNull(message.get("key2"));
+	}
+
+	@Test
+	public void testCopyFromDoesNotShareValuesMap() {
+		Message message = new Message();
+
+		message.put("key1", "value1");
+
+		Message copiedMessage = new Message();
+
+		copiedMessage.copyFrom(message);
+
+		Map<String, Object> values = copiedMessage.getValues();
+
+		values.put("key1", "value2");
+
+		Assert.assertEquals("value1", message.get("key1"));
+		Assert.assertEquals("value2", copiedMessage.get("key1"));
+		Assert.assertNotSame(values, message.getValues());
+	}
+
+	@Test
+	public void testDeserializedClonesDoNotShareChanges() throws Exception {
+		Message message = new Message();
+
+		message.put("key1", "value1");
+
+		Message clonedMessage = message.clone();
+
+		ByteArrayOutputStream byteArrayOutputStream =
+			new ByteArrayOutputStream();
+
+		ObjectOutputStream objectOutputStream = new ObjectOutputStream(
+			byteArrayOutputStream);
+
+		objectOutputStream.writeObject(new Message[] {message, clonedMessage});
+
+		objectOutputStream.close();
+
+		ObjectInputStream objectInputStream = new ObjectInputStream(
+			new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+
+		Message[] messages = (Message[])objectInputStream.readObject();
+
+		messages[0].put("key1", "value2");
+
+		Assert.assertEquals("value2", messages[0].get("key1"));
+		Assert.assertEquals("value1", messages[1].get("key1"));
+	}
+
+	@Test
+	public void testSetValuesCopiesValuesMap() {
+		Map<String, Object> values = new HashMap<String, Object>();
+
+		values.put("key1", "value1");
+
+		Message message = new Message();
+
+		message.setValues(values);
+
+		Message clonedMessage = message.clone();
+
+		values.put("key1", "value2");
+
+		Assert.assertEquals("value1", message.get("key1"));
+		Assert.assertEquals("value1", clonedMessage.get("key1"));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.servlet;
+
+import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayOutputStream;
+import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.nio.channels.FileChannel;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class ServletResponseUtilTest {
+
+	@Before
+	public void setUp() {
+		_props = PropsUtil.getProps();
+
+		PropsUtil.setProps(Mockito.mock(Props.class));
+
+		_file = FileUtil.getFile();
+
+		_mockFile = Mockito.mock(com.liferay.portal.kernel.util.File.class);
+
+		Mockito.when(
+			_mockFile.createTempFile()
+		).thenAnswer(
+			new Answer<File>() {
+
+				@Override
+				public File answer(InvocationOnMock invocationOnMock)
+					throws IOException {
+
+					return File.createTempFile("range", null);
+				}
+
+			}
+		);
+
+		Mockito.when(
+			_mockFile.delete(Mockito.any(File.class))
+		).thenAnswer(
+			new Answer<Boolean>() {
+
+				@Override
+				public Boolean answer(InvocationOnMock invocationOnMock) {
+					File file = (File)invocationOnMock.getArguments()[0];
+
+					return file.delete();
+				}
+
+			}
+		);
+
+		FileUtil fileUtil = new FileUtil();
+
+		fileUtil.setFile(_mockFile);
+	}
+
+	@After
+	public void tearDown() {
+		FileUtil fileUtil = new FileUtil();
+
+		fileUtil.setFile(_file);
+
+		PropsUtil.setProps(_props);
+	}
+
+	@Test
+	public void testIsSequential() {
+		Assert.assertTrue(
+			ServletResponseUtil.isSequential(
+				Arrays.asList(new Range(0, 1, 10), new Range(2, 3, 10))));
+		Assert.assertTrue(
+			ServletResponseUtil.isSequential(
+				Arrays.asList(new Range(2, 3, 10), new Range(6, 9, 10))));
+		Assert.assertFalse(
+			ServletResponseUtil.isSequential(
+				Arrays.asList(new Range(2, 3, 10), new Range(0, 1, 10))));
+		Assert.assertFalse(
+			ServletResponseUtil.isSequential(
+				Arrays.asList(new Range(0, 3, 10), new Range(2, 5, 10))));
+	}
+
+	@Test
+	public void testSkip() throws Exception {
+		InputStream inputStream = new FilterInputStream(
+			new ByteArrayInputStream(_BYTES)) {
+
+			@Override
+			public long skip(long length) {
+				return 0;
+			}
+
+		};
+
+		ServletResponseUtil.skip(inputStream, 3);
+
+		Assert.assertEquals('3', inputStream.read());
+
+		ServletResponseUtil.skip(inputStream, 6);
+
+		try {
+			ServletResponseUtil.skip(inputStream, 1);
+
+			Assert.fail();
+		}
+		catch (EOFException eofe) {
+		}
+	}
+
+	@Test
+	public void testTransferFileChannelWithShortFile() throws Exception {
+		File file = File.createTempFile("range", null);
+
+		FileInputStream fileInputStream = null;
+
+		try {
+			FileOutputStream fileOutputStream = new FileOutputStream(file);
+
+			fileOutputStream.write(_BYTES);
+
+			fileOutputStream.close();
+
+			fileInputStream = new FileInputStream(file);
+
+			FileChannel fileChannel = fileInputStream.getChannel();
+
+			UnsyncByteArrayOutputStream unsyncByteArrayOutputStream =
+				new UnsyncByteArrayOutputStream();
+
+			ServletResponseUtil.transferFileChannel(
+				fileChannel, unsyncByteArrayOutputStream, 2, 3);
+
+			Assert.assertEquals(
+				"234", new String(unsyncByteArrayOutputStream.toByteArray()));
+
+			try {
+				ServletResponseUtil.transferFileChannel(
+					fileChannel, unsyncByteArrayOutputStream, 8, 3);
+
+				Assert.fail();
+			}
+			catch (EOFException eofe) {
+			}
+		}
+		finally {
+			if (fileInputStream != null) {
+				fileInputStream.close();
+			}
+
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testWriteRangesFromByteArrayInputStream() throws Exception {
+
+		// Later ranges are read from the start of the content, not relative
+		// to the end of the previous range
+
+		assertWriteRanges(
+			new ByteArrayInputStream(_BYTES), new Range(2, 4, 10),
+			new Range(6, 8, 10), new Range(0, 1, 10));
+
+		Mockito.verify(
+			_mockFile, Mockito.never()
+		).createTempFile();
+	}
+
+	@Test
+	public void testWriteRangesFromSequentialStream() throws Exception {
+		assertWriteRanges(
+			new FilterInputStream(new ByteArrayInputStream(_BYTES)) {
+			},
+			new Range(2, 4, 10), new Range(6, 8, 10));
+
+		Mockito.verify(
+			_mockFile, Mockito.never()
+		).createTempFile();
+	}
+
+	@Test
+	public void testWriteRangesFromUnsequentialStream() throws Exception {
+		assertWriteRanges(
+			new FilterInputStream(new ByteArrayInputStream(_BYTES)) {
+			},
+			new Range(6, 8, 10), new Range(2, 4, 10), new Range(7, 9, 10));
+
+		Mockito.verify(
+			_mockFile
+		).createTempFile();
+	}
+
+	protected void assertWriteRanges(InputStream inputStream, Range... ranges)
+		throws Exception {
+
+		MockHttpServletResponse mockHttpServletResponse =
+			new MockHttpServletResponse() {
+
+				@Override
+				public ServletOutputStream getOutputStream() {
+					return _servletOutputStream;
+				}
+
+			};
+
+		List<Range> rangesList = Arrays.asList(ranges);
+
+		ServletResponseUtil.write(
+			new MockHttpServletRequest(), mockHttpServletResponse, null,
+			rangesList, inputStream, _BYTES.length, "text/plain");
+
+		Assert.assertEquals(
+			HttpServletResponse.SC_PARTIAL_CONTENT,
+			mockHttpServletResponse.getStatus());
+
+		String content = new String(
+			_unsyncByteArrayOutputStream.toByteArray());
+
+		int index = 0;
+
+		for (Range range : rangesList) {
+			String expected =
+				"Content-Range: " + range.getContentRange() + "\r\n\r\n" +
+					new String(
+						_BYTES, (int)range.getStart(), (int)range.getLength()) +
+						"\r\n";
+
+			index = content.indexOf(expected, index);
+
+			Assert.assertTrue(content, index != -1);
+		}
+	}
+
+	private static final byte[] _BYTES = "0123456789".getBytes();
+
+	private com.liferay.portal.kernel.util.File _file;
+	private com.liferay.portal.kernel.util.File _mockFile;
+	private Props _props;
+	private final UnsyncByteArrayOutputStream _unsyncByteArrayOutputStream =
+		new UnsyncByteArrayOutputStream();
+
+	private final ServletOutputStream _servletOutputStream =
+		new ServletOutputStream() {
+
+			@Override
+			public void close() {
+				_closed = true;
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				if (_closed) {
+					throw new IOException("Stream closed");
+				}
+
+				_unsyncByteArrayOutputStream.write(b);
+			}
+
+			private boolean _closed;
+
+		};
+
+}
\ No newline at end of file
@@ -20,10 +20,15 @@
 page import="com.liferay.portal.CompanyVirtualHostException" %><%@
 page import="com.liferay.portal.CompanyWebIdException" %><%@
 page import="com.liferay.portal.RequiredCompanyException" %><%@
+page import="com.liferay.portal.cache.ehcache.EhcachePortalCacheManager" %><%@
+page import="com.liferay.portal.cache.statistics.PortalCacheStatistics" %><%@
 page import="com.liferay.portal.captcha.recaptcha.ReCaptchaImpl" %><%@
 page import="com.liferay.portal.convert.ConvertProcess" %><%@
 page import="com.liferay.portal.convert.FileSystemStoreRootDirException" %><%@
+page import="com.liferay.portal.dao.orm.common.LocalCacheThreadLocal" %><%@
 page import="com.liferay.portal.dao.shard.ManualShardSelector" %><%@
+page import="com.liferay.portal.kernel.cache.PortalCacheManager" %><%@
+page import="com.liferay.portal.kernel.cache.PortalCacheProvider" %><%@
 page import="com.liferay.portal.kernel.dao.shard.ShardUtil" %><%@
 page import="com.liferay.portal.kernel.image.ImageMagickUtil" %><%@
 page import="com.liferay.portal.kernel.scripting.ScriptingUtil" %><%@
@@ -49,7 +49,7 @@ serverURL.setParameter("tabs3", tabs3);
 	</c:when>
 	<c:otherwise>
 		<liferay-ui:tabs
-			names="resources,log-levels,properties,captcha,data-migration,file-uploads,mail,external-services,script,shutdown"
+			names="resources,log-levels,cache-statistics,properties,captcha,data-migration,file-uploads,mail,external-services,script,shutdown"
 			param="tabs2"
 			portletURL="<%= serverURL %>"
 		/>
@@ -58,6 +58,9 @@ serverURL.setParameter("tabs3", tabs3);
 			<c:when test='<%= tabs2.equals("log-levels") %>'>
 				<liferay-util:include page="/html/portlet/admin/server/log_levels.jsp" />
 			</c:when>
+			<c:when test='<%= tabs2.equals("cache-statistics") %>'>
+				<liferay-util:include page="/html/portlet/admin/server/cache_statistics.jsp" />
+			</c:when>
 			<c:when test='<%= tabs2.equals("properties") %>'>
 				<liferay-util:include page="/html/portlet/admin/server/properties.jsp" />
 			</c:when>
@@ -0,0 +1,164 @@
+<%--
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+--%>
+
+<%@ include file="/html/portlet/admin/init.jsp" %>
+<%
+PortletURL serverURL = renderResponse.createRenderURL();
+
+serverURL.setParameter("struts_action", "/admin/view");
+serverURL.setParameter("tabs1", tabs1);
+serverURL.setParameter("tabs2", tabs2);
+
+NumberFormat percentFormat = NumberFormat.getPercentInstance(locale);
+
+List<PortalCacheStatistics> portalCacheStatisticsList = new ArrayList<PortalCacheStatistics>();
+
+for (PortalCacheManager<?, ?> portalCacheManager : PortalCacheProvider.getPortalCacheManagers()) {
+	if (portalCacheManager instanceof EhcachePortalCacheManager) {
+		EhcachePortalCacheManager<?, ?> ehcachePortalCacheManager = (EhcachePortalCacheManager<?, ?>)portalCacheManager;
+
+		Map<String, PortalCacheStatistics> portalCacheStatisticsMap = ehcachePortalCacheManager.getPortalCacheStatistics();
+
+		portalCacheStatisticsList.addAll(portalCacheStatisticsMap.values());
+	}
+}
+
+List<LocalCacheThreadLocal> localCacheThreadLocals = LocalCacheThreadLocal.getLocalCacheThreadLocals();
+%>
+
+<c:if test="<%= !localCacheThreadLocals.isEmpty() %>">
+	<h4><liferay-ui:message key="thread-local-caches" /></h4>
+
+	<table class="table table-bordered table-hover table-striped">
+	<thead class="table-columns">
+		<tr>
+			<th class="table-first-header"><liferay-ui:message key="cache-name" /></th>
+			<th><liferay-ui:message key="hits" /></th>
+			<th><liferay-ui:message key="misses" /></th>
+			<th class="table-last-header"><liferay-ui:message key="hit-ratio" /></th>
+		</tr>
+	</thead>
+
+	<tbody class="table-data">
+
+		<%
+		for (LocalCacheThreadLocal localCacheThreadLocal : localCacheThreadLocals) {
+		%>
+
+			<tr>
+				<td class="table-cell"><%= HtmlUtil.escape(localCacheThreadLocal.getName()) %></td>
+				<td class="table-cell"><%= localCacheThreadLocal.getHitCount() %></td>
+				<td class="table-cell"><%= localCacheThreadLocal.getMissCount() %></td>
+				<td class="table-cell"><%= percentFormat.format(localCacheThreadLocal.getHitRatio()) %></td>
+			</tr>
+
+		<%
+		}
+		%>
+
+	</tbody>
+	</table>
+</c:if>
+
+<c:if test="<%= !PropsValues.EHCACHE_PORTAL_CACHE_STATISTICS_ENABLED %>">
+	<div class="alert alert-info">
+		<liferay-ui:message key="cache-statistics-are-disabled" />
+	</div>
+</c:if>
+
+<liferay-ui:search-container
+	emptyResultsMessage="there-are-no-cache-statistics"
+	iteratorURL="<%= serverURL %>"
+	total="<%= portalCacheStatisticsList.size() %>"
+>
+	<liferay-ui:search-container-results
+		results="<%= ListUtil.subList(portalCacheStatisticsList, searchContainer.getStart(), searchContainer.getEnd()) %>"
+	/>
+
+	<liferay-ui:search-container-row
+		className="com.liferay.portal.cache.statistics.PortalCacheStatistics"
+		modelVar="portalCacheStatistics"
+	>
+		<liferay-ui:search-container-column-text
+			name="cache-name"
+			value="<%= HtmlUtil.escape(portalCacheStatistics.getCacheName()) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="hits"
+			value="<%= String.valueOf(portalCacheStatistics.getHitCount()) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="misses"
+			value="<%= String.valueOf(portalCacheStatistics.getMissCount()) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="hit-ratio"
+			value="<%= percentFormat.format(portalCacheStatistics.getHitRatio()) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="puts"
+			value="<%= String.valueOf(portalCacheStatistics.getPutCount()) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="removes"
+			value="<%= String.valueOf(portalCacheStatistics.getRemoveCount()) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="evictions"
+			value="<%= String.valueOf(portalCacheStatistics.getEvictionCount()) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="average-load-time-ms"
+			value="<%= String.valueOf(Math.round(portalCacheStatistics.getAverageLoadTime())) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="approximate-size"
+			value="<%= TextFormatter.formatStorageSize(portalCacheStatistics.getApproximateSize(), locale) %>"
+		/>
+
+		<liferay-ui:search-container-column-text
+			name="hot-keys"
+		>
+
+			<%
+			for (Map.Entry<String, Integer> hotKey : portalCacheStatistics.getHotKeys(5)) {
+			%>
+
+				<%= HtmlUtil.escape(hotKey.getKey()) %> (<%= hotKey.getValue() %>)<br />
+
+			<%
+			}
+			%>
+
+		</liferay-ui:search-container-column-text>
+	</liferay-ui:search-container-row>
+
+	<liferay-ui:search-iterator />
+</liferay-ui:search-container>
+
+<c:if test="<%= !localCacheThreadLocals.isEmpty() || !portalCacheStatisticsList.isEmpty() %>">
+	<aui:button-row>
+		<aui:button cssClass="save-server-button" data-cmd="resetCacheStatistics" value="reset" />
+	</aui:button-row>
+</c:if>
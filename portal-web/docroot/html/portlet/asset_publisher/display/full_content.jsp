@@ -114,6 +114,10 @@ request.setAttribute("view.jsp-showIconLabel", true);
 		if (incrementAssetEntry != null) {
 			assetEntry = incrementAssetEntry;
 		}
+
+		// Views of cached output would not be counted
+
+		request.setAttribute(WebKeys.PORTLET_OUTPUT_CACHE_DISABLED, Boolean.TRUE);
 	}
 
 	if (assetPublisherDisplayContext.isShowContextLink()) {